@@ -0,0 +1,58 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks;
+
+import io.zyient.base.common.AbstractEnvState;
+import io.zyient.base.core.BaseEnv;
+import lombok.NonNull;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+
+/**
+ * Environment placeholder for benchmarks: never initialized, no connections or ZooKeeper state.
+ */
+public class BenchmarkEnv extends BaseEnv<BenchmarkEnv.EBenchmarkState> {
+    public enum EBenchmarkState {
+        Error, Available, Stopped
+    }
+
+    public static class BenchmarkState extends AbstractEnvState<EBenchmarkState> {
+        public BenchmarkState() {
+            super(EBenchmarkState.Error, EBenchmarkState.Available);
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return getState() == EBenchmarkState.Available;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return (getState() == EBenchmarkState.Stopped || hasError());
+        }
+    }
+
+    public BenchmarkEnv() {
+        super("benchmark", new BenchmarkState());
+    }
+
+    @Override
+    protected BaseEnv<?> create(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig) throws ConfigurationException {
+        return this;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.utils.beans.BeanUtils;
+import io.zyient.base.common.utils.beans.PropertyAccessor;
+import io.zyient.benchmarks.model.SampleEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BeanUtilsBenchmark {
+    private static final String LIST_PATH = "tags[3]";
+
+    @Param({"firstName", "address.city", "locations(LOC-2).zipCode"})
+    public String path;
+
+    private SampleEntity entity;
+    private PropertyAccessor compiled;
+    private PropertyAccessor reflective;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        entity = SampleEntity.create(1);
+        compiled = PropertyAccessor.compile(SampleEntity.class, path);
+        reflective = PropertyAccessor.reflective(SampleEntity.class, path);
+    }
+
+    @Benchmark
+    public Object getValue() throws Exception {
+        return BeanUtils.getValue(entity, path);
+    }
+
+    @Benchmark
+    public Object getListValue() throws Exception {
+        return BeanUtils.getValue(entity, LIST_PATH);
+    }
+
+    @Benchmark
+    public void setValue() throws Exception {
+        BeanUtils.setValue(entity, path, "value");
+    }
+
+    @Benchmark
+    public Object getCompiled() throws Exception {
+        return compiled.get(entity);
+    }
+
+    @Benchmark
+    public Object getReflective() throws Exception {
+        return reflective.get(entity);
+    }
+
+    @Benchmark
+    public void setCompiled() throws Exception {
+        compiled.set(entity, "value");
+    }
+
+    @Benchmark
+    public void setReflective() throws Exception {
+        reflective.set(entity, "value");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object getValueContended() throws Exception {
+        return BeanUtils.getValue(entity, path);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.benchmarks.model.SampleEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JSONUtilsBenchmark {
+    private static final int RECORD_COUNT = 1024;
+
+    private byte[][] bytes;
+    private String[] strings;
+    private int index = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        bytes = new byte[RECORD_COUNT][];
+        strings = new String[RECORD_COUNT];
+        for (int ii = 0; ii < RECORD_COUNT; ii++) {
+            SampleEntity entity = SampleEntity.create(ii);
+            strings[ii] = JSONUtils.asString(entity);
+            bytes[ii] = strings[ii].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public SampleEntity readBytes() throws Exception {
+        return JSONUtils.read(bytes[next()], SampleEntity.class);
+    }
+
+    @Benchmark
+    public SampleEntity readString() throws Exception {
+        return JSONUtils.read(strings[next()], SampleEntity.class);
+    }
+
+    private int next() {
+        index = (index + 1) % RECORD_COUNT;
+        return index;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.cache.Cache;
+import io.zyient.base.common.cache.LRUCache;
+import io.zyient.base.common.cache.LinkedLRUCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through access with a skewed (approximately Zipfian) key distribution, the hit/miss
+ * counts are reported as secondary (auxiliary) results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class LRUCacheBenchmark {
+    private static final int CACHE_SIZE = 1024;
+    private static final int KEY_SPACE = CACHE_SIZE * 8;
+
+    @Param({"LRUCache", "LinkedLRUCache"})
+    public String type;
+
+    private Cache<Integer, Integer> cache;
+
+    @State(Scope.Thread)
+    public static class KeyState {
+        private final Random random = new Random(Thread.currentThread().getId());
+
+        int next() {
+            return (int) (KEY_SPACE * Math.pow(random.nextDouble(), 3));
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (type.equals("LRUCache")) {
+            cache = new LRUCache<>(CACHE_SIZE);
+        } else {
+            cache = new LinkedLRUCache<>(CACHE_SIZE);
+        }
+    }
+
+    @Benchmark
+    public Integer readThrough(KeyState keys, Counters counters) throws Exception {
+        int key = keys.next();
+        Integer value = cache.get(key).orElse(null);
+        if (value != null) {
+            counters.hits++;
+        } else {
+            counters.misses++;
+            cache.put(key, key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.utils.ReflectionHelper;
+import io.zyient.benchmarks.model.SampleAddress;
+import io.zyient.benchmarks.model.SampleEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReflectionHelperBenchmark {
+
+    @Benchmark
+    public Field[] getAllFieldsEntity() {
+        return ReflectionHelper.getAllFields(SampleEntity.class);
+    }
+
+    @Benchmark
+    public Field[] getAllFieldsNested() {
+        return ReflectionHelper.getAllFields(SampleAddress.class);
+    }
+
+    @Benchmark
+    public Field[] getAllFieldsDeepHierarchy() {
+        return ReflectionHelper.getAllFields(LinkedHashMap.class);
+    }
+}
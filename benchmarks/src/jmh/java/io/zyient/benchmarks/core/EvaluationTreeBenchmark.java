@@ -0,0 +1,83 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.core;
+
+import io.zyient.base.core.decisions.CompiledEvaluationTree;
+import io.zyient.base.core.decisions.Condition;
+import io.zyient.base.core.decisions.EvaluationTree;
+import io.zyient.base.core.decisions.impl.SimpleMapConditionParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EvaluationTreeBenchmark {
+    private static final int RECORD_COUNT = 1024;
+
+    @Param({"8", "64"})
+    public int branches;
+
+    private EvaluationTree<Map<String, Object>, String> tree;
+    private CompiledEvaluationTree<Map<String, Object>, String> compiled;
+    private Map<String, Object>[] records;
+    private int index = 0;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        SimpleMapConditionParser parser = new SimpleMapConditionParser();
+        tree = new EvaluationTree<>();
+        for (int ii = 0; ii < branches; ii++) {
+            Condition<Map<String, Object>> category = parser.parse(String.format("== 'CATEGORY-%d'", ii),
+                    "['category']", String.class, null);
+            EvaluationTree.Node<Map<String, Object>, String> node = tree.add(category, String.format("BRANCH-%d", ii));
+            Condition<Map<String, Object>> amount = parser.parse("> 500", "['amount']", Double.class, null);
+            node.add(amount, String.format("BRANCH-%d-LARGE", ii));
+            Condition<Map<String, Object>> region = parser.parse("== 'EU'", "['nested'].['region']", String.class, null);
+            node.add(region, String.format("BRANCH-%d-EU", ii));
+        }
+        Random random = new Random(31);
+        records = new Map[RECORD_COUNT];
+        for (int ii = 0; ii < RECORD_COUNT; ii++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("category", String.format("CATEGORY-%d", random.nextInt(branches + branches / 4 + 1)));
+            record.put("amount", random.nextDouble() * 1000);
+            Map<String, Object> nested = new HashMap<>();
+            nested.put("region", random.nextBoolean() ? "EU" : "US");
+            record.put("nested", nested);
+            records[ii] = record;
+        }
+        compiled = tree.compile();
+    }
+
+    @Benchmark
+    public String evaluate() throws Exception {
+        index = (index + 1) % RECORD_COUNT;
+        return tree.evaluate(records[index]);
+    }
+
+    @Benchmark
+    public String evaluateCompiled() throws Exception {
+        index = (index + 1) % RECORD_COUNT;
+        return compiled.evaluate(records[index]);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.core;
+
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.base.core.auditing.AuditRecordType;
+import io.zyient.base.core.auditing.JsonAuditRecord;
+import io.zyient.base.core.auditing.writers.local.FileAuditWriter;
+import io.zyient.base.core.auditing.writers.local.FileAuditWriterSettings;
+import io.zyient.base.core.processing.ProcessorState;
+import io.zyient.benchmarks.model.SampleEntity;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FileAuditWriterBenchmark {
+    public static class BenchmarkAuditWriter extends FileAuditWriter {
+        public BenchmarkAuditWriter(File directory,
+                                    FileAuditWriterSettings.EFsyncPolicy policy) throws Exception {
+            name("benchmark");
+            settings = new FileAuditWriterSettings();
+            settings.setDir(directory.getAbsolutePath());
+            settings.setFsyncPolicy(policy);
+            setup();
+            state().setState(ProcessorState.EProcessorState.Running);
+        }
+    }
+
+    @Param({"Never", "Interval", "Commit"})
+    private FileAuditWriterSettings.EFsyncPolicy policy;
+
+    private File directory;
+    private BenchmarkAuditWriter writer;
+    private JsonAuditRecord record;
+    private final Context context = new Context();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("audit-benchmark").toFile();
+        writer = new BenchmarkAuditWriter(directory, policy);
+        record = new JsonAuditRecord();
+        record.setType(AuditRecordType.Record);
+        record.setNamespace("benchmark");
+        record.setModule("benchmarks");
+        record.setRecordType(SampleEntity.class.getCanonicalName());
+        record.data(JSONUtils.asString(SampleEntity.create(1)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        writer.close();
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void write() throws Exception {
+        writer.write(record, context);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void writeContended() throws Exception {
+        writer.write(record, context);
+    }
+}
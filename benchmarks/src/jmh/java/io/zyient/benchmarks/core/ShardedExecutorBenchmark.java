@@ -0,0 +1,147 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.benchmarks.core;
+
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.executor.BaseShardedExecutor;
+import io.zyient.base.core.executor.BaseTask;
+import io.zyient.base.core.executor.CompletionCallback;
+import io.zyient.base.core.executor.TaskResponse;
+import io.zyient.base.core.model.Heartbeat;
+import io.zyient.base.core.state.BaseStateManager;
+import io.zyient.base.core.state.StateManagerError;
+import io.zyient.benchmarks.BenchmarkEnv;
+import lombok.NonNull;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submit-to-completion latency of BaseShardedExecutor. Uses only the task callback API so the
+ * same benchmark can be run against earlier revisions for a before/after comparison
+ * (SampleTime mode reports the latency percentiles/histogram).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShardedExecutorBenchmark {
+    public static final String EXECUTOR_CONFIG = "executor/benchmark-executor.xml";
+    private static final int BURST_SIZE = 256;
+
+    public static class BenchmarkStateManager extends BaseStateManager {
+        @Override
+        public BaseStateManager init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
+                                     @NonNull BaseEnv<?> env) throws StateManagerError {
+            return this;
+        }
+
+        @Override
+        public Heartbeat heartbeat(@NonNull String instance) throws StateManagerError {
+            return null;
+        }
+    }
+
+    public static class BenchmarkExecutor extends BaseShardedExecutor<Long> {
+        @Override
+        public int getShard(@NonNull BaseTask<Long> task, int shardCount) {
+            return Math.floorMod(task.id().hashCode(), shardCount);
+        }
+    }
+
+    public static class BenchmarkTask extends BaseTask<Long> {
+        private final long value;
+
+        public BenchmarkTask(BaseStateManager stateManager, long value, CompletionCallback<Long> callback) {
+            super(stateManager, "benchmark");
+            this.value = value;
+            withCallback(callback);
+        }
+
+        @Override
+        public TaskResponse<Long> initResponse() {
+            return new TaskResponse<>();
+        }
+
+        @Override
+        public Long execute() throws Exception {
+            return value * 31;
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    public static class LatchCallback implements CompletionCallback<Long> {
+        private volatile CountDownLatch latch;
+
+        @Override
+        public void finished(@NonNull BaseTask<Long> task, @NonNull TaskResponse<Long> response) {
+            latch.countDown();
+        }
+
+        @Override
+        public void error(@NonNull BaseTask<Long> task, @NonNull Throwable error, TaskResponse<Long> response) {
+            latch.countDown();
+        }
+    }
+
+    @Param({"true", "false"})
+    public boolean ordered;
+
+    private BenchmarkExecutor executor;
+    private final BenchmarkStateManager stateManager = new BenchmarkStateManager();
+    private final LatchCallback callback = new LatchCallback();
+    private long sequence = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        XMLConfiguration xmlConfig = ConfigReader.readFromClasspath(EXECUTOR_CONFIG);
+        xmlConfig.setProperty("scheduler.ordered", ordered);
+        executor = new BenchmarkExecutor();
+        executor.init(xmlConfig, new BenchmarkEnv());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executor.close();
+    }
+
+    @Benchmark
+    public void single() throws Exception {
+        callback.latch = new CountDownLatch(1);
+        executor.submit(new BenchmarkTask(stateManager, sequence++, callback));
+        callback.latch.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST_SIZE)
+    public void burst() throws Exception {
+        callback.latch = new CountDownLatch(BURST_SIZE);
+        for (int ii = 0; ii < BURST_SIZE; ii++) {
+            executor.submit(new BenchmarkTask(stateManager, sequence++, callback));
+        }
+        callback.latch.await();
+    }
+}
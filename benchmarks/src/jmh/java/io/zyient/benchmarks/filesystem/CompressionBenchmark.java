@@ -0,0 +1,92 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.filesystem;
+
+import io.zyient.core.filesystem.compression.CompressionCodecs;
+import io.zyient.core.filesystem.compression.FramedCompression;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+import org.xerial.snappy.Snappy;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File compression round trip: "legacy" is the previous whole-file Snappy path, the others
+ * the streaming framed format with the respective codec. Run with "-prof gc" to compare
+ * allocation (gc.alloc.rate.norm), the legacy path allocates a multiple of the file size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompressionBenchmark {
+    @Param({"legacy", "snappy", "lz4", "zstd"})
+    public String codec;
+    @Param({"64"})
+    public int sizeMb;
+
+    private File directory;
+    private File source;
+    private File compressed;
+    private File output;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("compression-benchmark").toFile();
+        source = new File(directory, "source.csv");
+        compressed = new File(directory, "source.compressed");
+        output = new File(directory, "source.out");
+        Random rnd = new Random(7);
+        StringBuilder builder = new StringBuilder();
+        long size = (long) sizeMb * 1024 * 1024;
+        long written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(source.toPath(), StandardCharsets.UTF_8)) {
+            while (written < size) {
+                builder.setLength(0);
+                builder.append(rnd.nextInt(1000000)).append(',')
+                        .append("customer-").append(rnd.nextInt(5000)).append(',')
+                        .append(rnd.nextDouble()).append(',')
+                        .append(rnd.nextBoolean() ? "ACTIVE" : "INACTIVE").append('\n');
+                out.write(builder.toString());
+                written += builder.length();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public long roundTrip() throws Exception {
+        if (codec.equals("legacy")) {
+            byte[] data = Files.readAllBytes(source.toPath());
+            Files.write(compressed.toPath(), Snappy.compress(data));
+            byte[] uncompressed = Snappy.uncompress(Files.readAllBytes(compressed.toPath()));
+            Files.write(output.toPath(), uncompressed);
+            return uncompressed.length;
+        }
+        FramedCompression.compress(source, compressed, CompressionCodecs.get(codec),
+                FramedCompression.DEFAULT_FRAME_SIZE);
+        return FramedCompression.decompress(compressed, output);
+    }
+}
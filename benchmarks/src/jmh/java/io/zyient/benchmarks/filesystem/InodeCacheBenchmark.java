@@ -0,0 +1,157 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.filesystem;
+
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.core.filesystem.meta.InodeCache;
+import io.zyient.core.filesystem.model.DirectoryInode;
+import io.zyient.core.filesystem.model.FileInode;
+import io.zyient.core.filesystem.model.Inode;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryOneTime;
+import org.apache.curator.test.TestingServer;
+import org.apache.curator.utils.ZKPaths;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recursive listing of a deep inode tree stored in an in-process ZooKeeper ({@link TestingServer}).
+ * <p>
+ * "zookeeper" reads the tree the way the file system lists without a cache (children, node data and
+ * parent data per node); "cached" lists the same tree from an {@link InodeCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InodeCacheBenchmark {
+    private static final String ROOT = "/benchmark/fs/inodes";
+    private static final int FAN_OUT = 4;
+    private static final int FILES = 4;
+
+    @Param({"3", "5"})
+    private int depth;
+
+    private TestingServer server;
+    private CuratorFramework client;
+    private InodeCache cache;
+    private int count;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new TestingServer(true);
+        client = CuratorFrameworkFactory.newClient(server.getConnectString(), new RetryOneTime(100));
+        client.start();
+        client.blockUntilConnected();
+        client.create().creatingParentContainersIfNeeded().forPath(ROOT);
+        count = create(ROOT, 0);
+        cache = new InodeCache(client, ROOT).start(60000);
+    }
+
+    private int create(String path, int level) throws Exception {
+        int created = 0;
+        for (int ii = 0; ii < FILES; ii++) {
+            String name = String.format("file-%d.json", ii);
+            String zp = ZKPaths.makePath(path, name);
+            FileInode inode = new FileInode("benchmark", zp, name);
+            inode.setZkPath(zp);
+            inode.setPath(zp);
+            inode.setParentZkPath(path);
+            client.create().forPath(zp, JSONUtils.asBytes(inode));
+            created++;
+        }
+        if (level < depth) {
+            for (int ii = 0; ii < FAN_OUT; ii++) {
+                String name = String.format("dir-%d", ii);
+                String zp = ZKPaths.makePath(path, name);
+                DirectoryInode inode = new DirectoryInode("benchmark", zp, name);
+                inode.setZkPath(zp);
+                inode.setPath(zp);
+                inode.setParentZkPath(path);
+                client.create().forPath(zp, JSONUtils.asBytes(inode));
+                created += 1 + create(zp, level + 1);
+            }
+        }
+        return created;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        cache.close();
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public int zookeeper() throws Exception {
+        List<Inode> nodes = new ArrayList<>();
+        listDirect(ROOT, nodes);
+        return check(nodes);
+    }
+
+    @Benchmark
+    public int cached() throws Exception {
+        List<Inode> nodes = new ArrayList<>();
+        listCached(ROOT, nodes);
+        return check(nodes);
+    }
+
+    private int check(List<Inode> nodes) {
+        if (nodes.size() != count) {
+            throw new IllegalStateException(String.format("Invalid listing. [expected=%d][listed=%d]",
+                    count, nodes.size()));
+        }
+        return nodes.size();
+    }
+
+    private void listDirect(String path, List<Inode> nodes) throws Exception {
+        for (String name : client.getChildren().forPath(path)) {
+            String zp = ZKPaths.makePath(path, name);
+            Inode node = JSONUtils.read(client.getData().forPath(zp), Inode.class);
+            Inode parent = null;
+            if (path.compareTo(ROOT) != 0) {
+                parent = JSONUtils.read(client.getData().forPath(node.getParentZkPath()), Inode.class);
+            }
+            node.setParent(parent);
+            nodes.add(node);
+            if (node.isDirectory()) {
+                listDirect(zp, nodes);
+            }
+        }
+    }
+
+    private void listCached(String path, List<Inode> nodes) throws Exception {
+        for (String name : cache.children(path)) {
+            String zp = ZKPaths.makePath(path, name);
+            Inode node = JSONUtils.read(cache.get(zp), Inode.class);
+            Inode parent = null;
+            if (path.compareTo(ROOT) != 0) {
+                parent = JSONUtils.read(cache.get(node.getParentZkPath()), Inode.class);
+            }
+            node.setParent(parent);
+            nodes.add(node);
+            if (node.isDirectory()) {
+                listCached(zp, nodes);
+            }
+        }
+    }
+}
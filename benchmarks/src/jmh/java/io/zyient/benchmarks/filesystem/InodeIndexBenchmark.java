@@ -0,0 +1,88 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.filesystem;
+
+import io.zyient.core.filesystem.indexing.FileSystemIndexerSettings;
+import io.zyient.core.filesystem.indexing.InodeIndex;
+import io.zyient.core.filesystem.model.FileInode;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk ingest of synthetic file inodes: near-real-time indexing with count based
+ * commits vs. committing every update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class InodeIndexBenchmark {
+    @Param({"true", "false"})
+    public boolean nrt;
+    @Param({"250000"})
+    public int inodes;
+
+    private File directory;
+    private InodeIndex index;
+    private FileInode[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Commit per update is orders of magnitude slower, it ingests 1/100th of the
+        // inodes to keep the run bounded: compare time per inode across modes.
+        int count = (nrt ? inodes : inodes / 100);
+        data = new FileInode[count];
+        for (int ii = 0; ii < count; ii++) {
+            String dir = String.format("/benchmark/%03d/%03d", ii % 997, ii % 101);
+            String name = String.format("file-%08d.json", ii);
+            FileInode inode = new FileInode("benchmark", String.format("%s/%s", dir, name), name);
+            inode.setPath(dir);
+            inode.setCreateTimestamp(System.currentTimeMillis());
+            inode.setUpdateTimestamp(System.currentTimeMillis());
+            inode.attribute("owner", String.format("user-%d", ii % 37));
+            data[ii] = inode;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void open() throws Exception {
+        directory = Files.createTempDirectory("index-benchmark").toFile();
+        FileSystemIndexerSettings settings = new FileSystemIndexerSettings();
+        settings.setDirectory(directory.getAbsolutePath());
+        settings.setNrt(nrt);
+        index = new InodeIndex(settings, null).open();
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() throws Exception {
+        index.close();
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void ingest() throws Exception {
+        for (FileInode inode : data) {
+            index.update(inode);
+        }
+        index.commit();
+    }
+}
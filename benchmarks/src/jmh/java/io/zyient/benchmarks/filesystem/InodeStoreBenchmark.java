@@ -0,0 +1,118 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.filesystem;
+
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.core.filesystem.meta.InodeStore;
+import io.zyient.core.filesystem.meta.LocalInodeStore;
+import io.zyient.core.filesystem.model.FileInode;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scale test for the embedded inode store: creates millions of inodes (directories of
+ * {@link #FILES} files, one batch per directory), then lists and moves a directory of files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class InodeStoreBenchmark {
+    private static final String ROOT = "/benchmark/fs/inodes";
+    private static final int FILES = 1000;
+
+    @Param({"1000000", "5000000"})
+    public int inodes;
+
+    private File directory;
+    private LocalInodeStore store;
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String path = String.format("%s/000000/file-0000.json", ROOT);
+        FileInode inode = new FileInode("benchmark", path, "file-0000.json");
+        inode.setPath(String.format("%s/000000", ROOT));
+        inode.setZkPath(path);
+        inode.setParentZkPath(inode.getPath());
+        inode.setCreateTimestamp(System.currentTimeMillis());
+        inode.setUpdateTimestamp(System.currentTimeMillis());
+        data = JSONUtils.asBytes(inode);
+    }
+
+    @Setup(Level.Iteration)
+    public void open() throws Exception {
+        directory = Files.createTempDirectory("inode-store-benchmark").toFile();
+        store = new LocalInodeStore().open(new File(directory, "inodes.mv.db"), ROOT);
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() throws Exception {
+        store.close();
+        FileUtils.deleteDirectory(directory);
+    }
+
+    private static String dir(int index) {
+        return String.format("%s/%06d", ROOT, index);
+    }
+
+    @Benchmark
+    public int create() throws Exception {
+        int dirs = inodes / FILES;
+        for (int ii = 0; ii < dirs; ii++) {
+            String dir = dir(ii);
+            InodeStore.Batch batch = new InodeStore.Batch()
+                    .create(dir, data);
+            for (int jj = 0; jj < FILES - 1; jj++) {
+                batch.create(String.format("%s/file-%04d.json", dir, jj), data);
+            }
+            store.commit(batch);
+        }
+        // Move all files of a directory into a new one, atomically.
+        String source = dir(dirs / 2);
+        String target = dir(dirs);
+        List<String> files = store.children(source, true);
+        check(files, FILES - 1);
+        InodeStore.Batch batch = new InodeStore.Batch()
+                .create(target, data);
+        for (String file : files) {
+            byte[] inode = store.read(String.format("%s/%s", source, file), true);
+            batch.create(String.format("%s/%s", target, file), inode);
+        }
+        batch.delete(source);
+        store.commit(batch);
+        check(store.children(target, true), FILES - 1);
+        if (store.exists(source, true)) {
+            throw new IllegalStateException(String.format("Source not deleted. [path=%s]", source));
+        }
+        return check(store.children(ROOT, true), dirs);
+    }
+
+    private int check(List<String> names, int expected) {
+        if (names == null || names.size() != expected) {
+            throw new IllegalStateException(String.format("Invalid listing. [expected=%d][listed=%d]",
+                    expected, (names == null ? 0 : names.size())));
+        }
+        return names.size();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.filesystem;
+
+import io.zyient.base.common.config.units.SpaceUnitValue;
+import io.zyient.core.filesystem.impl.FsCacheSettings;
+import io.zyient.core.filesystem.impl.RangeReader;
+import io.zyient.core.filesystem.impl.RemoteFsCache;
+import io.zyient.core.filesystem.model.FileInode;
+import lombok.NonNull;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent random range reads over a working set larger than the cache.
+ * <p>
+ * The remote store is a local directory with a fixed latency per request. "global" replays the previous
+ * cache behaviour (whole file downloads under a single lock, bounded by file count), "blocks" uses
+ * {@link RemoteFsCache} with the same on-disk budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class RemoteFsCacheBenchmark {
+    private static final int FILE_COUNT = 16;
+    private static final int FILE_SIZE = 4 * 1024 * 1024;
+    private static final int CACHED_FILES = 4;
+    private static final int READ_SIZE = 64 * 1024;
+
+    public static class LocalRangeReader implements RangeReader {
+        private final Map<String, File> files;
+        private final long latency;
+
+        public LocalRangeReader(Map<String, File> files, long latency) {
+            this.files = files;
+            this.latency = latency;
+        }
+
+        private void delay() throws IOException {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException ie) {
+                throw new IOException(ie);
+            }
+        }
+
+        @Override
+        public long size(@NonNull FileInode inode) throws IOException {
+            delay();
+            return files.get(inode.getUuid()).length();
+        }
+
+        @Override
+        public int read(@NonNull FileInode inode,
+                        long position,
+                        byte @NonNull [] buffer,
+                        int offset,
+                        int length) throws IOException {
+            delay();
+            try (RandomAccessFile raf = new RandomAccessFile(files.get(inode.getUuid()), "r")) {
+                raf.seek(position);
+                return raf.read(buffer, offset, length);
+            }
+        }
+
+        public File download(FileInode inode, File target) throws IOException {
+            delay();
+            Files.copy(files.get(inode.getUuid()).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return target;
+        }
+    }
+
+    /**
+     * Whole file cache with a global lock, as the file system cache worked before blocks.
+     */
+    public static class GlobalLockCache {
+        private final LocalRangeReader reader;
+        private final File directory;
+        private final Map<String, File> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+        public GlobalLockCache(LocalRangeReader reader, File directory) {
+            this.reader = reader;
+            this.directory = directory;
+        }
+
+        public File get(FileInode inode) throws IOException {
+            synchronized (cache) {
+                File file = cache.get(inode.getUuid());
+                if (file == null) {
+                    file = reader.download(inode, new File(directory, inode.getUuid()));
+                    cache.put(inode.getUuid(), file);
+                    if (cache.size() > CACHED_FILES) {
+                        Iterator<Map.Entry<String, File>> iter = cache.entrySet().iterator();
+                        File evicted = iter.next().getValue();
+                        iter.remove();
+                        FileUtils.deleteQuietly(evicted);
+                    }
+                }
+                return file;
+            }
+        }
+    }
+
+    @Param({"blocks", "global"})
+    public String mode;
+    @Param({"10"})
+    public long latency;
+
+    private File source;
+    private File directory;
+    private FileInode[] inodes;
+    private RemoteFsCache blocks;
+    private GlobalLockCache global;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        source = Files.createTempDirectory("cache-benchmark-source").toFile();
+        directory = Files.createTempDirectory("cache-benchmark").toFile();
+        Map<String, File> files = new HashMap<>();
+        inodes = new FileInode[FILE_COUNT];
+        Random rnd = new Random(31);
+        byte[] data = new byte[FILE_SIZE];
+        for (int ii = 0; ii < FILE_COUNT; ii++) {
+            String name = String.format("file-%02d.bin", ii);
+            FileInode inode = new FileInode("benchmark", String.format("/benchmark/%s", name), name);
+            rnd.nextBytes(data);
+            File file = new File(source, name);
+            Files.write(file.toPath(), data);
+            files.put(inode.getUuid(), file);
+            inodes[ii] = inode;
+        }
+        LocalRangeReader reader = new LocalRangeReader(files, latency);
+        if (mode.equals("blocks")) {
+            FsCacheSettings settings = new FsCacheSettings();
+            settings.setDirectory(directory.getAbsolutePath());
+            settings.setBlockSize(new SpaceUnitValue(256, SpaceUnitValue.SpaceUnit.KILOBYTES));
+            settings.setMaxSize(new SpaceUnitValue((long) CACHED_FILES * FILE_SIZE / 1024,
+                    SpaceUnitValue.SpaceUnit.KILOBYTES));
+            blocks = new RemoteFsCache(reader).init(settings);
+        } else {
+            global = new GlobalLockCache(reader, directory);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        if (blocks != null) {
+            blocks.close();
+        }
+        FileUtils.deleteDirectory(directory);
+        FileUtils.deleteDirectory(source);
+    }
+
+    @State(Scope.Thread)
+    public static class ReadBuffer {
+        public final byte[] buffer = new byte[READ_SIZE];
+    }
+
+    @Benchmark
+    public int read(ReadBuffer state) throws Exception {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        FileInode inode = inodes[rnd.nextInt(FILE_COUNT)];
+        long position = rnd.nextInt(FILE_SIZE - READ_SIZE);
+        if (blocks != null) {
+            return blocks.read(inode, position, state.buffer, 0, READ_SIZE);
+        }
+        while (true) {
+            File file = global.get(inode);
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                raf.seek(position);
+                return raf.read(state.buffer, 0, READ_SIZE);
+            } catch (FileNotFoundException ex) {
+                // Evicted before it could be opened.
+            }
+        }
+    }
+}
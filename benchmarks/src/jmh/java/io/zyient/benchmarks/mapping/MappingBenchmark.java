@@ -0,0 +1,74 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.base.common.model.Context;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.benchmarks.model.SampleEntity;
+import io.zyient.core.mapping.mapper.Mapping;
+import io.zyient.core.mapping.model.mapping.MappedResponse;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MappingBenchmark {
+    public static final String MAPPING_CONFIG = "mapping/benchmark-mapping.xml";
+    private static final int RECORD_COUNT = 1024;
+
+    private Mapping<SampleEntity> mapping;
+    private SourceMap[] records;
+    private int index = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        XMLConfiguration xmlConfig = ConfigReader.readFromClasspath(MAPPING_CONFIG);
+        HierarchicalConfiguration<ImmutableNode> config = xmlConfig.configurationAt(Mapping.__CONFIG_PATH);
+        mapping = new SampleEntityMapping()
+                .configure(config, new BenchmarkEnv());
+        records = new SourceMap[RECORD_COUNT];
+        for (int ii = 0; ii < RECORD_COUNT; ii++) {
+            records[ii] = record(ii);
+        }
+    }
+
+    public static SourceMap record(int index) {
+        SourceMap record = new SourceMap(8);
+        record.put("ID", String.format("ID-%08d", index));
+        record.put("FIRST_NAME", String.format("First-%d", index));
+        record.put("LAST_NAME", String.format("Last-%d", index));
+        record.put("CITY", String.format("City-%d", index % 100));
+        record.put("STATE", String.format("State-%d", index % 50));
+        record.put("ZIP", String.format("%05d", index % 100000));
+        record.put("AMOUNT", String.valueOf(index * 1.5));
+        record.put("SEGMENT", String.format("SEGMENT-%d", index % 10));
+        return record;
+    }
+
+    @Benchmark
+    public MappedResponse<SampleEntity> read() throws Exception {
+        index = (index + 1) % RECORD_COUNT;
+        return mapping.read(records[index], new Context());
+    }
+}
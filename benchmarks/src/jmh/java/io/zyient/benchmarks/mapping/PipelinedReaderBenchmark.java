@@ -0,0 +1,171 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.base.common.model.Context;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.benchmarks.model.SampleEntity;
+import io.zyient.core.mapping.mapper.Mapping;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.mapping.MappedResponse;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.pipeline.PipelinedReader;
+import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.impl.separated.SeparatedInputReader;
+import io.zyient.core.mapping.readers.settings.SeparatedReaderSettings;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and maps a multi-gigabyte synthetic CSV, sequentially (workers = 0) and through the staged
+ * {@link PipelinedReader}; the score is the time taken per file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class PipelinedReaderBenchmark {
+    @Param({"2048"})
+    public long sizeMB;
+    @Param({"0", "4", "8"})
+    public int workers;
+    @Param({"true"})
+    public boolean ordered;
+
+    private final BenchmarkEnv env = new BenchmarkEnv();
+    private File file;
+    private Mapping<SampleEntity> mapping;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        XMLConfiguration xmlConfig = ConfigReader.readFromClasspath(MappingBenchmark.MAPPING_CONFIG);
+        HierarchicalConfiguration<ImmutableNode> config = xmlConfig.configurationAt(Mapping.__CONFIG_PATH);
+        mapping = new SampleEntityMapping()
+                .configure(config, env);
+        if (workers > 0) {
+            executor = Executors.newFixedThreadPool(workers);
+        }
+        file = Files.createTempFile("pipelined-benchmark", ".csv").toFile();
+        long limit = sizeMB * 1024 * 1024;
+        long size = 0;
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file), 1024 * 1024)) {
+            String header = String.join(",", MappingBenchmark.record(0).keySet());
+            writer.write(header);
+            writer.newLine();
+            for (int ii = 0; size < limit; ii++) {
+                SourceMap record = MappingBenchmark.record(ii);
+                StringBuilder builder = new StringBuilder();
+                for (Object value : record.values()) {
+                    if (!builder.isEmpty()) {
+                        builder.append(',');
+                    }
+                    builder.append(value);
+                }
+                writer.write(builder.toString());
+                writer.newLine();
+                size += builder.length() + 1;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (file != null && !file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    private ReadCursor open() throws Exception {
+        InputContentInfo ci = new InputContentInfo()
+                .path(file)
+                .sourceURI(file.toURI());
+        SeparatedReaderSettings settings = new SeparatedReaderSettings();
+        settings.setName("benchmark");
+        settings.setHasHeader(true);
+        settings.setReadBatchSize(1024);
+        SeparatedInputReader reader = (SeparatedInputReader) new SeparatedInputReader()
+                .contentInfo(ci)
+                .settings(settings);
+        return reader.open(env);
+    }
+
+    private RecordResponse map(SourceMap data) throws Exception {
+        MappedResponse<SampleEntity> r = mapping.read(data, new Context());
+        RecordResponse response = new RecordResponse();
+        response.setSource(data);
+        response.setStatus(r.getStatus());
+        response.setEntity(r.getEntity());
+        return response;
+    }
+
+    @Benchmark
+    public long read() throws Exception {
+        long count = 0;
+        try (ReadCursor cursor = open()) {
+            if (executor == null) {
+                while (true) {
+                    SourceMap data = cursor.next();
+                    if (data == null) break;
+                    if (map(data).getEntity() != null) {
+                        count++;
+                    }
+                }
+            } else {
+                try (PipelinedReader reader = new PipelinedReader("benchmark",
+                        cursor,
+                        executor,
+                        this::map,
+                        256, workers * 4, ordered)) {
+                    reader.start();
+                    while (true) {
+                        List<PipelinedReader.MappedRecord> records = reader.next();
+                        if (records == null) break;
+                        for (PipelinedReader.MappedRecord record : records) {
+                            if (record.response() != null && record.response().getEntity() != null) {
+                                count++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.impl.separated.SeparatedInputReader;
+import io.zyient.core.mapping.readers.settings.SeparatedReaderSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a synthetic CSV file end-to-end; the score is the time taken per file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SeparatedInputReaderBenchmark {
+    @Param({"100000"})
+    public int records;
+    @Param({"true", "false"})
+    public boolean header;
+
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        file = Files.createTempFile("separated-benchmark", ".csv").toFile();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            if (header) {
+                writer.write(String.join(",", MappingBenchmark.record(0).keySet()));
+                writer.newLine();
+            }
+            for (int ii = 0; ii < records; ii++) {
+                SourceMap record = MappingBenchmark.record(ii);
+                boolean first = true;
+                for (Object value : record.values()) {
+                    if (!first) {
+                        writer.write(',');
+                    }
+                    writer.write(String.valueOf(value));
+                    first = false;
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (file != null && !file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    @Benchmark
+    public long read() throws Exception {
+        InputContentInfo ci = new InputContentInfo()
+                .path(file)
+                .sourceURI(file.toURI());
+        SeparatedReaderSettings settings = new SeparatedReaderSettings();
+        settings.setName("benchmark");
+        settings.setHasHeader(header);
+        settings.setReadBatchSize(1024);
+        long count = 0;
+        try (SeparatedInputReader reader = (SeparatedInputReader) new SeparatedInputReader()
+                .contentInfo(ci)
+                .settings(settings)) {
+            reader.doOpen();
+            while (true) {
+                List<SourceMap> batch = reader.fetchNextBatch();
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                count += batch.size();
+            }
+        }
+        return count;
+    }
+}
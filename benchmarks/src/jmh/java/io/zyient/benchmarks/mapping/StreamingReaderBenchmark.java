@@ -0,0 +1,170 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.InputReader;
+import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.impl.json.JsonInputReader;
+import io.zyient.core.mapping.readers.impl.json.JsonStreamingInputReader;
+import io.zyient.core.mapping.readers.impl.xml.XmlInputReader;
+import io.zyient.core.mapping.readers.impl.xml.XmlStreamingInputReader;
+import io.zyient.core.mapping.readers.settings.JsonReaderSettings;
+import io.zyient.core.mapping.readers.settings.ReaderSettings;
+import io.zyient.core.mapping.readers.settings.XmlReaderSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-memory (Jackson tree) and streaming JSON/XML readers. The score is the time taken
+ * per file, the peak heap pool usage of each iteration is printed at the end of the iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class StreamingReaderBenchmark {
+    @Param({"500000"})
+    public int records;
+    @Param({"json", "xml"})
+    public String format;
+    @Param({"false", "true"})
+    public boolean streaming;
+
+    private final BenchmarkEnv env = new BenchmarkEnv();
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        boolean json = format.equals("json");
+        file = Files.createTempFile("streaming-benchmark", json ? ".json" : ".xml").toFile();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file), 1024 * 1024)) {
+            writer.write(json ? "{\"data\": {\"records\": [" : "<data><records>");
+            writer.newLine();
+            for (int ii = 0; ii < records; ii++) {
+                SourceMap record = MappingBenchmark.record(ii);
+                StringBuilder builder = new StringBuilder();
+                if (json) {
+                    builder.append(ii > 0 ? ",{" : "{");
+                    boolean first = true;
+                    for (Map.Entry<String, Object> e : record.entrySet()) {
+                        if (!first) builder.append(',');
+                        builder.append('"').append(e.getKey()).append("\": \"").append(e.getValue()).append('"');
+                        first = false;
+                    }
+                    builder.append('}');
+                } else {
+                    builder.append("<record>");
+                    for (Map.Entry<String, Object> e : record.entrySet()) {
+                        builder.append('<').append(e.getKey()).append('>')
+                                .append(e.getValue())
+                                .append("</").append(e.getKey()).append('>');
+                    }
+                    builder.append("</record>");
+                }
+                writer.write(builder.toString());
+                writer.newLine();
+            }
+            writer.write(json ? "]}}" : "</records></data>");
+            writer.newLine();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (file != null && !file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeak() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportPeak() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%n[format=%s][streaming=%s] peak heap: %d MB%n",
+                format, streaming, peak / (1024 * 1024));
+    }
+
+    private InputReader reader() {
+        ReaderSettings settings;
+        InputReader reader;
+        if (format.equals("json")) {
+            JsonReaderSettings js = new JsonReaderSettings();
+            js.setArray(false);
+            js.setBasePath("data.records");
+            js.setStreaming(streaming);
+            settings = js;
+            reader = streaming ? new JsonStreamingInputReader() : new JsonInputReader();
+        } else {
+            XmlReaderSettings xs = new XmlReaderSettings();
+            xs.setBasePath("records.record");
+            xs.setStreaming(streaming);
+            settings = xs;
+            reader = streaming ? new XmlStreamingInputReader() : new XmlInputReader();
+        }
+        settings.setName("benchmark");
+        settings.setReadBatchSize(1024);
+        InputContentInfo ci = new InputContentInfo()
+                .path(file)
+                .sourceURI(file.toURI());
+        return reader
+                .contentInfo(ci)
+                .settings(settings);
+    }
+
+    @Benchmark
+    public long read() throws Exception {
+        long count = 0;
+        try (ReadCursor cursor = reader().open(env)) {
+            while (cursor.next() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
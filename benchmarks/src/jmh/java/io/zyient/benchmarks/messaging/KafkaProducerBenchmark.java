@@ -0,0 +1,120 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.benchmarks.messaging;
+
+import io.zyient.base.common.messaging.MessagingError;
+import io.zyient.core.messaging.MessageObject;
+import io.zyient.core.messaging.kafka.BaseKafkaProducer;
+import kafka.testkit.KafkaClusterTestKit;
+import kafka.testkit.TestKitNodes;
+import lombok.NonNull;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the synchronous (one round-trip per message) send path with the pipelined batch
+ * send against an embedded single-node KRaft cluster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class KafkaProducerBenchmark {
+    private static final String TOPIC = "producer-benchmark";
+    private static final int BATCH_SIZE = 256;
+
+    public static class StringProducer extends BaseKafkaProducer<String> {
+        @Override
+        protected byte[] serialize(@NonNull String message) throws MessagingError {
+            return message.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Param({"64", "1024"})
+    public int maxInFlight;
+
+    private KafkaClusterTestKit cluster;
+    private KafkaProducer<String, byte[]> client;
+    private StringProducer producer;
+    private List<MessageObject<String, String>> batch;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        cluster = new KafkaClusterTestKit.Builder(
+                new TestKitNodes.Builder()
+                        .setNumBrokerNodes(1)
+                        .setNumControllerNodes(1)
+                        .build())
+                .build();
+        cluster.format();
+        cluster.startup();
+        cluster.waitForReadyBrokers();
+        try (Admin admin = Admin.create(cluster.clientProperties())) {
+            admin.createTopics(List.of(new NewTopic(TOPIC, 4, (short) 1))).all().get();
+        }
+        Properties props = cluster.clientProperties();
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, "5");
+        client = new KafkaProducer<>(props);
+        producer = new StringProducer();
+        producer.withMaxInFlight(maxInFlight);
+        producer.init(client, TOPIC);
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int ii = 0; ii < BATCH_SIZE; ii++) {
+            MessageObject<String, String> message = new MessageObject<>();
+            message.key(String.format("key-%d", ii % 16));
+            message.mode(MessageObject.MessageMode.New);
+            message.value(String.format("{\"id\": %d, \"payload\": \"benchmark message payload\"}", ii));
+            batch.add(message);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        producer.close();
+        client.close();
+        cluster.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void sendSync() throws Exception {
+        for (MessageObject<String, String> message : batch) {
+            producer.send(message);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object sendBatch() throws Exception {
+        return producer.send(batch);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.model;
+
+import io.zyient.base.common.utils.beans.MapPropertyDef;
+import io.zyient.base.common.utils.beans.TypeRef;
+import io.zyient.base.common.utils.beans.TypeRefs;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+public class SampleEntity {
+    private String id;
+    private String firstName;
+    private String lastName;
+    private long timestamp;
+    private double amount;
+    private SampleAddress address;
+    @TypeRef(type = String.class)
+    private List<String> tags = new ArrayList<>();
+    @TypeRefs(refs = {
+            @TypeRef(value = MapPropertyDef.REF_NAME_KEY, type = String.class),
+            @TypeRef(value = MapPropertyDef.REF_NAME_VALUE, type = SampleAddress.class)
+    })
+    private Map<String, SampleAddress> locations = new HashMap<>();
+
+    public static SampleEntity create(int index) {
+        SampleEntity entity = new SampleEntity();
+        entity.id = String.format("ID-%08d", index);
+        entity.firstName = String.format("First-%d", index);
+        entity.lastName = String.format("Last-%d", index);
+        entity.timestamp = System.currentTimeMillis();
+        entity.amount = index * 1.5;
+        entity.address = address(index);
+        for (int ii = 0; ii < 8; ii++) {
+            entity.tags.add(String.format("TAG-%d-%d", index, ii));
+        }
+        for (int ii = 0; ii < 4; ii++) {
+            entity.locations.put(String.format("LOC-%d", ii), address(index + ii));
+        }
+        return entity;
+    }
+
+    private static SampleAddress address(int index) {
+        SampleAddress address = new SampleAddress();
+        address.setLine1(String.format("%d Main Street", index));
+        address.setCity(String.format("City-%d", index % 100));
+        address.setState(String.format("State-%d", index % 50));
+        address.setZipCode(String.format("%05d", index % 100000));
+        address.setCountry("US");
+        return address;
+    }
+}
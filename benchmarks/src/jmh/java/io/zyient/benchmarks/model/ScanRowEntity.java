@@ -0,0 +1,64 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.model;
+
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.CopyException;
+import io.zyient.base.common.model.ValidationExceptions;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.core.model.IntegerKey;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "scan_rows")
+public class ScanRowEntity implements IEntity<IntegerKey> {
+    @EmbeddedId
+    private IntegerKey id;
+    @Column(name = "name")
+    private String name;
+    @Column(name = "amount")
+    private double amount;
+
+    @Override
+    public int compare(IntegerKey key) {
+        return id.compareTo(key);
+    }
+
+    @Override
+    public IEntity<IntegerKey> copyChanges(IEntity<IntegerKey> source, Context context) throws CopyException {
+        return null;
+    }
+
+    @Override
+    public IEntity<IntegerKey> clone(Context context) throws CopyException {
+        return null;
+    }
+
+    @Override
+    public IntegerKey entityKey() {
+        return id;
+    }
+
+    @Override
+    public void validate() throws ValidationExceptions {
+
+    }
+}
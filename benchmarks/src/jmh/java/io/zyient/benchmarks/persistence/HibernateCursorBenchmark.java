@@ -0,0 +1,146 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.persistence;
+
+import io.zyient.base.core.model.IntegerKey;
+import io.zyient.benchmarks.model.ScanRowEntity;
+import io.zyient.core.persistence.impl.rdbms.HibernateCursor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.query.Query;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page latency at increasing scan depth over a million-row H2 table: OFFSET paging
+ * re-reads every preceding row (latency grows with depth), keyset paging seeks on the
+ * primary key (latency stays flat). scan reads the whole table through a streaming
+ * HibernateCursor with per-page detach enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class HibernateCursorBenchmark {
+    private static final String URL = "jdbc:h2:mem:cursor-benchmark;DB_CLOSE_DELAY=-1";
+    private static final int ROWS = 1000000;
+    private static final int PAGE_SIZE = 256;
+
+    @Param({"0", "1000", "3900"})
+    public int page;
+
+    private Connection keepAlive;
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        keepAlive = DriverManager.getConnection(URL, "sa", "");
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS scan_rows (id INT PRIMARY KEY, name VARCHAR(64), amount DOUBLE)");
+        }
+        keepAlive.setAutoCommit(false);
+        try (PreparedStatement ps = keepAlive.prepareStatement("INSERT INTO scan_rows VALUES (?, ?, ?)")) {
+            for (int ii = 0; ii < ROWS; ii++) {
+                ps.setInt(1, ii);
+                ps.setString(2, String.format("ROW-%08d", ii));
+                ps.setDouble(3, ii * 1.5);
+                ps.addBatch();
+                if ((ii + 1) % 10000 == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        keepAlive.commit();
+        keepAlive.setAutoCommit(true);
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(ScanRowEntity.class)
+                .setProperty(Environment.JAKARTA_JDBC_URL, URL)
+                .setProperty(Environment.JAKARTA_JDBC_USER, "sa")
+                .setProperty(Environment.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(Environment.JAKARTA_JDBC_DRIVER, "org.h2.Driver")
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        sessionFactory.close();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("DROP TABLE scan_rows");
+        }
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public int offsetPage() {
+        try (Session session = sessionFactory.openSession()) {
+            List<ScanRowEntity> rows = session
+                    .createQuery("FROM ScanRowEntity e ORDER BY e.id.key", ScanRowEntity.class)
+                    .setFirstResult(page * PAGE_SIZE)
+                    .setMaxResults(PAGE_SIZE)
+                    .list();
+            return rows.size();
+        }
+    }
+
+    @Benchmark
+    public int keysetPage() {
+        try (Session session = sessionFactory.openSession()) {
+            List<ScanRowEntity> rows = session
+                    .createQuery("FROM ScanRowEntity e WHERE e.id.key > :last ORDER BY e.id.key",
+                            ScanRowEntity.class)
+                    .setParameter("last", page * PAGE_SIZE - 1)
+                    .setMaxResults(PAGE_SIZE)
+                    .list();
+            return rows.size();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long scan() throws Exception {
+        long count = 0;
+        try (Session session = sessionFactory.openSession()) {
+            Query<ScanRowEntity> query = session
+                    .createQuery("FROM ScanRowEntity e ORDER BY e.id.key", ScanRowEntity.class)
+                    .setFetchSize(PAGE_SIZE);
+            ScrollableResults<ScanRowEntity> results = query.scroll(ScrollMode.FORWARD_ONLY);
+            try (HibernateCursor<IntegerKey, ScanRowEntity> cursor = new HibernateCursor<>(session, results, 0)) {
+                cursor.detach(true);
+                cursor.pageSize(PAGE_SIZE);
+                while (true) {
+                    List<ScanRowEntity> rows = cursor.nextPage();
+                    if (rows == null || rows.isEmpty()) break;
+                    count += rows.size();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.cache;
+
+/**
+ * Computes the relative weight (typically the size in bytes) of a cache entry.
+ *
+ * @param <K> - Cache Key type.
+ * @param <V> - Cache Value type.
+ */
+public interface EntryWeigher<K, V> {
+    /**
+     * Get the weight of the specified entry.
+     *
+     * @param key   - Entry Key.
+     * @param value - Entry Value.
+     * @return - Non-negative weight.
+     */
+    int weigh(K key, V value);
+}
@@ -16,26 +16,81 @@
 
 package io.zyient.base.common.cache;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.zyient.base.common.utils.DefaultLogger;
 import lombok.NonNull;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
+/**
+ * Bounded concurrent cache.
+ * <p>
+ * Backed by a striped, lock-amortized map using W-TinyLFU admission and eviction. The cache
+ * can be bounded either by entry count or by total weight (see {@link EntryWeigher}).
+ * Eviction callbacks are invoked for entries evicted by the size bound and for entries explicitly
+ * removed ({@link #remove(Object)}); replaced values and {@link #clear()} are not reported.
+ * <p>
+ * Explicit removals are reported synchronously on the calling thread. Size evictions are done by the
+ * cache maintenance, which runs on the maintenance executor ({@link java.util.concurrent.ForkJoinPool#commonPool()}
+ * by default): their callbacks are usually invoked asynchronously, after the put that exceeded the bound
+ * has returned, and the cache can be briefly over its bound. Callbacks must be thread-safe and should not
+ * block; pass a direct executor (e.g. {@code Runnable::run}) to run maintenance on the calling threads.
+ *
+ * @param <K> - Cache Key type.
+ * @param <V> - Cache Value type.
+ */
 public class LRUCache<K, V> implements Cache<K, V> {
-    private int size;
-    private final Map<K, LinkedListNode<CacheElement<K, V>>> nodeMap;
-    private final DoublyLinkedList<CacheElement<K, V>> elements;
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final List<EvictionCallback<K, V>> evictionCallbacks = new ArrayList<>();
+    private final com.github.benmanes.caffeine.cache.Cache<K, V> cache;
+    private final List<EvictionCallback<K, V>> evictionCallbacks = new CopyOnWriteArrayList<>();
 
+    /**
+     * Create a cache bounded by the number of entries.
+     *
+     * @param size - Max number of entries.
+     */
     public LRUCache(int size) {
-        this.size = size;
-        this.nodeMap = new ConcurrentHashMap<>(size);
-        this.elements = new DoublyLinkedList<>();
+        this(size, null, null);
+    }
+
+    /**
+     * Create a cache bounded by the total weight of the entries.
+     *
+     * @param maxWeight - Max total weight.
+     * @param weigher   - Entry weigher.
+     */
+    public LRUCache(long maxWeight, @NonNull EntryWeigher<K, V> weigher) {
+        this(maxWeight, weigher, null);
+    }
+
+    /**
+     * Create a cache bounded by weight (if weigher is specified) or by entry count.
+     *
+     * @param maxSize  - Max total weight or max number of entries.
+     * @param weigher  - Entry weigher, NULL to bound by entry count.
+     * @param executor - Executor used for cache maintenance (and size eviction callbacks), NULL to use
+     *                 the common pool.
+     */
+    public LRUCache(long maxSize,
+                    EntryWeigher<K, V> weigher,
+                    Executor executor) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .recordStats();
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        if (weigher != null) {
+            builder.maximumWeight(maxSize)
+                    .weigher((K key, V value) -> weigher.weigh(key, value));
+        } else {
+            builder.maximumSize(maxSize);
+        }
+        this.cache = builder
+                .evictionListener((K key, V value, RemovalCause cause) -> evicted(key, value))
+                .build();
     }
 
     public LRUCache<K, V> withEvictionCallback(@NonNull EvictionCallback<K, V> callback) {
@@ -43,44 +98,27 @@ public class LRUCache<K, V> implements Cache<K, V> {
         return this;
     }
 
+    /**
+     * Add/Replace the value for the specified key.
+     * Adding a NULL value removes the key from the cache.
+     *
+     * @param key   - Cache Key.
+     * @param value - Value to cache.
+     * @return - Value added?
+     */
     @Override
     public boolean put(@NonNull K key, V value) {
-        this.lock.writeLock().lock();
-        try {
-            CacheElement<K, V> item = new CacheElement<K, V>(key, value);
-            LinkedListNode<CacheElement<K, V>> newNode;
-            if (this.nodeMap.containsKey(key)) {
-                LinkedListNode<CacheElement<K, V>> node = this.nodeMap.get(key);
-                newNode = elements.updateAndMoveToFront(node, item);
-            } else {
-                if (this.size() >= this.size) {
-                    this.evictElement();
-                }
-                newNode = this.elements.add(item);
-            }
-            if (newNode.isEmpty()) {
-                return false;
-            }
-            this.nodeMap.put(key, newNode);
-            return true;
-        } finally {
-            this.lock.writeLock().unlock();
+        if (value == null) {
+            remove(key);
+            return false;
         }
+        cache.put(key, value);
+        return true;
     }
 
     @Override
     public Optional<V> get(K key) {
-        this.lock.readLock().lock();
-        try {
-            LinkedListNode<CacheElement<K, V>> linkedListNode = this.nodeMap.get(key);
-            if (linkedListNode != null && !linkedListNode.isEmpty()) {
-                nodeMap.put(key, this.elements.moveToFront(linkedListNode));
-                return Optional.of(linkedListNode.getElement().getValue());
-            }
-            return Optional.empty();
-        } finally {
-            this.lock.readLock().unlock();
-        }
+        return Optional.ofNullable(cache.getIfPresent(key));
     }
 
     /**
@@ -89,17 +127,13 @@ public class LRUCache<K, V> implements Cache<K, V> {
      */
     @Override
     public boolean containsKey(K key) {
-        return nodeMap.containsKey(key);
+        return cache.asMap().containsKey(key);
     }
 
     @Override
     public int size() {
-        this.lock.readLock().lock();
-        try {
-            return elements.size();
-        } finally {
-            this.lock.readLock().unlock();
-        }
+        cache.cleanUp();
+        return (int) cache.estimatedSize();
     }
 
     @Override
@@ -109,56 +143,57 @@ public class LRUCache<K, V> implements Cache<K, V> {
 
     @Override
     public void clear() {
-        this.lock.writeLock().lock();
-        try {
-            nodeMap.clear();
-            elements.clear();
-        } finally {
-            this.lock.writeLock().unlock();
-        }
+        cache.invalidateAll();
+        cache.cleanUp();
     }
 
     @Override
     public boolean remove(K key) {
-        this.lock.writeLock().lock();
-        try {
-            if (this.nodeMap.containsKey(key)) {
-                LinkedListNode<CacheElement<K, V>> node = nodeMap.remove(key);
-                node = this.elements.remove(node.getElement());
-                if (node != null) {
-                    if (!evictionCallbacks.isEmpty()) {
-                        for (EvictionCallback<K, V> callback : evictionCallbacks) {
-                            callback.evicted(node.getElement().getKey(), node.getElement().getValue());
-                        }
-                    }
-                }
-                return true;
-            }
-        } finally {
-            this.lock.writeLock().unlock();
+        V value = cache.asMap().remove(key);
+        if (value != null) {
+            evicted(key, value);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove the key only if it is currently mapped to the specified value.
+     *
+     * @param key   - Cache Key.
+     * @param value - Expected value.
+     * @return - Removed?
+     */
+    public boolean remove(@NonNull K key, @NonNull V value) {
+        if (cache.asMap().remove(key, value)) {
+            evicted(key, value);
+            return true;
         }
         return false;
     }
 
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
 
-    private boolean evictElement() {
-        this.lock.writeLock().lock();
-        try {
-            LinkedListNode<CacheElement<K, V>> node = elements.removeTail();
-            if (node.isEmpty()) {
-                return false;
-            }
-            node = nodeMap.remove(node.getElement().getKey());
-            if (node != null) {
-                if (!evictionCallbacks.isEmpty()) {
-                    for (EvictionCallback<K, V> callback : evictionCallbacks) {
-                        callback.evicted(node.getElement().getKey(), node.getElement().getValue());
-                    }
-                }
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+
+    private void evicted(K key, V value) {
+        if (key == null || value == null) {
+            return;
+        }
+        for (EvictionCallback<K, V> callback : evictionCallbacks) {
+            try {
+                callback.evicted(key, value);
+            } catch (Throwable t) {
+                DefaultLogger.error(String.format("Eviction callback failed. [key=%s]", key), t);
             }
-            return true;
-        } finally {
-            this.lock.writeLock().unlock();
         }
     }
-}
\ No newline at end of file
+}
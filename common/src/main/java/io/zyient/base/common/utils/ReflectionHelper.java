@@ -51,6 +51,12 @@ public class ReflectionHelper {
 
     private static final ClassUtils CLASS_UTILS = new ClassUtils();
     private static final ReflectionUtils REFLECTION_UTILS = new ReflectionUtils();
+    private static final ClassValue<Field[]> __fields = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return findAllFields(type);
+        }
+    };
 
     public static ClassUtils classUtils() {
         return CLASS_UTILS;
@@ -60,10 +66,21 @@ public class ReflectionHelper {
         return REFLECTION_UTILS;
     }
 
-    @SuppressWarnings("unchecked")
     public static Object getMapValue(@NonNull String field,
                                      Map<String, Object> source) {
-        List<String> keys = extractKeys(field);
+        return getMapValue(extractKeys(field), source);
+    }
+
+    /**
+     * Get the map value for pre-extracted keys (see extractKeys(...)).
+     *
+     * @param keys   - Key path.
+     * @param source - Source map.
+     * @return - Value or NULL.
+     */
+    @SuppressWarnings("unchecked")
+    public static Object getMapValue(List<String> keys,
+                                     Map<String, Object> source) {
         if (keys != null && !keys.isEmpty()) {
             Map<String, Object> node = source;
             for (int ii = 0; ii < keys.size(); ii++) {
@@ -170,14 +187,24 @@ public class ReflectionHelper {
 
     /**
      * Recursively get all the declared fields for a type.
+     * <p>
+     * The class hierarchy is walked once per type, subsequent calls return a copy of the cached result.
      *
      * @param type - Type to fetch fields for.
      * @return - Array of all defined fields.
      */
     public static Field[] getAllFields(@NonNull Class<?> type) {
+        Field[] fields = __fields.get(type);
+        if (fields != null) {
+            return Arrays.copyOf(fields, fields.length);
+        }
+        return null;
+    }
+
+    private static Field[] findAllFields(@NonNull Class<?> type) {
         Field[] pfs = null;
         if (hasSuperClass(type)) {
-            pfs = getAllFields(type.getSuperclass());
+            pfs = __fields.get(type.getSuperclass());
         }
         List<Field> fields = new ArrayList<>();
         if (pfs != null) {
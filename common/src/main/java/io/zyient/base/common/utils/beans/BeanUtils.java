@@ -26,6 +26,7 @@ import lombok.experimental.Accessors;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,25 +35,57 @@ import java.util.concurrent.locks.ReentrantLock;
 public class BeanUtils {
     private static final ReentrantLock __cacheLock = new ReentrantLock();
     private static final LRUCache<Class<?>, ClassDef> __classDefs = new LRUCache<>(1024);
+    private static final Map<Class<?>, ClassDef> __building = new HashMap<>();
+    private static final LRUCache<AccessorKey, PropertyAccessor> __accessors = new LRUCache<>(8192);
+
+    private record AccessorKey(Class<?> type, String path) {
+    }
 
     public static ClassDef get(@NonNull Class<?> clazz) throws Exception {
+        Optional<ClassDef> o = __classDefs.get(clazz);
+        if (o.isPresent()) return o.get();
         __cacheLock.lock();
         try {
-            if (__classDefs.containsKey(clazz)) {
-                Optional<ClassDef> o = __classDefs.get(clazz);
-                if (o.isPresent()) return o.get();
+            o = __classDefs.get(clazz);
+            if (o.isPresent()) return o.get();
+            ClassDef def = __building.get(clazz);
+            if (def != null) {
+                return def;
             }
-            ClassDef def = new ClassDef();
+            def = new ClassDef();
             def.name(clazz.getSimpleName());
             def.type(clazz);
+            __building.put(clazz, def);
+            try {
+                def.from(clazz);
+            } finally {
+                __building.remove(clazz);
+            }
             __classDefs.put(def.type(), def);
-            def.from(clazz);
             return def;
         } finally {
             __cacheLock.unlock();
         }
     }
 
+    /**
+     * Get the (cached) compiled accessor for the property path on the specified type.
+     *
+     * @param type - Source/Target type.
+     * @param path - Property path.
+     * @return - Property accessor.
+     * @throws Exception
+     */
+    public static PropertyAccessor accessor(@NonNull Class<?> type,
+                                            @NonNull String path) throws Exception {
+        AccessorKey key = new AccessorKey(type, path);
+        Optional<PropertyAccessor> o = __accessors.get(key);
+        if (o.isPresent()) return o.get();
+        PropertyAccessor accessor = PropertyAccessor.compile(type, path);
+        __accessors.put(key, accessor);
+        return accessor;
+    }
+
     public enum FieldType {
         Field, List, Map
     }
@@ -88,8 +121,12 @@ public class BeanUtils {
 
     public static Object getValue(@NonNull Object source,
                                   @NonNull String path) throws Exception {
+        return accessor(source.getClass(), path).get(source);
+    }
+
+    static Object getValue(@NonNull Object source,
+                           @NonNull FieldBuilder builder) throws Exception {
         ClassDef def = get(source.getClass());
-        FieldBuilder builder = new FieldBuilder(path);
         PropertyDef property = null;
         Object value = source;
         do {
@@ -113,8 +150,13 @@ public class BeanUtils {
     public static void setValue(@NonNull Object target,
                                 @NonNull String path,
                                 Object value) throws Exception {
+        accessor(target.getClass(), path).set(target, value);
+    }
+
+    static void setValue(@NonNull Object target,
+                         @NonNull FieldBuilder builder,
+                         Object value) throws Exception {
         ClassDef def = get(target.getClass());
-        FieldBuilder builder = new FieldBuilder(path);
         Object current = target;
         while (true) {
             FieldDef fd = builder.next();
@@ -136,8 +178,13 @@ public class BeanUtils {
     public static Object setValueFromString(@NonNull Object target,
                                             @NonNull String path,
                                             @NonNull String value) throws Exception {
+        return accessor(target.getClass(), path).setFromString(target, value);
+    }
+
+    static Object setValueFromString(@NonNull Object target,
+                                     @NonNull FieldBuilder builder,
+                                     @NonNull String value) throws Exception {
         ClassDef def = get(target.getClass());
-        FieldBuilder builder = new FieldBuilder(path);
         Object current = target;
         while (true) {
             FieldDef fd = builder.next();
@@ -336,6 +383,10 @@ public class BeanUtils {
         private final List<FieldDef> fields = new ArrayList<>();
         private int index = 0;
 
+        public FieldBuilder(@NonNull List<FieldDef> fields) {
+            this.fields.addAll(fields);
+        }
+
         public FieldBuilder(@NonNull String path) {
             if (path.contains(".")) {
                 String[] parts = path.split("\\.");
@@ -0,0 +1,362 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.utils.beans;
+
+import com.google.common.base.Strings;
+import io.zyient.base.common.utils.ReflectionHelper;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-compiled accessor for a (type, property path) pair.
+ * <p>
+ * The path is parsed once and every segment is bound to method handles for the property getter/setter,
+ * resolved against the declared property types. Paths that cannot be resolved statically (properties typed
+ * as Object, declared only on sub-types, etc.) fall back to the reflective lookup used by {@link BeanUtils}.
+ */
+public class PropertyAccessor {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    @Getter
+    @Accessors(fluent = true)
+    private final Class<?> type;
+    @Getter
+    @Accessors(fluent = true)
+    private final String path;
+    private final List<BeanUtils.FieldDef> fields;
+    private Segment[] segments = null;
+
+    private PropertyAccessor(@NonNull Class<?> type,
+                             @NonNull String path) {
+        this.type = type;
+        this.path = path;
+        List<BeanUtils.FieldDef> fields = new ArrayList<>();
+        BeanUtils.FieldBuilder builder = new BeanUtils.FieldBuilder(path);
+        while (builder.hasNext()) {
+            fields.add(builder.next());
+        }
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * Create an accessor bound to method handles, if the path can be resolved statically.
+     *
+     * @param type - Source/Target type.
+     * @param path - Property path.
+     * @return - Property accessor.
+     * @throws Exception
+     */
+    public static PropertyAccessor compile(@NonNull Class<?> type,
+                                           @NonNull String path) throws Exception {
+        PropertyAccessor accessor = new PropertyAccessor(type, path);
+        accessor.segments = accessor.bind();
+        return accessor;
+    }
+
+    /**
+     * Create an accessor that always uses reflective lookup (the path is only parsed once).
+     *
+     * @param type - Source/Target type.
+     * @param path - Property path.
+     * @return - Property accessor.
+     */
+    public static PropertyAccessor reflective(@NonNull Class<?> type,
+                                              @NonNull String path) {
+        return new PropertyAccessor(type, path);
+    }
+
+    public boolean compiled() {
+        return segments != null;
+    }
+
+    public Object get(@NonNull Object source) throws Exception {
+        if (segments == null) {
+            return BeanUtils.getValue(source, new BeanUtils.FieldBuilder(fields));
+        }
+        try {
+            Object value = source;
+            for (Segment segment : segments) {
+                value = segment.get(value);
+                if (value == null) {
+                    return null;
+                }
+            }
+            return value;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public void set(@NonNull Object target, Object value) throws Exception {
+        if (segments == null) {
+            BeanUtils.setValue(target, new BeanUtils.FieldBuilder(fields), value);
+            return;
+        }
+        try {
+            Object current = target;
+            for (int ii = 0; ii < segments.length; ii++) {
+                if (ii == segments.length - 1) {
+                    segments[ii].set(current, value);
+                } else {
+                    current = segments[ii].set(current, null);
+                }
+            }
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public Object setFromString(@NonNull Object target, @NonNull String value) throws Exception {
+        if (segments == null) {
+            return BeanUtils.setValueFromString(target, new BeanUtils.FieldBuilder(fields), value);
+        }
+        Object v = ReflectionHelper.parseStringValue(segments[segments.length - 1].property.type(), value);
+        set(target, v);
+        return v;
+    }
+
+    private Segment[] bind() throws Exception {
+        Segment[] segments = new Segment[fields.size()];
+        ClassDef def = BeanUtils.get(type);
+        for (int ii = 0; ii < segments.length; ii++) {
+            BeanUtils.FieldDef fd = fields.get(ii);
+            PropertyDef pd = def.get(fd.name());
+            if (pd == null) {
+                return null;
+            }
+            Segment segment = Segment.bind(fd, pd);
+            if (segment == null) {
+                return null;
+            }
+            segments[ii] = segment;
+            if (ii < segments.length - 1) {
+                Class<?> next = segment.valueType();
+                if (next == null
+                        || next.equals(Object.class)
+                        || ReflectionHelper.isPrimitiveTypeOrString(next)) {
+                    return null;
+                }
+                def = BeanUtils.get(next);
+            }
+        }
+        return segments;
+    }
+
+    private static Exception rethrow(Throwable t) {
+        if (t instanceof Exception ex) {
+            return ex;
+        } else if (t instanceof Error err) {
+            throw err;
+        }
+        return new Exception(t);
+    }
+
+    private static MethodHandle handle(Method method, MethodType type) {
+        if (method == null) {
+            return null;
+        }
+        try {
+            return LOOKUP.unreflect(method).asType(type);
+        } catch (IllegalAccessException ex) {
+            try {
+                method.setAccessible(true);
+                return LOOKUP.unreflect(method).asType(type);
+            } catch (Exception inner) {
+                return null;
+            }
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static final class Segment {
+        private final BeanUtils.FieldDef field;
+        private final PropertyDef property;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private int index = -1;
+        private Object key = null;
+        private Object putKey = null;
+
+        private Segment(BeanUtils.FieldDef field,
+                        PropertyDef property,
+                        MethodHandle getter,
+                        MethodHandle setter) {
+            this.field = field;
+            this.property = property;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private static Segment bind(BeanUtils.FieldDef fd, PropertyDef pd) {
+            MethodHandle getter = handle(pd.getter(), GETTER_TYPE);
+            MethodHandle setter = handle(pd.setter(), SETTER_TYPE);
+            if (getter == null || setter == null) {
+                return null;
+            }
+            Segment segment = new Segment(fd, pd, getter, setter);
+            try {
+                if (fd.type() == BeanUtils.FieldType.List) {
+                    if (!(pd instanceof ListPropertyDef lpd)
+                            || lpd.innerType() == null
+                            || lpd.innerType().getter() == null
+                            || lpd.innerType().setter() == null
+                            || Strings.isNullOrEmpty(fd.index())) {
+                        return null;
+                    }
+                    segment.index = Integer.parseInt(fd.index());
+                } else if (fd.type() == BeanUtils.FieldType.Map) {
+                    if (!(pd instanceof MapPropertyDef mpd)
+                            || mpd.keyType() == null
+                            || mpd.valueType() == null
+                            || mpd.valueType().getter() == null
+                            || mpd.valueType().setter() == null
+                            || Strings.isNullOrEmpty(fd.index())
+                            || !ReflectionHelper.isPrimitiveTypeOrString(mpd.keyType().type())) {
+                        return null;
+                    }
+                    segment.key = ReflectionHelper.parseStringValue(mpd.keyType().type(), fd.index());
+                    segment.putKey = ReflectionHelper.as(mpd.keyType().type(), fd.index());
+                    if (segment.key == null || segment.putKey == null) {
+                        return null;
+                    }
+                }
+            } catch (Exception ex) {
+                return null;
+            }
+            return segment;
+        }
+
+        private Class<?> valueType() {
+            if (field.type() == BeanUtils.FieldType.List) {
+                return ((ListPropertyDef) property).innerType().type();
+            } else if (field.type() == BeanUtils.FieldType.Map) {
+                return ((MapPropertyDef) property).valueType().type();
+            }
+            return property.type();
+        }
+
+        private Object get(Object source) throws Throwable {
+            Object value = (Object) getter.invokeExact(source);
+            if (value == null || field.type() == BeanUtils.FieldType.Field) {
+                return value;
+            } else if (field.type() == BeanUtils.FieldType.List) {
+                List<?> values = (List<?>) value;
+                if (index < values.size()) {
+                    return values.get(index);
+                }
+                return null;
+            }
+            return ((Map<?, ?>) value).get(key);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object set(Object target, Object value) throws Throwable {
+            if (field.type() == BeanUtils.FieldType.Field) {
+                if (value == null) {
+                    value = (Object) getter.invokeExact(target);
+                    if (value != null) {
+                        return value;
+                    }
+                    if (!property.canInitialize()) {
+                        throw new Exception(String.format("Cannot auto-initialize value of type. [type=%s]",
+                                property.type().getCanonicalName()));
+                    }
+                    value = property.type()
+                            .getDeclaredConstructor()
+                            .newInstance();
+                }
+                setter.invokeExact(target, value);
+            } else if (field.type() == BeanUtils.FieldType.List) {
+                if (value instanceof List<?>) {
+                    setter.invokeExact(target, value);
+                    return value;
+                }
+                ListPropertyDef lpd = (ListPropertyDef) property;
+                List<Object> values = (List<Object>) (Object) getter.invokeExact(target);
+                if (values == null) {
+                    if (!lpd.canInitialize()) {
+                        throw new Exception(String.format("Cannot auto-initialize value of type. [type=%s]",
+                                lpd.innerType().type().getCanonicalName()));
+                    }
+                    values = lpd.initType()
+                            .getDeclaredConstructor()
+                            .newInstance();
+                    setter.invokeExact(target, (Object) values);
+                }
+                if (value == null) {
+                    if (index < 0 || index > values.size()) {
+                        throw new ArrayIndexOutOfBoundsException(index);
+                    }
+                    if (index < values.size()) {
+                        value = values.get(index);
+                    } else {
+                        value = lpd.innerType()
+                                .type()
+                                .getDeclaredConstructor()
+                                .newInstance();
+                        values.add(value);
+                    }
+                } else {
+                    values.add(value);
+                }
+            } else if (field.type() == BeanUtils.FieldType.Map) {
+                if (value instanceof Map<?, ?>) {
+                    setter.invokeExact(target, value);
+                    return value;
+                }
+                MapPropertyDef mpd = (MapPropertyDef) property;
+                Map<Object, Object> map = (Map<Object, Object>) (Object) getter.invokeExact(target);
+                if (map == null) {
+                    if (!mpd.canInitialize()) {
+                        throw new Exception(String.format("Cannot auto-initialize value of type. [key=%s][value=%s]",
+                                mpd.keyType().type().getCanonicalName(), mpd.valueType().type().getCanonicalName()));
+                    }
+                    map = mpd.initType()
+                            .getDeclaredConstructor()
+                            .newInstance();
+                    setter.invokeExact(target, (Object) map);
+                }
+                if (value == null) {
+                    value = map.get(putKey);
+                    if (value == null) {
+                        value = mpd.valueType()
+                                .type()
+                                .getDeclaredConstructor()
+                                .newInstance();
+                        map.put(putKey, value);
+                    }
+                } else {
+                    map.put(putKey, value);
+                }
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LRUCacheTest {
+    @Test
+    void putAndGet() {
+        try {
+            LRUCache<String, String> cache = new LRUCache<>(16);
+            for (int ii = 0; ii < 16; ii++) {
+                assertTrue(cache.put(String.format("KEY-%d", ii), String.format("VALUE-%d", ii)));
+            }
+            for (int ii = 0; ii < 16; ii++) {
+                Optional<String> o = cache.get(String.format("KEY-%d", ii));
+                assertTrue(o.isPresent());
+                assertEquals(String.format("VALUE-%d", ii), o.get());
+            }
+            assertTrue(cache.remove("KEY-0"));
+            assertFalse(cache.containsKey("KEY-0"));
+            assertFalse(cache.put("KEY-1", null));
+            assertFalse(cache.containsKey("KEY-1"));
+            assertEquals(14, cache.size());
+            cache.clear();
+            assertTrue(cache.isEmpty());
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            fail(ex);
+        }
+    }
+
+    @Test
+    void boundedByWeight() {
+        try {
+            AtomicLong evicted = new AtomicLong();
+            LRUCache<Integer, byte[]> cache = new LRUCache<Integer, byte[]>(64 * 1024,
+                    (key, value) -> value.length)
+                    .withEvictionCallback((key, value) -> evicted.incrementAndGet());
+            for (int ii = 0; ii < 256; ii++) {
+                cache.put(ii, new byte[1024]);
+            }
+            // Size evictions are reported on the maintenance pool, after the puts return.
+            for (int ii = 0; ii < 50 && evicted.get() < 256 - 64; ii++) {
+                Thread.sleep(100);
+            }
+            assertTrue(cache.size() <= 64);
+            assertEquals(256 - cache.size(), evicted.get());
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            fail(ex);
+        }
+    }
+
+    @Test
+    void boundedByWeightDirect() {
+        try {
+            AtomicLong evicted = new AtomicLong();
+            // Direct executor: evictions are reported before the put returns.
+            LRUCache<Integer, byte[]> cache = new LRUCache<Integer, byte[]>(64 * 1024,
+                    (key, value) -> value.length, Runnable::run)
+                    .withEvictionCallback((key, value) -> evicted.incrementAndGet());
+            for (int ii = 0; ii < 256; ii++) {
+                cache.put(ii, new byte[1024]);
+            }
+            assertTrue(cache.size() <= 64);
+            assertEquals(256 - cache.size(), evicted.get());
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            fail(ex);
+        }
+    }
+
+    @Test
+    void removeAndClearCallbacks() {
+        try {
+            List<String> evicted = new ArrayList<>();
+            LRUCache<String, String> cache = new LRUCache<String, String>(16)
+                    .withEvictionCallback((key, value) -> evicted.add(key));
+            for (int ii = 0; ii < 8; ii++) {
+                cache.put(String.format("KEY-%d", ii), String.format("VALUE-%d", ii));
+            }
+            cache.put("KEY-0", "REPLACED");
+            assertTrue(evicted.isEmpty());
+            assertTrue(cache.remove("KEY-1"));
+            assertEquals(List.of("KEY-1"), evicted);
+            assertFalse(cache.remove("KEY-1"));
+            cache.clear();
+            assertTrue(cache.isEmpty());
+            assertEquals(1, evicted.size());
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            fail(ex);
+        }
+    }
+}
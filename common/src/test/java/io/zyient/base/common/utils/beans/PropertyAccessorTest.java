@@ -0,0 +1,144 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.utils.beans;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyAccessorTest {
+    @Getter
+    @Setter
+    public static class Inner {
+        private String name;
+        private int count;
+    }
+
+    @Getter
+    @Setter
+    public static class Outer {
+        private String id;
+        private long value;
+        private Inner inner;
+        private Object untyped;
+        @TypeRef(type = String.class)
+        private List<String> values = new ArrayList<>();
+        @TypeRefs(refs = {
+                @TypeRef(value = MapPropertyDef.REF_NAME_KEY, type = String.class),
+                @TypeRef(value = MapPropertyDef.REF_NAME_VALUE, type = Inner.class)
+        })
+        private Map<String, Inner> inners = new HashMap<>();
+    }
+
+    private static final String[] PATHS = {
+            "id",
+            "value",
+            "inner.name",
+            "inner.count",
+            "values[1]",
+            "inners(KEY-1).name",
+            "inners(KEY-2).count"
+    };
+
+    private static Outer create() {
+        Outer outer = new Outer();
+        outer.id = "ID-001";
+        outer.value = 1001;
+        outer.inner = new Inner();
+        outer.inner.name = "inner";
+        outer.inner.count = 11;
+        outer.values.add("V-0");
+        outer.values.add("V-1");
+        for (int ii = 0; ii < 3; ii++) {
+            Inner inner = new Inner();
+            inner.name = String.format("INNER-%d", ii);
+            inner.count = ii;
+            outer.inners.put(String.format("KEY-%d", ii), inner);
+        }
+        return outer;
+    }
+
+    @Test
+    void compile() {
+        try {
+            for (String path : PATHS) {
+                PropertyAccessor accessor = PropertyAccessor.compile(Outer.class, path);
+                assertTrue(accessor.compiled(), path);
+            }
+            assertFalse(PropertyAccessor.compile(Outer.class, "untyped.name").compiled());
+            assertFalse(PropertyAccessor.reflective(Outer.class, "id").compiled());
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            fail(ex);
+        }
+    }
+
+    @Test
+    void getMatchesReflective() {
+        try {
+            Outer outer = create();
+            for (String path : PATHS) {
+                Object expected = PropertyAccessor.reflective(Outer.class, path).get(outer);
+                Object actual = PropertyAccessor.compile(Outer.class, path).get(outer);
+                assertNotNull(actual, path);
+                assertEquals(expected, actual, path);
+                assertEquals(expected, BeanUtils.getValue(outer, path), path);
+            }
+            outer.inner = null;
+            assertNull(BeanUtils.getValue(outer, "inner.name"));
+            assertNull(BeanUtils.getValue(outer, "values[5]"));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            fail(ex);
+        }
+    }
+
+    @Test
+    void setMatchesReflective() {
+        try {
+            Outer expected = new Outer();
+            Outer actual = new Outer();
+            PropertyAccessor.reflective(Outer.class, "inner.name").set(expected, "name");
+            PropertyAccessor.compile(Outer.class, "inner.name").set(actual, "name");
+            assertEquals(expected.inner.name, actual.inner.name);
+
+            PropertyAccessor.reflective(Outer.class, "inners(KEY-9).name").set(expected, "nine");
+            PropertyAccessor.compile(Outer.class, "inners(KEY-9).name").set(actual, "nine");
+            assertEquals(expected.inners.get("KEY-9").name, actual.inners.get("KEY-9").name);
+
+            PropertyAccessor.reflective(Outer.class, "values[0]").set(expected, "V-X");
+            PropertyAccessor.compile(Outer.class, "values[0]").set(actual, "V-X");
+            assertEquals(expected.values, actual.values);
+
+            Object v = PropertyAccessor.compile(Outer.class, "value").setFromString(actual, "42");
+            assertEquals(42L, ((Number) v).longValue());
+            assertEquals(42L, actual.value);
+            BeanUtils.setValueFromString(actual, "inner.count", "7");
+            assertEquals(7, actual.inner.count);
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            fail(ex);
+        }
+    }
+}
@@ -48,7 +48,7 @@ public class DbContentCursor<E extends DocumentState<?>, K extends IKey, D exten
     @Override
     protected List<Document<E, K, D>> next(int page) throws DataStoreException {
         List<Document<E, K, D>> docs = super.next(page);
-        if (download) {
+        if (download && docs != null) {
             for (Document<E, K, D> doc : docs) {
                 fetch(doc);
             }
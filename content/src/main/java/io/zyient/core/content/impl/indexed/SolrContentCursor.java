@@ -55,7 +55,7 @@ public class SolrContentCursor<E extends DocumentState<?>, K extends IKey, D ext
     @Override
     protected List<Document<E, K, D>> next(int page) throws DataStoreException {
         List<Document<E, K, D>> docs = super.next(page);
-        if (download) {
+        if (download && docs != null) {
             for (Document<E, K, D> doc : docs) {
                 fetch(doc);
             }
@@ -299,6 +299,17 @@ public abstract class BaseEnv<T extends Enum<?>> implements ThreadManager {
         return dLockBuilder.createLock(name, path, connection, timeout);
     }
 
+    public DistributedLock createCustomLock(@NonNull String name,
+                                            @NonNull String path,
+                                            @NonNull ZookeeperConnection connection,
+                                            long timeout,
+                                            long lease,
+                                            String hierarchyRoot) throws Exception {
+        Preconditions.checkNotNull(dLockBuilder);
+        Preconditions.checkArgument(timeout > 0);
+        return dLockBuilder.createLock(name, path, connection, timeout, lease, hierarchyRoot);
+    }
+
     public void saveLocks() throws Exception {
         Preconditions.checkNotNull(dLockBuilder);
         dLockBuilder.save();
@@ -26,29 +26,94 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.locks.InterProcessLock;
 import org.apache.curator.framework.recipes.locks.InterProcessMutex;
+import org.apache.curator.framework.recipes.locks.InterProcessSemaphoreMutex;
+import org.apache.curator.utils.ZKPaths;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.Watcher;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.Serializable;
 import java.security.PrivilegedActionException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Process wide re-entrant lock, backed by a ZooKeeper lock.
+ * <p>
+ * Lease mode (lease > 0): the ZooKeeper lock is not released when the lock is unlocked locally, it is
+ * kept for the lease period and re-acquired locally (no ZooKeeper round-trip). The lease is renewed on
+ * every local use and released when it expires or when another client is waiting for the lock.
+ * <p>
+ * Hierarchical mode (hierarchy root set): acquiring the lock registers an intent on all the ancestor
+ * paths (up to the hierarchy root), an ancestor lock waits for the intents to drain. A lock held (or
+ * leased) by this process covers the locks on its sub-tree, these are acquired locally. Locks must be
+ * acquired top-down (parents before children). A plain lock unlocked while it still covers locks
+ * (hand-over-hand) keeps the ZooKeeper lock until the last covered lock is released. All clients must
+ * use the same mode for a lock path.
+ * <p>
+ * Fencing (lease or hierarchical mode, or enabled with {@link #withFencing(boolean)}): every ZooKeeper
+ * acquisition generates a fencing token (monotonically increasing per lock), which can be used to reject
+ * writes from a holder that has lost the lock (see FileSystem.updateInode(inode, lock)). Generating the
+ * token is a ZooKeeper write, hence plain locks do not generate one unless enabled.
+ */
 @Getter
 @Accessors(fluent = true)
 public class DistributedLock extends ReentrantLock implements Closeable {
     public static final String ZK_PATH_LOCK = "__locks";
+    public static final String ZK_PATH_EXCLUSIVE = "__exclusive";
+    public static final String ZK_PATH_INTENTS = "__intents";
+    public static final String ZK_PATH_DRAIN = "__drain";
+    public static final String ZK_PATH_FENCE = "__fence";
 
     private static final int DEFAULT_LOCK_TIMEOUT = 15000;
+    /**
+     * Child nodes created by the Curator semaphore for waiting clients.
+     */
+    private static final String SEMAPHORE_WAITERS = "locks";
 
     private final LockId id;
     private long lockTimeout = DEFAULT_LOCK_TIMEOUT;
+    private long lease = 0;
+    private String hierarchyRoot = null;
+    private boolean fencing = false;
 
     @Getter(AccessLevel.NONE)
-    private InterProcessMutex mutex = null;
+    private InterProcessLock mutex = null;
+    /**
+     * ZooKeeper lock (and intents) acquired by this process.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile boolean owned = false;
+    @Getter(AccessLevel.NONE)
+    private volatile long leaseExpiry = 0;
+    @Getter(AccessLevel.NONE)
+    private volatile long fencingToken = -1;
+    @Getter(AccessLevel.NONE)
+    private final List<String> intents = new ArrayList<>();
+    /**
+     * Locks on the sub-tree currently covered by this lock.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger covered = new AtomicInteger(0);
+    @Getter(AccessLevel.NONE)
+    private final Object coverMonitor = new Object();
+    @Getter(AccessLevel.NONE)
+    private DistributedLock coveredBy = null;
+    /**
+     * Unlocked while still covering locks, released with the last covered lock.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile boolean releasePending = false;
     private ZookeeperConnection connection;
     private final String zkBasePath;
     private final DistributedLockBuilder builder;
@@ -93,11 +158,67 @@ public class DistributedLock extends ReentrantLock implements Closeable {
 
     public DistributedLock withConnection(@NonNull ZookeeperConnection connection) {
         this.connection = connection;
-        mutex = new InterProcessMutex(connection.client(), lockPath());
+        mutex = createMutex(lockPath());
+
+        return this;
+    }
+
+    /**
+     * Enable lease mode.
+     *
+     * @param lease - Lease time (milliseconds), 0 = disabled.
+     * @return - Self
+     */
+    public DistributedLock withLease(long lease) {
+        Preconditions.checkArgument(lease >= 0);
+        Preconditions.checkState(!owned);
+        this.lease = lease;
+        if (connection != null) {
+            mutex = createMutex(lockPath());
+        }
+        return this;
+    }
 
+    /**
+     * Enable hierarchical (intent) locking.
+     *
+     * @param root - Root path of the hierarchy, must be a prefix of the lock base path.
+     * @return - Self
+     */
+    public DistributedLock withHierarchy(@NonNull String root) {
+        Preconditions.checkArgument(zkBasePath.startsWith(root));
+        Preconditions.checkState(!owned);
+        this.hierarchyRoot = root;
+        if (connection != null) {
+            mutex = createMutex(lockPath());
+        }
         return this;
     }
 
+    /**
+     * Enable fencing tokens for plain locks (always generated in lease and hierarchical modes).
+     *
+     * @param fencing - Generate fencing tokens?
+     * @return - Self
+     */
+    public DistributedLock withFencing(boolean fencing) {
+        Preconditions.checkState(!owned);
+        this.fencing = fencing;
+        return this;
+    }
+
+    private boolean fenced() {
+        return (fencing || lease > 0 || hierarchyRoot != null);
+    }
+
+    private InterProcessLock createMutex(String path) {
+        if (lease > 0) {
+            // Semaphore leases are not bound to the acquiring thread, can be released by the lease reaper.
+            return new InterProcessSemaphoreMutex(connection.client(), path);
+        }
+        return new InterProcessMutex(connection.client(), path);
+    }
+
     public DistributedLock withLockTimeout(long lockTimeout) {
         Preconditions.checkArgument(lockTimeout > 0);
         this.lockTimeout = lockTimeout;
@@ -111,6 +232,9 @@ public class DistributedLock extends ReentrantLock implements Closeable {
     }
 
     public String lockPath() {
+        if (hierarchyRoot != null) {
+            return exclusivePath(zkBasePath);
+        }
         if (id != null) {
             return new PathUtils.ZkPathBuilder()
                     .withPath(zkBasePath)
@@ -126,6 +250,56 @@ public class DistributedLock extends ReentrantLock implements Closeable {
         }
     }
 
+    private static String exclusivePath(String basePath) {
+        return new PathUtils.ZkPathBuilder()
+                .withPath(basePath)
+                .withPath(ZK_PATH_LOCK)
+                .withPath(ZK_PATH_EXCLUSIVE)
+                .build();
+    }
+
+    private static String intentsPath(String basePath) {
+        return new PathUtils.ZkPathBuilder()
+                .withPath(basePath)
+                .withPath(ZK_PATH_LOCK)
+                .withPath(ZK_PATH_INTENTS)
+                .build();
+    }
+
+    private static String drainPath(String basePath) {
+        return new PathUtils.ZkPathBuilder()
+                .withPath(basePath)
+                .withPath(ZK_PATH_LOCK)
+                .withPath(ZK_PATH_DRAIN)
+                .build();
+    }
+
+    private String fencePath() {
+        return new PathUtils.ZkPathBuilder()
+                .withPath(zkBasePath)
+                .withPath(ZK_PATH_LOCK)
+                .withPath(ZK_PATH_FENCE)
+                .withPath(id.namespace)
+                .withPath(id.name)
+                .build();
+    }
+
+    /**
+     * Ancestor paths (from the hierarchy root down) of the lock base path.
+     */
+    List<String> ancestors() {
+        List<String> paths = new ArrayList<>();
+        if (hierarchyRoot != null) {
+            String path = zkBasePath;
+            while (path.length() > hierarchyRoot.length()) {
+                path = ZKPaths.getPathAndNode(path).getPath();
+                if (path.length() < hierarchyRoot.length()) break;
+                paths.add(0, path);
+            }
+        }
+        return paths;
+    }
+
     /**
      * Acquires the lock.
      *
@@ -263,22 +437,356 @@ public class DistributedLock extends ReentrantLock implements Closeable {
     @Override
     public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
         Preconditions.checkState(mutex != null);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
         if (super.tryLock(timeout, unit)) {
-            if (!mutex.isAcquiredInThisProcess()) {
+            if (getHoldCount() > 1) {
+                return true;
+            }
+            try {
+                if (awaitCovered(deadline) && acquire(deadline)) {
+                    if (lease > 0) {
+                        leaseExpiry = System.currentTimeMillis() + lease;
+                    }
+                    return true;
+                }
+                super.unlock();
+                return false;
+            } catch (InterruptedException ie) {
+                super.unlock();
+                throw ie;
+            } catch (Throwable t) {
+                super.unlock();
+                throw new LockError(t);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wait for the locally covered locks (on the sub-tree) to be released.
+     */
+    private boolean awaitCovered(long deadline) throws InterruptedException {
+        synchronized (coverMonitor) {
+            while (covered.get() > 0) {
+                long wait = remaining(deadline);
+                if (wait <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(coverMonitor, wait);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Release a covered lock, wakes up the threads waiting for the covered locks to drain. The
+     * ZooKeeper lock is released here if this lock was unlocked while still covering locks, before
+     * the waiting threads can see the covered count drop to zero.
+     */
+    private void uncover() throws Exception {
+        synchronized (coverMonitor) {
+            if (covered.decrementAndGet() == 0) {
                 try {
-                    return mutex.acquire(timeout, unit);
-                } catch (Throwable t) {
-                    super.unlock();
-                    throw new LockError(t);
+                    if (releasePending) {
+                        releasePending = false;
+                        release();
+                    }
+                } finally {
+                    coverMonitor.notifyAll();
                 }
             }
+        }
+    }
+
+    /**
+     * Acquire the ZooKeeper lock (and ancestor intents), unless already owned (lease) or covered
+     * by an ancestor lock owned by this process.
+     */
+    private boolean acquire(long deadline) throws Exception {
+        if (owned) {
             return true;
         }
+        DistributedLock ancestor = coveringAncestor(deadline);
+        if (ancestor != null) {
+            coveredBy = ancestor;
+            return true;
+        }
+        List<String> created = new ArrayList<>();
+        boolean acquired = false;
+        try {
+            for (String path : ancestors()) {
+                String intent = registerIntent(path, deadline);
+                if (intent == null) {
+                    return false;
+                }
+                created.add(intent);
+            }
+            if (!mutex.acquire(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+            acquired = true;
+            if (!awaitIntents(deadline)) {
+                return false;
+            }
+            if (fenced()) {
+                fencingToken = fence();
+            }
+            intents.addAll(created);
+            owned = true;
+            if (lease > 0) {
+                LeaseReaper.get().register(this);
+            }
+            return true;
+        } finally {
+            if (!owned) {
+                if (acquired) {
+                    mutex.release();
+                }
+                deleteIntents(created);
+            }
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(deadline - System.nanoTime(), 0);
+    }
+
+    private DistributedLock coveringAncestor(long deadline) throws InterruptedException {
+        if (builder == null) return null;
+        List<String> paths = ancestors();
+        for (String path : paths) {
+            DistributedLock ancestor = builder.findLock(path);
+            if (ancestor == null || ancestor == this) continue;
+            if (ancestor.lease == 0 && !ancestor.isHeldByCurrentThread()) continue;
+            if (ancestor.cover(deadline)) {
+                return ancestor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cover a lock on the sub-tree, if this lock is owned by the process and not held by another thread.
+     */
+    private boolean cover(long deadline) throws InterruptedException {
+        if (!super.tryLock(remaining(deadline), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        try {
+            if (owned && !releasePending) {
+                covered.incrementAndGet();
+                if (lease > 0) {
+                    leaseExpiry = System.currentTimeMillis() + lease;
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            super.unlock();
+        }
+    }
+
+    /**
+     * Register an intent on an ancestor path, the ancestor lock is used as a gate so that
+     * intents are not registered while the ancestor is locked.
+     */
+    private String registerIntent(String path, long deadline) throws Exception {
+        CuratorFramework client = connection.client();
+        InterProcessLock gate = createMutex(exclusivePath(path));
+        if (!gate.acquire(remaining(deadline), TimeUnit.NANOSECONDS)) {
+            return null;
+        }
+        try {
+            return client.create()
+                    .creatingParentContainersIfNeeded()
+                    .withMode(CreateMode.EPHEMERAL_SEQUENTIAL)
+                    .forPath(ZKPaths.makePath(intentsPath(path), "intent-"));
+        } finally {
+            gate.release();
+        }
+    }
+
+    /**
+     * Wait for the intents registered on this path (by locks on the sub-tree) to drain.
+     */
+    private boolean awaitIntents(long deadline) throws Exception {
+        if (hierarchyRoot == null) return true;
+        CuratorFramework client = connection.client();
+        String path = intentsPath(zkBasePath);
+        String drain = null;
+        try {
+            while (true) {
+                CountDownLatch changed = new CountDownLatch(1);
+                List<String> children = null;
+                try {
+                    children = client.getChildren()
+                            .usingWatcher((Watcher) event -> changed.countDown())
+                            .forPath(path);
+                } catch (KeeperException.NoNodeException ex) {
+                    return true;
+                }
+                if (children.isEmpty()) {
+                    return true;
+                }
+                if (drain == null) {
+                    // Signal the (leased) intent holders to release.
+                    drain = drainPath(zkBasePath);
+                    try {
+                        client.create()
+                                .creatingParentContainersIfNeeded()
+                                .withMode(CreateMode.EPHEMERAL)
+                                .forPath(drain);
+                    } catch (KeeperException.NodeExistsException ex) {
+                        // Created by an earlier (expiring) session.
+                    }
+                }
+                long wait = remaining(deadline);
+                if (wait <= 0) {
+                    return false;
+                }
+                changed.await(wait, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            if (drain != null) {
+                try {
+                    client.delete().forPath(drain);
+                } catch (KeeperException.NoNodeException ex) {
+                    // Already deleted.
+                }
+            }
+        }
+    }
+
+    private void deleteIntents(List<String> paths) {
+        CuratorFramework client = connection.client();
+        for (String path : paths) {
+            try {
+                client.delete().forPath(path);
+            } catch (KeeperException.NoNodeException ex) {
+                // Session expired.
+            } catch (Exception ex) {
+                DefaultLogger.warn(String.format("Failed to delete lock intent. [path=%s][error=%s]",
+                        path, ex.getLocalizedMessage()));
+            }
+        }
+    }
+
+    private long fence() throws Exception {
+        CuratorFramework client = connection.client();
+        String path = fencePath();
+        try {
+            return client.setData().forPath(path, new byte[0]).getMzxid();
+        } catch (KeeperException.NoNodeException ex) {
+            try {
+                client.create().creatingParentContainersIfNeeded().forPath(path, new byte[0]);
+            } catch (KeeperException.NodeExistsException ne) {
+                // Created by another client.
+            }
+            return client.setData().forPath(path, new byte[0]).getMzxid();
+        }
+    }
+
+    /**
+     * Release the ZooKeeper lock and intents.
+     */
+    private void release() throws Exception {
+        try {
+            mutex.release();
+        } finally {
+            owned = false;
+            fencingToken = -1;
+            deleteIntents(intents);
+            intents.clear();
+        }
+    }
+
+    /**
+     * Fencing token of the current ownership, -1 if not owned (or fencing is not enabled). Locks
+     * covered by an ancestor return the token of the ancestor.
+     *
+     * @return - Fencing token
+     */
+    public long fencingToken() {
+        DistributedLock ancestor = coveredBy;
+        if (ancestor != null) {
+            return ancestor.fencingToken();
+        }
+        return fencingToken;
+    }
+
+    /**
+     * Check the lease, called by the lease reaper.
+     *
+     * @return - Lease released (or lost)
+     */
+    boolean checkLease() {
+        if (!owned) return true;
+        if (!super.tryLock()) return false;
+        try {
+            if (getHoldCount() > 1 || covered.get() > 0) {
+                return false;
+            }
+            if (System.currentTimeMillis() < leaseExpiry && !contended()) {
+                return false;
+            }
+            release();
+            if (builder != null && !hasReference()) {
+                builder.removeLock(this);
+            }
+            return true;
+        } catch (Throwable t) {
+            DefaultLogger.warn(String.format("[%s][%s] Failed to release lease. [error=%s]",
+                    id.namespace, id.name, t.getLocalizedMessage()));
+            return false;
+        } finally {
+            super.unlock();
+        }
+    }
+
+    /**
+     * Release the lease (if not held locally).
+     */
+    public void releaseLease() {
+        leaseExpiry = 0;
+        if (checkLease()) {
+            LeaseReaper.get().remove(this);
+        }
+    }
+
+    /**
+     * Mark the lease as lost (ZooKeeper session expired), the ephemeral nodes have been removed.
+     */
+    void invalidate() {
+        owned = false;
+        fencingToken = -1;
+        intents.clear();
+        mutex = createMutex(lockPath());
+    }
+
+    private boolean contended() throws Exception {
+        CuratorFramework client = connection.client();
+        if (hasChildren(client, ZKPaths.makePath(lockPath(), SEMAPHORE_WAITERS))) {
+            return true;
+        }
+        for (String path : ancestors()) {
+            if (client.checkExists().forPath(drainPath(path)) != null) {
+                return true;
+            }
+        }
         return false;
     }
 
+    private static boolean hasChildren(CuratorFramework client, String path) throws Exception {
+        try {
+            List<String> children = client.getChildren().forPath(path);
+            return (children != null && !children.isEmpty());
+        } catch (KeeperException.NoNodeException ex) {
+            return false;
+        }
+    }
+
     private boolean isLockByThread() {
-        return (isHeldByCurrentThread() && mutex.isAcquiredInThisProcess());
+        return (isHeldByCurrentThread() && (owned || coveredBy != null));
     }
 
     /**
@@ -297,10 +805,22 @@ public class DistributedLock extends ReentrantLock implements Closeable {
         Preconditions.checkState(mutex != null);
         try {
             if (getHoldCount() == 1) {
-                if (mutex.isAcquiredInThisProcess()) {
-                    mutex.release();
-                } else {
+                if (coveredBy != null) {
+                    coveredBy.uncover();
+                    coveredBy = null;
+                } else if (!owned) {
                     throw new LockError(String.format("[%s][%s] Lock not held by current thread.", id.namespace, id.name));
+                } else if (lease > 0) {
+                    leaseExpiry = System.currentTimeMillis() + lease;
+                } else {
+                    synchronized (coverMonitor) {
+                        if (covered.get() > 0) {
+                            // Covered locks (held by this thread) still rely on the ZooKeeper lock.
+                            releasePending = true;
+                        } else {
+                            release();
+                        }
+                    }
                 }
             }
             super.unlock();
@@ -321,7 +841,7 @@ public class DistributedLock extends ReentrantLock implements Closeable {
     public boolean isLocked() {
         Preconditions.checkState(mutex != null);
         if (super.isLocked()) {
-            return mutex.isAcquiredInThisProcess();
+            return (owned || coveredBy != null);
         }
         return false;
     }
@@ -345,7 +865,8 @@ public class DistributedLock extends ReentrantLock implements Closeable {
         if (isLockByThread()) {
             unlock();
         }
-        if (builder != null) {
+        // Leased locks are removed by the lease reaper, once the lease is released.
+        if (builder != null && !(lease > 0 && owned)) {
             if (builder.removeLock(this)) {
                 DefaultLogger.trace(String.format("Removed lock instance. [name=%s]", lockPath()));
             }
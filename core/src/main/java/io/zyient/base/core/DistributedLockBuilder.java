@@ -47,6 +47,7 @@ public class DistributedLockBuilder implements Closeable {
         public static final String CONFIG_LOCK = String.format("%s.lock", CONFIG_LOCKS);
         public static final String CONFIG_LOCK_NAME = "name";
         public static final String CONFIG_LOCK_NODE = "lock-node";
+        public static final String CONFIG_LOCK_LEASE = "lease";
     }
 
     private ZookeeperConnection connection;
@@ -88,6 +89,9 @@ public class DistributedLockBuilder implements Closeable {
             def.setName(name);
             def.setModule(env.module());
             def.setPath(path);
+            if (node.containsKey(Constants.CONFIG_LOCK_LEASE)) {
+                def.setLease(node.getLong(Constants.CONFIG_LOCK_LEASE));
+            }
 
             lockDefs.put(getLockKey(env.module(), name), def);
         }
@@ -151,11 +155,36 @@ public class DistributedLockBuilder implements Closeable {
                                       @NonNull String path,
                                       @NonNull ZookeeperConnection connection,
                                       long timeout) throws Exception {
+        return createLock(name, path, connection, timeout, 0, null);
+    }
+
+    /**
+     * Create (or get the cached) lock instance for the specified path.
+     *
+     * @param name          - Lock name
+     * @param path          - Lock base path
+     * @param connection    - ZooKeeper connection
+     * @param timeout       - Lock timeout (milliseconds)
+     * @param lease         - Lease time (milliseconds), 0 = disabled
+     * @param hierarchyRoot - Hierarchy root path (NULL = not hierarchical)
+     * @return - Lock instance
+     * @throws Exception
+     */
+    public DistributedLock createLock(@NonNull String name,
+                                      @NonNull String path,
+                                      @NonNull ZookeeperConnection connection,
+                                      long timeout,
+                                      long lease,
+                                      String hierarchyRoot) throws Exception {
         synchronized (this) {
             DistributedLock lock = locks.get(path);
             if (lock == null) {
                 lock = new DistributedLock(name, path, path, this)
-                        .withConnection(connection)
+                        .withLease(lease);
+                if (!Strings.isNullOrEmpty(hierarchyRoot)) {
+                    lock.withHierarchy(hierarchyRoot);
+                }
+                lock.withConnection(connection)
                         .withLockTimeout(timeout);
                 locks.put(path, lock);
             }
@@ -163,6 +192,18 @@ public class DistributedLockBuilder implements Closeable {
         }
     }
 
+    /**
+     * Find a cached lock instance by key (path for custom locks).
+     *
+     * @param key - Lock key
+     * @return - Lock instance or NULL
+     */
+    public DistributedLock findLock(@NonNull String key) {
+        synchronized (this) {
+            return locks.get(key);
+        }
+    }
+
     private DistributedLock createLock(LockDef def, String path, String key) {
         DistributedLock lock = locks.get(key);
         if (lock == null) {
@@ -171,6 +212,7 @@ public class DistributedLockBuilder implements Closeable {
                     path,
                     key,
                     this)
+                    .withLease(def.getLease())
                     .withConnection(connection);
             locks.put(key, lock);
         }
@@ -222,6 +264,7 @@ public class DistributedLockBuilder implements Closeable {
                     open.add(locks.get(name));
                 }
                 for (DistributedLock lock : open) {
+                    lock.releaseLease();
                     lock.close();
                 }
             }
@@ -0,0 +1,107 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.base.core;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import lombok.NonNull;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.state.ConnectionState;
+import org.apache.curator.framework.state.ConnectionStateListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases the ZooKeeper locks held by leased {@link DistributedLock}s once the lease
+ * expires (or the lock is contended), and invalidates the leases when the ZooKeeper
+ * session is lost.
+ */
+class LeaseReaper {
+    private static final long CHECK_INTERVAL = 250;
+    private static final LeaseReaper __instance = new LeaseReaper();
+
+    private final Set<DistributedLock> leased = new HashSet<>();
+    private final Map<CuratorFramework, ConnectionStateListener> listeners = new HashMap<>();
+    private ScheduledExecutorService executor = null;
+
+    static LeaseReaper get() {
+        return __instance;
+    }
+
+    synchronized void register(@NonNull DistributedLock lock) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "distributed-lock-lease-reaper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::check, CHECK_INTERVAL, CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+        CuratorFramework client = lock.connection().client();
+        if (!listeners.containsKey(client)) {
+            ConnectionStateListener listener = (c, state) -> {
+                if (state == ConnectionState.LOST) {
+                    lost(c);
+                }
+            };
+            client.getConnectionStateListenable().addListener(listener);
+            listeners.put(client, listener);
+        }
+        leased.add(lock);
+    }
+
+    synchronized void remove(@NonNull DistributedLock lock) {
+        leased.remove(lock);
+    }
+
+    private List<DistributedLock> snapshot() {
+        synchronized (this) {
+            return new ArrayList<>(leased);
+        }
+    }
+
+    private void check() {
+        for (DistributedLock lock : snapshot()) {
+            try {
+                if (lock.checkLease()) {
+                    remove(lock);
+                }
+            } catch (Throwable t) {
+                DefaultLogger.stacktrace(t);
+            }
+        }
+    }
+
+    private void lost(CuratorFramework client) {
+        for (DistributedLock lock : snapshot()) {
+            if (lock.connection().client() == client) {
+                DefaultLogger.warn(String.format("ZooKeeper session lost, lease invalidated. [lock=%s]",
+                        lock.lockPath()));
+                lock.invalidate();
+                remove(lock);
+            }
+        }
+    }
+}
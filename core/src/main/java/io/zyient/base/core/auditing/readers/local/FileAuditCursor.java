@@ -21,15 +21,20 @@ import io.zyient.base.common.utils.JSONUtils;
 import io.zyient.base.core.auditing.AuditCursor;
 import io.zyient.base.core.auditing.JsonAuditRecord;
 import io.zyient.base.core.auditing.JsonAuditSerDe;
+import io.zyient.base.core.auditing.writers.local.AuditSegment;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.apache.commons.io.input.BoundedInputStream;
 
 import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -37,7 +42,8 @@ import java.util.List;
 @Setter
 @Accessors(fluent = true)
 public class FileAuditCursor extends AuditCursor<JsonAuditRecord, String> {
-    private List<File> files;
+    private List<AuditSegment.Range> ranges;
+    private long skip = 0;
     @Setter(AccessLevel.NONE)
     private int index = 0;
     @Setter(AccessLevel.NONE)
@@ -65,24 +71,22 @@ public class FileAuditCursor extends AuditCursor<JsonAuditRecord, String> {
 
     @Override
     protected List<JsonAuditRecord> next(int page) throws Exception {
-        if (page < 0) {
-            page = currentPage();
-        } else {
-            currentPage = page;
-        }
-        if (state == AuditCursorState.EOF || index >= files.size()) return null;
-        int count = 0;
+        if (state == AuditCursorState.EOF) return null;
         List<JsonAuditRecord> records = new ArrayList<>(pageSize());
-        while (count < pageSize()) {
+        while (records.size() < pageSize()) {
+            BufferedReader reader = getReader();
+            if (reader == null) break;
             String line = reader.readLine();
             if (line == null) {
-                reader = null;
-                reader = getReader();
-                if (reader == null) {
-                    break;
-                }
+                reader.close();
+                this.reader = null;
+                continue;
             }
             if (Strings.isNullOrEmpty(line)) continue;
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
             JsonAuditRecord record = JSONUtils.read(line, recordType());
             if (encryption().encrypted()) {
                 JsonAuditSerDe serializer = (JsonAuditSerDe) serializer();
@@ -92,16 +96,20 @@ public class FileAuditCursor extends AuditCursor<JsonAuditRecord, String> {
             records.add(record);
         }
         if (!records.isEmpty()) {
-            currentPage++;
             return records;
         }
         return null;
     }
 
-    private BufferedReader getReader() throws Exception {
-        if (index == files.size()) return null;
+    private BufferedReader getReader() throws IOException {
         if (reader == null) {
-            reader = new BufferedReader(new FileReader(files.get(index)));
+            if (index >= ranges.size()) return null;
+            AuditSegment.Range range = ranges.get(index);
+            FileChannel channel = FileChannel.open(range.file().toPath(), StandardOpenOption.READ);
+            channel.position(range.from());
+            reader = new BufferedReader(new InputStreamReader(
+                    new BoundedInputStream(Channels.newInputStream(channel), range.to() - range.from()),
+                    StandardCharsets.UTF_8));
             index++;
         }
         return reader;
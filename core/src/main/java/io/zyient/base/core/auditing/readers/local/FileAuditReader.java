@@ -17,11 +17,10 @@
 package io.zyient.base.core.auditing.readers.local;
 
 import io.zyient.base.common.model.Context;
-import io.zyient.base.common.utils.DateTimeUtils;
 import io.zyient.base.common.utils.DefaultLogger;
-import io.zyient.base.common.utils.PathUtils;
 import io.zyient.base.core.BaseEnv;
 import io.zyient.base.core.auditing.*;
+import io.zyient.base.core.auditing.writers.local.AuditSegment;
 import io.zyient.base.core.auditing.writers.local.FileAuditWriter;
 import lombok.Getter;
 import lombok.NonNull;
@@ -29,16 +28,11 @@ import lombok.experimental.Accessors;
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
-import org.apache.commons.io.FileUtils;
-import org.joda.time.DateTime;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Getter
 @Accessors(fluent = true)
@@ -90,19 +84,15 @@ public class FileAuditReader extends AuditReader<JsonAuditRecord, String> {
                                       @NonNull EncryptionInfo encryption,
                                       Class<?> type,
                                       Context context) throws Exception {
-        int start = page * batchSize;
-        File current = current(type);
-        if (current != null) {
-            FileAuditCursor cursor = (FileAuditCursor) new FileAuditCursor(page)
-                    .files(List.of(current))
-                    .encryption(encryption)
-                    .recordType(JsonAuditRecord.class)
-                    .pageSize(batchSize)
-                    .keyStore(env().keyStore())
-                    .serializer(new JsonAuditSerDe());
-
+        List<AuditSegment.Range> ranges = new ArrayList<>();
+        long skip = findPage(directory, name(), type, (long) page * batchSize, batchSize, ranges);
+        if (ranges.isEmpty()) return null;
+        try (FileAuditCursor cursor = cursor(ranges, encryption)) {
+            cursor.skip(skip);
+            cursor.pageSize(batchSize);
+            cursor.open();
+            return cursor.next();
         }
-        return null;
     }
 
     @Override
@@ -111,104 +101,103 @@ public class FileAuditReader extends AuditReader<JsonAuditRecord, String> {
                                                      @NonNull EncryptionInfo encryption,
                                                      Class<?> type,
                                                      Context context) throws Exception {
-        List<File> files = fetchFiles(timeStart, timeEnd, type);
-        if (files != null && !files.isEmpty()) {
-            FileAuditCursor cursor = (FileAuditCursor) new FileAuditCursor(0)
-                    .files(files)
-                    .encryption(encryption)
-                    .recordType(JsonAuditRecord.class)
-                    .keyStore(env().keyStore())
-                    .serializer(new JsonAuditSerDe());
-
-            return cursor.open();
+        if (timeEnd > 0 && timeEnd < timeStart) {
+            throw new Exception(String.format("Invalid date range: [start=%d, end=%d]", timeStart, timeEnd));
         }
-        return null;
+        List<AuditSegment.Range> ranges = findTime(directory, name(), type, timeStart, timeEnd);
+        if (ranges.isEmpty()) return null;
+        return cursor(ranges, encryption).open();
     }
 
-    private List<File> fetchFiles(long start,
-                                  long end,
-                                  Class<?> type) throws Exception {
-        DateTime dStart = null;
-        if (start > 0) {
-            dStart = new DateTime(start);
-        }
-        DateTime dEnd = null;
-        if (end > 0) {
-            if (end < start) {
-                throw new Exception(String.format("Invalid date range: [start=%d, end=%d]", start, end));
-            }
-            dEnd = new DateTime(end);
-        }
-        if (dStart == null && dEnd == null) {
-            File current = current(type);
-            if (current != null) {
-                return List.of(current);
-            }
-        } else {
-            List<File> files = new ArrayList<>();
-            if (dEnd == null) {
-                File current = current(type);
-                if (current != null) {
-                    files.add(current);
-                }
-            }
-            Collection<File> paths = FileUtils.listFiles(directory, new String[]{"json"}, true);
-            if (paths != null && !paths.isEmpty()) {
-                Pattern pattern = Pattern.compile(DATE_REGEX);
-                for (File path : paths) {
-                    Matcher m = pattern.matcher(path.getAbsolutePath());
-                    if (m.matches()) {
-                        m = m.reset();
-                        String date = String.format("%s/%s/%s %s:%s",
-                                m.group(1),
-                                m.group(2),
-                                m.group(3),
-                                m.group(4),
-                                m.group(5));
-                        DateTime dt = DateTimeUtils.parse(date, "yyyy/MM/dd HH:mm");
-                        if (dStart == null || dt.isAfter(dStart)) {
-                            if (dEnd == null || dt.isBefore(dEnd)) {
-                                files.add(path);
-                            }
-                        }
-                    }
+    /**
+     * Find the log ranges for records in the time window [start, end). Files written with the
+     * pre-segment layout are included ahead of the stream segments.
+     *
+     * @param directory - Audit directory.
+     * @param name      - Audit logger name.
+     * @param type      - Audited type.
+     * @param start     - Start time, <= 0 for unbounded.
+     * @param end       - End time (exclusive), <= 0 for unbounded.
+     * @return - Log ranges.
+     * @throws IOException
+     */
+    static List<AuditSegment.Range> findTime(@NonNull File directory,
+                                             @NonNull String name,
+                                             Class<?> type,
+                                             long start,
+                                             long end) throws IOException {
+        boolean exclusive = exclusive(type);
+        List<AuditSegment.Range> ranges = new ArrayList<>(
+                new LegacyAuditFiles(directory, name, type, exclusive).findTime(start, end));
+        ranges.addAll(AuditSegment.findTime(stream(directory, name, type, exclusive), start, end));
+        return ranges;
+    }
+
+    /**
+     * Find the log ranges for records with sequence in [from, from + count). Records in files written
+     * with the pre-segment layout are numbered ahead of the stream segments.
+     *
+     * @param directory - Audit directory.
+     * @param name      - Audit logger name.
+     * @param type      - Audited type.
+     * @param from      - Start sequence.
+     * @param count     - Number of records.
+     * @param ranges    - Log ranges (output).
+     * @return - Number of records to skip in the first range.
+     * @throws IOException
+     */
+    static long findPage(@NonNull File directory,
+                         @NonNull String name,
+                         Class<?> type,
+                         long from,
+                         int count,
+                         @NonNull List<AuditSegment.Range> ranges) throws IOException {
+        boolean exclusive = exclusive(type);
+        long skip = 0;
+        boolean found = false;
+        for (AuditSegment.Range range : new LegacyAuditFiles(directory, name, type, exclusive).all()) {
+            if (!found) {
+                long records = LegacyAuditFiles.count(range);
+                if (from >= records) {
+                    from -= records;
+                    continue;
                 }
+                skip = from;
+                from = 0;
+                found = true;
             }
-            if (!files.isEmpty()) {
-                return files;
-            }
+            ranges.add(range);
         }
-        return null;
+        ranges.addAll(AuditSegment.findSequence(stream(directory, name, type, exclusive), from, count));
+        return skip;
     }
 
+    private FileAuditCursor cursor(List<AuditSegment.Range> ranges, EncryptionInfo encryption) {
+        FileAuditCursor cursor = (FileAuditCursor) new FileAuditCursor(0)
+                .ranges(ranges)
+                .encryption(encryption)
+                .recordType(JsonAuditRecord.class)
+                .pageSize(settings().getPageSize())
+                .keyStore(keyStore() != null ? keyStore() : env().keyStore())
+                .serializer(new JsonAuditSerDe());
+        return cursor;
+    }
 
-    private File current(Class<?> type) {
-        boolean exclusive = false;
+    private static boolean exclusive(Class<?> type) {
         if (type != null && type.isAnnotationPresent(Audited.class)) {
             Audited audited = type.getAnnotation(Audited.class);
-            exclusive = audited.exclusive();
+            return audited.exclusive();
         }
-        if (type == null || !exclusive) {
-            File file = new File(PathUtils.formatPath(String.format("%s/" + FileAuditWriter.DEFAULT_FILE_NAME,
-                    directory.getAbsolutePath(), name())));
-            if (file.exists()) {
-                return file;
-            } else {
-                DefaultLogger.error(String.format("Default Audit Log file not found. [path=%s]",
-                        file.getAbsolutePath()));
-            }
-        } else {
-            String name = type.getSimpleName().toLowerCase();
-            String path = PathUtils.formatPath(String.format("%s/%s.json", directory.getAbsolutePath(), name));
-            File file = new File(path);
-            if (file.exists()) {
-                return file;
-            } else {
-                DefaultLogger.warn(String.format("No audit file found for type. [type=%s][path=%s]",
-                        type.getCanonicalName(), file.getAbsolutePath()));
-            }
+        return false;
+    }
+
+    private static File stream(File directory, String name, Class<?> type, boolean exclusive) {
+        File dir = FileAuditWriter.streamDirectory(directory, FileAuditWriter.stream(name, type, exclusive));
+        if (!dir.exists()) {
+            DefaultLogger.debug(String.format("No segmented audit log found. [type=%s][path=%s]",
+                    (type != null ? type.getCanonicalName() : null), dir.getAbsolutePath()));
         }
-        return null;
+        return dir;
     }
 
     @Override
@@ -0,0 +1,177 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.auditing.readers.local;
+
+import com.google.common.base.Strings;
+import io.zyient.base.common.utils.DateTimeUtils;
+import io.zyient.base.common.utils.PathUtils;
+import io.zyient.base.core.auditing.writers.local.AuditSegment;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Audit files written with the pre-segment layout: the active file ({@code <name>-audit.json},
+ * or {@code <type>.json} for exclusive types) and its rolled-over archives
+ * ({@code yyyy/MM/dd/HH-mm.<file>.json}). These files are read-only, new records are written
+ * to the segmented stream logs.
+ */
+@Getter
+@Accessors(fluent = true)
+class LegacyAuditFiles {
+    public static final String DEFAULT_FILE_NAME = "%s-audit.json";
+    private static final Pattern DATE_PATTERN = Pattern.compile(FileAuditReader.DATE_REGEX);
+    // Archive names only have minute resolution.
+    private static final long ARCHIVE_RESOLUTION = 60 * 1000;
+
+    @Getter
+    @Accessors(fluent = true)
+    public static class Archive {
+        private final File file;
+        private final long time;
+
+        public Archive(@NonNull File file, long time) {
+            this.file = file;
+            this.time = time;
+        }
+    }
+
+    private final File directory;
+    private final File current;
+
+    public LegacyAuditFiles(@NonNull File directory,
+                            @NonNull String name,
+                            Class<?> type,
+                            boolean exclusive) {
+        this.directory = directory;
+        String file;
+        if (type != null && exclusive) {
+            file = String.format("%s.json", type.getSimpleName().toLowerCase());
+        } else {
+            file = String.format(DEFAULT_FILE_NAME, name);
+        }
+        current = new File(PathUtils.formatPath(String.format("%s/%s", directory.getAbsolutePath(), file)));
+    }
+
+    /**
+     * List the archived files of this stream ordered by archive time.
+     *
+     * @return - Archived files.
+     */
+    public List<Archive> archives() {
+        List<Archive> archives = new ArrayList<>();
+        Pattern name = Pattern.compile(String.format("\\d{2}-\\d{2}\\.%s", Pattern.quote(current.getName())));
+        // Only walk the yyyy/MM/dd folders, not the segmented stream directories.
+        for (File year : folders(directory, "\\d{4}")) {
+            for (File month : folders(year, "\\d{2}")) {
+                for (File day : folders(month, "\\d{2}")) {
+                    File[] files = day.listFiles((d, n) -> name.matcher(n).matches());
+                    if (files == null) continue;
+                    for (File file : files) {
+                        Matcher m = DATE_PATTERN.matcher(file.getAbsolutePath());
+                        if (!m.matches()) continue;
+                        String date = String.format("%s/%s/%s %s:%s",
+                                m.group(1),
+                                m.group(2),
+                                m.group(3),
+                                m.group(4),
+                                m.group(5));
+                        archives.add(new Archive(file, DateTimeUtils.parse(date, "yyyy/MM/dd HH:mm").getMillis()));
+                    }
+                }
+            }
+        }
+        archives.sort((l, r) -> Long.compare(l.time, r.time));
+        return archives;
+    }
+
+    private static List<File> folders(File parent, String regex) {
+        File[] dirs = parent.listFiles(f -> f.isDirectory() && f.getName().matches(regex));
+        if (dirs == null) return List.of();
+        return List.of(dirs);
+    }
+
+    /**
+     * Get all the legacy files of this stream, oldest first.
+     *
+     * @return - File ranges.
+     */
+    public List<AuditSegment.Range> all() {
+        return findTime(0, 0);
+    }
+
+    /**
+     * Find the legacy files that may contain records in the time window [start, end). Legacy files
+     * are not indexed, so the returned ranges cover whole files.
+     *
+     * @param start - Start time, <= 0 for unbounded.
+     * @param end   - End time (exclusive), <= 0 for unbounded.
+     * @return - File ranges, oldest first.
+     */
+    public List<AuditSegment.Range> findTime(long start, long end) {
+        List<AuditSegment.Range> ranges = new ArrayList<>();
+        long previous = -1;
+        for (Archive archive : archives()) {
+            // Archived on rollover: holds the records written after the previous rollover.
+            if (overlaps(previous, archive.time + ARCHIVE_RESOLUTION, start, end)) {
+                ranges.add(range(archive.file));
+            }
+            previous = archive.time;
+        }
+        if (current.exists() && overlaps(previous, current.lastModified(), start, end)) {
+            ranges.add(range(current));
+        }
+        return ranges;
+    }
+
+    private static boolean overlaps(long first, long last, long start, long end) {
+        return (start <= 0 || last >= start) && (end <= 0 || first < end);
+    }
+
+    private static AuditSegment.Range range(File file) {
+        return new AuditSegment.Range(file, 0, file.length());
+    }
+
+    /**
+     * Count the records in a legacy file range.
+     *
+     * @param range - File range.
+     * @return - Number of records.
+     * @throws IOException
+     */
+    public static long count(@NonNull AuditSegment.Range range) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(range.file().toPath(), StandardCharsets.UTF_8)) {
+            while (true) {
+                String line = reader.readLine();
+                if (line == null) break;
+                if (!Strings.isNullOrEmpty(line)) count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.auditing.writers.local;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Segmented audit log stream with group commits.
+ * <p>
+ * Writers enqueue serialized records, a single committer thread drains the queue
+ * and writes each batch through one buffer, followed by the batch index entries
+ * and (depending on the fsync policy) a force to disk. The returned future completes
+ * with the record sequence once the batch has been committed.
+ */
+@Getter
+@Accessors(fluent = true)
+public class AuditLog implements Closeable {
+    public interface Listener {
+        void committed(@NonNull AuditLog log) throws Exception;
+
+        void rolled(@NonNull AuditLog log, @NonNull AuditSegment segment) throws Exception;
+    }
+
+    private static class Pending {
+        private final byte[] data;
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
+        private long sequence;
+
+        private Pending(byte[] data) {
+            this.data = data;
+        }
+    }
+
+    private final String name;
+    private final File directory;
+    @Getter(AccessLevel.NONE)
+    private final FileAuditWriterSettings settings;
+    @Getter(AccessLevel.NONE)
+    private final Listener listener;
+    @Getter(AccessLevel.NONE)
+    private final BlockingQueue<Pending> queue;
+    @Getter(AccessLevel.NONE)
+    private final ByteBuffer buffer;
+    @Getter(AccessLevel.NONE)
+    private final ByteBuffer indexBuffer;
+    @Getter(AccessLevel.NONE)
+    private Thread committer;
+    @Getter(AccessLevel.NONE)
+    private volatile boolean running = false;
+    @Getter(AccessLevel.NONE)
+    private FileChannel logChannel;
+    @Getter(AccessLevel.NONE)
+    private FileChannel indexChannel;
+    private AuditSegment segment;
+    private long size = 0;
+    private volatile long sequence = 0;
+    private long timestamp = 0;
+    @Getter(AccessLevel.NONE)
+    private long synced = 0;
+    @Getter(AccessLevel.NONE)
+    private boolean dirty = false;
+    private volatile Throwable error = null;
+
+    public AuditLog(@NonNull String name,
+                    @NonNull File directory,
+                    @NonNull FileAuditWriterSettings settings,
+                    Listener listener) {
+        this.name = name;
+        this.directory = directory;
+        this.settings = settings;
+        this.listener = listener;
+        queue = new LinkedBlockingQueue<>(settings.getQueueSize());
+        buffer = ByteBuffer.allocateDirect((int) settings.getBufferSize().normalized());
+        indexBuffer = ByteBuffer.allocateDirect(AuditSegment.ENTRY_SIZE * Math.max(settings.getBatchSize(), 1));
+    }
+
+    public AuditLog open() throws IOException {
+        if (!directory.exists()) {
+            if (!directory.mkdirs()) {
+                throw new IOException(String.format("Failed to create directory. [path=%s]",
+                        directory.getAbsolutePath()));
+            }
+        }
+        List<AuditSegment> segments = AuditSegment.list(directory);
+        if (segments.isEmpty()) {
+            open(new AuditSegment(directory, 0));
+        } else {
+            AuditSegment last = segments.get(segments.size() - 1);
+            AuditSegment.Entry entry = last.recover();
+            if (entry != null) {
+                sequence = entry.sequence() + 1;
+                timestamp = entry.timestamp();
+            } else {
+                sequence = last.baseSequence();
+            }
+            open(last);
+        }
+        running = true;
+        committer = new Thread(this::run, String.format("AUDIT-LOG-%s", name));
+        committer.setDaemon(true);
+        committer.start();
+        return this;
+    }
+
+    private void open(AuditSegment segment) throws IOException {
+        logChannel = FileChannel.open(segment.log().toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        indexChannel = FileChannel.open(segment.index().toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        size = logChannel.size();
+        logChannel.position(size);
+        indexChannel.position(indexChannel.size());
+        this.segment = segment;
+    }
+
+    /**
+     * Append a serialized record to the log.
+     *
+     * @param data - Record bytes (must not contain new lines).
+     * @return - Future completed with the record sequence on commit.
+     * @throws Exception
+     */
+    public CompletableFuture<Long> append(@NonNull byte[] data) throws Exception {
+        checkRunning();
+        Pending pending = new Pending(data);
+        long timeout = settings.getCommitTimeout().normalized();
+        long start = System.currentTimeMillis();
+        while (!queue.offer(pending, Math.min(timeout, 100), TimeUnit.MILLISECONDS)) {
+            checkRunning();
+            if (System.currentTimeMillis() - start > timeout) {
+                throw new TimeoutException(String.format("Timeout waiting to queue audit record. [name=%s]",
+                        name));
+            }
+        }
+        // The log may have been closed (or failed) while the record was being queued,
+        // if the committer will not pick it up anymore it has to be failed here.
+        if (!running && queue.remove(pending)) {
+            pending.future.completeExceptionally(closedError());
+        }
+        return pending.future;
+    }
+
+    private void checkRunning() throws IOException {
+        if (!running) {
+            throw closedError();
+        }
+    }
+
+    private IOException closedError() {
+        return new IOException(String.format("Audit log is closed. [name=%s]", name), error);
+    }
+
+    private void failPending(Throwable error) {
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(error);
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(settings.getBatchSize());
+        long timeout = Math.max(settings.getFsyncInterval().normalized(), 10);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending next = queue.poll(timeout, TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    if (dirty) sync();
+                    continue;
+                }
+                batch.add(next);
+                queue.drainTo(batch, settings.getBatchSize() - 1);
+                try {
+                    commit(batch);
+                    for (Pending pending : batch) {
+                        pending.future.complete(pending.sequence);
+                    }
+                } catch (Throwable t) {
+                    // The segment tail is unknown now: stop accepting records, the torn
+                    // tail is trimmed by recovery when the log is re-opened.
+                    DefaultLogger.error(String.format("Audit log commit failed. [name=%s]", name), t);
+                    error = t;
+                    running = false;
+                    for (Pending pending : batch) {
+                        pending.future.completeExceptionally(t);
+                    }
+                    batch.clear();
+                    failPending(t);
+                    break;
+                }
+                batch.clear();
+                if (listener != null) {
+                    listener.committed(this);
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                running = false;
+                failPending(closedError());
+                break;
+            } catch (Exception ex) {
+                DefaultLogger.stacktrace(ex);
+                DefaultLogger.error(ex.getLocalizedMessage());
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) throws Exception {
+        for (Pending pending : batch) {
+            int length = pending.data.length;
+            if (size > 0 && size + length + FileAuditWriter.NEWLINE.length > settings.getRolloverSize().normalized()) {
+                write();
+                roll();
+            }
+            timestamp = Math.max(timestamp, System.currentTimeMillis());
+            pending.sequence = sequence;
+            put(pending.data);
+            put(FileAuditWriter.NEWLINE);
+            indexBuffer.putLong(timestamp)
+                    .putLong(sequence)
+                    .putLong(size)
+                    .putInt(length);
+            size += length + FileAuditWriter.NEWLINE.length;
+            sequence++;
+        }
+        write();
+        dirty = true;
+        if (settings.getFsyncPolicy() == FileAuditWriterSettings.EFsyncPolicy.Commit) {
+            sync();
+        } else if (settings.getFsyncPolicy() == FileAuditWriterSettings.EFsyncPolicy.Interval
+                && System.currentTimeMillis() - synced >= settings.getFsyncInterval().normalized()) {
+            sync();
+        }
+    }
+
+    private void put(byte[] data) throws IOException {
+        if (data.length > buffer.remaining()) {
+            drain(buffer, logChannel);
+            if (data.length > buffer.capacity()) {
+                drain(ByteBuffer.wrap(data).position(data.length), logChannel);
+                return;
+            }
+        }
+        buffer.put(data);
+    }
+
+    private void write() throws IOException {
+        drain(buffer, logChannel);
+        drain(indexBuffer, indexChannel);
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void sync() throws IOException {
+        if (settings.getFsyncPolicy() != FileAuditWriterSettings.EFsyncPolicy.Never) {
+            logChannel.force(false);
+            indexChannel.force(false);
+        }
+        synced = System.currentTimeMillis();
+        dirty = false;
+    }
+
+    private void roll() throws Exception {
+        sync();
+        logChannel.close();
+        indexChannel.close();
+        AuditSegment sealed = segment;
+        open(new AuditSegment(directory, sequence));
+        if (listener != null) {
+            listener.rolled(this, sealed);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (committer == null) return;
+        running = false;
+        try {
+            committer.join();
+            committer = null;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        failPending(closedError());
+        try {
+            if (error == null) {
+                write();
+                sync();
+            }
+        } finally {
+            logChannel.close();
+            indexChannel.close();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.auditing.writers.local;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.PathUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.commons.io.FilenameUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Segment of an audit log stream: a JSON-lines log file and a dense index file
+ * named by the sequence of the first record in the segment.
+ * <p>
+ * Index entries are fixed size [timestamp, sequence, position, length], timestamps
+ * are non-decreasing within a stream so both time and sequence lookups are
+ * binary searches on the index.
+ */
+@Getter
+@Accessors(fluent = true)
+public class AuditSegment {
+    public static final String LOG_EXT = "json";
+    public static final String INDEX_EXT = "idx";
+    public static final int ENTRY_SIZE = Long.BYTES * 3 + Integer.BYTES;
+    private static final Pattern SEGMENT_REGEX = Pattern.compile("^(\\d{20})\\." + LOG_EXT + "$");
+
+    @Getter
+    @Accessors(fluent = true)
+    public static class Entry {
+        private final long timestamp;
+        private final long sequence;
+        private final long position;
+        private final int length;
+
+        public Entry(long timestamp, long sequence, long position, int length) {
+            this.timestamp = timestamp;
+            this.sequence = sequence;
+            this.position = position;
+            this.length = length;
+        }
+
+        /**
+         * Log position after this record (including the record delimiter).
+         *
+         * @return - End offset.
+         */
+        public long end() {
+            return position + length + FileAuditWriter.NEWLINE.length;
+        }
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    public static class Range {
+        private final File file;
+        private final long from;
+        private final long to;
+
+        public Range(@NonNull File file, long from, long to) {
+            this.file = file;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private final File log;
+    private final File index;
+    private final long baseSequence;
+
+    public AuditSegment(@NonNull File directory, long baseSequence) {
+        this.baseSequence = baseSequence;
+        String name = String.format("%020d", baseSequence);
+        log = new File(PathUtils.formatPath(String.format("%s/%s.%s", directory.getAbsolutePath(), name, LOG_EXT)));
+        index = new File(PathUtils.formatPath(String.format("%s/%s.%s", directory.getAbsolutePath(), name, INDEX_EXT)));
+    }
+
+    public long count() {
+        return index.length() / ENTRY_SIZE;
+    }
+
+    public Entry first() throws IOException {
+        if (count() == 0) return null;
+        try (RandomAccessFile raf = new RandomAccessFile(index, "r")) {
+            return entry(raf, 0);
+        }
+    }
+
+    public Entry last() throws IOException {
+        long count = count();
+        if (count == 0) return null;
+        try (RandomAccessFile raf = new RandomAccessFile(index, "r")) {
+            return entry(raf, count - 1);
+        }
+    }
+
+    /**
+     * Get the index entry for the specified sequence.
+     *
+     * @param sequence - Record sequence.
+     * @return - Entry or NULL if not in this segment.
+     * @throws IOException
+     */
+    public Entry at(long sequence) throws IOException {
+        long offset = sequence - baseSequence;
+        if (offset < 0 || offset >= count()) return null;
+        try (RandomAccessFile raf = new RandomAccessFile(index, "r")) {
+            return entry(raf, offset);
+        }
+    }
+
+    /**
+     * Get the log offset of the first record with timestamp >= the specified time.
+     *
+     * @param timestamp - Time (millis).
+     * @return - Log offset, log size if all records are older.
+     * @throws IOException
+     */
+    public long seek(long timestamp) throws IOException {
+        long count = count();
+        try (RandomAccessFile raf = new RandomAccessFile(index, "r")) {
+            long lo = 0;
+            long hi = count;
+            while (lo < hi) {
+                long mid = (lo + hi) >>> 1;
+                if (entry(raf, mid).timestamp < timestamp) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            if (lo == count) {
+                return count == 0 ? 0 : entry(raf, count - 1).end();
+            }
+            return entry(raf, lo).position;
+        }
+    }
+
+    /**
+     * Trim the segment to the last record present in both the index and the log,
+     * dropping a torn tail left by a crash in the middle of a group commit.
+     *
+     * @return - Last valid entry, NULL if the segment is empty.
+     * @throws IOException
+     */
+    public Entry recover() throws IOException {
+        if (!log.exists() || !index.exists()) {
+            try (RandomAccessFile raf = new RandomAccessFile(log, "rw")) {
+                raf.setLength(0);
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(index, "rw")) {
+                raf.setLength(0);
+            }
+            return null;
+        }
+        long size = log.length();
+        try (RandomAccessFile raf = new RandomAccessFile(index, "rw")) {
+            long count = raf.length() / ENTRY_SIZE;
+            Entry last = null;
+            while (count > 0) {
+                last = entry(raf, count - 1);
+                if (last.sequence == baseSequence + count - 1 && last.end() <= size) break;
+                last = null;
+                count--;
+            }
+            if (raf.length() != count * ENTRY_SIZE) {
+                DefaultLogger.warn(String.format("Truncating audit index. [path=%s, entries=%d]",
+                        index.getAbsolutePath(), count));
+                raf.setLength(count * ENTRY_SIZE);
+            }
+            long end = (last == null ? 0 : last.end());
+            if (end != size) {
+                DefaultLogger.warn(String.format("Truncating audit log. [path=%s, size=%d]",
+                        log.getAbsolutePath(), end));
+                try (RandomAccessFile lf = new RandomAccessFile(log, "rw")) {
+                    lf.setLength(end);
+                }
+            }
+            return last;
+        }
+    }
+
+    public boolean delete() {
+        boolean ret = true;
+        if (log.exists()) {
+            ret = log.delete();
+        }
+        if (index.exists()) {
+            ret = index.delete() && ret;
+        }
+        return ret;
+    }
+
+    public static Entry entry(@NonNull RandomAccessFile index, long offset) throws IOException {
+        index.seek(offset * ENTRY_SIZE);
+        long timestamp = index.readLong();
+        long sequence = index.readLong();
+        long position = index.readLong();
+        int length = index.readInt();
+        return new Entry(timestamp, sequence, position, length);
+    }
+
+    /**
+     * List the segments of a stream ordered by sequence.
+     *
+     * @param directory - Stream directory.
+     * @return - Segments.
+     */
+    public static List<AuditSegment> list(@NonNull File directory) {
+        List<AuditSegment> segments = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Matcher m = SEGMENT_REGEX.matcher(FilenameUtils.getName(file.getAbsolutePath()));
+                if (m.matches()) {
+                    segments.add(new AuditSegment(directory, Long.parseLong(m.group(1))));
+                }
+            }
+        }
+        segments.sort((l, r) -> Long.compare(l.baseSequence, r.baseSequence));
+        return segments;
+    }
+
+    /**
+     * Find the log ranges for records in the time window [start, end).
+     *
+     * @param directory - Stream directory.
+     * @param start     - Start time, <= 0 for unbounded.
+     * @param end       - End time (exclusive), <= 0 for unbounded.
+     * @return - Log ranges.
+     * @throws IOException
+     */
+    public static List<Range> findTime(@NonNull File directory, long start, long end) throws IOException {
+        List<Range> ranges = new ArrayList<>();
+        for (AuditSegment segment : list(directory)) {
+            Entry first = segment.first();
+            if (first == null) continue;
+            if (end > 0 && first.timestamp >= end) break;
+            Entry last = segment.last();
+            if (start > 0 && last.timestamp < start) continue;
+            long from = (start > 0 ? segment.seek(start) : 0);
+            long to = (end > 0 ? segment.seek(end) : last.end());
+            if (to > from) {
+                ranges.add(new Range(segment.log, from, to));
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Find the log ranges for records with sequence in [from, from + count).
+     *
+     * @param directory - Stream directory.
+     * @param from      - Start sequence.
+     * @param count     - Number of records.
+     * @return - Log ranges.
+     * @throws IOException
+     */
+    public static List<Range> findSequence(@NonNull File directory, long from, int count) throws IOException {
+        List<Range> ranges = new ArrayList<>();
+        long to = from + count;
+        for (AuditSegment segment : list(directory)) {
+            long size = segment.count();
+            long base = segment.baseSequence;
+            if (base + size <= from) continue;
+            if (base >= to) break;
+            Entry s = segment.at(Math.max(from, base));
+            Entry e = segment.at(Math.min(to, base + size) - 1);
+            if (s != null && e != null) {
+                ranges.add(new Range(segment.log, s.position, e.end()));
+            }
+        }
+        return ranges;
+    }
+}
@@ -20,7 +20,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import io.zyient.base.common.config.ConfigReader;
 import io.zyient.base.common.model.Context;
-import io.zyient.base.common.utils.DateTimeUtils;
+import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.common.utils.JSONUtils;
 import io.zyient.base.common.utils.PathUtils;
 import io.zyient.base.core.BaseEnv;
@@ -32,45 +32,42 @@ import io.zyient.base.core.processing.ProcessorState;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
-import org.apache.commons.io.FilenameUtils;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Getter
 @Accessors(fluent = true)
 public class FileAuditWriter implements IAuditWriter<JsonAuditRecord> {
     public static final byte[] NEWLINE = "\n".getBytes(StandardCharsets.UTF_8);
-    public static final String DEFAULT_FILE_NAME = "%s-audit.json";
-
-    @Getter
-    @Setter
-    @Accessors(fluent = true)
-    protected static class FileHandle {
-        private File file;
-        private FileOutputStream outputStream;
-        private long size;
-        private long timestamp;
-        private File archived = null;
-    }
 
     private final ProcessorState state = new ProcessorState();
     private Class<? extends JsonAuditRecord> recordType;
     private File directory;
-    @Getter(AccessLevel.NONE)
-    private FileHandle defaultWriter;
     protected FileAuditWriterSettings settings;
     @Getter(AccessLevel.NONE)
-    private final Map<String, FileHandle> writers = new HashMap<>();
+    private final Map<String, AuditLog> logs = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final AuditLog.Listener listener = new AuditLog.Listener() {
+        @Override
+        public void committed(@NonNull AuditLog log) throws Exception {
+            FileAuditWriter.this.committed(log);
+        }
+
+        @Override
+        public void rolled(@NonNull AuditLog log, @NonNull AuditSegment segment) throws Exception {
+            FileAuditWriter.this.rolled(log, segment);
+        }
+    };
     private String name;
 
     @Override
@@ -78,6 +75,7 @@ public class FileAuditWriter implements IAuditWriter<JsonAuditRecord> {
                                               @NonNull BaseEnv<?> env,
                                               @NonNull Class<? extends JsonAuditRecord> recordType) throws ConfigurationException {
         Preconditions.checkState(!Strings.isNullOrEmpty(name));
+        this.recordType = recordType;
         try {
             ConfigReader reader = new ConfigReader(config, FileAuditWriterSettings.class);
             reader.read();
@@ -99,61 +97,38 @@ public class FileAuditWriter implements IAuditWriter<JsonAuditRecord> {
                         directory.getAbsolutePath()));
             }
         }
-        File outf = new File(PathUtils.formatPath(String.format("%s/" + DEFAULT_FILE_NAME,
-                directory.getAbsolutePath(), name)));
-        defaultWriter = new FileHandle();
-        defaultWriter.file = outf;
-        defaultWriter.size = outf.length();
-        defaultWriter = checkReCycle(defaultWriter);
+        getLog(name);
     }
 
-    protected FileHandle checkReCycle(FileHandle handle) throws Exception {
-        if (handle.size >= settings.getRolloverSize().normalized()) {
-            if (handle.outputStream != null) {
-                handle.outputStream.flush();
-                handle.outputStream.close();
-            }
-            String dir = DateTimeUtils.now("yyyy/MM/dd");
-            dir = PathUtils.formatPath(String.format("%s/%s", directory.getAbsolutePath(), dir));
-            File d = new File(dir);
-            if (!d.exists()) {
-                if (!d.mkdirs()) {
-                    throw new IOException(String.format("Failed to create directory. [path=%s]", d.getAbsolutePath()));
-                }
-            }
-            String path = handle.file.getAbsolutePath();
-            String name = FilenameUtils.getName(handle.file.getAbsolutePath());
-            name = FilenameUtils.removeExtension(name);
-            String prefix = DateTimeUtils.now("HH-mm");
-            String nf = PathUtils.formatPath(String.format("%s/%s.%s.json", d.getAbsolutePath(), prefix, name));
-            File tf = new File(nf);
-            if (tf.exists()) {
-                throw new IOException(String.format("Target file already exists: re-cycle size might be too small. [file=%s]",
-                        tf.getAbsolutePath()));
-            }
-            if (!handle.file.renameTo(tf)) {
-                throw new Exception(String.format("Failed to rename: [path=%s]", tf.getAbsolutePath()));
-            }
-            handle.archived = tf;
-            handle.file = new File(path);
-            handle.outputStream = new FileOutputStream(handle.file);
-            handle.size = 0;
-            handle.timestamp = System.currentTimeMillis();
-        }
-        return handle;
+    /**
+     * Called on the committer thread after each group commit.
+     *
+     * @param log - Audit log stream.
+     * @throws Exception
+     */
+    protected void committed(@NonNull AuditLog log) throws Exception {
+    }
+
+    /**
+     * Called on the committer thread after a segment has been sealed.
+     *
+     * @param log     - Audit log stream.
+     * @param segment - Sealed segment.
+     * @throws Exception
+     */
+    protected void rolled(@NonNull AuditLog log, @NonNull AuditSegment segment) throws Exception {
     }
 
     @Override
     public void write(@NonNull JsonAuditRecord record, Context context) throws Exception {
         state.check(ProcessorState.EProcessorState.Running);
-        FileHandle handle = getOutputStream(context);
         byte[] data = JSONUtils.asBytes(record);
         Preconditions.checkNotNull(data);
         if (data.length > 0) {
-            handle.outputStream.write(data);
-            handle.size += data.length;
-            handle.outputStream.write(NEWLINE);
-            handle.size += NEWLINE.length;
+            CompletableFuture<Long> future = getLog(context).append(data);
+            if (settings.isWaitForCommit()) {
+                future.get(settings.getCommitTimeout().normalized(), TimeUnit.MILLISECONDS);
+            }
         }
     }
 
@@ -168,34 +143,31 @@ public class FileAuditWriter implements IAuditWriter<JsonAuditRecord> {
         return name;
     }
 
-    private synchronized FileHandle getOutputStream(Context context) throws Exception {
+    private AuditLog getLog(Context context) throws Exception {
         AuditContext ctx = get(context);
-        Audited audited = null;
         Class<?> type = null;
+        boolean exclusive = false;
         if (ctx != null) {
-            audited = ctx.audited();
+            Audited audited = ctx.audited();
             type = ctx.type();
+            exclusive = (audited != null && audited.exclusive());
         }
-        FileHandle handle = defaultWriter;
-        if (audited != null) {
-            if (audited.exclusive()) {
-                String name = type.getSimpleName().toLowerCase();
-                if (!writers.containsKey(name)) {
-                    String path = PathUtils.formatPath(String.format("%s/%s.json", directory.getAbsolutePath(), name));
-                    handle = new FileHandle();
-                    handle.file = new File(path);
-                    handle.outputStream = new FileOutputStream(handle.file);
-                    if (handle.file.exists())
-                        handle.size = handle.file.length();
-                    else
-                        handle.size = 0;
-                    writers.put(name, handle);
-                } else {
-                    handle = writers.get(name);
+        return getLog(stream(name, type, exclusive));
+    }
+
+    private AuditLog getLog(String stream) throws Exception {
+        AuditLog log = logs.get(stream);
+        if (log == null) {
+            synchronized (logs) {
+                log = logs.get(stream);
+                if (log == null) {
+                    log = new AuditLog(stream, streamDirectory(directory, stream), settings, listener)
+                            .open();
+                    logs.put(stream, log);
                 }
             }
         }
-        return checkReCycle(handle);
+        return log;
     }
 
     private AuditContext get(Context context) {
@@ -205,21 +177,37 @@ public class FileAuditWriter implements IAuditWriter<JsonAuditRecord> {
         return null;
     }
 
+    /**
+     * Get the stream name, exclusive types are logged to their own stream.
+     *
+     * @param name      - Audit logger name.
+     * @param type      - Audited type.
+     * @param exclusive - Is exclusive.
+     * @return - Stream name.
+     */
+    public static String stream(@NonNull String name, Class<?> type, boolean exclusive) {
+        if (type != null && exclusive) {
+            return String.format("%s.%s", name, type.getSimpleName().toLowerCase());
+        }
+        return name;
+    }
+
+    public static File streamDirectory(@NonNull File directory, @NonNull String stream) {
+        return new File(PathUtils.formatPath(String.format("%s/%s", directory.getAbsolutePath(), stream)));
+    }
+
     @Override
     public void close() throws IOException {
         if (!state.hasError()) {
             state.setState(ProcessorState.EProcessorState.Stopped);
         }
-        if (defaultWriter != null) {
-            defaultWriter.outputStream.close();
-            defaultWriter = null;
-        }
-        for (String name : writers.keySet()) {
-            FileHandle handle = writers.get(name);
-            if (handle.outputStream != null) {
-                handle.outputStream.close();
+        for (AuditLog log : logs.values()) {
+            try {
+                log.close();
+            } catch (IOException ex) {
+                DefaultLogger.error(String.format("Failed to close audit log. [name=%s]", log.name()), ex);
             }
         }
-        writers.clear();
+        logs.clear();
     }
 }
@@ -20,14 +20,76 @@ import io.zyient.base.common.config.Config;
 import io.zyient.base.common.config.Settings;
 import io.zyient.base.common.config.units.SpaceUnitValue;
 import io.zyient.base.common.config.units.SpaceValueParser;
+import io.zyient.base.common.config.units.TimeUnitValue;
+import io.zyient.base.common.config.units.TimeValueParser;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ *     <writer>
+ *         <directory>[audit log directory]</directory>
+ *         <rolloverSize>[segment size, default 100MB]</rolloverSize>
+ *         <commit>
+ *             <batchSize>[max records per group commit, default 512]</batchSize>
+ *             <bufferSize>[write buffer size, default 256KB]</bufferSize>
+ *             <queueSize>[max records waiting to be committed, default 8192]</queueSize>
+ *             <wait>[block writers until committed, default true]</wait>
+ *             <timeout>[max time to wait for queueing/commit, default 30sec]</timeout>
+ *         </commit>
+ *         <fsync>
+ *             <policy>[Never|Commit|Interval, default Interval]</policy>
+ *             <interval>[fsync interval, default 1sec]</interval>
+ *         </fsync>
+ *     </writer>
+ * </pre>
+ */
 @Getter
 @Setter
 public class FileAuditWriterSettings extends Settings {
+    public enum EFsyncPolicy {
+        /**
+         * Leave flushing to disk to the OS.
+         */
+        Never,
+        /**
+         * Force to disk before every group commit is acknowledged.
+         */
+        Commit,
+        /**
+         * Force to disk at most once per interval.
+         */
+        Interval
+    }
+
+    public static class Constants {
+        public static final String CONFIG_COMMIT_BATCH_SIZE = "commit.batchSize";
+        public static final String CONFIG_COMMIT_BUFFER_SIZE = "commit.bufferSize";
+        public static final String CONFIG_COMMIT_QUEUE_SIZE = "commit.queueSize";
+        public static final String CONFIG_COMMIT_WAIT = "commit.wait";
+        public static final String CONFIG_COMMIT_TIMEOUT = "commit.timeout";
+        public static final String CONFIG_FSYNC_POLICY = "fsync.policy";
+        public static final String CONFIG_FSYNC_INTERVAL = "fsync.interval";
+    }
+
     @Config(name = "directory")
     private String dir;
     @Config(name = "rolloverSize", required = false, parser = SpaceValueParser.class)
     private SpaceUnitValue rolloverSize = new SpaceUnitValue(100, SpaceUnitValue.SpaceUnit.MEGABYTES);
+    @Config(name = Constants.CONFIG_COMMIT_BATCH_SIZE, required = false, type = Integer.class)
+    private int batchSize = 512;
+    @Config(name = Constants.CONFIG_COMMIT_BUFFER_SIZE, required = false, parser = SpaceValueParser.class)
+    private SpaceUnitValue bufferSize = new SpaceUnitValue(256, SpaceUnitValue.SpaceUnit.KILOBYTES);
+    @Config(name = Constants.CONFIG_COMMIT_QUEUE_SIZE, required = false, type = Integer.class)
+    private int queueSize = 8192;
+    @Config(name = Constants.CONFIG_COMMIT_WAIT, required = false, type = Boolean.class)
+    private boolean waitForCommit = true;
+    @Config(name = Constants.CONFIG_COMMIT_TIMEOUT, required = false, parser = TimeValueParser.class)
+    private TimeUnitValue commitTimeout = new TimeUnitValue(30, TimeUnit.SECONDS);
+    @Config(name = Constants.CONFIG_FSYNC_POLICY, required = false, type = EFsyncPolicy.class)
+    private EFsyncPolicy fsyncPolicy = EFsyncPolicy.Interval;
+    @Config(name = Constants.CONFIG_FSYNC_INTERVAL, required = false, parser = TimeValueParser.class)
+    private TimeUnitValue fsyncInterval = new TimeUnitValue(1, TimeUnit.SECONDS);
 }
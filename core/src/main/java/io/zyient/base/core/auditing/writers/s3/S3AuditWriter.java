@@ -24,10 +24,13 @@ import io.zyient.base.common.utils.PathUtils;
 import io.zyient.base.core.BaseEnv;
 import io.zyient.base.core.auditing.JsonAuditRecord;
 import io.zyient.base.core.auditing.writers.IAuditWriter;
+import io.zyient.base.core.auditing.writers.local.AuditLog;
+import io.zyient.base.core.auditing.writers.local.AuditSegment;
 import io.zyient.base.core.auditing.writers.local.FileAuditWriter;
 import io.zyient.base.core.connections.aws.AwsS3Connection;
 import io.zyient.base.core.connections.aws.S3Helper;
 import io.zyient.base.core.processing.ProcessorState;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.Accessors;
@@ -36,12 +39,16 @@ import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 
 import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @Accessors(fluent = true)
 public class S3AuditWriter extends FileAuditWriter {
     private AwsS3Connection connection;
     private BaseEnv<?> env;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Long> synced = new ConcurrentHashMap<>();
 
     @Override
     public IAuditWriter<JsonAuditRecord> init(@NonNull HierarchicalConfiguration<ImmutableNode> config,
@@ -70,24 +77,25 @@ public class S3AuditWriter extends FileAuditWriter {
     }
 
     @Override
-    protected FileHandle checkReCycle(FileHandle handle) throws Exception {
-        long ts = handle.timestamp();
-        handle = super.checkReCycle(handle);
-        if (handle.timestamp() > ts && handle.archived() != null) {
-            upload(handle.archived());
-            if (!handle.archived().delete()) {
-                DefaultLogger.warn(String.format("Failed to delete archived file. [path=%s]",
-                        handle.archived().getAbsolutePath()));
-            }
-            handle.archived(null);
-        } else {
-            if (System.currentTimeMillis() - handle.timestamp()
-                    >= ((S3AuditWriterSettings) settings).getSyncInterval().normalized()) {
-                upload(handle.file());
-                handle.timestamp(System.currentTimeMillis());
-            }
+    protected void rolled(@NonNull AuditLog log, @NonNull AuditSegment segment) throws Exception {
+        upload(segment.log());
+        upload(segment.index());
+        if (!segment.delete()) {
+            DefaultLogger.warn(String.format("Failed to delete archived segment. [path=%s]",
+                    segment.log().getAbsolutePath()));
+        }
+        synced.put(log.name(), System.currentTimeMillis());
+    }
+
+    @Override
+    protected void committed(@NonNull AuditLog log) throws Exception {
+        long last = synced.computeIfAbsent(log.name(), k -> System.currentTimeMillis());
+        if (System.currentTimeMillis() - last
+                >= ((S3AuditWriterSettings) settings).getSyncInterval().normalized()) {
+            upload(log.segment().log());
+            upload(log.segment().index());
+            synced.put(log.name(), System.currentTimeMillis());
         }
-        return handle;
     }
 
     private void upload(File file) throws Exception {
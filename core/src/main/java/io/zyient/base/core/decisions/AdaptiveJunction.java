@@ -0,0 +1,192 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.decisions;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Flattened AND/OR of compiled conditions. The operands are periodically re-ordered
+ * by their observed selectivity, so that the operand most likely to short-circuit
+ * the junction is evaluated first (least likely to pass for AND, most likely for OR).
+ * <p>
+ * Only runs of consecutive {@link CompiledCondition#safe()} operands are re-ordered, the other
+ * operands keep their declared position. An operand that has side effects must not be skipped
+ * or evaluated early, as the declared order could short-circuit before it or throw from it.
+ * If a safe operand fails on an ill-typed value after the operands have been re-ordered, the
+ * junction is re-evaluated in the declared order (so the exception is the one the declared order
+ * raises) and stops re-ordering, the input does not satisfy the safe contract.
+ * <p>
+ * Statistics are sampled without synchronization, they only drive the evaluation order
+ * and never the result.
+ *
+ * @param <T> - Data type.
+ */
+public class AdaptiveJunction<T> implements CompiledCondition<T> {
+    public static final int DEFAULT_SAMPLE_INTERVAL = 1024;
+
+    private static class Operand<T> {
+        private final CompiledCondition<T> condition;
+        private long evaluated = 0;
+        private long passed = 0;
+        private double selectivity = 0.5;
+
+        private Operand(CompiledCondition<T> condition) {
+            this.condition = condition;
+        }
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    private final boolean conjunction;
+    @Getter
+    @Accessors(fluent = true)
+    private final int sampleInterval;
+    private final Operand<T>[] declared;
+    private volatile Operand<T>[] operands;
+    // Re-orderable [from, to) index ranges.
+    private final int[][] runs;
+    private final boolean safe;
+    private volatile boolean adaptive;
+    private int samples = 0;
+
+    /**
+     * @param conjunction    - AND if true, else OR.
+     * @param operands       - Compiled operands (in declared order).
+     * @param sampleInterval - Evaluations between re-ordering, <= 0 to keep the declared order.
+     */
+    @SuppressWarnings("unchecked")
+    public AdaptiveJunction(boolean conjunction,
+                            @NonNull List<CompiledCondition<T>> operands,
+                            int sampleInterval) {
+        this.conjunction = conjunction;
+        this.sampleInterval = sampleInterval;
+        Operand<T>[] array = new Operand[operands.size()];
+        for (int ii = 0; ii < array.length; ii++) {
+            array[ii] = new Operand<>(operands.get(ii));
+        }
+        this.declared = array;
+        this.operands = array;
+        List<int[]> runs = new ArrayList<>();
+        boolean safe = true;
+        int from = 0;
+        for (int ii = 0; ii <= array.length; ii++) {
+            if (ii == array.length || !array[ii].condition.safe()) {
+                if (ii - from > 1) {
+                    runs.add(new int[]{from, ii});
+                }
+                from = ii + 1;
+                if (ii < array.length) safe = false;
+            }
+        }
+        this.runs = runs.toArray(new int[0][]);
+        this.safe = safe;
+        this.adaptive = sampleInterval > 0 && !runs.isEmpty();
+    }
+
+    @Override
+    public boolean safe() {
+        return safe;
+    }
+
+    @Override
+    public boolean test(@NonNull T data) throws Exception {
+        Operand<T>[] current = operands;
+        boolean adaptive = this.adaptive;
+        boolean result;
+        try {
+            result = test(current, data, adaptive);
+        } catch (Exception ex) {
+            if (current == declared) {
+                throw ex;
+            }
+            disable();
+            return test(declared, data, false);
+        }
+        if (adaptive && ++samples >= sampleInterval) {
+            reorder();
+        }
+        return result;
+    }
+
+    private boolean test(Operand<T>[] operands, T data, boolean adaptive) throws Exception {
+        for (Operand<T> operand : operands) {
+            boolean r = operand.condition.test(data);
+            if (adaptive) {
+                operand.evaluated++;
+                if (r) operand.passed++;
+            }
+            if (r != conjunction) {
+                return r;
+            }
+        }
+        return conjunction;
+    }
+
+    private synchronized void disable() {
+        adaptive = false;
+        operands = declared;
+    }
+
+    private synchronized void reorder() {
+        if (!adaptive || samples < sampleInterval) return;
+        samples = 0;
+        Operand<T>[] next = Arrays.copyOf(operands, operands.length);
+        for (Operand<T> operand : next) {
+            long evaluated = operand.evaluated;
+            if (evaluated > 0) {
+                operand.selectivity = (double) operand.passed / evaluated;
+            }
+            // Decay the counts so the order follows drift in the input.
+            operand.evaluated = evaluated / 2;
+            operand.passed = operand.passed / 2;
+        }
+        Comparator<Operand<T>> comparator = Comparator.comparingDouble(o -> o.selectivity);
+        if (!conjunction) {
+            comparator = comparator.reversed();
+        }
+        for (int[] run : runs) {
+            Arrays.sort(next, run[0], run[1], comparator);
+        }
+        operands = next;
+    }
+
+    /**
+     * Current evaluation order as indexes into the declared (flattened) operands.
+     *
+     * @return - Evaluation order.
+     */
+    public int[] order() {
+        Operand<T>[] current = operands;
+        int[] order = new int[current.length];
+        for (int ii = 0; ii < current.length; ii++) {
+            for (int jj = 0; jj < declared.length; jj++) {
+                if (declared[jj] == current[ii]) {
+                    order[ii] = jj;
+                    break;
+                }
+            }
+        }
+        return order;
+    }
+}
@@ -23,6 +23,9 @@ import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 @Setter
 @Accessors(fluent = true)
@@ -38,6 +41,27 @@ public class AndCondition<T> implements Condition<T> {
         return (left.evaluate(data) && right.evaluate(data));
     }
 
+    @Override
+    public CompiledCondition<T> compile() throws Exception {
+        List<CompiledCondition<T>> operands = new ArrayList<>();
+        flatten(this, operands);
+        return new AdaptiveJunction<>(true, operands, AdaptiveJunction.DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    private static <T> void flatten(Condition<T> condition,
+                                    List<CompiledCondition<T>> operands) throws Exception {
+        Preconditions.checkNotNull(condition);
+        if (condition instanceof ConditionGroup<T> group) {
+            condition = group.condition();
+        }
+        if (condition instanceof AndCondition<T> c) {
+            flatten(c.left, operands);
+            flatten(c.right, operands);
+        } else {
+            operands.add(condition.compile());
+        }
+    }
+
     @Override
     public void validate() throws ValidationException {
         if (left == null) {
@@ -56,4 +56,16 @@ public abstract class BasicCondition<T> implements Condition<T> {
     }
 
     protected abstract Object getValue(@NonNull T data) throws Exception;
+
+    /**
+     * Get an accessor with the property path resolved upfront,
+     * by default delegates to getValue(...). Accessors must be free of side effects,
+     * compiled comparisons may be re-ordered or skipped.
+     *
+     * @return - Value accessor.
+     * @throws Exception
+     */
+    protected ValueAccessor<T> accessor() throws Exception {
+        return this::getValue;
+    }
 }
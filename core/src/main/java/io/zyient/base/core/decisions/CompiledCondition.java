@@ -0,0 +1,60 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.decisions;
+
+import lombok.NonNull;
+
+/**
+ * Condition compiled to a predicate with pre-resolved accessors and constants.
+ *
+ * @param <T> - Data type.
+ */
+@FunctionalInterface
+public interface CompiledCondition<T> {
+    boolean test(@NonNull T data) throws Exception;
+
+    /**
+     * Is this condition free of side effects, throwing only for input values of an unexpected
+     * type? Only such conditions may be evaluated out of their declared order (or skipped).
+     *
+     * @return - Is safe to re-order.
+     */
+    default boolean safe() {
+        return false;
+    }
+
+    /**
+     * Mark a condition as side-effect free.
+     *
+     * @param condition - Compiled condition.
+     * @param <T>       - Data type.
+     * @return - Safe condition.
+     */
+    static <T> CompiledCondition<T> asSafe(@NonNull CompiledCondition<T> condition) {
+        return new CompiledCondition<>() {
+            @Override
+            public boolean test(@NonNull T data) throws Exception {
+                return condition.test(data);
+            }
+
+            @Override
+            public boolean safe() {
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.decisions;
+
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flattened form of an evaluation tree: nodes are stored in arrays indexed by node id,
+ * with compiled conditions and children in declared order.
+ * <p>
+ * The interpreter evaluates all children of a matched node and keeps the result of
+ * the last match. Where all the children (and their sub-trees) are {@link CompiledCondition#safe()},
+ * the children are scanned in reverse and only the first match is descended into, which gives the
+ * same result while skipping the remaining conditions. Otherwise the children are evaluated in
+ * declared order like the interpreter, so a throwing condition fails the evaluation the same way.
+ *
+ * @param <T> - Data type.
+ * @param <R> - Result type.
+ */
+public class CompiledEvaluationTree<T, R> {
+    private final CompiledCondition<T>[] conditions;
+    private final Object[] results;
+    private final int[][] children;
+    // Can the children of the node be skipped (all sub-trees safe)?
+    private final boolean[] skippable;
+    private final int[] branches;
+
+    @SuppressWarnings("unchecked")
+    private CompiledEvaluationTree(List<CompiledCondition<T>> conditions,
+                                   List<Object> results,
+                                   List<int[]> children,
+                                   boolean[] skippable,
+                                   int[] branches) {
+        this.conditions = conditions.toArray(new CompiledCondition[0]);
+        this.results = results.toArray();
+        this.children = children.toArray(new int[0][]);
+        this.skippable = skippable;
+        this.branches = branches;
+    }
+
+    @SuppressWarnings("unchecked")
+    public R evaluate(@NonNull T data) throws Exception {
+        for (int branch : branches) {
+            if (conditions[branch].test(data)) {
+                R result = (R) evaluate(branch, data);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Result of a matched node.
+     */
+    private Object evaluate(int node, T data) throws Exception {
+        int[] nodes = children[node];
+        if (skippable[node]) {
+            for (int ii = nodes.length - 1; ii >= 0; ii--) {
+                if (conditions[nodes[ii]].test(data)) {
+                    return evaluate(nodes[ii], data);
+                }
+            }
+            return results[node];
+        }
+        Object result = results[node];
+        for (int child : nodes) {
+            if (conditions[child].test(data)) {
+                result = evaluate(child, data);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return conditions.length;
+    }
+
+    public static <T, R> CompiledEvaluationTree<T, R> compile(@NonNull EvaluationTree<T, R> tree) throws Exception {
+        List<CompiledCondition<T>> conditions = new ArrayList<>();
+        List<Object> results = new ArrayList<>();
+        List<int[]> children = new ArrayList<>();
+        List<Boolean> safe = new ArrayList<>();
+        int[] branches = new int[tree.branches.size()];
+        for (int ii = 0; ii < branches.length; ii++) {
+            branches[ii] = compile(tree.branches.get(ii), conditions, results, children, safe);
+        }
+        boolean[] skippable = new boolean[conditions.size()];
+        for (int ii = 0; ii < skippable.length; ii++) {
+            skippable[ii] = true;
+            for (int child : children.get(ii)) {
+                if (!safe.get(child)) {
+                    skippable[ii] = false;
+                    break;
+                }
+            }
+        }
+        return new CompiledEvaluationTree<>(conditions, results, children, skippable, branches);
+    }
+
+    /**
+     * Compile the node (and its sub-tree), safe is set for nodes where the whole sub-tree is safe.
+     */
+    private static <T, R> int compile(EvaluationTree.Node<T, R> node,
+                                      List<CompiledCondition<T>> conditions,
+                                      List<Object> results,
+                                      List<int[]> children,
+                                      List<Boolean> safe) throws Exception {
+        Preconditions.checkNotNull(node.condition());
+        int index = conditions.size();
+        CompiledCondition<T> condition = node.condition().compile();
+        conditions.add(condition);
+        results.add(node.result());
+        children.add(null);
+        safe.add(null);
+        List<EvaluationTree.Node<T, R>> nodes = node.children();
+        int[] indexes = new int[nodes == null ? 0 : nodes.size()];
+        boolean isSafe = condition.safe();
+        for (int ii = 0; ii < indexes.length; ii++) {
+            indexes[ii] = compile(nodes.get(ii), conditions, results, children, safe);
+            isSafe &= safe.get(indexes[ii]);
+        }
+        children.set(index, indexes);
+        safe.set(index, isSafe);
+        return index;
+    }
+}
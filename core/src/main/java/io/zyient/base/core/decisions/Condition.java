@@ -23,4 +23,15 @@ public interface Condition<T> {
     boolean evaluate(@NonNull T data) throws Exception;
 
     void validate() throws ValidationException;
+
+    /**
+     * Compile this condition, conditions that don't support compilation
+     * are evaluated by the interpreter.
+     *
+     * @return - Compiled condition.
+     * @throws Exception
+     */
+    default CompiledCondition<T> compile() throws Exception {
+        return this::evaluate;
+    }
 }
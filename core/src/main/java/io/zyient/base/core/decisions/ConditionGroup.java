@@ -35,6 +35,12 @@ public class ConditionGroup<T> implements Condition<T> {
         return condition.evaluate(data);
     }
 
+    @Override
+    public CompiledCondition<T> compile() throws Exception {
+        Preconditions.checkNotNull(condition);
+        return condition.compile();
+    }
+
     @Override
     public void validate() throws ValidationException {
         if (condition == null) {
@@ -82,4 +82,15 @@ public class EvaluationTree<T, R> {
         branches.add(node);
         return node;
     }
+
+    /**
+     * Compile the tree into a flattened evaluator, the tree should not be
+     * modified after compilation.
+     *
+     * @return - Compiled tree.
+     * @throws Exception
+     */
+    public CompiledEvaluationTree<T, R> compile() throws Exception {
+        return CompiledEvaluationTree.compile(this);
+    }
 }
@@ -21,6 +21,8 @@ import io.zyient.base.common.model.ValidationException;
 import io.zyient.base.common.utils.ReflectionHelper;
 import lombok.NonNull;
 
+import java.util.function.DoublePredicate;
+
 public abstract class NumericCondition<T> extends BasicCondition<T> {
     protected NumericCondition(@NonNull Class<?> type) {
         super(type);
@@ -72,6 +74,68 @@ public abstract class NumericCondition<T> extends BasicCondition<T> {
         return false;
     }
 
+    /**
+     * Compiled form applies the same conversions as {@link #evaluate(Object)}: values must be
+     * Double (or numeric strings) and the predicate value a Double, other numeric types are
+     * rejected with a ClassCastException. With a valid predicate value the comparison is
+     * marked safe, it only fails on ill-typed values.
+     */
+    @Override
+    public CompiledCondition<T> compile() throws Exception {
+        final ValueAccessor<T> accessor = accessor();
+        final Op op = op();
+        if (op == Op.Like) {
+            throw new Exception("Like not supported for numeric values...");
+        }
+        final Object constant = value();
+        final boolean valid = constant instanceof Double;
+        final double cv = (valid ? (Double) constant : Double.NaN);
+        final DoublePredicate predicate = switch (op) {
+            case Eq -> dv -> dv == cv;
+            case NotEq -> dv -> dv != cv;
+            case Lt -> dv -> dv < cv;
+            case LtEq -> dv -> dv <= cv;
+            case Gt -> dv -> dv > cv;
+            case GtEq -> dv -> dv >= cv;
+            case IsNull -> dv -> false;
+            case NotNull -> dv -> true;
+            default -> throw new Exception(String.format("Operation not supported. [op=%s]", op.name()));
+        };
+        final CompiledCondition<T> condition = data -> {
+            Object value = accessor.get(data);
+            if (value == null) {
+                return op == Op.IsNull;
+            }
+            double dv = toDouble(value);
+            if (!valid) {
+                throw invalidConstant(constant);
+            }
+            return predicate.test(dv);
+        };
+        return (valid ? CompiledCondition.asSafe(condition) : condition);
+    }
+
+    private static double toDouble(Object value) throws Exception {
+        if (value instanceof Double dv) {
+            return dv;
+        } else if (value instanceof String str) {
+            return Double.parseDouble(str);
+        } else if (ReflectionHelper.isNumericType(value.getClass())) {
+            throw new ClassCastException(String.format("Numeric value is not a Double. [type=%s]",
+                    value.getClass().getCanonicalName()));
+        }
+        throw new Exception(String.format("Invalid value returned. [type=%s]",
+                value.getClass().getCanonicalName()));
+    }
+
+    private static RuntimeException invalidConstant(Object constant) {
+        if (constant == null) {
+            return new NullPointerException("Predicate value not set...");
+        }
+        return new ClassCastException(String.format("Predicate value is not a Double. [type=%s]",
+                constant.getClass().getCanonicalName()));
+    }
+
     @Override
     public void validate() throws ValidationException {
         super.validate();
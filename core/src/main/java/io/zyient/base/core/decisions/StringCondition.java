@@ -20,6 +20,7 @@ import io.zyient.base.common.model.ValidationException;
 import io.zyient.base.common.utils.ReflectionHelper;
 import lombok.NonNull;
 
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -75,6 +76,49 @@ public abstract class StringCondition<T> extends BasicCondition<T> {
         return false;
     }
 
+    /**
+     * Compiled comparisons are marked safe, they only fail on ill-typed values.
+     */
+    @Override
+    public CompiledCondition<T> compile() throws Exception {
+        final ValueAccessor<T> accessor = accessor();
+        final Op op = op();
+        if (op == Op.IsNull || op == Op.NotNull) {
+            return CompiledCondition.asSafe(data -> {
+                Object value = accessor.get(data);
+                if (value == null) return op == Op.IsNull;
+                if (!(value instanceof String)) {
+                    throw new Exception(String.format("Invalid value returned. [type=%s]",
+                            value.getClass().getCanonicalName()));
+                }
+                return op == Op.NotNull;
+            });
+        }
+        final String cv = (String) value();
+        final Predicate<String> predicate = switch (op) {
+            case Eq -> cv::equals;
+            case NotEq -> dv -> !cv.equals(dv);
+            case Lt -> dv -> dv.compareTo(cv) < 0;
+            case LtEq -> dv -> dv.compareTo(cv) <= 0;
+            case Gt -> dv -> dv.compareTo(cv) > 0;
+            case GtEq -> dv -> dv.compareTo(cv) >= 0;
+            case Like -> {
+                final Pattern regex = Pattern.compile(cv);
+                yield dv -> regex.matcher(dv).matches();
+            }
+            default -> throw new Exception(String.format("Operation not supported. [op=%s]", op.name()));
+        };
+        return CompiledCondition.asSafe(data -> {
+            Object value = accessor.get(data);
+            if (value == null) return false;
+            if (!(value instanceof String dv)) {
+                throw new Exception(String.format("Invalid value returned. [type=%s]",
+                        value.getClass().getCanonicalName()));
+            }
+            return predicate.test(dv);
+        });
+    }
+
     @Override
     public void validate() throws ValidationException {
         super.validate();
@@ -18,8 +18,10 @@ package io.zyient.base.core.decisions.impl;
 
 import io.zyient.base.common.utils.ReflectionHelper;
 import io.zyient.base.core.decisions.NumericCondition;
+import io.zyient.base.core.decisions.ValueAccessor;
 import lombok.NonNull;
 
+import java.util.List;
 import java.util.Map;
 
 public class MapNumericCondition extends NumericCondition<Map<String, Object>> {
@@ -35,4 +37,16 @@ public class MapNumericCondition extends NumericCondition<Map<String, Object>> {
         }
         return value;
     }
+
+    @Override
+    protected ValueAccessor<Map<String, Object>> accessor() throws Exception {
+        final List<String> keys = ReflectionHelper.extractKeys(property());
+        return data -> {
+            Object value = ReflectionHelper.getMapValue(keys, data);
+            if (value != null) {
+                return tryNumeric(value);
+            }
+            return value;
+        };
+    }
 }
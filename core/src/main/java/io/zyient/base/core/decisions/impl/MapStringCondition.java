@@ -18,8 +18,10 @@ package io.zyient.base.core.decisions.impl;
 
 import io.zyient.base.common.utils.ReflectionHelper;
 import io.zyient.base.core.decisions.StringCondition;
+import io.zyient.base.core.decisions.ValueAccessor;
 import lombok.NonNull;
 
+import java.util.List;
 import java.util.Map;
 
 public class MapStringCondition extends StringCondition<Map<String, Object>> {
@@ -31,4 +33,16 @@ public class MapStringCondition extends StringCondition<Map<String, Object>> {
         }
         return value;
     }
+
+    @Override
+    protected ValueAccessor<Map<String, Object>> accessor() throws Exception {
+        final List<String> keys = ReflectionHelper.extractKeys(property());
+        return data -> {
+            Object value = ReflectionHelper.getMapValue(keys, data);
+            if (value != null) {
+                return tryString(value);
+            }
+            return value;
+        };
+    }
 }
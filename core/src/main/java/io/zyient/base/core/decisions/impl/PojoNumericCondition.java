@@ -18,6 +18,7 @@ package io.zyient.base.core.decisions.impl;
 
 import io.zyient.base.common.utils.beans.BeanUtils;
 import io.zyient.base.core.decisions.NumericCondition;
+import io.zyient.base.core.decisions.ValueAccessor;
 import lombok.NonNull;
 
 public class PojoNumericCondition<T> extends NumericCondition<T> {
@@ -33,4 +34,16 @@ public class PojoNumericCondition<T> extends NumericCondition<T> {
         }
         return value;
     }
+
+    @Override
+    protected ValueAccessor<T> accessor() throws Exception {
+        final PojoValueAccessor<T> accessor = new PojoValueAccessor<>(property());
+        return data -> {
+            Object value = accessor.get(data);
+            if (value != null) {
+                return tryNumeric(value);
+            }
+            return value;
+        };
+    }
 }
@@ -18,6 +18,7 @@ package io.zyient.base.core.decisions.impl;
 
 import io.zyient.base.common.utils.beans.BeanUtils;
 import io.zyient.base.core.decisions.StringCondition;
+import io.zyient.base.core.decisions.ValueAccessor;
 import lombok.NonNull;
 
 public class PojoStringCondition<T> extends StringCondition<T> {
@@ -29,4 +30,16 @@ public class PojoStringCondition<T> extends StringCondition<T> {
         }
         return value;
     }
+
+    @Override
+    protected ValueAccessor<T> accessor() throws Exception {
+        final PojoValueAccessor<T> accessor = new PojoValueAccessor<>(property());
+        return data -> {
+            Object value = accessor.get(data);
+            if (value != null) {
+                return tryString(value);
+            }
+            return value;
+        };
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.decisions.impl;
+
+import io.zyient.base.common.utils.beans.BeanUtils;
+import io.zyient.base.common.utils.beans.PropertyAccessor;
+import io.zyient.base.core.decisions.ValueAccessor;
+import lombok.NonNull;
+
+/**
+ * Bean property accessor with a monomorphic inline cache: the compiled accessor
+ * for the last seen data type is reused without a cache lookup.
+ *
+ * @param <T> - Data type.
+ */
+class PojoValueAccessor<T> implements ValueAccessor<T> {
+    private record Resolved(Class<?> type, PropertyAccessor accessor) {
+    }
+
+    private final String property;
+    private volatile Resolved resolved;
+
+    PojoValueAccessor(@NonNull String property) {
+        this.property = property;
+    }
+
+    @Override
+    public Object get(@NonNull T data) throws Exception {
+        Resolved current = resolved;
+        if (current == null || current.type != data.getClass()) {
+            current = new Resolved(data.getClass(), BeanUtils.accessor(data.getClass(), property));
+            resolved = current;
+        }
+        return current.accessor.get(data);
+    }
+}
@@ -33,7 +33,6 @@ import org.apache.commons.configuration2.tree.ImmutableNode;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -48,13 +47,19 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
     private final List<BaseTask<T>> tasks = new ArrayList<>();
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
-    private final Queue<BaseTask<T>> taskQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<BaseTask<T>> taskQueue = new LinkedBlockingQueue<>();
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
-    private final Queue<Future<?>> responseQueue = new LinkedBlockingQueue<>();
+    private final Object signal = new Object();
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
-    private ThreadPoolExecutor executorService;
+    private long signals = 0;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Semaphore slots;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile ThreadPoolExecutor executorService;
     @Setter(AccessLevel.NONE)
     private SchedulerSettings settings;
     @Getter(AccessLevel.NONE)
@@ -67,9 +72,6 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
     private int maxExecutorQueueSize;
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
-    private Thread futures;
-    @Getter(AccessLevel.NONE)
-    @Setter(AccessLevel.NONE)
     private ThreadGroup group;
 
     public BaseScheduler<T> init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
@@ -86,8 +88,22 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
                     settings.getMaxPoolSize(),
                     settings.getKeepAliveTime(),
                     TimeUnit.MILLISECONDS,
-                    new LinkedBlockingQueue<>(maxExecutorQueueSize)
+                    new LinkedBlockingQueue<>(maxExecutorQueueSize),
+                    (r, executor) -> {
+                        // Submissions are bounded by the slots, a full queue only means a worker that
+                        // released its slot has not picked the next task yet: hand off once it does.
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("Executor has been shutdown.");
+                        }
+                        try {
+                            executor.getQueue().put(r);
+                        } catch (InterruptedException ie) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException(ie);
+                        }
+                    }
             );
+            slots = new Semaphore(maxExecutorQueueSize + settings.getMaxPoolSize());
             state.setState(ProcessorState.EProcessorState.Initialized);
             return this;
         } catch (Exception ex) {
@@ -110,33 +126,6 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
             group = new ThreadGroup("SCHEDULER");
             scheduler = new Thread(group, this, "MAIN");
             scheduler.start();
-            futures = new Thread(group, () -> {
-                while (state.isRunning()) {
-                    while (true) {
-                        try {
-                            Future<?> response = responseQueue.poll();
-                            if (response == null) break;
-                            Object o = response.get();
-                            if (o != null) {
-                                DefaultLogger.warn(
-                                        String.format("Response is not null. [type=%s]", o.getClass().getCanonicalName()));
-                            }
-                        } catch (Exception ex) {
-                            DefaultLogger.stacktrace(ex);
-                            DefaultLogger.error(ex.getLocalizedMessage());
-                        }
-                    }
-                    synchronized (responseQueue) {
-                        try {
-                            responseQueue.wait(50);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            System.err.println("Thread Interrupted");
-                        }
-                    }
-                }
-            }, "FUTURES");
-            futures.start();
         } finally {
             __lock.unlock();
         }
@@ -148,6 +137,7 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
             if (state.isRunning()) {
                 state.setState(ProcessorState.EProcessorState.Stopped);
             }
+            notifyFinished();
             if (executorService != null) {
                 try {
                     executorService.shutdown();
@@ -161,8 +151,10 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
                 }
                 executorService = null;
             }
-            scheduler.join();
-            futures.join();
+            notifyFinished();
+            if (scheduler != null && scheduler != Thread.currentThread()) {
+                scheduler.join();
+            }
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
             DefaultLogger.error(ex.getLocalizedMessage());
@@ -176,8 +168,10 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
         __lock.lock();
         try {
             tasks.add(task.withCallback(this));
-            if (state.isRunning())
+            if (state.isRunning()) {
                 queue(task, ETaskState.INITIALIZED);
+                notifyFinished();
+            }
         } finally {
             __lock.unlock();
         }
@@ -185,24 +179,8 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
 
     private void queue(BaseTask<T> task, ETaskState taskState) {
         if (!state.isRunning()) return;
-        while (true) {
-            task.state().setState(taskState);
-            if (!taskQueue.offer(task)) {
-                synchronized (taskQueue) {
-                    try {
-                        taskQueue.wait(100);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        System.err.println("Thread Interrupted");
-                    }
-                }
-            } else {
-                synchronized (taskQueue) {
-                    taskQueue.notifyAll();
-                }
-                break;
-            }
-        }
+        task.state().setState(taskState);
+        taskQueue.offer(task);
     }
 
     /**
@@ -235,12 +213,35 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
         }
     }
 
+    /**
+     * Wake the scheduler to re-evaluate the queued tasks. Called on task add/completion, subclasses
+     * whose {@link #schedule(BaseTask)} depends on external state should call this when it changes.
+     */
+    public void wakeup() {
+        notifyFinished();
+    }
+
     private void notifyFinished() {
-        synchronized (taskQueue) {
-            taskQueue.notifyAll();
+        synchronized (signal) {
+            signals++;
+            signal.notifyAll();
+        }
+    }
+
+    private long signals() {
+        synchronized (signal) {
+            return signals;
         }
-        synchronized (responseQueue) {
-            responseQueue.notifyAll();
+    }
+
+    /**
+     * Block until a signal is raised after the specified one was read (or the scheduler stops).
+     */
+    private void await(long seen) throws InterruptedException {
+        synchronized (signal) {
+            while (signals == seen && state.isRunning()) {
+                signal.wait();
+            }
         }
     }
 
@@ -250,49 +251,54 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
     @Override
     public void run() {
         try {
+            int skipped = 0;
+            long pass = 0;
             while (state.isRunning()) {
-                int size = maxExecutorQueueSize - executorService.getQueue().size();
-                while (size > 0) {
-                    BaseTask<T> task = taskQueue.poll();
-                    if (task == null) break;
-                    synchronized (taskQueue) {
-                        taskQueue.notifyAll();
-                    }
-                    boolean execute = false;
-                    ETaskState taskState = ETaskState.UNKNOWN;
-                    if (task.state().getState() == ETaskState.INITIALIZED) {
-                        taskState = ETaskState.INITIALIZED;
+                long seen = signals();
+                if (skipped == 0) {
+                    pass = seen;
+                }
+                BaseTask<T> task = taskQueue.poll();
+                if (task == null) {
+                    // Tasks are always queued before the signal is raised.
+                    skipped = 0;
+                    await(seen);
+                    continue;
+                }
+                boolean execute = false;
+                ETaskState taskState = ETaskState.UNKNOWN;
+                if (task.state().getState() == ETaskState.INITIALIZED) {
+                    taskState = ETaskState.INITIALIZED;
+                    execute = true;
+                } else if (task.state().getState() == ETaskState.ERROR) {
+                    continue;
+                } else if (task.state().getState() == ETaskState.STOPPED) {
+                    tasks.remove(task);
+                    continue;
+                } else {
+                    if (schedule(task)) {
                         execute = true;
-                    } else if (task.state().getState() == ETaskState.ERROR) {
-                        continue;
-                    } else if (task.state().getState() == ETaskState.STOPPED) {
-                        tasks.remove(task);
-                        continue;
                     } else {
-                        if (schedule(task)) {
-                            execute = true;
-                        } else {
-                            queue(task, ETaskState.WAITING);
-                        }
-                    }
-                    if (execute) {
-                        size--;
-                        //DefaultLogger.LOGGER.debug(String.format("Scheduling task. [id=%s]", task.id()));
-                        if (!submit(task)) {
-                            queue(task, taskState);
-                            break;
-                        }
+                        queue(task, ETaskState.WAITING);
+                        skipped++;
                     }
                 }
-                synchronized (taskQueue) {
-                    try {
-                        taskQueue.wait(50);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        System.err.println("Thread Interrupted");
+                if (execute) {
+                    skipped = 0;
+                    //DefaultLogger.LOGGER.debug(String.format("Scheduling task. [id=%s]", task.id()));
+                    if (!submit(task)) {
+                        queue(task, taskState);
                     }
+                } else if (skipped > taskQueue.size()) {
+                    // None of the queued tasks can be scheduled: wait for a task to complete (or be added)
+                    // unless that already happened while scanning the queue.
+                    skipped = 0;
+                    await(pass);
                 }
             }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            DefaultLogger.warn("Scheduler thread interrupted");
         } catch (Exception ex) {
             state.error(ex);
             DefaultLogger.stacktrace(ex);
@@ -309,12 +315,29 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
 
     public abstract boolean schedule(@NonNull BaseTask<T> task);
 
-    private boolean submit(BaseTask<T> task) {
+    private boolean submit(BaseTask<T> task) throws InterruptedException {
+        // Slots are released by the submitted tasks as they complete (including on shutdown).
+        slots.acquire();
+        // Stop clears the executor under the scheduler lock, use the instance read once.
+        ThreadPoolExecutor executor = executorService;
+        if (!state.isRunning() || executor == null || executor.isShutdown()) {
+            slots.release();
+            return false;
+        }
         try {
             task.state().setState(ETaskState.QUEUED);
-            Future<?> response = executorService.submit(task);
-            responseQueue.add(response);
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable error) {
+                    DefaultLogger.error(String.format("Task failed. [id=%s][error=%s]",
+                            task.id(), error.getLocalizedMessage()));
+                } finally {
+                    slots.release();
+                }
+            });
         } catch (RejectedExecutionException re) {
+            slots.release();
             return false;
         }
         return true;
@@ -32,27 +32,20 @@ import org.apache.commons.configuration2.tree.ImmutableNode;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Queue;
+import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.locks.ReentrantLock;
 
 @Getter
 @Accessors(fluent = true)
 public abstract class BaseShardedExecutor<T> implements Closeable, CompletionCallback<T> {
     private final ProcessorState state = new ProcessorState();
     @Getter(AccessLevel.NONE)
-    private final ReentrantLock __lock = new ReentrantLock();
+    private final Map<Integer, ExecutorService> executors = new HashMap<>();
     @Getter(AccessLevel.NONE)
-    private final Map<Integer, ThreadPoolExecutor> executors = new HashMap<>();
+    private Semaphore[] permits;
     @Setter(AccessLevel.NONE)
     private BaseEnv<?> env;
     private ShardedExecutorSettings settings;
-    @Getter(AccessLevel.NONE)
-    private final Queue<Future<?>> responseQueue = new LinkedBlockingQueue<>();
-    @Getter(AccessLevel.NONE)
-    private Thread futures;
 
     public BaseShardedExecutor<T> init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
                                        @NonNull BaseEnv<?> env) throws ConfigurationException {
@@ -60,45 +53,40 @@ public abstract class BaseShardedExecutor<T> implements Closeable, CompletionCal
             this.env = env;
             ConfigReader reader = new ConfigReader(xmlConfig, SchedulerSettings.__CONFIG_PATH, ShardedExecutorSettings.class);
             reader.read();
-            settings = (ShardedExecutorSettings) reader.settings();
-            for (int ii = 0; ii < settings().getShards(); ii++) {
-                ThreadPoolExecutor executor = new ThreadPoolExecutor(
-                        1,
-                        1,
-                        0L,
-                        TimeUnit.MILLISECONDS,
-                        new LinkedBlockingQueue<>(settings.getQueueSize())
-                );
-                executors.put(ii, executor);
+            return init((ShardedExecutorSettings) reader.settings(), env);
+        } catch (ConfigurationException ce) {
+            throw ce;
+        } catch (Throwable t) {
+            state.error(t);
+            throw new ConfigurationException(t);
+        }
+    }
+
+    public BaseShardedExecutor<T> init(@NonNull ShardedExecutorSettings settings,
+                                       @NonNull BaseEnv<?> env) throws ConfigurationException {
+        try {
+            Preconditions.checkArgument(settings.getShards() > 0);
+            Preconditions.checkArgument(settings.getQueueSize() > 0);
+            this.env = env;
+            this.settings = settings;
+            permits = new Semaphore[settings.getShards()];
+            ExecutorService shared = null;
+            if (!settings.isOrdered()) {
+                shared = new ForkJoinPool(settings.getShards(),
+                        ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                        null,
+                        true);
             }
-            ThreadGroup group = new ThreadGroup("SHARDED-EXECUTOR");
-            futures = new Thread(group, () -> {
-                while (state.isRunning()) {
-                    while (true) {
-                        try {
-                            Future<?> response = responseQueue.poll();
-                            if (response == null) break;
-                            Object o = response.get();
-                            if (o != null) {
-                                DefaultLogger.warn(
-                                        String.format("Response is not null. [type=%s]", o.getClass().getCanonicalName()));
-                            }
-                        } catch (Exception ex) {
-                            DefaultLogger.stacktrace(ex);
-                            DefaultLogger.error(ex.getLocalizedMessage());
-                        }
-                    }
-                    synchronized (responseQueue) {
-                        try {
-                            responseQueue.wait(50);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            System.err.println("Thread Interrupted");
-                        }
-                    }
+            for (int ii = 0; ii < settings.getShards(); ii++) {
+                // Queued + running tasks per shard.
+                permits[ii] = new Semaphore(settings.getQueueSize() + 1);
+                if (shared != null) {
+                    executors.put(ii, shared);
+                } else {
+                    final String name = String.format("SHARD-%d", ii);
+                    executors.put(ii, Executors.newSingleThreadExecutor(r -> new Thread(r, name)));
                 }
-            }, "FUTURES");
-            futures.start();
+            }
             state.setState(ProcessorState.EProcessorState.Running);
             return this;
         } catch (Throwable t) {
@@ -114,7 +102,9 @@ public abstract class BaseShardedExecutor<T> implements Closeable, CompletionCal
                 state.setState(ProcessorState.EProcessorState.Stopped);
             }
             if (!executors.isEmpty()) {
-                for (ThreadPoolExecutor executorService : executors.values()) {
+                Set<ExecutorService> services = Collections.newSetFromMap(new IdentityHashMap<>());
+                services.addAll(executors.values());
+                for (ExecutorService executorService : services) {
                     try {
                         executorService.shutdown();
                         while (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -134,75 +124,83 @@ public abstract class BaseShardedExecutor<T> implements Closeable, CompletionCal
         }
     }
 
-    public void submit(@NonNull BaseTask<T> task) throws Exception {
+    /**
+     * Submit the task to its shard. If the shard queue is full the call blocks or is
+     * rejected based on the configured back-pressure policy.
+     *
+     * @param task - Task to execute
+     * @return - Future completed with the task response once the task has run
+     * @throws Exception
+     */
+    public CompletableFuture<TaskResponse<T>> submit(@NonNull BaseTask<T> task) throws Exception {
         Preconditions.checkArgument(state.isRunning());
-        __lock.lock();
-        try {
-            task.withCallback(this);
-            int shard = 0;
-            if (settings.getShards() > 1) {
-                shard = getShard(task, settings.getShards());
-            }
-            task.shardId(shard);
-            ThreadPoolExecutor executor = executors.get(shard);
-            if (executor == null) {
-                throw new Exception(String.format("Failed to find executor. [shard=%d]", shard));
-            }
-            final BlockingQueue<?> queue = executor.getQueue();
-            while (true) {
-                if (queue.size() >= settings.getQueueSize()) {
-                    synchronized (queue) {
-                        try {
-                            queue.wait(100);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            System.err.println("Thread Interrupted");
-                        }
-                    }
-                    continue;
-                }
-                Future<?> future = executor.submit(task);
-                responseQueue.add(future);
-                break;
+        task.withCallback(this);
+        int shard = 0;
+        if (settings.getShards() > 1) {
+            shard = getShard(task, settings.getShards());
+        }
+        task.shardId(shard);
+        ExecutorService executor = executors.get(shard);
+        if (executor == null) {
+            throw new Exception(String.format("Failed to find executor. [shard=%d]", shard));
+        }
+        final Semaphore permit = permits[shard];
+        if (settings.getBackpressure() == ShardedExecutorSettings.EBackpressure.Reject) {
+            if (!permit.tryAcquire()) {
+                throw new RejectedExecutionException(String.format("Shard queue is full. [shard=%d]", shard));
             }
-        } finally {
-            __lock.unlock();
+        } else {
+            permit.acquire();
+        }
+        CompletableFuture<TaskResponse<T>> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                task.run();
+                return task.response();
+            }, executor);
+        } catch (RejectedExecutionException re) {
+            permit.release();
+            throw re;
         }
+        return future.whenComplete((response, error) -> {
+            permit.release();
+            if (error != null) {
+                DefaultLogger.error(String.format("Task failed. [id=%s][error=%s]",
+                        task.id(), error.getLocalizedMessage()));
+            }
+        });
+    }
+
+    /**
+     * Get the number of tasks queued or running on the shard.
+     *
+     * @param shard - Shard index
+     * @return - Pending task count
+     */
+    public int pending(int shard) {
+        Preconditions.checkArgument(shard >= 0 && shard < permits.length);
+        return settings.getQueueSize() + 1 - permits[shard].availablePermits();
     }
 
     @Override
     public void finished(@NonNull BaseTask<T> task, @NonNull TaskResponse<T> response) {
-        ThreadPoolExecutor executor = executors.get(task.shardId());
-        if (executor == null) {
-            DefaultLogger.error(String.format("Failed to find executor. [shard=%d]", task.shardId()));
-        } else {
-            final BlockingQueue<?> queue = executor.getQueue();
-            synchronized (queue) {
-                queue.notifyAll();
-            }
-        }
     }
 
     @Override
     public void error(@NonNull BaseTask<T> task, @NonNull Throwable error, TaskResponse<T> response) {
-        ThreadPoolExecutor executor = executors.get(task.shardId());
-        if (executor == null) {
-            DefaultLogger.error(String.format("Failed to find executor. [shard=%d]", task.shardId()));
-        } else {
-            if (error instanceof FatalError) {
+        if (error instanceof FatalError) {
+            // Close asynchronously, the calling thread belongs to one of the executors.
+            Thread closer = new Thread(() -> {
                 try {
                     close();
                 } catch (Exception ex) {
                     DefaultLogger.stacktrace(ex);
                     DefaultLogger.error(ex.getLocalizedMessage());
                 }
-            } else {
-                task.state().error(error);
-                final BlockingQueue<?> queue = executor.getQueue();
-                synchronized (queue) {
-                    queue.notifyAll();
-                }
-            }
+            }, "SHARDED-EXECUTOR-CLOSE");
+            closer.start();
+        } else {
+            task.state().error(error);
         }
     }
 
@@ -28,13 +28,27 @@ import lombok.Setter;
 public class ShardedExecutorSettings extends SchedulerSettings {
     public static final String __CONFIG_PATH = "executor";
 
+    public enum EBackpressure {
+        Block, Reject
+    }
+
     public static class Constants {
         public static final String CONFIG_SHARDS = "shards";
         public static final String CONFIG_QUEUE_SIZE = "queueSize";
+        public static final String CONFIG_ORDERED = "ordered";
+        public static final String CONFIG_BACKPRESSURE = "backpressure";
     }
 
     @Config(name = Constants.CONFIG_SHARDS, required = false, type = Integer.class)
     private int shards = 1;
     @Config(name = Constants.CONFIG_QUEUE_SIZE, required = false, type = Integer.class)
     private int queueSize = 128;
+    /**
+     * Tasks of a shard are executed in submission order, when false
+     * idle workers can steal tasks queued on other shards.
+     */
+    @Config(name = Constants.CONFIG_ORDERED, required = false, type = Boolean.class)
+    private boolean ordered = true;
+    @Config(name = Constants.CONFIG_BACKPRESSURE, required = false, type = EBackpressure.class)
+    private EBackpressure backpressure = EBackpressure.Block;
 }
@@ -24,6 +24,7 @@ import org.apache.lucene.document.Document;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ReferenceManager;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
@@ -40,6 +41,7 @@ import java.util.concurrent.Executor;
 @Accessors(fluent = true)
 public class SearchCursor implements Closeable {
     private final Directory baseDir;
+    private final ReferenceManager<IndexSearcher> manager;
     private final Query query;
     private final String id;
     private int readPage = 0;
@@ -56,6 +58,22 @@ public class SearchCursor implements Closeable {
     public SearchCursor(@NonNull Directory baseDir,
                         @NonNull Query query) {
         this.baseDir = baseDir;
+        this.manager = null;
+        this.query = query;
+        id = UUID.randomUUID().toString();
+    }
+
+    /**
+     * Cursor over a searcher acquired from a shared (near-real-time) manager,
+     * the searcher is released when the cursor is closed.
+     *
+     * @param manager - Searcher manager.
+     * @param query   - Search query.
+     */
+    public SearchCursor(@NonNull ReferenceManager<IndexSearcher> manager,
+                        @NonNull Query query) {
+        this.baseDir = null;
+        this.manager = manager;
         this.query = query;
         id = UUID.randomUUID().toString();
     }
@@ -80,8 +98,12 @@ public class SearchCursor implements Closeable {
 
     public SearchCursor create(@NonNull Executor executor) throws Exception {
         cache = new ArrayList<>(bufferSize);
-        reader = DirectoryReader.open(baseDir);
-        searcher = new IndexSearcher(reader, executor);
+        if (manager != null) {
+            searcher = manager.acquire();
+        } else {
+            reader = DirectoryReader.open(baseDir);
+            searcher = new IndexSearcher(reader, executor);
+        }
         return this;
     }
 
@@ -143,7 +165,11 @@ public class SearchCursor implements Closeable {
 
     @Override
     public void close() throws IOException {
-        if (reader != null) {
+        if (manager != null) {
+            if (searcher != null) {
+                manager.release(searcher);
+            }
+        } else if (reader != null) {
             reader.close();
             reader = null;
         }
@@ -25,6 +25,10 @@ public class LockDef {
     private String name;
     private String module;
     private String path;
+    /**
+     * Lease time (milliseconds), 0 = lease disabled.
+     */
+    private long lease = 0;
 
     @Override
     public String toString() {
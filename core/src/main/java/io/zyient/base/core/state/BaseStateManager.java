@@ -409,6 +409,9 @@ public abstract class BaseStateManager implements Closeable {
 
     @Override
     public void close() throws IOException {
+        for (OffsetStateManager<?> manager : offsetManagers.values()) {
+            manager.close();
+        }
         if (stateLock != null) {
             stateLock.close();
         }
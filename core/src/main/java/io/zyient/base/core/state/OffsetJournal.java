@@ -0,0 +1,180 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.base.core.state;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only journal of offset updates. Each entry is framed as
+ * [length:int][crc32:long][payload:JSON] so a torn tail (crash mid-write) can be
+ * detected and discarded on replay.
+ */
+@Getter
+@Accessors(fluent = true)
+public class OffsetJournal implements Closeable {
+    @Getter
+    @Setter
+    public static class Record {
+        private long sequence;
+        private String type;
+        private String name;
+        private String path;
+        private long timeUpdated;
+        private byte[] data;
+
+        public boolean deleted() {
+            return data == null;
+        }
+    }
+
+    private final File file;
+    private final boolean sync;
+    @Getter(AccessLevel.NONE)
+    private FileChannel channel;
+    @Getter(AccessLevel.NONE)
+    private DataOutputStream stream;
+    private long sequence = 0;
+    private long size = 0;
+
+    public OffsetJournal(@NonNull File file, boolean sync) {
+        this.file = file;
+        this.sync = sync;
+    }
+
+    /**
+     * Read all the valid records from the journal file, keeping only the latest record for each path.
+     *
+     * @return - Latest journaled record per path, in journal order.
+     * @throws IOException
+     */
+    public Map<String, Record> replay() throws IOException {
+        Map<String, Record> records = new LinkedHashMap<>();
+        if (!file.exists()) return records;
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int length;
+                long crc;
+                byte[] data;
+                try {
+                    length = dis.readInt();
+                    crc = dis.readLong();
+                    if (length <= 0) {
+                        break;
+                    }
+                    data = new byte[length];
+                    dis.readFully(data);
+                } catch (EOFException e) {
+                    break;
+                }
+                CRC32 check = new CRC32();
+                check.update(data);
+                if (check.getValue() != crc) {
+                    DefaultLogger.warn(String.format("Journal entry checksum mismatch, ignoring tail. [file=%s]",
+                            file.getAbsolutePath()));
+                    break;
+                }
+                Record record = JSONUtils.read(data, Record.class);
+                records.remove(record.path);
+                records.put(record.path, record);
+                if (record.sequence > sequence) {
+                    sequence = record.sequence;
+                }
+            }
+        } catch (IOException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+        return records;
+    }
+
+    public OffsetJournal open() throws IOException {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists()) {
+            if (!dir.mkdirs()) {
+                throw new IOException(String.format("Failed to create directory. [path=%s]",
+                        dir.getAbsolutePath()));
+            }
+        }
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        stream = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        size = file.length();
+        return this;
+    }
+
+    public synchronized Record append(@NonNull Record record) throws IOException {
+        if (stream == null) {
+            throw new IOException(String.format("Journal not open. [file=%s]", file.getAbsolutePath()));
+        }
+        record.sequence = ++sequence;
+        byte[] data = JSONUtils.asBytes(record);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        stream.writeInt(data.length);
+        stream.writeLong(crc.getValue());
+        stream.write(data);
+        stream.flush();
+        if (sync) {
+            channel.force(false);
+        }
+        size += data.length + Integer.BYTES + Long.BYTES;
+        return record;
+    }
+
+    /**
+     * Discard all journaled entries, called once every journaled update has been persisted.
+     *
+     * @throws IOException
+     */
+    public synchronized void truncate() throws IOException {
+        if (channel == null) return;
+        stream.flush();
+        channel.truncate(0);
+        channel.force(true);
+        size = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -33,9 +33,13 @@ import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.curator.framework.CuratorFramework;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
 @Getter
 @Accessors(fluent = true)
-public abstract class OffsetStateManager<T extends Offset> {
+public abstract class OffsetStateManager<T extends Offset> implements Closeable {
     private final ProcessorState state = new ProcessorState();
     private ZookeeperConnection connection;
     private OffsetStateManagerSettings settings;
@@ -44,6 +48,8 @@ public abstract class OffsetStateManager<T extends Offset> {
     @Getter(AccessLevel.NONE)
     protected DistributedLock stateLock;
     protected BaseStateManager stateManager;
+    @Getter(AccessLevel.NONE)
+    private OffsetWriteBehind writeBehind;
 
     public OffsetStateManager<T> withStateManager(@NonNull BaseStateManager stateManager) {
         this.stateManager = stateManager;
@@ -95,6 +101,49 @@ public abstract class OffsetStateManager<T extends Offset> {
         stateLock = getStateLock(client);
 
         state.setState(ProcessorState.EProcessorState.Running);
+        if (settings.isWriteBehind()) {
+            setupWriteBehind();
+        }
+    }
+
+    private void setupWriteBehind() throws Exception {
+        if (Strings.isNullOrEmpty(settings.getJournalDir())) {
+            throw new Exception(String.format("Write-behind enabled but journal directory not specified. [name=%s]",
+                    settings.getName()));
+        }
+        File file = new File(PathUtils.formatPath(String.format("%s/%s.journal",
+                settings.getJournalDir(), settings.getName())));
+        OffsetJournal journal = new OffsetJournal(file, settings.isJournalSync());
+        writeBehind = new OffsetWriteBehind(settings.getName(),
+                journal,
+                new ZkOffsetStore(connection, this::getLock),
+                settings.getFlushInterval().normalized(),
+                settings.getFlushCount());
+        writeBehind.start();
+    }
+
+    /**
+     * Persists the buffered offset updates to ZooKeeper (write-behind mode only).
+     *
+     * @return - Number of offsets flushed.
+     * @throws StateManagerError
+     */
+    public int flush() throws StateManagerError {
+        if (writeBehind != null) {
+            return writeBehind.flush();
+        }
+        return 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writeBehind != null) {
+            writeBehind.close();
+            writeBehind = null;
+        }
+        if (state.isAvailable()) {
+            state.setState(ProcessorState.EProcessorState.Stopped);
+        }
     }
 
     private DistributedLock getStateLock(@NonNull CuratorFramework client) throws Exception {
@@ -168,6 +217,15 @@ public abstract class OffsetStateManager<T extends Offset> {
                     .withPath(type)
                     .withPath(name)
                     .build();
+            if (writeBehind != null) {
+                if (writeBehind.isDeleted(path)) {
+                    return null;
+                }
+                byte[] data = writeBehind.get(path);
+                if (data != null) {
+                    return JSONUtils.read(data, offsetType);
+                }
+            }
             return JSONUtils.read(client, path, offsetType);
         } catch (Exception ex) {
             throw new StateManagerError(ex);
@@ -216,8 +274,11 @@ public abstract class OffsetStateManager<T extends Offset> {
     }
 
     @SuppressWarnings("unchecked")
-    public  <R extends OffsetState<?, T>> R update(@NonNull R offset) throws StateManagerError {
+    public <R extends OffsetState<?, T>> R update(@NonNull R offset) throws StateManagerError {
         Preconditions.checkState(state.isAvailable());
+        if (writeBehind != null) {
+            return updateWriteBehind(offset);
+        }
         try {
             CuratorFramework client = connection.client();
             try (DistributedLock lock = getLock(offset.getType(), offset.getName(), client)) {
@@ -256,6 +317,44 @@ public abstract class OffsetStateManager<T extends Offset> {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private <R extends OffsetState<?, T>> R updateWriteBehind(@NonNull R offset) throws StateManagerError {
+        try {
+            String zp = new PathUtils.ZkPathBuilder(zkPath)
+                    .withPath(offset.getType())
+                    .withPath(offset.getName())
+                    .build();
+            Long updated = writeBehind.lastUpdated(zp);
+            if (updated == null) {
+                R current = (R) get(offset.getType(),
+                        offset.getName(),
+                        offset.getClass(),
+                        connection.client());
+                if (current == null) {
+                    throw new StateManagerError(
+                            String.format("Offset not found. [type=%s][name=%s]",
+                                    offset.getType(), offset.getName()));
+                }
+                updated = current.getTimeUpdated();
+            }
+            if (updated > offset.getTimeUpdated()) {
+                throw new StateManagerError(
+                        String.format("Offset is stale. [type=%s][name=%s]",
+                                offset.getType(), offset.getName()));
+            }
+            long time = Math.max(System.currentTimeMillis(), updated);
+            offset.setTimeUpdated(time);
+            offset.setLastUpdatedBy(env.moduleInstance());
+            offset.getOffset().setTimeUpdated(time);
+            writeBehind.put(offset.getType(), offset.getName(), zp, time, JSONUtils.asBytes(offset));
+            return offset;
+        } catch (StateManagerError se) {
+            throw se;
+        } catch (Exception ex) {
+            throw new StateManagerError(ex);
+        }
+    }
+
     public boolean delete(@NonNull String type,
                           @NonNull String name,
                           @NonNull Class<? extends OffsetState<?, T>> offsetType) throws StateManagerError {
@@ -276,7 +375,12 @@ public abstract class OffsetStateManager<T extends Offset> {
                             .withPath(type)
                             .withPath(name)
                             .build();
-                    client.delete().deletingChildrenIfNeeded().forPath(zp);
+                    if (writeBehind != null) {
+                        writeBehind.remove(type, name, zp);
+                    }
+                    if (client.checkExists().forPath(zp) != null) {
+                        client.delete().deletingChildrenIfNeeded().forPath(zp);
+                    }
                     return true;
                 } finally {
                     lock.unlock();
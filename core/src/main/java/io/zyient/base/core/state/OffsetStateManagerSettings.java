@@ -42,6 +42,14 @@ import java.util.concurrent.TimeUnit;
  *             <retry>[Retry count]</retry>
  *             <timeout>Lock acquire timeout</timeout>
  *         </locking>
+ *         <writeBehind>
+ *             -- optional
+ *             <enabled>[Buffer offset updates, default = false]</enabled>
+ *             <journal>[Local directory for the offset journal]</journal>
+ *             <flushInterval>[Flush interval, default = 5sec]</flushInterval>
+ *             <flushCount>[Flush after N updates, default = 1000]</flushCount>
+ *             <sync>[Sync journal writes to disk, default = false]</sync>
+ *         </writeBehind>
  *     </offsetManager>
  * </pre>
  */
@@ -55,6 +63,8 @@ public abstract class OffsetStateManagerSettings extends Settings {
     public static final class Constants {
         public static final short LOCK_RETRY_COUNT = 4;
         public static final long LOCK_TIMEOUT = 10000;
+        public static final long FLUSH_INTERVAL = 5000;
+        public static final int FLUSH_COUNT = 1000;
 
         public static final String CONFIG_NAME = "name";
         public static final String CONFIG_TYPE = "type";
@@ -62,6 +72,11 @@ public abstract class OffsetStateManagerSettings extends Settings {
         public static final String CONFIG_ZK_CONNECTION = "connection";
         public static final String CONFIG_LOCK_RETRY = "locking.retry";
         public static final String CONFIG_LOCK_TIMEOUT = "locking.timeout";
+        public static final String CONFIG_WRITE_BEHIND = "writeBehind.enabled";
+        public static final String CONFIG_WRITE_BEHIND_JOURNAL = "writeBehind.journal";
+        public static final String CONFIG_WRITE_BEHIND_INTERVAL = "writeBehind.flushInterval";
+        public static final String CONFIG_WRITE_BEHIND_COUNT = "writeBehind.flushCount";
+        public static final String CONFIG_WRITE_BEHIND_SYNC = "writeBehind.sync";
     }
 
     @Config(name = Constants.CONFIG_NAME)
@@ -76,6 +91,16 @@ public abstract class OffsetStateManagerSettings extends Settings {
     private short lockRetryCount = Constants.LOCK_RETRY_COUNT;
     @Config(name = Constants.CONFIG_LOCK_TIMEOUT, required = false, parser = TimeValueParser.class)
     private TimeUnitValue lockTimeout = new TimeUnitValue(Constants.LOCK_TIMEOUT, TimeUnit.MILLISECONDS);
+    @Config(name = Constants.CONFIG_WRITE_BEHIND, required = false, type = Boolean.class)
+    private boolean writeBehind = false;
+    @Config(name = Constants.CONFIG_WRITE_BEHIND_JOURNAL, required = false)
+    private String journalDir;
+    @Config(name = Constants.CONFIG_WRITE_BEHIND_INTERVAL, required = false, parser = TimeValueParser.class)
+    private TimeUnitValue flushInterval = new TimeUnitValue(Constants.FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    @Config(name = Constants.CONFIG_WRITE_BEHIND_COUNT, required = false, type = Integer.class)
+    private int flushCount = Constants.FLUSH_COUNT;
+    @Config(name = Constants.CONFIG_WRITE_BEHIND_SYNC, required = false, type = Boolean.class)
+    private boolean journalSync = false;
     @JsonIgnore
     private ESettingsSource source;
 
@@ -92,6 +117,11 @@ public abstract class OffsetStateManagerSettings extends Settings {
         this.zkConnection = ((OffsetStateManagerSettings) source).zkConnection;
         this.lockTimeout = ((OffsetStateManagerSettings) source).lockTimeout;
         this.lockRetryCount = ((OffsetStateManagerSettings) source).lockRetryCount;
+        this.writeBehind = ((OffsetStateManagerSettings) source).writeBehind;
+        this.journalDir = ((OffsetStateManagerSettings) source).journalDir;
+        this.flushInterval = ((OffsetStateManagerSettings) source).flushInterval;
+        this.flushCount = ((OffsetStateManagerSettings) source).flushCount;
+        this.journalSync = ((OffsetStateManagerSettings) source).journalSync;
         this.source = ((OffsetStateManagerSettings) source).source;
     }
 }
\ No newline at end of file
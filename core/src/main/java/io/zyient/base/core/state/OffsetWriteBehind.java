@@ -0,0 +1,257 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.base.core.state;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for offset updates. Updates are journaled locally and coalesced in memory (latest value
+ * per path), and are persisted to the backing store on a fixed interval or once the number of pending updates
+ * crosses the configured count. The journal is only truncated after a successful flush, so a crash replays
+ * (at most) the updates that were not yet persisted.
+ */
+@Getter
+@Accessors(fluent = true)
+public class OffsetWriteBehind implements Closeable {
+    public interface OffsetStore {
+        byte[] read(@NonNull OffsetJournal.Record record) throws Exception;
+
+        void write(@NonNull OffsetJournal.Record record) throws Exception;
+
+        void delete(@NonNull OffsetJournal.Record record) throws Exception;
+    }
+
+    private final String name;
+    @Getter(AccessLevel.NONE)
+    private final OffsetJournal journal;
+    @Getter(AccessLevel.NONE)
+    private final OffsetStore store;
+    private final long flushInterval;
+    private final int flushCount;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, OffsetJournal.Record> pending = new LinkedHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Long> lastUpdated = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private ScheduledExecutorService executor;
+    private long updateCount = 0;
+    private long flushedCount = 0;
+
+    public OffsetWriteBehind(@NonNull String name,
+                             @NonNull OffsetJournal journal,
+                             @NonNull OffsetStore store,
+                             long flushInterval,
+                             int flushCount) {
+        Preconditions.checkArgument(flushCount > 0);
+        this.name = name;
+        this.journal = journal;
+        this.store = store;
+        this.flushInterval = flushInterval;
+        this.flushCount = flushCount;
+    }
+
+    /**
+     * Replay any journaled updates left over from a previous run against the store
+     * and start the periodic flush.
+     *
+     * @return - Number of journaled updates re-applied.
+     * @throws Exception
+     */
+    public synchronized int start() throws Exception {
+        journal.open();
+        int count = recover();
+        if (flushInterval > 0) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, String.format("offset-flush-%s", name));
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::scheduledFlush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+        return count;
+    }
+
+    private int recover() throws Exception {
+        Map<String, OffsetJournal.Record> records = journal.replay();
+        int count = 0;
+        for (OffsetJournal.Record record : records.values()) {
+            if (record.deleted()) {
+                store.delete(record);
+                count++;
+                continue;
+            }
+            byte[] current = store.read(record);
+            if (current != null && current.length > 0) {
+                long updated = timeUpdated(current);
+                if (updated > record.getTimeUpdated()) {
+                    DefaultLogger.warn(String.format("Journaled offset is stale, skipping replay. [path=%s]",
+                            record.getPath()));
+                    continue;
+                }
+            }
+            store.write(record);
+            lastUpdated.put(record.getPath(), record.getTimeUpdated());
+            count++;
+        }
+        if (!records.isEmpty()) {
+            DefaultLogger.info(String.format("[%s] Replayed offset journal. [records=%d][applied=%d]",
+                    name, records.size(), count));
+        }
+        journal.truncate();
+        return count;
+    }
+
+    private static long timeUpdated(byte[] data) throws Exception {
+        JsonNode node = JSONUtils.mapper().readTree(data);
+        JsonNode value = node.get("timeUpdated");
+        if (value != null && value.isNumber()) {
+            return value.asLong();
+        }
+        return 0;
+    }
+
+    public void put(@NonNull String type,
+                    @NonNull String name,
+                    @NonNull String path,
+                    long timeUpdated,
+                    byte[] data) throws StateManagerError {
+        OffsetJournal.Record record = new OffsetJournal.Record();
+        record.setType(type);
+        record.setName(name);
+        record.setPath(path);
+        record.setTimeUpdated(timeUpdated);
+        record.setData(data);
+        boolean flush;
+        synchronized (this) {
+            try {
+                journal.append(record);
+            } catch (IOException ex) {
+                throw new StateManagerError(ex);
+            }
+            pending.remove(path);
+            pending.put(path, record);
+            if (data != null) {
+                lastUpdated.put(path, timeUpdated);
+            } else {
+                lastUpdated.remove(path);
+            }
+            updateCount++;
+            flush = (updateCount - flushedCount >= flushCount);
+        }
+        if (flush) {
+            flush();
+        }
+    }
+
+    public void remove(@NonNull String type,
+                       @NonNull String name,
+                       @NonNull String path) throws StateManagerError {
+        put(type, name, path, System.currentTimeMillis(), null);
+    }
+
+    /**
+     * Get the pending (not yet persisted) value for the path.
+     *
+     * @param path - Offset path
+     * @return - Pending value, NULL if none (or deleted)
+     */
+    public synchronized byte[] get(@NonNull String path) {
+        OffsetJournal.Record record = pending.get(path);
+        if (record != null) {
+            return record.getData();
+        }
+        return null;
+    }
+
+    public synchronized boolean isDeleted(@NonNull String path) {
+        OffsetJournal.Record record = pending.get(path);
+        return (record != null && record.deleted());
+    }
+
+    public synchronized Long lastUpdated(@NonNull String path) {
+        return lastUpdated.get(path);
+    }
+
+    public synchronized int pending() {
+        return pending.size();
+    }
+
+    public synchronized int flush() throws StateManagerError {
+        if (pending.isEmpty()) return 0;
+        int count = 0;
+        try {
+            Iterator<Map.Entry<String, OffsetJournal.Record>> iter = pending.entrySet().iterator();
+            while (iter.hasNext()) {
+                OffsetJournal.Record record = iter.next().getValue();
+                if (record.deleted()) {
+                    store.delete(record);
+                } else {
+                    store.write(record);
+                }
+                iter.remove();
+                count++;
+            }
+            journal.truncate();
+            flushedCount = updateCount;
+            return count;
+        } catch (Exception ex) {
+            throw new StateManagerError(String.format("Offset flush failed. [name=%s][flushed=%d][pending=%d]",
+                    name, count, pending.size()), ex);
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Throwable t) {
+            DefaultLogger.error(String.format("[%s] Scheduled offset flush failed.", name), t);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        try {
+            flush();
+        } catch (StateManagerError ex) {
+            throw new IOException(ex);
+        } finally {
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.state;
+
+import io.zyient.base.core.DistributedLock;
+import io.zyient.base.core.connections.common.ZookeeperConnection;
+import lombok.NonNull;
+import org.apache.curator.framework.CuratorFramework;
+
+/**
+ * Write-behind offset store backed by ZooKeeper. Offset nodes are created on
+ * the first write; subsequent writes are applied under the offset lock.
+ */
+class ZkOffsetStore implements OffsetWriteBehind.OffsetStore {
+    interface LockProvider {
+        DistributedLock getLock(@NonNull String type,
+                                @NonNull String name,
+                                @NonNull CuratorFramework client) throws Exception;
+    }
+
+    private final ZookeeperConnection connection;
+    private final LockProvider locks;
+
+    ZkOffsetStore(@NonNull ZookeeperConnection connection,
+                  @NonNull LockProvider locks) {
+        this.connection = connection;
+        this.locks = locks;
+    }
+
+    @Override
+    public byte[] read(@NonNull OffsetJournal.Record record) throws Exception {
+        CuratorFramework client = connection.client();
+        if (client.checkExists().forPath(record.getPath()) == null) {
+            return null;
+        }
+        return client.getData().forPath(record.getPath());
+    }
+
+    @Override
+    public void write(@NonNull OffsetJournal.Record record) throws Exception {
+        CuratorFramework client = connection.client();
+        if (client.checkExists().forPath(record.getPath()) == null) {
+            // First write for this offset: there is no node to lock on yet.
+            client.create()
+                    .orSetData()
+                    .creatingParentsIfNeeded()
+                    .forPath(record.getPath(), record.getData());
+            return;
+        }
+        try (DistributedLock lock = locks.getLock(record.getType(), record.getName(), client)) {
+            lock.lock();
+            try {
+                client.create()
+                        .orSetData()
+                        .creatingParentsIfNeeded()
+                        .forPath(record.getPath(), record.getData());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void delete(@NonNull OffsetJournal.Record record) throws Exception {
+        CuratorFramework client = connection.client();
+        if (client.checkExists().forPath(record.getPath()) != null) {
+            client.delete().deletingChildrenIfNeeded().forPath(record.getPath());
+        }
+    }
+}
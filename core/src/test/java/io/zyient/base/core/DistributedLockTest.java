@@ -0,0 +1,275 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.base.core;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.connections.common.ZookeeperConnection;
+import io.zyient.base.core.connections.settings.common.ZookeeperSettings;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributedLockTest {
+    private static final String BASE_PATH = "/test/locks";
+    private static final long LOCK_TIMEOUT = 15000;
+    private static final long LEASE = 60000;
+    private static TestingServer server;
+    private static ZookeeperConnection first;
+    private static ZookeeperConnection second;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        server = new TestingServer(true);
+        first = connect();
+        second = connect();
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        first.close();
+        second.close();
+        server.close();
+    }
+
+    private static ZookeeperConnection connect() throws Exception {
+        ZookeeperSettings settings = new ZookeeperSettings();
+        settings.setName("test-zk");
+        settings.setConnectionString(server.getConnectString());
+        ZookeeperConnection connection = (ZookeeperConnection) new ZookeeperConnection()
+                .setup(settings, new DemoEnv());
+        connection.connect();
+        return connection;
+    }
+
+    @Test
+    void leaseFastPath() {
+        try (DistributedLockBuilder builder = new DistributedLockBuilder()) {
+            String path = String.format("%s/lease", BASE_PATH);
+            DistributedLock lock = builder.createLock("lease", path, first, LOCK_TIMEOUT, LEASE, null);
+            lock.lock();
+            long token = lock.fencingToken();
+            assertTrue(token > 0);
+            lock.unlock();
+            // Re-acquired locally, lease not released.
+            lock.lock();
+            assertEquals(token, lock.fencingToken());
+            lock.unlock();
+
+            lock.releaseLease();
+            assertEquals(-1, lock.fencingToken());
+            lock.lock();
+            assertTrue(lock.fencingToken() > token);
+            lock.unlock();
+            lock.close();
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void fencingOptIn() {
+        try (DistributedLockBuilder builder = new DistributedLockBuilder()) {
+            String path = String.format("%s/fencing", BASE_PATH);
+            DistributedLock lock = builder.createLock("fencing", path, first, LOCK_TIMEOUT);
+            lock.lock();
+            // Plain locks do not generate a token unless enabled.
+            assertEquals(-1, lock.fencingToken());
+            lock.unlock();
+
+            lock.withFencing(true);
+            lock.lock();
+            long token = lock.fencingToken();
+            assertTrue(token > 0);
+            lock.unlock();
+            assertEquals(-1, lock.fencingToken());
+            lock.lock();
+            assertTrue(lock.fencingToken() > token);
+            lock.unlock();
+            lock.close();
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void leaseContention() {
+        try (DistributedLockBuilder b1 = new DistributedLockBuilder();
+             DistributedLockBuilder b2 = new DistributedLockBuilder()) {
+            String path = String.format("%s/contended", BASE_PATH);
+            AtomicInteger inside = new AtomicInteger();
+            AtomicInteger count = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            List<Thread> threads = new ArrayList<>();
+            for (DistributedLock lock : List.of(
+                    b1.createLock("contended", path, first, LOCK_TIMEOUT, LEASE, null),
+                    b2.createLock("contended", path, second, LOCK_TIMEOUT, LEASE, null))) {
+                Thread thread = new Thread(() -> {
+                    for (int ii = 0; ii < 10; ii++) {
+                        lock.lock();
+                        try {
+                            if (inside.incrementAndGet() > 1) {
+                                errors.incrementAndGet();
+                            }
+                            count.incrementAndGet();
+                            inside.decrementAndGet();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(0, errors.get());
+            assertEquals(20, count.get());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void hierarchy() {
+        try (DistributedLockBuilder b1 = new DistributedLockBuilder();
+             DistributedLockBuilder b2 = new DistributedLockBuilder()) {
+            String root = String.format("%s/hierarchy", BASE_PATH);
+            String dir = String.format("%s/dir", root);
+            String file = String.format("%s/file", dir);
+            DistributedLock dl = b1.createLock("dir", dir, first, LOCK_TIMEOUT, 0, root);
+            DistributedLock fl = b2.createLock("file", file, second, LOCK_TIMEOUT, 0, root);
+
+            dl.lock();
+            assertFalse(fl.tryLock(500, TimeUnit.MILLISECONDS));
+            dl.unlock();
+
+            assertTrue(fl.tryLock(LOCK_TIMEOUT, TimeUnit.MILLISECONDS));
+            assertFalse(dl.tryLock(500, TimeUnit.MILLISECONDS));
+            fl.unlock();
+            assertTrue(dl.tryLock(LOCK_TIMEOUT, TimeUnit.MILLISECONDS));
+            dl.unlock();
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void covered() {
+        try (DistributedLockBuilder builder = new DistributedLockBuilder()) {
+            String root = String.format("%s/covered", BASE_PATH);
+            String dir = String.format("%s/dir", root);
+            String file = String.format("%s/file", dir);
+            DistributedLock dl = builder.createLock("dir", dir, first, LOCK_TIMEOUT, LEASE, root);
+            DistributedLock fl = builder.createLock("file", file, first, LOCK_TIMEOUT, LEASE, root);
+
+            dl.lock();
+            dl.unlock();
+            fl.lock();
+            assertEquals(dl.fencingToken(), fl.fencingToken());
+            fl.unlock();
+
+            dl.releaseLease();
+            fl.lock();
+            assertTrue(fl.fencingToken() > 0);
+            assertEquals(-1, dl.fencingToken());
+            fl.unlock();
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void handOverHand() {
+        try (DistributedLockBuilder b1 = new DistributedLockBuilder();
+             DistributedLockBuilder b2 = new DistributedLockBuilder()) {
+            String root = String.format("%s/hand-over-hand", BASE_PATH);
+            String dir = String.format("%s/dir", root);
+            String file = String.format("%s/file", dir);
+            DistributedLock dl = b1.createLock("dir", dir, first, LOCK_TIMEOUT, 0, root);
+            DistributedLock fl = b1.createLock("file", file, first, LOCK_TIMEOUT, 0, root);
+            DistributedLock other = b2.createLock("dir", dir, second, LOCK_TIMEOUT, 0, root);
+
+            dl.lock();
+            fl.lock();
+            // Parent unlocked first: the covered file lock keeps the ZooKeeper lock held.
+            dl.unlock();
+            assertTrue(fl.isLocked());
+            assertFalse(other.tryLock(500, TimeUnit.MILLISECONDS));
+            fl.unlock();
+            assertTrue(other.tryLock(LOCK_TIMEOUT, TimeUnit.MILLISECONDS));
+            other.unlock();
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void awaitCovered() {
+        try (DistributedLockBuilder builder = new DistributedLockBuilder()) {
+            String root = String.format("%s/await", BASE_PATH);
+            String dir = String.format("%s/dir", root);
+            String file = String.format("%s/file", dir);
+            DistributedLock dl = builder.createLock("dir", dir, first, LOCK_TIMEOUT, LEASE, root);
+            DistributedLock fl = builder.createLock("file", file, first, LOCK_TIMEOUT, LEASE, root);
+            dl.lock();
+            dl.unlock();
+
+            CountDownLatch locked = new CountDownLatch(1);
+            AtomicBoolean released = new AtomicBoolean(false);
+            Thread thread = new Thread(() -> {
+                fl.lock();
+                try {
+                    locked.countDown();
+                    Thread.sleep(500);
+                    released.set(true);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    fl.unlock();
+                }
+            });
+            thread.start();
+            assertTrue(locked.await(LOCK_TIMEOUT, TimeUnit.MILLISECONDS));
+            // The directory lock waits for the covered file lock to be released.
+            dl.lock();
+            assertTrue(released.get());
+            dl.unlock();
+            thread.join();
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
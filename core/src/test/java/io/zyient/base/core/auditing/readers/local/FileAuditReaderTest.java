@@ -0,0 +1,185 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.auditing.readers.local;
+
+import io.zyient.base.common.config.units.SpaceUnitValue;
+import io.zyient.base.common.utils.DateTimeUtils;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.base.core.auditing.AuditRecordType;
+import io.zyient.base.core.auditing.EncryptionInfo;
+import io.zyient.base.core.auditing.JsonAuditRecord;
+import io.zyient.base.core.auditing.JsonAuditSerDe;
+import io.zyient.base.core.auditing.writers.local.AuditSegment;
+import io.zyient.base.core.auditing.writers.local.FileAuditWriter;
+import io.zyient.base.core.auditing.writers.local.FileAuditWriterSettings;
+import io.zyient.base.core.processing.ProcessorState;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileAuditReaderTest {
+    private static final String NAME = "test";
+
+    private static class TestAuditWriter extends FileAuditWriter {
+        private TestAuditWriter(File directory) throws Exception {
+            name(NAME);
+            settings = new FileAuditWriterSettings();
+            settings.setDir(directory.getAbsolutePath());
+            settings.setRolloverSize(new SpaceUnitValue(64, SpaceUnitValue.SpaceUnit.KILOBYTES));
+            setup();
+            state().setState(ProcessorState.EProcessorState.Running);
+        }
+    }
+
+    private File directory;
+    private long archived;
+    private long modified;
+
+    /**
+     * Lay out files as written before the segmented log: one archive rolled over
+     * on 2023/01/02 10:30 and the active file.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("audit-reader-test").toFile();
+        File dir = new File(directory, "2023/01/02");
+        assertTrue(dir.mkdirs());
+        write(new File(dir, String.format("10-30.%s-audit.json", NAME)), "archived", 10);
+        archived = DateTimeUtils.parse("2023/01/02 10:30", "yyyy/MM/dd HH:mm").getMillis();
+        File current = new File(directory, String.format("%s-audit.json", NAME));
+        write(current, "current", 5);
+        modified = DateTimeUtils.parse("2023/01/05 00:00", "yyyy/MM/dd HH:mm").getMillis();
+        assertTrue(current.setLastModified(modified));
+        // Archive of another stream: must not be picked up.
+        write(new File(dir, "10-30.other-audit.json"), "other", 3);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    void readLegacyArchive() {
+        try {
+            List<JsonAuditRecord> records = read(FileAuditReader.findTime(directory, NAME, null, 0, 0), 0);
+            assertEquals(15, records.size());
+            for (int ii = 0; ii < 10; ii++) {
+                assertEquals(String.format("archived-%d", ii), records.get(ii).getRecord());
+            }
+            for (int ii = 0; ii < 5; ii++) {
+                assertEquals(String.format("current-%d", ii), records.get(10 + ii).getRecord());
+            }
+            // After the rollover: only the active file.
+            records = read(FileAuditReader.findTime(directory, NAME, null, archived + 120000, 0), 0);
+            assertEquals(5, records.size());
+            // Before the rollover: only the archive.
+            records = read(FileAuditReader.findTime(directory, NAME, null, 0, archived), 0);
+            assertEquals(10, records.size());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void readLegacyAndSegments() {
+        try {
+            long mark = System.currentTimeMillis();
+            try (TestAuditWriter writer = new TestAuditWriter(directory)) {
+                for (int ii = 0; ii < 20; ii++) {
+                    writer.write(record(String.format("segment-%d", ii)), null);
+                }
+            }
+            List<JsonAuditRecord> records = read(FileAuditReader.findTime(directory, NAME, null, 0, 0), 0);
+            assertEquals(35, records.size());
+            assertEquals("archived-0", records.get(0).getRecord());
+            assertEquals("segment-19", records.get(34).getRecord());
+
+            records = read(FileAuditReader.findTime(directory, NAME, null, mark, 0), 0);
+            assertEquals(20, records.size());
+            records = read(FileAuditReader.findTime(directory, NAME, null, 0, modified + 1), 0);
+            assertEquals(15, records.size());
+
+            // Pages span the legacy files and the segments.
+            List<AuditSegment.Range> ranges = new ArrayList<>();
+            long skip = FileAuditReader.findPage(directory, NAME, null, 12, 6, ranges);
+            assertEquals(2, skip);
+            records = read(ranges, skip);
+            assertTrue(records.size() >= 6);
+            assertEquals("current-2", records.get(0).getRecord());
+            assertEquals("segment-2", records.get(5).getRecord());
+
+            ranges = new ArrayList<>();
+            skip = FileAuditReader.findPage(directory, NAME, null, 20, 5, ranges);
+            assertEquals(0, skip);
+            records = read(ranges, skip);
+            assertEquals(5, records.size());
+            assertEquals("segment-5", records.get(0).getRecord());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    private static void write(File file, String prefix, int count) throws Exception {
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            for (int ii = 0; ii < count; ii++) {
+                fos.write(JSONUtils.asBytes(record(String.format("%s-%d", prefix, ii))));
+                fos.write(FileAuditWriter.NEWLINE);
+            }
+        }
+    }
+
+    private static JsonAuditRecord record(String value) {
+        JsonAuditRecord record = new JsonAuditRecord();
+        record.setType(AuditRecordType.Record);
+        record.setNamespace("test");
+        record.setModule("auditing");
+        record.setRecordType(String.class.getCanonicalName());
+        record.data(value);
+        return record;
+    }
+
+    private List<JsonAuditRecord> read(List<AuditSegment.Range> ranges, long skip) throws Exception {
+        List<JsonAuditRecord> records = new ArrayList<>();
+        try (FileAuditCursor cursor = (FileAuditCursor) new FileAuditCursor()
+                .ranges(ranges)
+                .skip(skip)
+                .encryption(new EncryptionInfo())
+                .recordType(JsonAuditRecord.class)
+                .serializer(new JsonAuditSerDe())) {
+            cursor.open();
+            while (true) {
+                List<JsonAuditRecord> next = cursor.next();
+                if (next == null) break;
+                records.addAll(next);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.auditing.writers.local;
+
+import io.zyient.base.common.config.units.SpaceUnitValue;
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.auditing.AuditRecordType;
+import io.zyient.base.core.auditing.EncryptionInfo;
+import io.zyient.base.core.auditing.JsonAuditRecord;
+import io.zyient.base.core.auditing.JsonAuditSerDe;
+import io.zyient.base.core.auditing.readers.local.FileAuditCursor;
+import io.zyient.base.core.processing.ProcessorState;
+import lombok.NonNull;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileAuditWriterTest {
+    private static final String NAME = "test";
+
+    private static class TestAuditWriter extends FileAuditWriter {
+        private TestAuditWriter(File directory, FileAuditWriterSettings.EFsyncPolicy policy) throws Exception {
+            name(NAME);
+            settings = new FileAuditWriterSettings();
+            settings.setDir(directory.getAbsolutePath());
+            settings.setRolloverSize(new SpaceUnitValue(64, SpaceUnitValue.SpaceUnit.KILOBYTES));
+            settings.setBatchSize(64);
+            settings.setFsyncPolicy(policy);
+            setup();
+            state().setState(ProcessorState.EProcessorState.Running);
+        }
+    }
+
+    private File directory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("audit-test").toFile();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    void groupCommit() {
+        try {
+            int threads = 8;
+            int count = 500;
+            try (TestAuditWriter writer = new TestAuditWriter(directory, FileAuditWriterSettings.EFsyncPolicy.Commit)) {
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int ii = 0; ii < threads; ii++) {
+                    final int thread = ii;
+                    futures.add(executor.submit(() -> {
+                        for (int jj = 0; jj < count; jj++) {
+                            writer.write(record(String.format("%d-%d", thread, jj)), new Context());
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                executor.shutdown();
+            }
+            File dir = FileAuditWriter.streamDirectory(directory, NAME);
+            List<AuditSegment> segments = AuditSegment.list(dir);
+            assertTrue(segments.size() > 1);
+            long total = 0;
+            long expected = 0;
+            for (AuditSegment segment : segments) {
+                assertEquals(expected, segment.baseSequence());
+                expected += segment.count();
+                total += segment.count();
+            }
+            assertEquals(threads * count, total);
+
+            List<JsonAuditRecord> records = read(AuditSegment.findSequence(dir, 0, threads * count));
+            assertEquals(threads * count, records.size());
+            Set<String> ids = new HashSet<>();
+            for (JsonAuditRecord record : records) {
+                ids.add(record.getRecord());
+            }
+            assertEquals(threads * count, ids.size());
+
+            records = read(AuditSegment.findSequence(dir, 1000, 10));
+            assertEquals(10, records.size());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void seekTime() {
+        try {
+            long mark;
+            try (TestAuditWriter writer = new TestAuditWriter(directory, FileAuditWriterSettings.EFsyncPolicy.Interval)) {
+                for (int ii = 0; ii < 1000; ii++) {
+                    writer.write(record(String.format("before-%d", ii)), null);
+                }
+                Thread.sleep(20);
+                mark = System.currentTimeMillis();
+                Thread.sleep(5);
+                for (int ii = 0; ii < 100; ii++) {
+                    writer.write(record(String.format("after-%d", ii)), null);
+                }
+            }
+            File dir = FileAuditWriter.streamDirectory(directory, NAME);
+            List<JsonAuditRecord> records = read(AuditSegment.findTime(dir, mark, 0));
+            assertEquals(100, records.size());
+            for (JsonAuditRecord record : records) {
+                assertTrue(record.getRecord().startsWith("after-"));
+            }
+            records = read(AuditSegment.findTime(dir, 0, mark));
+            assertEquals(1000, records.size());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void recoverTornTail() {
+        try {
+            try (TestAuditWriter writer = new TestAuditWriter(directory, FileAuditWriterSettings.EFsyncPolicy.Never)) {
+                for (int ii = 0; ii < 100; ii++) {
+                    writer.write(record(String.format("record-%d", ii)), null);
+                }
+            }
+            File dir = FileAuditWriter.streamDirectory(directory, NAME);
+            List<AuditSegment> segments = AuditSegment.list(dir);
+            AuditSegment last = segments.get(segments.size() - 1);
+            long count = last.count();
+            try (FileOutputStream fos = new FileOutputStream(last.log(), true)) {
+                fos.write("{\"partial\":".getBytes());
+            }
+            try (FileOutputStream fos = new FileOutputStream(last.index(), true)) {
+                fos.write(new byte[AuditSegment.ENTRY_SIZE + 3]);
+            }
+            try (TestAuditWriter writer = new TestAuditWriter(directory, FileAuditWriterSettings.EFsyncPolicy.Never)) {
+                assertEquals(count, last.count());
+                writer.write(record("recovered"), null);
+            }
+            List<JsonAuditRecord> records = read(AuditSegment.findSequence(dir, 0, 101));
+            assertEquals(101, records.size());
+            assertEquals("recovered", records.get(100).getRecord());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void failPendingOnCommitError() {
+        try {
+            FileAuditWriterSettings settings = new FileAuditWriterSettings();
+            settings.setRolloverSize(new SpaceUnitValue(1, SpaceUnitValue.SpaceUnit.KILOBYTES));
+            settings.setBatchSize(1);
+            settings.setQueueSize(4);
+            settings.setFsyncPolicy(FileAuditWriterSettings.EFsyncPolicy.Never);
+            AuditLog.Listener listener = new AuditLog.Listener() {
+                @Override
+                public void committed(@NonNull AuditLog log) {
+                }
+
+                @Override
+                public void rolled(@NonNull AuditLog log, @NonNull AuditSegment segment) throws Exception {
+                    throw new IOException("Roll failed...");
+                }
+            };
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            try (AuditLog log = new AuditLog(NAME, directory, settings, listener).open()) {
+                byte[] data = new byte[100];
+                Arrays.fill(data, (byte) 'x');
+                assertThrows(IOException.class, () -> {
+                    for (int ii = 0; ii < 1000; ii++) {
+                        futures.add(log.append(data));
+                    }
+                });
+                assertNotNull(log.error());
+                int failed = 0;
+                for (CompletableFuture<Long> future : futures) {
+                    try {
+                        future.get(5, TimeUnit.SECONDS);
+                    } catch (ExecutionException ee) {
+                        failed++;
+                    }
+                }
+                assertTrue(failed > 0);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    private JsonAuditRecord record(String value) {
+        JsonAuditRecord record = new JsonAuditRecord();
+        record.setType(AuditRecordType.Record);
+        record.setNamespace("test");
+        record.setModule("auditing");
+        record.setRecordType(String.class.getCanonicalName());
+        record.data(value);
+        return record;
+    }
+
+    private List<JsonAuditRecord> read(List<AuditSegment.Range> ranges) throws Exception {
+        List<JsonAuditRecord> records = new ArrayList<>();
+        try (FileAuditCursor cursor = (FileAuditCursor) new FileAuditCursor()
+                .ranges(ranges)
+                .encryption(new EncryptionInfo())
+                .recordType(JsonAuditRecord.class)
+                .serializer(new JsonAuditSerDe())) {
+            cursor.open();
+            while (true) {
+                List<JsonAuditRecord> next = cursor.next();
+                if (next == null) break;
+                records.addAll(next);
+            }
+        }
+        return records;
+    }
+}
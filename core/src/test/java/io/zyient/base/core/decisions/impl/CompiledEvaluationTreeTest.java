@@ -0,0 +1,462 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.decisions.impl;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.decisions.*;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledEvaluationTreeTest {
+    private static final String[] OPS = {"==", "!=", "<", "<=", ">", ">="};
+    private static final int RECORDS = 20000;
+
+    @Getter
+    @Setter
+    public static class Inner {
+        private String region;
+    }
+
+    @Getter
+    @Setter
+    public static class Sample {
+        private String category;
+        private Double amount;
+        private Inner inner;
+    }
+
+    private final SimpleMapConditionParser parser = new SimpleMapConditionParser();
+
+    @Test
+    void differentialMap() {
+        try {
+            for (int seed = 0; seed < 25; seed++) {
+                Random random = new Random(seed);
+                EvaluationTree<Map<String, Object>, String> tree = new EvaluationTree<>();
+                AtomicInteger ids = new AtomicInteger();
+                int branches = 1 + random.nextInt(6);
+                for (int ii = 0; ii < branches; ii++) {
+                    EvaluationTree.Node<Map<String, Object>, String> node = tree.add(mapCondition(random, 2),
+                            result(random, ids));
+                    addChildren(random, node, 2, ids);
+                }
+                CompiledEvaluationTree<Map<String, Object>, String> compiled = tree.compile();
+                for (int ii = 0; ii < RECORDS; ii++) {
+                    Map<String, Object> record = mapRecord(random);
+                    assertEquals(tree.evaluate(record), compiled.evaluate(record),
+                            String.format("[seed=%d, record=%s]", seed, record));
+                }
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void differentialPojo() {
+        try {
+            for (int seed = 0; seed < 10; seed++) {
+                Random random = new Random(seed);
+                EvaluationTree<Sample, String> tree = new EvaluationTree<>();
+                AtomicInteger ids = new AtomicInteger();
+                int branches = 1 + random.nextInt(6);
+                for (int ii = 0; ii < branches; ii++) {
+                    EvaluationTree.Node<Sample, String> node = tree.add(pojoCondition(random, 2),
+                            result(random, ids));
+                    for (int jj = 0; jj < random.nextInt(4); jj++) {
+                        node.add(pojoCondition(random, 1), result(random, ids));
+                    }
+                }
+                CompiledEvaluationTree<Sample, String> compiled = tree.compile();
+                for (int ii = 0; ii < RECORDS / 4; ii++) {
+                    Sample record = pojoRecord(random);
+                    assertEquals(tree.evaluate(record), compiled.evaluate(record),
+                            String.format("[seed=%d]", seed));
+                }
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void selectivityOrder() {
+        try {
+            AtomicInteger calls = new AtomicInteger();
+            CompiledCondition<Integer> mostlyTrue = CompiledCondition.asSafe(data -> {
+                calls.incrementAndGet();
+                return data % 100 != 0;
+            });
+            CompiledCondition<Integer> mostlyFalse = CompiledCondition.asSafe(data -> {
+                calls.incrementAndGet();
+                return data % 100 == 0;
+            });
+            List<CompiledCondition<Integer>> operands = List.of(mostlyTrue, mostlyFalse);
+            AdaptiveJunction<Integer> and = new AdaptiveJunction<>(true, operands, 1024);
+            for (int ii = 0; ii < 4096; ii++) {
+                assertEquals(ii % 100 != 0 && ii % 100 == 0, and.test(ii));
+            }
+            assertArrayEquals(new int[]{1, 0}, and.order());
+            calls.set(0);
+            for (int ii = 0; ii < 1000; ii++) {
+                and.test(ii);
+            }
+            assertTrue(calls.get() < 1100);
+
+            AdaptiveJunction<Integer> or = new AdaptiveJunction<>(false, List.of(mostlyFalse, mostlyTrue), 1024);
+            for (int ii = 0; ii < 4096; ii++) {
+                assertEquals(ii % 100 == 0 || ii % 100 != 0, or.test(ii));
+            }
+            assertArrayEquals(new int[]{1, 0}, or.order());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void reorderKeepsDeclaredSemantics() {
+        try {
+            CompiledCondition<Integer> mostlyTrue = CompiledCondition.asSafe(data -> data % 10 != 0);
+            CompiledCondition<Integer> even = CompiledCondition.asSafe(data -> data % 2 == 0);
+            CompiledCondition<Integer> throwing = data -> {
+                if (data % 7 == 0) {
+                    throw new IllegalStateException(String.format("Invalid data. [data=%d]", data));
+                }
+                return data % 3 != 0;
+            };
+            List<CompiledCondition<Integer>> operands = List.of(mostlyTrue, even, throwing,
+                    CompiledCondition.asSafe(data -> data % 11 != 0),
+                    CompiledCondition.asSafe(data -> data % 8 != 0));
+            AdaptiveJunction<Integer> and = new AdaptiveJunction<>(true, operands, 256);
+            assertFalse(and.safe());
+            for (int ii = 0; ii < 8192; ii++) {
+                final int data = ii;
+                assertEquals(outcome(() -> declared(true, operands, data)), outcome(() -> and.test(data)),
+                        String.format("[data=%d]", data));
+            }
+            // Safe operands re-ordered around the throwing operand, which keeps its position.
+            assertArrayEquals(new int[]{1, 0, 2, 4, 3}, and.order());
+
+            // Throwing operand declared last: the declared order short-circuits before it.
+            List<CompiledCondition<Integer>> ordered = List.of(mostlyTrue, throwing);
+            AdaptiveJunction<Integer> or = new AdaptiveJunction<>(false, ordered, 256);
+            for (int ii = 0; ii < 8192; ii++) {
+                final int data = ii;
+                assertEquals(outcome(() -> declared(false, ordered, data)), outcome(() -> or.test(data)),
+                        String.format("[data=%d]", data));
+            }
+            assertArrayEquals(new int[]{0, 1}, or.order());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void parsedJunctionReorders() {
+        try {
+            Condition<Map<String, Object>> condition = new AndCondition<Map<String, Object>>()
+                    .left(parser.parse("NOT NULL", "['category']", String.class, null))
+                    .right(new AndCondition<Map<String, Object>>()
+                            .left(parser.parse("< 900", "['amount']", Double.class, null))
+                            .right(parser.parse("== 'CAT-1'", "['category']", String.class, null)));
+            EvaluationTree<Map<String, Object>, String> tree = new EvaluationTree<>();
+            tree.add(condition, "MATCHED");
+            CompiledEvaluationTree<Map<String, Object>, String> compiledTree = tree.compile();
+
+            CompiledCondition<Map<String, Object>> compiled = condition.compile();
+            assertInstanceOf(AdaptiveJunction.class, compiled);
+            AdaptiveJunction<Map<String, Object>> and = (AdaptiveJunction<Map<String, Object>>) compiled;
+            assertTrue(and.safe());
+            Random random = new Random(7);
+            for (int ii = 0; ii < 4096; ii++) {
+                Map<String, Object> record = new HashMap<>();
+                record.put("category", String.format("CAT-%d", random.nextInt(20)));
+                record.put("amount", random.nextDouble() * 1000);
+                assertEquals(condition.evaluate(record), and.test(record));
+                assertEquals(tree.evaluate(record), compiledTree.evaluate(record));
+            }
+            // Least likely to pass first: category match, amount, not null.
+            assertArrayEquals(new int[]{2, 1, 0}, and.order());
+
+            // Ill-typed value: declared order outcome, re-ordering stopped.
+            Map<String, Object> record = new HashMap<>();
+            record.put("category", "CAT-1");
+            record.put("amount", "abc");
+            assertEquals(outcome(() -> condition.evaluate(record)), outcome(() -> and.test(record)));
+            assertArrayEquals(new int[]{0, 1, 2}, and.order());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void differentialThrowingSibling() {
+        try {
+            Condition<Map<String, Object>> throwing = new Condition<>() {
+                @Override
+                public boolean evaluate(@NonNull Map<String, Object> data) throws Exception {
+                    Object amount = data.get("amount");
+                    if (amount == null) {
+                        throw new IllegalStateException("Amount not set...");
+                    }
+                    return (Double) amount > 500;
+                }
+
+                @Override
+                public void validate() {
+                }
+            };
+            EvaluationTree<Map<String, Object>, String> tree = new EvaluationTree<>();
+            EvaluationTree.Node<Map<String, Object>, String> node = tree.add(
+                    parser.parse("NOT NULL", "['category']", String.class, null), "ROOT");
+            node.add(throwing, "AMOUNT");
+            node.add(parser.parse("== 'CAT-1'", "['category']", String.class, null), "CAT-1")
+                    .add(parser.parse("< 100", "['amount']", Double.class, null), "CAT-1-LOW");
+            EvaluationTree.Node<Map<String, Object>, String> safe = node.add(
+                    parser.parse("!= 'CAT-2'", "['category']", String.class, null), null);
+            safe.add(throwing, "NESTED");
+            tree.add(parser.parse("NULL", "['category']", String.class, null), "NO-CATEGORY");
+            CompiledEvaluationTree<Map<String, Object>, String> compiled = tree.compile();
+
+            Object[] amounts = {null, 50.0, 250.0, 750.0};
+            Object[] categories = {null, "CAT-1", "CAT-2", "CAT-3"};
+            for (Object amount : amounts) {
+                for (Object category : categories) {
+                    Map<String, Object> record = new HashMap<>();
+                    record.put("amount", amount);
+                    record.put("category", category);
+                    assertEquals(treeOutcome(() -> tree.evaluate(record)), treeOutcome(() -> compiled.evaluate(record)),
+                            String.format("[record=%s]", record));
+                }
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void differentialValueTypes() {
+        try {
+            Object[] amounts = {null, 250.0, 750.0, "600", "abc", 600, 600L, 600.0f, (short) 6, Map.of("v", 1)};
+            Object[] categories = {null, "CAT-1", "CAT-2", 1, Map.of("v", 1)};
+            List<Condition<Map<String, Object>>> conditions = new ArrayList<>();
+            for (String op : OPS) {
+                conditions.add(parser.parse(String.format("%s 500", op), "['amount']", Double.class, null));
+            }
+            conditions.add(parser.parse("NULL", "['category']", String.class, null));
+            conditions.add(parser.parse("NOT NULL", "['category']", String.class, null));
+            conditions.add(parser.parse("== 'CAT-1'", "['category']", String.class, null));
+            // Throwing operands inside junctions, in both positions.
+            conditions.add(new AndCondition<Map<String, Object>>()
+                    .left(parser.parse("NOT NULL", "['category']", String.class, null))
+                    .right(parser.parse("> 500", "['amount']", Double.class, null)));
+            conditions.add(new OrCondition<Map<String, Object>>()
+                    .left(parser.parse("> 500", "['amount']", Double.class, null))
+                    .right(parser.parse("NULL", "['category']", String.class, null)));
+            for (Condition<Map<String, Object>> condition : conditions) {
+                CompiledCondition<Map<String, Object>> compiled = condition.compile();
+                for (int ii = 0; ii < 4; ii++) {
+                    for (Object amount : amounts) {
+                        for (Object category : categories) {
+                            Map<String, Object> record = new HashMap<>();
+                            record.put("amount", amount);
+                            record.put("category", category);
+                            assertEquals(outcome(() -> condition.evaluate(record)), outcome(() -> compiled.test(record)),
+                                    String.format("[record=%s]", record));
+                        }
+                    }
+                }
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    private static <T> boolean declared(boolean conjunction,
+                                        List<CompiledCondition<T>> operands,
+                                        T data) throws Exception {
+        for (CompiledCondition<T> operand : operands) {
+            if (operand.test(data) != conjunction) {
+                return !conjunction;
+            }
+        }
+        return conjunction;
+    }
+
+    /**
+     * Result of the evaluation, or the type of the exception thrown.
+     */
+    private static Object outcome(Callable<Boolean> evaluation) {
+        try {
+            return evaluation.call();
+        } catch (Exception ex) {
+            return ex.getClass();
+        }
+    }
+
+    /**
+     * Result of the tree evaluation, or the type of the exception thrown.
+     */
+    private static Object treeOutcome(Callable<String> evaluation) {
+        try {
+            return evaluation.call();
+        } catch (Exception ex) {
+            return ex.getClass();
+        }
+    }
+
+    private void addChildren(Random random,
+                             EvaluationTree.Node<Map<String, Object>, String> node,
+                             int depth,
+                             AtomicInteger ids) throws Exception {
+        if (depth == 0) return;
+        int count = random.nextInt(4);
+        for (int ii = 0; ii < count; ii++) {
+            EvaluationTree.Node<Map<String, Object>, String> child = node.add(mapCondition(random, 1),
+                    result(random, ids));
+            addChildren(random, child, depth - 1, ids);
+        }
+    }
+
+    private String result(Random random, AtomicInteger ids) {
+        if (random.nextInt(5) == 0) return null;
+        return String.format("RESULT-%d", ids.incrementAndGet());
+    }
+
+    private Condition<Map<String, Object>> mapCondition(Random random, int depth) throws Exception {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            return mapLeaf(random);
+        }
+        Condition<Map<String, Object>> condition;
+        if (random.nextBoolean()) {
+            condition = new AndCondition<Map<String, Object>>()
+                    .left(mapCondition(random, depth - 1))
+                    .right(mapCondition(random, depth - 1));
+        } else {
+            condition = new OrCondition<Map<String, Object>>()
+                    .left(mapCondition(random, depth - 1))
+                    .right(mapCondition(random, depth - 1));
+        }
+        if (random.nextInt(3) == 0) {
+            condition = new ConditionGroup<Map<String, Object>>().condition(condition);
+        }
+        return condition;
+    }
+
+    private Condition<Map<String, Object>> mapLeaf(Random random) throws Exception {
+        String op = OPS[random.nextInt(OPS.length)];
+        return switch (random.nextInt(5)) {
+            case 0 -> parser.parse(String.format("%s 'CAT-%d'", op, random.nextInt(6)),
+                    "['category']", String.class, null);
+            case 1 -> parser.parse(String.format("%s %d", op, random.nextInt(1000)),
+                    "['amount']", Double.class, null);
+            case 2 -> parser.parse(String.format("%s 'EU'", op),
+                    "['nested'].['region']", String.class, null);
+            case 3 -> parser.parse("~= 'CAT-[0-2]'", "['category']", String.class, null);
+            default -> parser.parse(random.nextBoolean() ? "NULL" : "NOT NULL",
+                    "['nested'].['region']", String.class, null);
+        };
+    }
+
+    private Map<String, Object> mapRecord(Random random) {
+        Map<String, Object> record = new HashMap<>();
+        if (random.nextInt(10) > 0) {
+            record.put("category", String.format("CAT-%d", random.nextInt(7)));
+        }
+        int amount = random.nextInt(4);
+        if (amount == 1) {
+            record.put("amount", random.nextDouble() * 1000);
+        } else if (amount == 2) {
+            record.put("amount", String.valueOf(random.nextDouble() * 1000));
+        } else if (amount == 3) {
+            record.put("amount", (double) random.nextInt(1000));
+        }
+        int nested = random.nextInt(5);
+        if (nested == 1) {
+            record.put("nested", "not-a-map");
+        } else if (nested > 1) {
+            Map<String, Object> inner = new HashMap<>();
+            if (nested > 2) {
+                inner.put("region", random.nextBoolean() ? "EU" : "US");
+            }
+            record.put("nested", inner);
+        }
+        return record;
+    }
+
+    private Condition<Sample> pojoCondition(Random random, int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            return pojoLeaf(random);
+        }
+        if (random.nextBoolean()) {
+            return new AndCondition<Sample>()
+                    .left(pojoCondition(random, depth - 1))
+                    .right(pojoCondition(random, depth - 1));
+        }
+        return new OrCondition<Sample>()
+                .left(pojoCondition(random, depth - 1))
+                .right(pojoCondition(random, depth - 1));
+    }
+
+    private Condition<Sample> pojoLeaf(Random random) {
+        Op op = Op.from(OPS[random.nextInt(OPS.length)]);
+        return switch (random.nextInt(3)) {
+            case 0 -> new PojoStringCondition<Sample>()
+                    .property("category")
+                    .op(op)
+                    .value(String.format("CAT-%d", random.nextInt(6)));
+            case 1 -> new PojoNumericCondition<Sample>(Double.class)
+                    .property("amount")
+                    .op(op)
+                    .value((double) random.nextInt(1000));
+            default -> new PojoStringCondition<Sample>()
+                    .property("inner.region")
+                    .op(op)
+                    .value("EU");
+        };
+    }
+
+    private Sample pojoRecord(Random random) {
+        Sample record = new Sample();
+        if (random.nextInt(10) > 0) {
+            record.category = String.format("CAT-%d", random.nextInt(7));
+        }
+        if (random.nextInt(10) > 0) {
+            record.amount = random.nextDouble() * 1000;
+        }
+        if (random.nextInt(4) > 0) {
+            record.inner = new Inner();
+            record.inner.region = random.nextBoolean() ? "EU" : "US";
+        }
+        return record;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.base.core.executor;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.DemoEnv;
+import io.zyient.base.core.model.Heartbeat;
+import io.zyient.base.core.state.BaseStateManager;
+import io.zyient.base.core.state.StateManagerError;
+import lombok.NonNull;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseShardedExecutorTest {
+    private static final BaseStateManager stateManager = new BaseStateManager() {
+        @Override
+        public BaseStateManager init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
+                                     @NonNull BaseEnv<?> env) throws StateManagerError {
+            return this;
+        }
+
+        @Override
+        public Heartbeat heartbeat(@NonNull String instance) throws StateManagerError {
+            return null;
+        }
+    };
+
+    private static class KeyedExecutor extends BaseShardedExecutor<Integer> {
+        @Override
+        public int getShard(@NonNull BaseTask<Integer> task, int shardCount) {
+            return Math.floorMod(((KeyedTask) task).key, shardCount);
+        }
+    }
+
+    private static class KeyedTask extends BaseTask<Integer> {
+        private final int key;
+        private final int sequence;
+        private final Map<Integer, Integer> last;
+        private final AtomicInteger outOfOrder;
+        private final CountDownLatch gate;
+
+        public KeyedTask(int key, int sequence,
+                         Map<Integer, Integer> last,
+                         AtomicInteger outOfOrder,
+                         CountDownLatch gate) {
+            super(stateManager, "test", String.valueOf(key));
+            this.key = key;
+            this.sequence = sequence;
+            this.last = last;
+            this.outOfOrder = outOfOrder;
+            this.gate = gate;
+        }
+
+        @Override
+        public TaskResponse<Integer> initResponse() {
+            return new TaskResponse<>();
+        }
+
+        @Override
+        public Integer execute() throws Exception {
+            if (gate != null) {
+                gate.await();
+            }
+            Integer prev = last.put(key, sequence);
+            if (prev != null && prev + 1 != sequence) {
+                outOfOrder.incrementAndGet();
+            }
+            return sequence;
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    private static KeyedExecutor executor(boolean ordered,
+                                          ShardedExecutorSettings.EBackpressure backpressure,
+                                          int queueSize) throws Exception {
+        ShardedExecutorSettings settings = new ShardedExecutorSettings();
+        settings.setShards(4);
+        settings.setQueueSize(queueSize);
+        settings.setOrdered(ordered);
+        settings.setBackpressure(backpressure);
+        KeyedExecutor executor = new KeyedExecutor();
+        executor.init(settings, new DemoEnv());
+        return executor;
+    }
+
+    @Test
+    void submitOrdered() {
+        try (KeyedExecutor executor = executor(true, ShardedExecutorSettings.EBackpressure.Block, 16)) {
+            Map<Integer, Integer> last = new ConcurrentHashMap<>();
+            AtomicInteger outOfOrder = new AtomicInteger();
+            List<CompletableFuture<TaskResponse<Integer>>> futures = new ArrayList<>();
+            for (int ii = 0; ii < 2000; ii++) {
+                futures.add(executor.submit(new KeyedTask(ii % 8, ii / 8, last, outOfOrder, null)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+            for (CompletableFuture<TaskResponse<Integer>> future : futures) {
+                assertEquals(ETaskState.DONE, future.get().state());
+            }
+            assertEquals(0, outOfOrder.get());
+            assertEquals(8, last.size());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void submitUnordered() {
+        try (KeyedExecutor executor = executor(false, ShardedExecutorSettings.EBackpressure.Block, 16)) {
+            Map<Integer, Integer> last = new ConcurrentHashMap<>();
+            List<CompletableFuture<TaskResponse<Integer>>> futures = new ArrayList<>();
+            for (int ii = 0; ii < 2000; ii++) {
+                futures.add(executor.submit(new KeyedTask(0, ii, last, new AtomicInteger(), null)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+            for (CompletableFuture<TaskResponse<Integer>> future : futures) {
+                assertFalse(future.get().hasError());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void rejectWhenFull() {
+        try (KeyedExecutor executor = executor(true, ShardedExecutorSettings.EBackpressure.Reject, 2)) {
+            Map<Integer, Integer> last = new ConcurrentHashMap<>();
+            CountDownLatch gate = new CountDownLatch(1);
+            List<CompletableFuture<TaskResponse<Integer>>> futures = new ArrayList<>();
+            // One running + two queued.
+            for (int ii = 0; ii < 3; ii++) {
+                futures.add(executor.submit(new KeyedTask(1, ii, last, new AtomicInteger(), gate)));
+            }
+            assertEquals(3, executor.pending(1));
+            assertThrows(RejectedExecutionException.class,
+                    () -> executor.submit(new KeyedTask(1, 3, last, new AtomicInteger(), gate)));
+            // Other shards are not affected.
+            futures.add(executor.submit(new KeyedTask(2, 0, last, new AtomicInteger(), null)));
+            gate.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+            assertEquals(0, executor.pending(1));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
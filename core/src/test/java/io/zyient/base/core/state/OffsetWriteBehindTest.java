@@ -0,0 +1,216 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.base.core.state;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryOneTime;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffsetWriteBehindTest {
+    private static final String BASE_PATH = "/test/offsets";
+    private static TestingServer server;
+    private static CuratorFramework client;
+    private static File directory;
+
+    @Getter
+    @Setter
+    public static class TestOffset {
+        private String name;
+        private long value;
+        private long timeUpdated;
+    }
+
+    private static class CountingStore implements OffsetWriteBehind.OffsetStore {
+        private final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        public byte[] read(@NonNull OffsetJournal.Record record) throws Exception {
+            if (client.checkExists().forPath(record.getPath()) == null) {
+                return null;
+            }
+            return client.getData().forPath(record.getPath());
+        }
+
+        @Override
+        public void write(@NonNull OffsetJournal.Record record) throws Exception {
+            if (client.checkExists().forPath(record.getPath()) == null) {
+                client.create().creatingParentContainersIfNeeded().forPath(record.getPath());
+            }
+            client.setData().forPath(record.getPath(), record.getData());
+            writes.incrementAndGet();
+        }
+
+        @Override
+        public void delete(@NonNull OffsetJournal.Record record) throws Exception {
+            if (client.checkExists().forPath(record.getPath()) != null) {
+                client.delete().forPath(record.getPath());
+            }
+        }
+    }
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        server = new TestingServer(true);
+        client = CuratorFrameworkFactory.newClient(server.getConnectString(), new RetryOneTime(100));
+        client.start();
+        client.blockUntilConnected();
+        directory = Files.createTempDirectory("offsets").toFile();
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    private static void put(OffsetWriteBehind writer, String name, long value, long time) throws Exception {
+        TestOffset offset = new TestOffset();
+        offset.setName(name);
+        offset.setValue(value);
+        offset.setTimeUpdated(time);
+        writer.put("test", name, path(name), time, JSONUtils.asBytes(offset));
+    }
+
+    private static String path(String name) {
+        return String.format("%s/%s", BASE_PATH, name);
+    }
+
+    private static TestOffset read(String name) throws Exception {
+        return JSONUtils.read(client, path(name), TestOffset.class);
+    }
+
+    @Test
+    void coalesceAndFlush() {
+        try {
+            CountingStore store = new CountingStore();
+            OffsetJournal journal = new OffsetJournal(new File(directory, "coalesce.journal"), false);
+            try (OffsetWriteBehind writer = new OffsetWriteBehind("coalesce", journal, store, 0, 10000)) {
+                writer.start();
+                for (int ii = 1; ii <= 500; ii++) {
+                    put(writer, "coalesce-0", ii, ii);
+                    put(writer, "coalesce-1", ii * 2, ii);
+                }
+                assertEquals(2, writer.pending());
+                assertEquals(0, store.writes.get());
+                TestOffset pending = JSONUtils.read(writer.get(path("coalesce-0")), TestOffset.class);
+                assertEquals(500, pending.getValue());
+
+                assertEquals(2, writer.flush());
+                assertEquals(2, store.writes.get());
+                assertEquals(500, read("coalesce-0").getValue());
+                assertEquals(1000, read("coalesce-1").getValue());
+                assertEquals(0, journal.size());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void flushOnCount() {
+        try {
+            CountingStore store = new CountingStore();
+            OffsetJournal journal = new OffsetJournal(new File(directory, "count.journal"), false);
+            try (OffsetWriteBehind writer = new OffsetWriteBehind("count", journal, store, 0, 10)) {
+                writer.start();
+                for (int ii = 1; ii <= 25; ii++) {
+                    put(writer, "count-0", ii, ii);
+                }
+                assertEquals(2, store.writes.get());
+                assertEquals(20, read("count-0").getValue());
+                assertEquals(1, writer.pending());
+            }
+            assertEquals(25, read("count-0").getValue());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void replayAfterCrash() {
+        try {
+            File file = new File(directory, "replay.journal");
+            CountingStore store = new CountingStore();
+            TestOffset seed = new TestOffset();
+            seed.setName("replay-stale");
+            seed.setValue(1000);
+            seed.setTimeUpdated(1000);
+            client.create().creatingParentContainersIfNeeded().forPath(path("replay-stale"), JSONUtils.asBytes(seed));
+
+            OffsetJournal journal = new OffsetJournal(file, true);
+            OffsetWriteBehind writer = new OffsetWriteBehind("replay", journal, store, 0, 10000);
+            writer.start();
+            Map<String, Long> expected = new HashMap<>();
+            for (int ii = 1; ii <= 100; ii++) {
+                String name = String.format("replay-%d", ii % 4);
+                put(writer, name, ii, ii);
+                expected.put(name, (long) ii);
+            }
+            put(writer, "replay-stale", 1, 1);
+            // Simulate a crash: nothing flushed, journal left behind with a torn tail.
+            journal.close();
+            try (FileOutputStream fos = new FileOutputStream(file, true)) {
+                fos.write(new byte[]{0, 0, 0, 64, 1, 2, 3});
+            }
+            for (String name : expected.keySet()) {
+                assertNull(client.checkExists().forPath(path(name)));
+            }
+
+            OffsetJournal recovered = new OffsetJournal(file, false);
+            try (OffsetWriteBehind restarted = new OffsetWriteBehind("replay", recovered, store, 0, 10000)) {
+                assertEquals(expected.size(), restarted.start());
+                for (String name : expected.keySet()) {
+                    TestOffset offset = read(name);
+                    assertNotNull(offset);
+                    assertEquals(expected.get(name), offset.getValue());
+                }
+                // ZooKeeper holds a newer value than the journal: must not be overwritten.
+                assertEquals(1000, read("replay-stale").getValue());
+                assertEquals(0, recovered.size());
+            }
+            // Replay is idempotent: nothing left to re-apply.
+            OffsetJournal again = new OffsetJournal(file, false);
+            try (OffsetWriteBehind restarted = new OffsetWriteBehind("replay", again, store, 0, 10000)) {
+                assertEquals(0, restarted.start());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
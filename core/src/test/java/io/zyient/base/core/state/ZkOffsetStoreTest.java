@@ -0,0 +1,152 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.state;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.base.core.DemoEnv;
+import io.zyient.base.core.DistributedLockBuilder;
+import io.zyient.base.core.connections.common.ZookeeperConnection;
+import io.zyient.base.core.connections.settings.common.ZookeeperSettings;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZkOffsetStoreTest {
+    private static final String BASE_PATH = "/test/zk-offsets";
+    private static final long LOCK_TIMEOUT = 15000;
+    private static TestingServer server;
+    private static ZookeeperConnection connection;
+    private static DistributedLockBuilder builder;
+    private static File directory;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        server = new TestingServer(true);
+        ZookeeperSettings settings = new ZookeeperSettings();
+        settings.setName("test-zk");
+        settings.setConnectionString(server.getConnectString());
+        connection = (ZookeeperConnection) new ZookeeperConnection()
+                .setup(settings, new DemoEnv());
+        connection.connect();
+        builder = new DistributedLockBuilder();
+        directory = Files.createTempDirectory("zk-offsets").toFile();
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        builder.close();
+        connection.close();
+        server.close();
+    }
+
+    private static ZkOffsetStore store() {
+        return new ZkOffsetStore(connection,
+                (type, name, client) -> builder.createLock(name, path(name), connection, LOCK_TIMEOUT));
+    }
+
+    private static String path(String name) {
+        return String.format("%s/%s", BASE_PATH, name);
+    }
+
+    private static OffsetJournal.Record record(String name, long value, long time) throws Exception {
+        OffsetWriteBehindTest.TestOffset offset = new OffsetWriteBehindTest.TestOffset();
+        offset.setName(name);
+        offset.setValue(value);
+        offset.setTimeUpdated(time);
+        OffsetJournal.Record record = new OffsetJournal.Record();
+        record.setType("test");
+        record.setName(name);
+        record.setPath(path(name));
+        record.setTimeUpdated(time);
+        record.setData(JSONUtils.asBytes(offset));
+        return record;
+    }
+
+    private static void put(OffsetWriteBehind writer, OffsetJournal.Record record) throws Exception {
+        writer.put(record.getType(), record.getName(), record.getPath(), record.getTimeUpdated(), record.getData());
+    }
+
+    private static OffsetWriteBehindTest.TestOffset read(String name) throws Exception {
+        return JSONUtils.read(connection.client(), path(name), OffsetWriteBehindTest.TestOffset.class);
+    }
+
+    @Test
+    void writeUpdateAndReload() {
+        try {
+            ZkOffsetStore store = store();
+            CuratorFramework client = connection.client();
+            assertNull(client.checkExists().forPath(path("direct")));
+            // First write: node (and parents) do not exist yet.
+            store.write(record("direct", 1, 1));
+            assertNotNull(client.checkExists().forPath(path("direct")));
+            assertEquals(1, read("direct").getValue());
+            // Update an existing node.
+            store.write(record("direct", 2, 2));
+            assertEquals(2, read("direct").getValue());
+            // Reload through a fresh store instance.
+            byte[] data = store().read(record("direct", 0, 0));
+            assertNotNull(data);
+            assertEquals(2, JSONUtils.read(data, OffsetWriteBehindTest.TestOffset.class).getValue());
+
+            store.delete(record("direct", 0, 0));
+            assertNull(store.read(record("direct", 0, 0)));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void writeBehind() {
+        try {
+            File file = new File(directory, "zk.journal");
+            OffsetJournal journal = new OffsetJournal(file, false);
+            OffsetWriteBehind writer = new OffsetWriteBehind("zk", journal, store(), 0, 10000);
+            writer.start();
+            put(writer, record("behind", 10, 10));
+            assertNull(connection.client().checkExists().forPath(path("behind")));
+            assertEquals(1, writer.flush());
+            assertEquals(10, read("behind").getValue());
+
+            put(writer, record("behind", 20, 20));
+            assertEquals(1, writer.flush());
+            assertEquals(20, read("behind").getValue());
+
+            put(writer, record("behind", 30, 30));
+            // Simulate a crash: the last update is only in the journal.
+            journal.close();
+            assertEquals(20, read("behind").getValue());
+
+            OffsetJournal recovered = new OffsetJournal(file, false);
+            try (OffsetWriteBehind restarted = new OffsetWriteBehind("zk", recovered, store(), 0, 10000)) {
+                assertEquals(1, restarted.start());
+                assertEquals(30, read("behind").getValue());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
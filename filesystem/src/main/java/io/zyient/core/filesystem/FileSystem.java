@@ -27,11 +27,15 @@ import io.zyient.base.core.connections.Connection;
 import io.zyient.base.core.connections.common.ZookeeperConnection;
 import io.zyient.base.core.model.ModuleInstance;
 import io.zyient.base.core.utils.FSPathUtils;
+import io.zyient.core.filesystem.compression.CompressionCodec;
+import io.zyient.core.filesystem.compression.CompressionCodecs;
+import io.zyient.core.filesystem.compression.FramedCompression;
 import io.zyient.core.filesystem.encryption.EncryptionHandler;
 import io.zyient.core.filesystem.encryption.EncryptionType;
 import io.zyient.core.filesystem.impl.PostOperationVisitor;
 import io.zyient.core.filesystem.indexing.FileSystemIndexer;
 import io.zyient.core.filesystem.indexing.FileSystemIndexerSettings;
+import io.zyient.core.filesystem.meta.InodeStore;
 import io.zyient.core.filesystem.model.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -40,7 +44,6 @@ import lombok.experimental.Accessors;
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
-import org.apache.curator.framework.CuratorFramework;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xerial.snappy.Snappy;
@@ -78,6 +81,8 @@ public abstract class FileSystem implements Closeable {
     private final List<PostOperationVisitor> visitors = new ArrayList<>();
     private FileSystemMetrics metrics;
     private FileSystemIndexer indexer = null;
+    @Getter(AccessLevel.NONE)
+    private InodeStore store;
     protected final Map<String, PathsBuilder> pathsBuilders = new HashMap<>();
 
     protected FileSystem withZkConnection(@NonNull ZookeeperConnection connection) {
@@ -164,11 +169,10 @@ public abstract class FileSystem implements Closeable {
         }
         Preconditions.checkState(settings.getContainers() != null && !settings.getContainers().isEmpty());
         domainMap = new FSDomainMap(settings.getDefaultContainer(), settings.getContainers());
-        CuratorFramework client = zkConnection.client();
-        if (client.checkExists().forPath(zkPath) == null) {
-            client.create().creatingParentContainersIfNeeded().forPath(zkPath);
-            client.setData().forPath(zkPath, null);
-        }
+        store = settings.getMetadataStore()
+                .getDeclaredConstructor()
+                .newInstance()
+                .init(settings, zkConnection, zkPath);
         state.setState(Connection.EConnectionState.Connected);
         tmpDir = new File(settings.getTempDir());
         if (!tmpDir.exists()) {
@@ -189,18 +193,20 @@ public abstract class FileSystem implements Closeable {
 
     protected FileSystem postInit() throws IOException {
         try {
-            CuratorFramework client = zkConnection.client();
             Collection<Container> domains = domainMap.getDomains();
-            try (DistributedLock lock = getRootLock(client)) {
+            try (DistributedLock lock = getRootLock()) {
                 lock.lock();
                 try {
                     for (Container domain : domains) {
-                        registerDomain(domain, client);
+                        registerDomain(domain);
                     }
                 } finally {
                     lock.unlock();
                 }
             }
+            if (indexer != null) {
+                indexer.checkRebuild();
+            }
             if (settings.isCleanTmp()) {
                 dirCleaner = new DirectoryCleaner(tmpDir.getAbsolutePath(),
                         true,
@@ -216,57 +222,65 @@ public abstract class FileSystem implements Closeable {
         }
     }
 
-    protected DistributedLock getLock(@NonNull Inode inode,
-                                      @NonNull CuratorFramework client) throws Exception {
+    /**
+     * Get the distributed lock for an inode, locks are always acquired using ZooKeeper
+     * (irrespective of the metadata store).
+     *
+     * @param inode - Inode to lock.
+     * @return - Distributed lock
+     * @throws Exception
+     */
+    public DistributedLock getLock(@NonNull Inode inode) throws Exception {
         Preconditions.checkState(state.isConnected());
         String zp = inode.getZkPath();
-        if (client.checkExists().forPath(zp) == null) {
+        if (!store.exists(zp, true)) {
             throw new Exception(String.format("Failed to get lock: path not found. [path=%s]", zp));
         }
-        return env.createCustomLock(inode.getName(), zp, zkConnection, settings.getLockTimeout().normalized());
-    }
-
-    public DistributedLock getLock(@NonNull Inode inode) throws Exception {
-        Preconditions.checkState(state.isConnected());
-        CuratorFramework client = zkConnection.client();
-        return getLock(inode, client);
+        return createLock(inode.getName(), zp);
     }
 
-    public DistributedLock getDomainLock(@NonNull String domain,
-                                         @NonNull CuratorFramework client) throws Exception {
+    public DistributedLock getDomainLock(@NonNull String domain) throws Exception {
         Preconditions.checkState(state.isConnected());
         String zp = new PathUtils.ZkPathBuilder(zkPath)
                 .withPath(domain)
                 .build();
-        if (client.checkExists().forPath(zp) == null) {
+        if (!store.exists(zp, true)) {
             throw new Exception(String.format("Failed to get lock: path not found. [path=%s]", zp));
         }
-        return env.createCustomLock(domain, zp, zkConnection, settings.getLockTimeout().normalized());
+        return createLock(domain, zp);
     }
 
-    private DistributedLock getRootLock(@NonNull CuratorFramework client) throws Exception {
+    private DistributedLock getRootLock() throws Exception {
         String zp = new PathUtils.ZkPathBuilder(zkPath)
                 .build();
-        if (client.checkExists().forPath(zp) == null) {
+        if (!store.exists(zp, true)) {
             throw new Exception(String.format("Failed to get lock: path not found. [path=%s]", zp));
         }
-        return env.createCustomLock(settings.getName(), zp, zkConnection, settings.getLockTimeout().normalized());
+        return createLock(settings.getName(), zp);
+    }
+
+    private DistributedLock createLock(String name, String zp) throws Exception {
+        return env.createCustomLock(name,
+                zp,
+                zkConnection,
+                settings.getLockTimeout().normalized(),
+                settings.getLockLease().normalized(),
+                (settings.isLockHierarchy() ? zkPath : null));
     }
 
-    private void registerDomain(Container container, CuratorFramework client) throws Exception {
+    private void registerDomain(Container container) throws Exception {
         PathsBuilder builder = getPathsBuilder(container);
         Preconditions.checkNotNull(builder);
         pathsBuilders.put(container.getDomain(), builder);
         String path = builder.buildDomainZkPath();
         DirectoryInode di = null;
-        if (client.checkExists().forPath(path) != null) {
-            byte[] data = client.getData().forPath(path);
+        if (store.exists(path, true)) {
+            byte[] data = store.read(path, true);
             if (data != null && data.length > 0) {
                 di = JSONUtils.read(data, DirectoryInode.class);
                 domains.put(container.getDomain(), di);
             }
         } else {
-            client.create().creatingParentContainersIfNeeded().forPath(path);
             di = new DirectoryInode(container.getDomain(),
                     builder.buildDomainFsPath(),
                     "/");
@@ -279,7 +293,7 @@ public abstract class FileSystem implements Closeable {
             di.setZkPath(path);
             di.setPath("/");
 
-            client.setData().forPath(path, JSONUtils.asBytes(di));
+            store.create(path, JSONUtils.asBytes(di), true);
             domains.put(container.getDomain(), di);
         }
         Preconditions.checkNotNull(di);
@@ -317,9 +331,28 @@ public abstract class FileSystem implements Closeable {
     }
 
     public Inode updateInode(@NonNull Inode inode) throws IOException {
+        return updateInode(inode, -1);
+    }
+
+    /**
+     * Update the inode while holding its lock. If the lock generates fencing tokens, the update
+     * is rejected when the stored inode has been written by a later holder (this holder has lost
+     * the lock).
+     *
+     * @param inode - Inode to update.
+     * @param lock  - Lock held on the inode.
+     * @return - Updated inode.
+     * @throws IOException
+     */
+    public Inode updateInode(@NonNull Inode inode,
+                             @NonNull DistributedLock lock) throws IOException {
+        return updateInode(inode, lock.fencingToken());
+    }
+
+    private Inode updateInode(Inode inode, long fencingToken) throws IOException {
         Preconditions.checkState(state.isConnected());
         PathInfo path = parsePathInfo(inode.getURI());
-        Inode current = getInode(path);
+        Inode current = getInode(path, true);
         if (current == null) {
             throw new IOException(String.format("Inode not found: [path=%s]", inode.getZkPath()));
         }
@@ -331,14 +364,18 @@ public abstract class FileSystem implements Closeable {
         if (current.getUpdateTimestamp() > inode.getUpdateTimestamp()) {
             throw new IOException(String.format("Inode is stale: [path=%s]", inode.getZkPath()));
         }
+        if (fencingToken >= 0) {
+            if (current.getFencingToken() > fencingToken) {
+                throw new IOException(String.format("Lock lost: inode updated by a later holder. [path=%s][token=%d][current=%d]",
+                        inode.getZkPath(), fencingToken, current.getFencingToken()));
+            }
+            inode.setFencingToken(fencingToken);
+        } else {
+            inode.setFencingToken(current.getFencingToken());
+        }
         inode.setUpdateTimestamp(System.currentTimeMillis());
         try {
-            CuratorFramework client = zkConnection.client();
-            try {
-                client.setData().forPath(inode.getZkPath(), JSONUtils.asBytes(inode));
-            } catch (Exception ex) {
-                throw new IOException(ex);
-            }
+            store.write(inode.getZkPath(), JSONUtils.asBytes(inode));
             for (PostOperationVisitor visitor : visitors) {
                 visitor.visit(PostOperationVisitor.Operation.Update,
                         PostOperationVisitor.OperationState.Completed,
@@ -363,12 +400,11 @@ public abstract class FileSystem implements Closeable {
     }
 
     public Inode updateInodeWithLock(@NonNull Inode inode) throws IOException {
-        CuratorFramework client = zkConnection.client();
         try {
-            try (DistributedLock lock = getLock(inode, client)) {
+            try (DistributedLock lock = getLock(inode)) {
                 lock.lock();
                 try {
-                    return updateInode(inode);
+                    return updateInode(inode, lock);
                 } finally {
                     lock.unlock();
                 }
@@ -381,7 +417,7 @@ public abstract class FileSystem implements Closeable {
     protected boolean deleteInode(@NonNull PathInfo path,
                                   boolean recursive) throws IOException {
         Preconditions.checkState(state.isConnected());
-        Inode current = getInode(path);
+        Inode current = getInode(path, true);
         if (current == null) {
             return false;
         }
@@ -389,25 +425,10 @@ public abstract class FileSystem implements Closeable {
         if (parent == null) {
             throw new IOException(String.format("Parent node note found. [zkPath=%s]", current.getParentZkPath()));
         }
-        CuratorFramework client = zkConnection.client();
-        try (DistributedLock lock = getLock(parent, client)) {
+        try (DistributedLock lock = getLock(parent)) {
             lock.lock();
             try {
-                if (recursive)
-                    client.delete().deletingChildrenIfNeeded().forPath(current.getZkPath());
-                else {
-                    client.setData().forPath(current.getZkPath(), null);
-                    List<String> children = client.getChildren().forPath(current.getZkPath());
-                    for (String zp : children) {
-                        if (zp.compareTo(DistributedLock.ZK_PATH_LOCK) == 0) {
-                            String p = new PathUtils.ZkPathBuilder(current.getZkPath())
-                                    .withPath(zp)
-                                    .build();
-                            client.delete().deletingChildrenIfNeeded().forPath(p);
-                        }
-                    }
-                    client.delete().forPath(current.getZkPath());
-                }
+                store.delete(current.getZkPath(), recursive);
                 for (PostOperationVisitor visitor : visitors) {
                     visitor.visit(PostOperationVisitor.Operation.Delete,
                             PostOperationVisitor.OperationState.Completed,
@@ -438,8 +459,7 @@ public abstract class FileSystem implements Closeable {
         String[] parts = zPath.split("/");
         Inode node = null;
         try {
-            CuratorFramework client = zkConnection.client();
-            node = createInode(parent, type, parts, 0, client);
+            node = createInode(parent, type, parts, 0);
             for (PostOperationVisitor visitor : visitors) {
                 visitor.visit(PostOperationVisitor.Operation.Create,
                         PostOperationVisitor.OperationState.Completed,
@@ -466,20 +486,19 @@ public abstract class FileSystem implements Closeable {
     private Inode createInode(DirectoryInode parent,
                               InodeType type,
                               String[] parts,
-                              int index,
-                              CuratorFramework client) throws IOException {
+                              int index) throws IOException {
         Preconditions.checkState(state.isConnected());
         try {
             if (index == parts.length - 1) {
-                try (DistributedLock lock = getLock(parent, client)) {
+                try (DistributedLock lock = getLock(parent)) {
                     lock.lock();
                     try {
                         String zpath = new PathUtils.ZkPathBuilder(parent.getZkPath())
                                 .withPath(parts[index])
                                 .build();
                         if (type == InodeType.Directory) {
-                            if (client.checkExists().forPath(zpath) != null) {
-                                Inode node = getInode(zpath, Inode.class, client);
+                            if (store.exists(zpath, true)) {
+                                Inode node = getInode(zpath, Inode.class, true);
                                 if (node != null) {
                                     if (!node.isDirectory()) {
                                         throw new IOException(String.format("Path with name already exists. [path=%s]", zpath));
@@ -489,24 +508,11 @@ public abstract class FileSystem implements Closeable {
                                     throw new IOException(String.format("Empty path node: [path=%s]", zpath));
                                 }
                             } else {
-                                client.create().forPath(zpath);
-                                PathInfo pi = parsePathInfo(parent, parts[index], InodeType.Directory);
-                                DirectoryInode di = new DirectoryInode(parent.getDomain(), pi.fsPath(), parts[index]);
-                                di.setParent(parent);
-                                di.setURI(pi.pathConfig());
-                                di.setPath(pi.path());
-                                di.setUuid(pi.uuid());
-                                di.setCreateTimestamp(System.currentTimeMillis());
-                                di.setUpdateTimestamp(System.currentTimeMillis());
-                                di.setSynced(true);
-                                di.setZkPath(zpath);
-                                di.setPathInfo(pi);
-
-                                client.setData().forPath(zpath, JSONUtils.asBytes(di));
+                                DirectoryInode di = createDirectory(parent, parts[index], zpath);
+                                store.create(zpath, JSONUtils.asBytes(di), false);
                                 return di;
                             }
                         } else {
-                            client.create().forPath(zpath);
                             PathInfo pi = parsePathInfo(parent, parts[index], InodeType.File);
                             FileInode fi = new FileInode(parent.getDomain(), pi.fsPath(), parts[index]);
                             fi.setParent(parent);
@@ -519,7 +525,7 @@ public abstract class FileSystem implements Closeable {
                             fi.setPathInfo(pi);
                             fi.setCompressed(settings.isCompressed());
                             fi.getState().setState(EFileState.New);
-                            client.setData().forPath(zpath, JSONUtils.asBytes(fi));
+                            store.create(zpath, JSONUtils.asBytes(fi), false);
                             return fi;
                         }
                     } finally {
@@ -531,41 +537,54 @@ public abstract class FileSystem implements Closeable {
                         .withPath(parts[index])
                         .build();
                 DirectoryInode dnode = null;
-                if (client.checkExists().forPath(zpath) != null) {
-                    dnode = getInode(zpath, DirectoryInode.class, client);
+                if (store.exists(zpath, false)) {
+                    dnode = getInode(zpath, DirectoryInode.class, false);
                     if (dnode == null) {
                         throw new IOException(String.format("Empty path node: [path=%s]", zpath));
                     }
                 } else {
-                    try (DistributedLock lock = getLock(parent, client)) {
+                    try (DistributedLock lock = getLock(parent)) {
                         lock.lock();
                         try {
-                            client.create().forPath(zpath);
-                            PathInfo pi = parsePathInfo(parent, parts[index], InodeType.Directory);
-                            dnode = new DirectoryInode(parent.getDomain(), pi.fsPath(), parts[index]);
-                            dnode.setParent(parent);
-                            dnode.setURI(pi.pathConfig());
-                            dnode.setPath(pi.path());
-                            dnode.setUuid(pi.uuid());
-                            dnode.setCreateTimestamp(System.currentTimeMillis());
-                            dnode.setUpdateTimestamp(System.currentTimeMillis());
-                            dnode.setSynced(true);
-                            dnode.setZkPath(zpath);
-                            dnode.setPathInfo(pi);
-
-                            client.setData().forPath(zpath, JSONUtils.asBytes(dnode));
+                            // Might have been created since the (cached) check.
+                            if (store.exists(zpath, true)) {
+                                dnode = getInode(zpath, DirectoryInode.class, true);
+                                if (dnode == null) {
+                                    throw new IOException(String.format("Empty path node: [path=%s]", zpath));
+                                }
+                            } else {
+                                dnode = createDirectory(parent, parts[index], zpath);
+                                store.create(zpath, JSONUtils.asBytes(dnode), false);
+                            }
                         } finally {
                             lock.unlock();
                         }
                     }
                 }
-                return createInode(dnode, type, parts, index + 1, client);
+                return createInode(dnode, type, parts, index + 1);
             }
         } catch (Exception ex) {
             throw new IOException(ex);
         }
     }
 
+    private DirectoryInode createDirectory(DirectoryInode parent,
+                                           String name,
+                                           String zpath) throws IOException {
+        PathInfo pi = parsePathInfo(parent, name, InodeType.Directory);
+        DirectoryInode di = new DirectoryInode(parent.getDomain(), pi.fsPath(), name);
+        di.setParent(parent);
+        di.setURI(pi.pathConfig());
+        di.setPath(pi.path());
+        di.setUuid(pi.uuid());
+        di.setCreateTimestamp(System.currentTimeMillis());
+        di.setUpdateTimestamp(System.currentTimeMillis());
+        di.setSynced(true);
+        di.setZkPath(zpath);
+        di.setPathInfo(pi);
+        return di;
+    }
+
     public boolean checkPathExists(@NonNull PathInfo path) throws IOException {
         Preconditions.checkState(state.isConnected());
         DirectoryInode dnode = domains.get(path.domain());
@@ -575,24 +594,32 @@ public abstract class FileSystem implements Closeable {
         PathsBuilder builder = pathsBuilders.get(path.domain());
         try {
             String zpath = builder.buildZkPath(path.path());
-            CuratorFramework client = zkConnection.client();
-            return client.checkExists().forPath(zpath) != null;
+            return store.exists(zpath, false);
         } catch (Exception ex) {
             throw new IOException(ex);
         }
     }
 
     public Inode getInode(@NonNull PathInfo path) throws IOException {
+        return getInode(path, false);
+    }
+
+    /**
+     * Get the inode for the path.
+     *
+     * @param path       - Path handle.
+     * @param consistent - Read from the metadata store, bypassing any local cache (should be used under inode locks).
+     * @return - Inode, NULL if not found.
+     * @throws IOException
+     */
+    public Inode getInode(@NonNull PathInfo path, boolean consistent) throws IOException {
         Preconditions.checkState(state.isConnected());
         try {
-            CuratorFramework client = zkConnection.client();
-            if (client.checkExists().forPath(path.zkPath()) != null) {
-                DefaultLogger.trace(String.format("Path found. [domain=%s][path=%s]", path.domain(), path.path()));
-                return getInode(path.zkPath(), Inode.class, client);
-            } else {
+            Inode node = getInode(path.zkPath(), Inode.class, consistent);
+            if (node == null) {
                 DefaultLogger.trace(String.format("Path not found. [domain=%s][path=%s]", path.domain(), path.path()));
             }
-            return null;
+            return node;
         } catch (Exception ex) {
             throw new IOException(ex);
         }
@@ -646,7 +673,7 @@ public abstract class FileSystem implements Closeable {
 
     public Inode fileLock(@NonNull FileInode node) throws Exception {
         Preconditions.checkArgument(node.getPathInfo() != null);
-        FileInode current = (FileInode) getInode(node.getPathInfo());
+        FileInode current = (FileInode) getInode(node.getPathInfo(), true);
         if (current.getLock() == null) {
             FileInodeLock lock = new FileInodeLock(id, settings.getName());
             node.setLock(lock);
@@ -674,7 +701,7 @@ public abstract class FileSystem implements Closeable {
 
     public Inode fileUnlock(@NonNull FileInode node) throws Exception {
         Preconditions.checkArgument(node.getPathInfo() != null);
-        FileInode current = (FileInode) getInode(node.getPathInfo());
+        FileInode current = (FileInode) getInode(node.getPathInfo(), true);
         if (current.getLock() == null) {
             throw new Exception(
                     String.format("[FS: %s] File not locked. [domain=%s][path=%s]",
@@ -691,7 +718,7 @@ public abstract class FileSystem implements Closeable {
 
     public Inode fileUpdateLock(@NonNull FileInode node) throws Exception {
         Preconditions.checkArgument(node.getPathInfo() != null);
-        FileInode current = (FileInode) getInode(node.getPathInfo());
+        FileInode current = (FileInode) getInode(node.getPathInfo(), true);
         if (current.getLock() == null) {
             throw new Exception(
                     String.format("[FS: %s] File not locked. [domain=%s][path=%s]",
@@ -709,7 +736,7 @@ public abstract class FileSystem implements Closeable {
 
     public boolean isFileLocked(@NonNull FileInode node) throws Exception {
         Preconditions.checkArgument(node.getPathInfo() != null);
-        FileInode current = (FileInode) getInode(node.getPathInfo());
+        FileInode current = (FileInode) getInode(node.getPathInfo(), true);
         if (current.getLock() == null) {
             return false;
         }
@@ -778,10 +805,9 @@ public abstract class FileSystem implements Closeable {
         Inode root = getInode(module, path);
         if (root != null) {
             if (root.isDirectory()) {
-                CuratorFramework client = zkConnection.client();
                 try {
                     List<Inode> nodes = new ArrayList<>();
-                    list((DirectoryInode) root, recursive, nodes, client);
+                    list((DirectoryInode) root, recursive, nodes);
                     if (!nodes.isEmpty()) return nodes;
                 } catch (Exception ex) {
                     throw new IOException(ex);
@@ -793,21 +819,20 @@ public abstract class FileSystem implements Closeable {
 
     private void list(DirectoryInode parent,
                       boolean recursive,
-                      List<Inode> inodes,
-                      CuratorFramework client) throws Exception {
-        List<String> paths = client.getChildren().forPath(parent.getZkPath());
+                      List<Inode> inodes) throws Exception {
+        List<String> paths = store.children(parent.getZkPath(), false);
         if (paths != null && !paths.isEmpty()) {
             for (String path : paths) {
                 String cpath = new PathUtils.ZkPathBuilder(parent.getZkPath())
                         .withPath(path)
                         .build();
-                Inode cnode = getInode(cpath, Inode.class, client);
+                Inode cnode = getInode(cpath, Inode.class, parent);
                 if (cnode != null) {
                     if (cnode.isFile() || cnode.isArchive()) {
                         inodes.add(cnode);
                     } else if (cnode.isDirectory()) {
                         if (recursive) {
-                            list((DirectoryInode) cnode, true, inodes, client);
+                            list((DirectoryInode) cnode, true, inodes);
                         } else {
                             inodes.add(cnode);
                         }
@@ -819,34 +844,54 @@ public abstract class FileSystem implements Closeable {
 
     private <T extends Inode> T getInode(String path,
                                          Class<T> type,
-                                         CuratorFramework client) throws Exception {
-        byte[] data = client.getData().forPath(path);
+                                         Inode parent) throws Exception {
+        T node = read(path, type, false);
+        if (node != null) {
+            if (parent != null && node.getParentZkPath() != null
+                    && parent.getZkPath().compareTo(node.getParentZkPath()) == 0) {
+                node.setParent(parent);
+                return node;
+            }
+            return withParent(node, false);
+        }
+        return null;
+    }
+
+    private <T extends Inode> T getInode(String path,
+                                         Class<T> type,
+                                         boolean consistent) throws Exception {
+        T node = read(path, type, consistent);
+        if (node != null) {
+            return withParent(node, consistent);
+        }
+        return null;
+    }
+
+    private <T extends Inode> T read(String path,
+                                     Class<T> type,
+                                     boolean consistent) throws Exception {
+        byte[] data = store.read(path, consistent);
         if (data != null && data.length > 0) {
             T node = JSONUtils.read(data, type);
             if (node == null) {
                 throw new Exception(String.format("Failed to read inode data. [path=%s]", path));
             }
             node.setPathInfo(parsePathInfo(node.getURI()));
-            if (!Strings.isNullOrEmpty(node.getParentZkPath())) {
-                Inode parent = getParent(node.getParentZkPath(), client);
-                if (parent == null) {
-                    throw new Exception(String.format("Parent node not found. [path=%s]", node.getParentZkPath()));
-                }
-                node.setParent(parent);
-            }
             return node;
         }
         return null;
     }
 
-    private Inode getParent(String path, CuratorFramework client) throws Exception {
-        byte[] data = client.getData().forPath(path);
-        if (data != null && data.length > 0) {
-            Inode node = JSONUtils.read(data, Inode.class);
-            node.setPathInfo(parsePathInfo(node.getURI()));
-            return node;
+    private <T extends Inode> T withParent(T node,
+                                           boolean consistent) throws Exception {
+        if (!Strings.isNullOrEmpty(node.getParentZkPath())) {
+            Inode parent = read(node.getParentZkPath(), Inode.class, consistent);
+            if (parent == null) {
+                throw new Exception(String.format("Parent node not found. [path=%s]", node.getParentZkPath()));
+            }
+            node.setParent(parent);
         }
-        return null;
+        return node;
     }
 
     public List<Inode> find(@NonNull PathInfo path,
@@ -1035,25 +1080,50 @@ public abstract class FileSystem implements Closeable {
         return null;
     }
 
+    /**
+     * Compress the file (streaming, framed) using the configured codec.
+     *
+     * @param file - File to compress.
+     * @return - Compressed temporary file, NULL if the file is empty.
+     * @throws IOException
+     */
     public File compress(@NonNull File file) throws IOException {
         Preconditions.checkArgument(file.exists());
-        byte[] data = Files.readAllBytes(Paths.get(file.toURI()));
-        if (data.length > 0) {
-            byte[] compressed = Snappy.compress(data);
+        if (file.length() > 0) {
             File outf = createTmpFile();
-            Files.write(Paths.get(outf.toURI()), compressed);
+            try {
+                CompressionCodec codec = CompressionCodecs.get(settings.getCompressionCodec());
+                long frameSize = settings.getCompressionFrameSize().normalized();
+                Preconditions.checkArgument(frameSize > 0 && frameSize <= Integer.MAX_VALUE);
+                FramedCompression.compress(file, outf, codec, (int) frameSize);
+            } catch (IOException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new IOException(ex);
+            }
             return outf;
         }
         return null;
     }
 
+    /**
+     * Decompress the file, files written by earlier versions (whole-file Snappy) are still supported.
+     *
+     * @param file - Compressed file.
+     * @return - Decompressed temporary file, NULL if the file is empty.
+     * @throws IOException
+     */
     public File decompress(@NonNull File file) throws IOException {
         Preconditions.checkArgument(file.exists());
-        byte[] data = Files.readAllBytes(Paths.get(file.toURI()));
-        if (data.length > 0) {
-            byte[] uncompressed = Snappy.uncompress(data);
+        if (file.length() > 0) {
             File outf = createTmpFile();
-            Files.write(Paths.get(outf.toURI()), uncompressed);
+            if (FramedCompression.isFramed(file)) {
+                FramedCompression.decompress(file, outf);
+            } else {
+                byte[] data = Files.readAllBytes(Paths.get(file.toURI()));
+                byte[] uncompressed = Snappy.uncompress(data);
+                Files.write(Paths.get(outf.toURI()), uncompressed);
+            }
             return outf;
         }
         return null;
@@ -1098,14 +1168,78 @@ public abstract class FileSystem implements Closeable {
         }
         try {
             doMove(source, tf);
-            delete(source.getPathInfo(), true);
-            return (FileInode) updateInode(tf);
+            return moveInode(source, tf);
         } catch (Throwable t) {
             delete(tf.getPathInfo());
             throw new IOException(t);
         }
     }
 
+    /**
+     * Update the target and remove the source inode in a single metadata store batch,
+     * so a failure cannot leave both (or neither) of the inodes.
+     *
+     * @param source - Moved inode.
+     * @param target - Target inode.
+     * @return - Updated target inode.
+     * @throws IOException
+     */
+    protected FileInode moveInode(@NonNull FileInode source,
+                                  @NonNull FileInode target) throws IOException {
+        Preconditions.checkState(state.isConnected());
+        Inode parent = source.getParent();
+        if (parent == null) {
+            Inode current = getInode(source.getPathInfo(), true);
+            if (current != null) {
+                parent = current.getParent();
+            }
+        }
+        try {
+            DistributedLock lock = (parent != null ? getLock(parent) : null);
+            if (lock != null) {
+                lock.lock();
+            }
+            try {
+                Inode current = getInode(target.getPathInfo(), true);
+                if (current == null) {
+                    throw new IOException(String.format("Inode not found: [path=%s]", target.getZkPath()));
+                }
+                if (current.getUpdateTimestamp() > target.getUpdateTimestamp()) {
+                    throw new IOException(String.format("Inode is stale: [path=%s]", target.getZkPath()));
+                }
+                target.setUpdateTimestamp(System.currentTimeMillis());
+                InodeStore.Batch batch = new InodeStore.Batch()
+                        .write(target.getZkPath(), JSONUtils.asBytes(target))
+                        .delete(source.getZkPath());
+                store.commit(batch);
+            } finally {
+                if (lock != null) {
+                    lock.unlock();
+                    lock.close();
+                }
+            }
+            for (PostOperationVisitor visitor : visitors) {
+                visitor.visit(PostOperationVisitor.Operation.Delete,
+                        PostOperationVisitor.OperationState.Completed,
+                        source, null);
+                visitor.visit(PostOperationVisitor.Operation.Update,
+                        PostOperationVisitor.OperationState.Completed,
+                        target, null);
+            }
+            return target;
+        } catch (Exception ex) {
+            for (PostOperationVisitor visitor : visitors) {
+                visitor.visit(PostOperationVisitor.Operation.Update,
+                        PostOperationVisitor.OperationState.Error,
+                        target, ex);
+            }
+            if (ex instanceof IOException) {
+                throw (IOException) ex;
+            }
+            throw new IOException(ex);
+        }
+    }
+
     public FileInode rename(@NonNull FileInode source,
                             @NonNull String name) throws IOException {
         PathInfo target = renameFile(source, name);
@@ -1135,6 +1269,10 @@ public abstract class FileSystem implements Closeable {
                 dirCleaner.stop();
                 cleanerThread.join();
             }
+            if (store != null) {
+                store.close();
+                store = null;
+            }
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
             DefaultLogger.error(LOG, "Error closing file system", ex);
@@ -0,0 +1,67 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.compression;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Block codec used to compress the frames of a framed compressed file.
+ * Codecs must be stateless and thread-safe.
+ */
+public interface CompressionCodec {
+    /**
+     * @return - Unique codec ID, stored in the file header.
+     */
+    byte id();
+
+    /**
+     * @return - Codec name, used in configuration.
+     */
+    String name();
+
+    int maxCompressedLength(int length);
+
+    /**
+     * Compress the input into the output buffer.
+     *
+     * @param input        - Uncompressed data.
+     * @param offset       - Input offset.
+     * @param length       - Input length.
+     * @param output       - Output buffer, at least maxCompressedLength() bytes from outputOffset.
+     * @param outputOffset - Output offset.
+     * @return - Compressed length.
+     * @throws IOException
+     */
+    int compress(byte @NonNull [] input, int offset, int length,
+                 byte @NonNull [] output, int outputOffset) throws IOException;
+
+    /**
+     * Decompress the input into the output buffer.
+     *
+     * @param input        - Compressed data.
+     * @param offset       - Input offset.
+     * @param length       - Input length.
+     * @param output       - Output buffer.
+     * @param outputOffset - Output offset.
+     * @param outputLength - Expected uncompressed length.
+     * @throws IOException
+     */
+    void decompress(byte @NonNull [] input, int offset, int length,
+                    byte @NonNull [] output, int outputOffset, int outputLength) throws IOException;
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.compression;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the available compression codecs, custom codecs can be registered
+ * using a unique ID and name.
+ */
+public class CompressionCodecs {
+    private static final Map<String, CompressionCodec> names = new ConcurrentHashMap<>();
+    private static final Map<Byte, CompressionCodec> ids = new ConcurrentHashMap<>();
+
+    static {
+        register(new SnappyCodec());
+        register(new Lz4Codec());
+        register(new ZstdCodec());
+    }
+
+    public static synchronized void register(@NonNull CompressionCodec codec) {
+        CompressionCodec current = ids.get(codec.id());
+        if (current != null && !current.name().equalsIgnoreCase(codec.name())) {
+            throw new IllegalArgumentException(String.format("Codec ID already registered. [id=%d][codec=%s]",
+                    codec.id(), current.name()));
+        }
+        ids.put(codec.id(), codec);
+        names.put(codec.name().toLowerCase(), codec);
+    }
+
+    public static CompressionCodec get(@NonNull String name) throws IOException {
+        CompressionCodec codec = names.get(name.toLowerCase());
+        if (codec == null) {
+            throw new IOException(String.format("Compression codec not found. [name=%s]", name));
+        }
+        return codec;
+    }
+
+    public static CompressionCodec get(byte id) throws IOException {
+        CompressionCodec codec = ids.get(id);
+        if (codec == null) {
+            throw new IOException(String.format("Compression codec not found. [id=%d]", id));
+        }
+        return codec;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.compression;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+/**
+ * Random access (uncompressed positions) over a framed compressed file, only the frames
+ * covering the requested range are read and decompressed. Not thread-safe.
+ */
+@Getter
+@Accessors(fluent = true)
+public class FramedCompressedFile implements Closeable {
+    private final File file;
+    private final CompressionCodec codec;
+    private final int frameSize;
+    private final long size;
+    @Getter(AccessLevel.NONE)
+    private final RandomAccessFile raf;
+    @Getter(AccessLevel.NONE)
+    private final long[] offsets;
+    @Getter(AccessLevel.NONE)
+    private final long[] positions;
+    @Getter(AccessLevel.NONE)
+    private final byte[] frame;
+    @Getter(AccessLevel.NONE)
+    private byte[] compressed;
+    @Getter(AccessLevel.NONE)
+    private int current = -1;
+    @Getter(AccessLevel.NONE)
+    private int currentLength = 0;
+
+    public FramedCompressedFile(@NonNull File file) throws IOException {
+        this.file = file;
+        raf = new RandomAccessFile(file, "r");
+        try {
+            FramedCompression.Header header = FramedCompression.readHeader(raf);
+            codec = header.codec();
+            frameSize = header.frameSize();
+            raf.seek(raf.length() - FramedCompression.TRAILER_SIZE);
+            size = raf.readLong();
+            long indexPosition = raf.readLong();
+            if (raf.readInt() != FramedCompression.MAGIC) {
+                throw new IOException(String.format("Invalid compressed file: trailer magic mismatch. [path=%s]",
+                        file.getAbsolutePath()));
+            }
+            raf.seek(indexPosition);
+            int count = raf.readInt();
+            offsets = new long[count];
+            positions = new long[count];
+            for (int ii = 0; ii < count; ii++) {
+                offsets[ii] = raf.readLong();
+                positions[ii] = raf.readLong();
+            }
+            frame = new byte[frameSize];
+            compressed = new byte[codec.maxCompressedLength(frameSize)];
+        } catch (IOException ex) {
+            raf.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Read uncompressed data starting at the specified position.
+     *
+     * @param position - Uncompressed position.
+     * @param buffer   - Buffer to read into.
+     * @param offset   - Buffer offset.
+     * @param length   - Max bytes to read.
+     * @return - Bytes read, -1 if position is past the end.
+     * @throws IOException
+     */
+    public int read(long position, byte @NonNull [] buffer, int offset, int length) throws IOException {
+        if (position >= size) return -1;
+        int read = 0;
+        while (read < length && position < size) {
+            int index = find(position);
+            load(index);
+            int start = (int) (position - offsets[index]);
+            int n = Math.min(length - read, currentLength - start);
+            System.arraycopy(frame, start, buffer, offset + read, n);
+            read += n;
+            position += n;
+        }
+        return read;
+    }
+
+    private int find(long position) {
+        int index = Arrays.binarySearch(offsets, position);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index;
+    }
+
+    private void load(int index) throws IOException {
+        if (index == current) return;
+        raf.seek(positions[index]);
+        byte flags = raf.readByte();
+        int length = raf.readInt();
+        int clength = raf.readInt();
+        int checksum = raf.readInt();
+        if (length < 0 || length > frameSize || clength < 0) {
+            throw new IOException(String.format("Invalid frame header. [path=%s][frame=%d]",
+                    file.getAbsolutePath(), index));
+        }
+        if (clength > compressed.length) {
+            compressed = new byte[clength];
+        }
+        raf.readFully(compressed, 0, clength);
+        current = -1;
+        FramedCompression.decode(codec, flags, compressed, clength, frame, length, checksum);
+        current = index;
+        currentLength = length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        raf.close();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.compression;
+
+import lombok.NonNull;
+
+import java.io.*;
+import java.util.zip.CRC32C;
+
+/**
+ * Framed compressed file format.
+ * <pre>
+ *     [Header: magic (int), version (byte), codec ID (byte), frame size (int)]
+ *     [Frame: flags (byte), uncompressed length (int), compressed length (int), CRC32C (int), data]
+ *     ...
+ *     [End marker: flags = 0xFF]
+ *     [Index: frame count (int), (uncompressed offset (long), file offset (long)) per frame]
+ *     [Trailer: uncompressed size (long), index position (long), magic (int)]
+ * </pre>
+ * Frames are compressed independently, the index allows reading an arbitrary range
+ * by decompressing only the frames that cover it.
+ */
+public final class FramedCompression {
+    public static final int MAGIC = 0x5A464331;
+    public static final byte VERSION = 1;
+    public static final int HEADER_SIZE = 10;
+    public static final int FRAME_HEADER_SIZE = 13;
+    public static final int TRAILER_SIZE = 20;
+    public static final byte FRAME_COMPRESSED = 0;
+    public static final byte FRAME_STORED = 1;
+    public static final byte FRAME_END = (byte) 0xFF;
+    public static final int DEFAULT_FRAME_SIZE = 1024 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    record Header(CompressionCodec codec, int frameSize) {
+    }
+
+    private FramedCompression() {
+    }
+
+    /**
+     * Check if the file is in the framed format (files written by earlier versions
+     * are whole-file Snappy compressed).
+     *
+     * @param file - Compressed file.
+     * @return - Is framed?
+     * @throws IOException
+     */
+    public static boolean isFramed(@NonNull File file) throws IOException {
+        if (file.length() < HEADER_SIZE + TRAILER_SIZE + 1) {
+            return false;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if (raf.readInt() != MAGIC) {
+                return false;
+            }
+            raf.seek(raf.length() - Integer.BYTES);
+            return raf.readInt() == MAGIC;
+        }
+    }
+
+    public static long compress(@NonNull File source,
+                                @NonNull File target,
+                                @NonNull CompressionCodec codec,
+                                int frameSize) throws IOException {
+        try (InputStream in = new FileInputStream(source);
+             FramedCompressionOutputStream out = new FramedCompressionOutputStream(
+                     new FileOutputStream(target), codec, frameSize)) {
+            in.transferTo(out);
+        }
+        return target.length();
+    }
+
+    public static long decompress(@NonNull File source,
+                                  @NonNull File target) throws IOException {
+        try (InputStream in = new FramedCompressionInputStream(new FileInputStream(source));
+             OutputStream out = new BufferedOutputStream(new FileOutputStream(target), COPY_BUFFER_SIZE)) {
+            return in.transferTo(out);
+        }
+    }
+
+    static void writeHeader(DataOutput out, CompressionCodec codec, int frameSize) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(codec.id());
+        out.writeInt(frameSize);
+    }
+
+    /**
+     * Read the file header.
+     *
+     * @param in - Input positioned at the start of the file.
+     * @return - Codec and frame size.
+     * @throws IOException
+     */
+    static Header readHeader(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid compressed file: header magic mismatch.");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported compressed file version. [version=%d]", version));
+        }
+        CompressionCodec codec = CompressionCodecs.get(in.readByte());
+        int frameSize = in.readInt();
+        if (frameSize <= 0) {
+            throw new IOException(String.format("Invalid frame size. [size=%d]", frameSize));
+        }
+        return new Header(codec, frameSize);
+    }
+
+    /**
+     * Decode a frame into the output buffer and verify its checksum.
+     */
+    static void decode(CompressionCodec codec,
+                       byte flags,
+                       byte[] input,
+                       int length,
+                       byte[] output,
+                       int outputLength,
+                       int checksum) throws IOException {
+        if (flags == FRAME_STORED) {
+            if (length != outputLength) {
+                throw new IOException(String.format("Invalid stored frame. [length=%d][expected=%d]",
+                        length, outputLength));
+            }
+            System.arraycopy(input, 0, output, 0, length);
+        } else if (flags == FRAME_COMPRESSED) {
+            codec.decompress(input, 0, length, output, 0, outputLength);
+        } else {
+            throw new IOException(String.format("Invalid frame flags. [flags=%d]", flags));
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(output, 0, outputLength);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Frame checksum mismatch.");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.compression;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.*;
+
+/**
+ * Sequentially decompresses a framed compressed stream, one frame at a time.
+ */
+@Getter
+@Accessors(fluent = true)
+public class FramedCompressionInputStream extends InputStream {
+    private final DataInputStream in;
+    private final CompressionCodec codec;
+    private final int frameSize;
+    @Getter(AccessLevel.NONE)
+    private final byte[] frame;
+    @Getter(AccessLevel.NONE)
+    private byte[] compressed;
+    @Getter(AccessLevel.NONE)
+    private int position = 0;
+    @Getter(AccessLevel.NONE)
+    private int limit = 0;
+    @Getter(AccessLevel.NONE)
+    private boolean eof = false;
+
+    public FramedCompressionInputStream(@NonNull InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        FramedCompression.Header header = FramedCompression.readHeader(this.in);
+        codec = header.codec();
+        frameSize = header.frameSize();
+        frame = new byte[frameSize];
+        compressed = new byte[codec.maxCompressedLength(frameSize)];
+    }
+
+    private boolean next() throws IOException {
+        while (position >= limit) {
+            if (eof) return false;
+            int flags = in.read();
+            if (flags < 0) {
+                throw new EOFException("Compressed stream truncated: end marker not found.");
+            }
+            if ((byte) flags == FramedCompression.FRAME_END) {
+                eof = true;
+                return false;
+            }
+            int length = in.readInt();
+            int clength = in.readInt();
+            int checksum = in.readInt();
+            if (length < 0 || length > frameSize || clength < 0) {
+                throw new IOException(String.format("Invalid frame header. [length=%d][compressed=%d]",
+                        length, clength));
+            }
+            if (clength > compressed.length) {
+                compressed = new byte[clength];
+            }
+            in.readFully(compressed, 0, clength);
+            FramedCompression.decode(codec, (byte) flags, compressed, clength, frame, length, checksum);
+            position = 0;
+            limit = length;
+        }
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!next()) return -1;
+        return frame[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte @NonNull [] buffer, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        int read = 0;
+        while (read < length && next()) {
+            int n = Math.min(length - read, limit - position);
+            System.arraycopy(frame, position, buffer, offset + read, n);
+            position += n;
+            read += n;
+        }
+        return (read > 0 ? read : -1);
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.compression;
+
+import com.google.common.base.Preconditions;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.*;
+import java.util.zip.CRC32C;
+
+/**
+ * Compresses the written data into independent frames of at most frameSize bytes,
+ * the frame index and trailer are written on close.
+ */
+@Getter
+@Accessors(fluent = true)
+public class FramedCompressionOutputStream extends OutputStream {
+    private final DataOutputStream out;
+    private final CompressionCodec codec;
+    private final int frameSize;
+    @Getter(AccessLevel.NONE)
+    private final byte[] buffer;
+    @Getter(AccessLevel.NONE)
+    private final byte[] compressed;
+    @Getter(AccessLevel.NONE)
+    private final CRC32C crc = new CRC32C();
+    @Getter(AccessLevel.NONE)
+    private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+    @Getter(AccessLevel.NONE)
+    private final DataOutputStream indexWriter = new DataOutputStream(index);
+    @Getter(AccessLevel.NONE)
+    private int count = 0;
+    private int frames = 0;
+    private long unposition = 0;
+    @Getter(AccessLevel.NONE)
+    private long position = 0;
+    private boolean closed = false;
+
+    public FramedCompressionOutputStream(@NonNull OutputStream out,
+                                         @NonNull CompressionCodec codec,
+                                         int frameSize) throws IOException {
+        Preconditions.checkArgument(frameSize > 0);
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.codec = codec;
+        this.frameSize = frameSize;
+        buffer = new byte[frameSize];
+        compressed = new byte[codec.maxCompressedLength(frameSize)];
+        FramedCompression.writeHeader(this.out, codec, frameSize);
+        position = FramedCompression.HEADER_SIZE;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        checkOpen();
+        buffer[count++] = (byte) b;
+        if (count == frameSize) {
+            writeFrame();
+        }
+    }
+
+    @Override
+    public void write(byte @NonNull [] data, int offset, int length) throws IOException {
+        checkOpen();
+        while (length > 0) {
+            int n = Math.min(length, frameSize - count);
+            System.arraycopy(data, offset, buffer, count, n);
+            count += n;
+            offset += n;
+            length -= n;
+            if (count == frameSize) {
+                writeFrame();
+            }
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        if (count == 0) return;
+        indexWriter.writeLong(unposition);
+        indexWriter.writeLong(position);
+        crc.reset();
+        crc.update(buffer, 0, count);
+        int length = codec.compress(buffer, 0, count, compressed, 0);
+        byte[] data = compressed;
+        byte flags = FramedCompression.FRAME_COMPRESSED;
+        if (length >= count) {
+            // Incompressible, store as is.
+            data = buffer;
+            length = count;
+            flags = FramedCompression.FRAME_STORED;
+        }
+        out.writeByte(flags);
+        out.writeInt(count);
+        out.writeInt(length);
+        out.writeInt((int) crc.getValue());
+        out.write(data, 0, length);
+        unposition += count;
+        position += FramedCompression.FRAME_HEADER_SIZE + length;
+        frames++;
+        count = 0;
+    }
+
+    /**
+     * Writes the buffered data as a (possibly partial) frame.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+        writeFrame();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        try {
+            writeFrame();
+            out.writeByte(FramedCompression.FRAME_END);
+            long indexPosition = position + 1;
+            out.writeInt(frames);
+            index.writeTo(out);
+            out.writeLong(unposition);
+            out.writeLong(indexPosition);
+            out.writeInt(FramedCompression.MAGIC);
+            out.flush();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+}
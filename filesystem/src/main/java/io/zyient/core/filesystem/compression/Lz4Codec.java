@@ -0,0 +1,79 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.compression;
+
+import lombok.NonNull;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.io.IOException;
+
+public class Lz4Codec implements CompressionCodec {
+    public static final byte ID = 2;
+    public static final String NAME = "lz4";
+
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor decompressor;
+
+    public Lz4Codec() {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        compressor = factory.fastCompressor();
+        decompressor = factory.safeDecompressor();
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+        return compressor.maxCompressedLength(length);
+    }
+
+    @Override
+    public int compress(byte @NonNull [] input, int offset, int length,
+                        byte @NonNull [] output, int outputOffset) throws IOException {
+        try {
+            return compressor.compress(input, offset, length, output, outputOffset,
+                    output.length - outputOffset);
+        } catch (LZ4Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public void decompress(byte @NonNull [] input, int offset, int length,
+                           byte @NonNull [] output, int outputOffset, int outputLength) throws IOException {
+        try {
+            int size = decompressor.decompress(input, offset, length, output, outputOffset, outputLength);
+            if (size != outputLength) {
+                throw new IOException(String.format("Invalid frame length. [expected=%d][actual=%d]",
+                        outputLength, size));
+            }
+        } catch (LZ4Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+}
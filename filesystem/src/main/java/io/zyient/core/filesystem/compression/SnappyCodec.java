@@ -0,0 +1,58 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.compression;
+
+import lombok.NonNull;
+import org.xerial.snappy.Snappy;
+
+import java.io.IOException;
+
+public class SnappyCodec implements CompressionCodec {
+    public static final byte ID = 1;
+    public static final String NAME = "snappy";
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+        return Snappy.maxCompressedLength(length);
+    }
+
+    @Override
+    public int compress(byte @NonNull [] input, int offset, int length,
+                        byte @NonNull [] output, int outputOffset) throws IOException {
+        return Snappy.rawCompress(input, offset, length, output, outputOffset);
+    }
+
+    @Override
+    public void decompress(byte @NonNull [] input, int offset, int length,
+                           byte @NonNull [] output, int outputOffset, int outputLength) throws IOException {
+        int size = Snappy.rawUncompress(input, offset, length, output, outputOffset);
+        if (size != outputLength) {
+            throw new IOException(String.format("Invalid frame length. [expected=%d][actual=%d]",
+                    outputLength, size));
+        }
+    }
+}
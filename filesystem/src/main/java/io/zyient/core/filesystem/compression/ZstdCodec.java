@@ -0,0 +1,81 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.compression;
+
+import com.github.luben.zstd.Zstd;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.IOException;
+
+@Getter
+@Accessors(fluent = true)
+public class ZstdCodec implements CompressionCodec {
+    public static final byte ID = 3;
+    public static final String NAME = "zstd";
+    public static final int DEFAULT_LEVEL = 3;
+
+    private final int level;
+
+    public ZstdCodec() {
+        this(DEFAULT_LEVEL);
+    }
+
+    public ZstdCodec(int level) {
+        this.level = level;
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+        return (int) Zstd.compressBound(length);
+    }
+
+    @Override
+    public int compress(byte @NonNull [] input, int offset, int length,
+                        byte @NonNull [] output, int outputOffset) throws IOException {
+        long size = Zstd.compressByteArray(output, outputOffset, output.length - outputOffset,
+                input, offset, length, level);
+        if (Zstd.isError(size)) {
+            throw new IOException(String.format("Compression failed. [error=%s]", Zstd.getErrorName(size)));
+        }
+        return (int) size;
+    }
+
+    @Override
+    public void decompress(byte @NonNull [] input, int offset, int length,
+                           byte @NonNull [] output, int outputOffset, int outputLength) throws IOException {
+        long size = Zstd.decompressByteArray(output, outputOffset, outputLength, input, offset, length);
+        if (Zstd.isError(size)) {
+            throw new IOException(String.format("Decompression failed. [error=%s]", Zstd.getErrorName(size)));
+        }
+        if (size != outputLength) {
+            throw new IOException(String.format("Invalid frame length. [expected=%d][actual=%d]",
+                    outputLength, size));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.impl;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.DistributedLock;
+import io.zyient.core.filesystem.model.ChunkManifest;
+import io.zyient.core.filesystem.model.FileInode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Background compaction of append mode files: merges runs of small chunks into a single chunk and
+ * deletes replaced chunks once their retention period has passed.
+ * <p>
+ * The merged chunk is uploaded without holding the inode lock, the manifest is only swapped if the
+ * merged chunks have not changed in the meantime.
+ */
+@Getter
+@Accessors(fluent = true)
+public class ChunkCompactor implements Runnable {
+    private final RemoteFileSystem fs;
+    private final FileInode inode;
+
+    public ChunkCompactor(@NonNull RemoteFileSystem fs,
+                          @NonNull FileInode inode) {
+        Preconditions.checkArgument(fs instanceof ChunkStore);
+        this.fs = fs;
+        this.inode = inode;
+    }
+
+    @Override
+    public void run() {
+        try {
+            compact();
+        } catch (Throwable t) {
+            DefaultLogger.stacktrace(t);
+            DefaultLogger.error(String.format("Chunk compaction failed. [domain=%s][path=%s][error=%s]",
+                    inode.getDomain(), inode.getPath(), t.getLocalizedMessage()));
+        } finally {
+            fs.compacted(inode);
+        }
+    }
+
+    /**
+     * Run a compaction pass on the file.
+     *
+     * @return - Was the manifest updated?
+     * @throws Exception
+     */
+    public boolean compact() throws Exception {
+        ChunkStore store = (ChunkStore) fs;
+        RemoteFileSystemSettings settings = (RemoteFileSystemSettings) fs.settings();
+        FileInode current = (FileInode) fs.getInode(inode.getPathInfo());
+        if (current == null || current.getManifest() == null) {
+            return false;
+        }
+        ChunkManifest.Span span = current.getManifest()
+                .compaction(settings.getCompactionMinSize(), settings.getCompactionChunks());
+        String path = null;
+        List<ChunkManifest.Chunk> chunks = null;
+        if (span != null) {
+            chunks = new ArrayList<>(current.getManifest().getChunks().subList(span.from(), span.to()));
+            path = merge(store, current, chunks);
+        } else if (!current.getManifest().hasExpired(settings.getCompactionRetention())) {
+            return false;
+        }
+        boolean updated = false;
+        boolean discard = false;
+        List<ChunkManifest.Chunk> expired = null;
+        try (DistributedLock lock = fs.getLock(current)) {
+            lock.lock();
+            try {
+                FileInode latest = (FileInode) fs.getInode(current.getPathInfo(), true);
+                ChunkManifest manifest = latest.getManifest();
+                if (manifest != null) {
+                    if (span != null) {
+                        if (manifest.matches(span, chunks)) {
+                            manifest.replace(span, path);
+                            updated = true;
+                        } else {
+                            discard = true;
+                        }
+                    }
+                    expired = manifest.expire(settings.getCompactionRetention());
+                    if (updated || !expired.isEmpty()) {
+                        fs.updateInode(latest, lock);
+                    }
+                } else {
+                    discard = (path != null);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (Exception ex) {
+            if (path != null) {
+                delete(store, current, path);
+            }
+            throw ex;
+        }
+        if (discard) {
+            // File was rewritten or compacted by another pass.
+            delete(store, current, path);
+        }
+        if (expired != null) {
+            String basePath = current.getPathInfo().fsPath();
+            for (ChunkManifest.Chunk chunk : expired) {
+                // The object at the file path is kept, it is replaced or removed with the file.
+                if (chunk.getPath().compareTo(basePath) == 0) continue;
+                delete(store, current, chunk.getPath());
+            }
+        }
+        return updated;
+    }
+
+    private String merge(ChunkStore store,
+                         FileInode inode,
+                         List<ChunkManifest.Chunk> chunks) throws Exception {
+        File temp = fs.createTmpFile();
+        try {
+            store.appendChunks(inode, chunks, temp);
+            String path = ChunkManifest.chunkPath(inode.getPathInfo().fsPath());
+            store.putChunk(inode, path, temp, 0, temp.length());
+            return path;
+        } finally {
+            if (temp.exists() && !temp.delete()) {
+                DefaultLogger.warn(String.format("Failed to delete file. [path=%s]", temp.getAbsolutePath()));
+            }
+        }
+    }
+
+    private void delete(ChunkStore store, FileInode inode, String path) {
+        try {
+            store.deleteChunk(inode, path);
+        } catch (IOException ex) {
+            DefaultLogger.warn(String.format("Failed to delete chunk. [path=%s][error=%s]",
+                    path, ex.getLocalizedMessage()));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.impl;
+
+import io.zyient.core.filesystem.model.ChunkManifest;
+import io.zyient.core.filesystem.model.FileInode;
+import lombok.NonNull;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * File systems that can store a file as immutable chunks (see {@link ChunkManifest}), used by
+ * writers to upload only the appended data.
+ */
+public interface ChunkStore {
+    int COPY_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Upload a range of the local file as a chunk.
+     *
+     * @param inode  - File inode.
+     * @param path   - Stored chunk path.
+     * @param source - Local file.
+     * @param offset - Offset in the local file.
+     * @param length - Chunk length.
+     * @throws IOException
+     */
+    void putChunk(@NonNull FileInode inode,
+                  @NonNull String path,
+                  @NonNull File source,
+                  long offset,
+                  long length) throws IOException;
+
+    /**
+     * Read up to length bytes of a stored chunk.
+     *
+     * @param inode    - File inode.
+     * @param path     - Stored chunk path.
+     * @param position - Position in the chunk.
+     * @param buffer   - Buffer to read into.
+     * @param offset   - Buffer offset.
+     * @param length   - Max bytes to read.
+     * @return - Bytes read, -1 if position is past the end of the chunk.
+     * @throws IOException
+     */
+    int readChunk(@NonNull FileInode inode,
+                  @NonNull String path,
+                  long position,
+                  byte @NonNull [] buffer,
+                  int offset,
+                  int length) throws IOException;
+
+    /**
+     * Delete a stored chunk.
+     *
+     * @param inode - File inode.
+     * @param path  - Stored chunk path.
+     * @throws IOException
+     */
+    void deleteChunk(@NonNull FileInode inode, @NonNull String path) throws IOException;
+
+    /**
+     * Read file data across the chunks in the inode manifest.
+     *
+     * @param inode    - File inode (with manifest).
+     * @param position - File position to read from.
+     * @param buffer   - Buffer to read into.
+     * @param offset   - Buffer offset.
+     * @param length   - Max bytes to read.
+     * @return - Bytes read, -1 if position is past the end of the file.
+     * @throws IOException
+     */
+    default int readChunked(@NonNull FileInode inode,
+                            long position,
+                            byte @NonNull [] buffer,
+                            int offset,
+                            int length) throws IOException {
+        ChunkManifest manifest = inode.getManifest();
+        int index = manifest.find(position);
+        if (index < 0) {
+            return -1;
+        }
+        int read = 0;
+        while (read < length && index < manifest.size()) {
+            ChunkManifest.Chunk chunk = manifest.get(index);
+            int count = (int) Math.min(length - read, chunk.end() - position);
+            int r = readChunk(inode, chunk.getPath(), position - chunk.getOffset(), buffer, offset + read, count);
+            if (r < 0) {
+                throw new EOFException(String.format("Unexpected end of chunk. [path=%s][position=%d]",
+                        chunk.getPath(), position - chunk.getOffset()));
+            }
+            read += r;
+            position += r;
+            if (position >= chunk.end()) {
+                index++;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Append the data of the chunks to the local file.
+     *
+     * @param inode  - File inode.
+     * @param chunks - Chunks to append.
+     * @param target - Local file to append to.
+     * @throws IOException
+     */
+    default void appendChunks(@NonNull FileInode inode,
+                              @NonNull List<ChunkManifest.Chunk> chunks,
+                              @NonNull File target) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (FileOutputStream fos = new FileOutputStream(target, true)) {
+            for (ChunkManifest.Chunk chunk : chunks) {
+                long position = 0;
+                while (position < chunk.getLength()) {
+                    int count = (int) Math.min(buffer.length, chunk.getLength() - position);
+                    int r = readChunk(inode, chunk.getPath(), position, buffer, 0, count);
+                    if (r < 0) {
+                        throw new EOFException(String.format("Unexpected end of chunk. [path=%s][position=%d]",
+                                chunk.getPath(), position));
+                    }
+                    fos.write(buffer, 0, r);
+                    position += r;
+                }
+            }
+        }
+    }
+}
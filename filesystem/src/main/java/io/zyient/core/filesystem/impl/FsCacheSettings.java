@@ -19,14 +19,21 @@ package io.zyient.core.filesystem.impl;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.zyient.base.common.config.Config;
 import io.zyient.base.common.config.Settings;
+import io.zyient.base.common.config.units.SpaceUnitValue;
+import io.zyient.base.common.config.units.SpaceValueParser;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * <pre>
  *     <cache>
- *         <size>[Max Cache record count, default = 128]</size>
- *         <timeout>[Cache entry timeout, default = 60sec]</timeout>
+ *         <size>[Max number of file sizes tracked, default = 128]</size>
+ *         <maxSize>[Max on-disk size of cached data, default = 2GB]</maxSize>
+ *         <timeout>[Cache entry timeout, default = 5min]</timeout>
+ *         <directory>[Cache directory, optional, default = temporary directory]</directory>
+ *         <block>
+ *             <size>[Size of cached blocks, default = 4MB]</size>
+ *         </block>
  *         <download>
  *             <timeout>[File download timeout, default = 60sec]</timeout>
  *         </download>
@@ -40,6 +47,7 @@ import lombok.Setter;
 public class FsCacheSettings extends Settings {
     public static final String __CONFIG_PATH = "cache";
     public static final String CONFIG_DOWNLOAD_TIMEOUT = "download.timeout";
+    public static final String CONFIG_BLOCK_SIZE = "block.size";
 
     private static final int CACHE_SIZE = 128;
     private static final long CACHE_TIMEOUT = 5 * 60 * 1000;
@@ -47,6 +55,12 @@ public class FsCacheSettings extends Settings {
 
     @Config(name = "size", required = false, type = Integer.class)
     private int cacheSize = CACHE_SIZE;
+    @Config(name = "maxSize", required = false, parser = SpaceValueParser.class)
+    private SpaceUnitValue maxSize = new SpaceUnitValue(2, SpaceUnitValue.SpaceUnit.GIGABYTES);
+    @Config(name = CONFIG_BLOCK_SIZE, required = false, parser = SpaceValueParser.class)
+    private SpaceUnitValue blockSize = new SpaceUnitValue(4, SpaceUnitValue.SpaceUnit.MEGABYTES);
+    @Config(name = "directory", required = false)
+    private String directory;
     @Config(name = "timeout", required = false, type = Long.class)
     private long cacheTimeout = CACHE_TIMEOUT;
     @Config(name = CONFIG_DOWNLOAD_TIMEOUT, required = false, type = Long.class)
@@ -0,0 +1,53 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.impl;
+
+import io.zyient.core.filesystem.model.FileInode;
+import lombok.NonNull;
+
+import java.io.IOException;
+
+/**
+ * File systems that can read byte ranges of a stored file without fetching the whole file.
+ */
+public interface RangeReader {
+    /**
+     * Get the stored size of the file.
+     *
+     * @param inode - File inode.
+     * @return - Size in bytes.
+     * @throws IOException
+     */
+    long size(@NonNull FileInode inode) throws IOException;
+
+    /**
+     * Read up to length bytes of the stored file, starting at the specified position.
+     *
+     * @param inode    - File inode.
+     * @param position - File position to read from.
+     * @param buffer   - Buffer to read into.
+     * @param offset   - Buffer offset.
+     * @param length   - Max bytes to read.
+     * @return - Bytes read, -1 if position is past the end of the file.
+     * @throws IOException
+     */
+    int read(@NonNull FileInode inode,
+             long position,
+             byte @NonNull [] buffer,
+             int offset,
+             int length) throws IOException;
+}
@@ -23,6 +23,7 @@ import io.zyient.base.common.utils.PathUtils;
 import io.zyient.base.core.BaseEnv;
 import io.zyient.core.filesystem.FileSystem;
 import io.zyient.core.filesystem.model.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.Accessors;
@@ -32,6 +33,10 @@ import org.apache.commons.io.FilenameUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -42,6 +47,8 @@ import java.util.concurrent.TimeUnit;
 public abstract class RemoteFileSystem extends FileSystem implements FileUploadCallback {
     private RemoteFsCache cache;
     protected ExecutorService uploader;
+    @Getter(AccessLevel.NONE)
+    private final Set<String> compactions = ConcurrentHashMap.newKeySet();
 
     @Override
     public void init(@NonNull HierarchicalConfiguration<ImmutableNode> config,
@@ -166,6 +173,41 @@ public abstract class RemoteFileSystem extends FileSystem implements FileUploadC
     }
 
 
+    /**
+     * Schedule a background compaction of the file chunks, if one is not already running.
+     *
+     * @param inode - File inode (in append mode).
+     */
+    public void compact(@NonNull FileInode inode) {
+        compact(inode, 0);
+    }
+
+    /**
+     * Schedule a background compaction of the file chunks after a delay (e.g. for retired chunks
+     * to expire), if one is not already scheduled.
+     *
+     * @param inode - File inode (in append mode).
+     * @param delay - Delay in milliseconds.
+     */
+    public void compact(@NonNull FileInode inode, long delay) {
+        if (!(this instanceof ChunkStore)) return;
+        if (compactions.add(inode.getUuid())) {
+            try {
+                Executor executor = (delay > 0 ?
+                        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, uploader) : uploader);
+                executor.execute(new ChunkCompactor(this, inode));
+            } catch (RuntimeException ex) {
+                compactions.remove(inode.getUuid());
+                DefaultLogger.warn(LOG, String.format("Failed to schedule compaction. [path=%s][error=%s]",
+                        inode.getPath(), ex.getLocalizedMessage()));
+            }
+        }
+    }
+
+    protected void compacted(@NonNull FileInode inode) {
+        compactions.remove(inode.getUuid());
+    }
+
     protected File getInodeTempPath(PathInfo path) throws IOException {
         String dir = FilenameUtils.getPath(path.path());
         dir = PathUtils.formatPath(String.format("%s/%s", path.domain(), dir));
@@ -213,6 +255,9 @@ public abstract class RemoteFileSystem extends FileSystem implements FileUploadC
         } catch (InterruptedException e) {
             uploader.shutdownNow();
         }
+        if (cache != null) {
+            cache.close();
+        }
     }
 
     @Getter
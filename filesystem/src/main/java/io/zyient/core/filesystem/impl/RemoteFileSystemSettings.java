@@ -39,13 +39,28 @@ import lombok.Setter;
  *                     <connection>[zookeeper connection name]</connection>
  *                     <path>[zookeeper path]</path>
  *                     <lockTimeout>[distributed lock timeout (optional)</lockTimeout>
+ *                     <cache>[true|false, cache inode metadata locally using watches, default=false]</cache>
+ *                     <lockLease>[distributed lock lease, re-used locally without ZooKeeper round-trips, default=0 (disabled)]</lockLease>
+ *                     <lockHierarchy>[true|false, hierarchical (intent) locks, default=false]</lockHierarchy>
  *                 </zk>
+ *                 <metadata> -- Optional
+ *                     <store>[Inode store class, default=ZkInodeStore]</store>
+ *                     <path>[Local directory for embedded stores (LocalInodeStore)]</path>
+ *                 </metadata>
  *                 <writer>
  *                     <flush>
  *                         <size>[Flush trigger size (in bytes), default = 32MB]</size>
  *                         <interval>[Flush interval (in milliseconds), default = 1min</interval>
  *                     </flush>
  *                     <threads>[Max #of upload threads, default = 4]</threads>
+ *                     <append> -- Optional
+ *                         <enabled>[true|false, upload only appended data as chunks, default=false]</enabled>
+ *                         <compaction>
+ *                             <chunks>[Compact if a file has more chunks, default = 32]</chunks>
+ *                             <minSize>[Merge chunks smaller than (in bytes), default = 8MB]</minSize>
+ *                             <retention>[Keep replaced chunks for (in milliseconds), default = 10min]</retention>
+ *                         </compaction>
+ *                     </append>
  *                 </writer>
  *                 <compressed>[true|false, default=false]</compressed>
  *                 <containers>
@@ -69,9 +84,16 @@ public class RemoteFileSystemSettings extends FileSystemSettings {
     public static final String CONFIG_WRITER_FLUSH_INTERVAL = "writer.flush.interval";
     public static final String CONFIG_WRITER_FLUSH_SIZE = "writer.flush.size";
     public static final String CONFIG_WRITER_UPLOAD_THREADS = "writer.threads";
+    public static final String CONFIG_WRITER_APPEND = "writer.append.enabled";
+    public static final String CONFIG_COMPACTION_CHUNKS = "writer.append.compaction.chunks";
+    public static final String CONFIG_COMPACTION_MIN_SIZE = "writer.append.compaction.minSize";
+    public static final String CONFIG_COMPACTION_RETENTION = "writer.append.compaction.retention";
     private static final long DEFAULT_WRITER_FLUSH_INTERVAL = 60 * 1000; // 1min
     private static final long DEFAULT_WRITER_FLUSH_SIZE = 1024 * 1024 * 32; //32MB
     private static final int DEFAULT_UPLOAD_THREAD_COUNT = 4;
+    private static final int DEFAULT_COMPACTION_CHUNKS = 32;
+    private static final long DEFAULT_COMPACTION_MIN_SIZE = 1024 * 1024 * 8; //8MB
+    private static final long DEFAULT_COMPACTION_RETENTION = 10 * 60 * 1000; // 10min
 
     @Config(name = CONFIG_WRITER_FLUSH_INTERVAL, required = false, type = Long.class)
     private long writerFlushInterval = DEFAULT_WRITER_FLUSH_INTERVAL;
@@ -79,5 +101,13 @@ public class RemoteFileSystemSettings extends FileSystemSettings {
     private long writerFlushSize = DEFAULT_WRITER_FLUSH_SIZE;
     @Config(name = CONFIG_WRITER_UPLOAD_THREADS, required = false, type = Integer.class)
     private int uploadThreadCount = DEFAULT_UPLOAD_THREAD_COUNT;
+    @Config(name = CONFIG_WRITER_APPEND, required = false, type = Boolean.class)
+    private boolean appendMode = false;
+    @Config(name = CONFIG_COMPACTION_CHUNKS, required = false, type = Integer.class)
+    private int compactionChunks = DEFAULT_COMPACTION_CHUNKS;
+    @Config(name = CONFIG_COMPACTION_MIN_SIZE, required = false, type = Long.class)
+    private long compactionMinSize = DEFAULT_COMPACTION_MIN_SIZE;
+    @Config(name = CONFIG_COMPACTION_RETENTION, required = false, type = Long.class)
+    private long compactionRetention = DEFAULT_COMPACTION_RETENTION;
     private FsCacheSettings cacheSettings;
 }
@@ -16,59 +16,188 @@
 
 package io.zyient.core.filesystem.impl;
 
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
 import io.zyient.base.common.cache.EvictionCallback;
 import io.zyient.base.common.cache.LRUCache;
 import io.zyient.base.common.config.ConfigReader;
 import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.filesystem.FileSystem;
 import io.zyient.core.filesystem.model.FileInode;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.commons.io.FileUtils;
 
+import java.io.Closeable;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Local cache of remote file data.
+ * <p>
+ * Files are cached as fixed-size blocks when the source supports ranged reads (see {@link RangeReader})
+ * and the file is not compressed, otherwise the whole (decompressed) file is cached as a single entry.
+ * Concurrent misses on the same block are collapsed into one fetch, only the threads waiting on that
+ * block are blocked. Entries are evicted by the total on-disk size of the cached data.
+ * <p>
+ * Block files are pinned while being read or handed out (see {@link #acquire(FileInode)}), an evicted
+ * or expired block file is deleted once the last pin is released.
+ */
 @Getter
 @Accessors(fluent = true)
-public class RemoteFsCache implements EvictionCallback<String, RemoteFsCache.FsCacheEntry> {
+public class RemoteFsCache implements EvictionCallback<RemoteFsCache.BlockKey, RemoteFsCache.Block>, Closeable {
+    public static final long WHOLE_FILE = -1;
+
+    /**
+     * Cached block key, the version (inode sync timestamp) keeps blocks of different
+     * uploads of the same file apart.
+     */
+    public record BlockKey(String uuid, long version, long index) {
+    }
 
     @Getter
-    @Setter
     @Accessors(fluent = true)
-    public static class FsCacheEntry {
-        private String key;
-        private File file;
-        private FileInode node;
-        private long updatedTime;
+    public static class Block {
+        private final BlockKey key;
+        private final File file;
+        private final long offset;
+        private final long length;
+        private final long fetchedTime = System.currentTimeMillis();
+        @Getter(AccessLevel.NONE)
+        private int references = 0;
+        @Getter(AccessLevel.NONE)
+        private boolean evicted = false;
+
+        public Block(@NonNull BlockKey key,
+                     @NonNull File file,
+                     long offset,
+                     long length) {
+            this.key = key;
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /**
+         * Read from the block file.
+         *
+         * @param position - Position relative to the block start.
+         * @param buffer   - Buffer to read into.
+         * @param index    - Buffer offset.
+         * @param length   - Bytes to read.
+         * @return - False if the block file has been evicted.
+         * @throws IOException
+         */
+        public boolean read(long position, byte[] buffer, int index, int length) throws IOException {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                raf.seek(position);
+                raf.readFully(buffer, index, length);
+                return true;
+            } catch (FileNotFoundException ex) {
+                return false;
+            }
+        }
+
+        /**
+         * Pin the block file, it is not deleted till released.
+         *
+         * @return - False if the block has already been evicted.
+         */
+        private synchronized boolean pin() {
+            if (evicted) return false;
+            references++;
+            return true;
+        }
+
+        /**
+         * Release a pin taken by {@link #acquire(FileInode)}.
+         */
+        public synchronized void release() {
+            Preconditions.checkState(references > 0);
+            references--;
+            if (references == 0 && evicted) {
+                delete();
+            }
+        }
+
+        private synchronized void evict() {
+            evicted = true;
+            if (references == 0) {
+                delete();
+            }
+        }
+
+        private void delete() {
+            if (file.exists()) {
+                if (!file.delete()) {
+                    DefaultLogger.error(
+                            String.format("Failed to delete evicted file. [path=%s]", file.getAbsolutePath()));
+                }
+            }
+        }
     }
 
-    private final Map<String, LRUCache<String, FsCacheEntry>> cache = new HashMap<>();
-    private final RemoteFileSystem fs;
+    @Getter(AccessLevel.NONE)
+    private final Map<BlockKey, CompletableFuture<Block>> fetching = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private LRUCache<BlockKey, Block> blocks;
+    @Getter(AccessLevel.NONE)
+    private LRUCache<String, Long> sizes;
+    private final FileSystem fs;
+    private final RangeReader reader;
     private FsCacheSettings settings;
+    private File directory;
+    private long blockSize;
 
     public RemoteFsCache(@NonNull RemoteFileSystem fs) {
         this.fs = fs;
+        if (fs instanceof RangeReader) {
+            reader = (RangeReader) fs;
+        } else {
+            reader = null;
+        }
+    }
+
+    /**
+     * Create a block cache over a ranged source, whole file reads are not supported.
+     *
+     * @param reader - Ranged reader.
+     */
+    public RemoteFsCache(@NonNull RangeReader reader) {
+        this.fs = null;
+        this.reader = reader;
     }
 
     public RemoteFsCache init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig) throws ConfigurationException {
         try {
+            FsCacheSettings settings = null;
             if (ConfigReader.checkIfNodeExists(xmlConfig, FsCacheSettings.__CONFIG_PATH)) {
                 ConfigReader reader = new ConfigReader(xmlConfig,
                         FsCacheSettings.__CONFIG_PATH,
                         FsCacheSettings.class);
                 reader.read();
                 settings = (FsCacheSettings) reader.settings();
-            } else {
-                settings = new FsCacheSettings();
             }
-            return this;
+            return init(settings);
+        } catch (ConfigurationException ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new ConfigurationException(ex);
         }
@@ -80,85 +209,260 @@ public class RemoteFsCache implements EvictionCallback<String, RemoteFsCache.FsC
         } else {
             this.settings = new FsCacheSettings();
         }
-        return this;
+        try {
+            blockSize = this.settings.getBlockSize().normalized();
+            Preconditions.checkArgument(blockSize > 0 && blockSize <= Integer.MAX_VALUE);
+            long maxSize = this.settings.getMaxSize().normalized();
+            // Weights are in KB to keep large whole file entries within int range.
+            blocks = new LRUCache<BlockKey, Block>(Math.max(maxSize / 1024, 1),
+                    (key, block) -> (int) Math.min(Integer.MAX_VALUE, (block.length + 1023) / 1024))
+                    .withEvictionCallback(this);
+            sizes = new LRUCache<>(this.settings.getCacheSize());
+            if (!Strings.isNullOrEmpty(this.settings.getDirectory())) {
+                directory = new File(this.settings.getDirectory());
+                if (!directory.exists()) {
+                    if (!directory.mkdirs()) {
+                        throw new IOException(String.format("Failed to create directory. [path=%s]",
+                                directory.getAbsolutePath()));
+                    }
+                }
+            } else {
+                directory = Files.createTempDirectory("fs-cache").toFile();
+            }
+            return this;
+        } catch (Exception ex) {
+            throw new ConfigurationException(ex);
+        }
     }
 
-    public File get(@NonNull FileInode inode) throws Exception {
-        synchronized (cache) {
-            LRUCache<String, FsCacheEntry> cache = getDomainCache(inode.getDomain());
-            FsCacheEntry entry = null;
-            if (cache.containsKey(inode.getUuid())) {
-                Optional<FsCacheEntry> op = cache.get(inode.getUuid());
-                if (op.isPresent()) {
-                    entry = op.get();
-                }
+    /**
+     * Check if the file data is cached (and can be read) in blocks.
+     *
+     * @param inode - File inode.
+     * @return - Is ranged?
+     */
+    public boolean ranged(@NonNull FileInode inode) {
+        return reader != null && !inode.isCompressed();
+    }
+
+    /**
+     * Get the size of the file data.
+     *
+     * @param inode - File inode.
+     * @return - Size in bytes.
+     * @throws Exception
+     */
+    public long size(@NonNull FileInode inode) throws Exception {
+        if (!ranged(inode)) {
+            Block block = acquire(inode);
+            if (block == null) {
+                throw new IOException(String.format("File not found. [path=%s]", inode.getPath()));
             }
-            boolean fetch = false;
-            if (entry == null) {
-                fetch = true;
-            } else if ((System.currentTimeMillis() - entry.updatedTime) > settings.getCacheTimeout()) {
-                fetch = true;
-            }
-            if (fetch) {
-                File file = fs.download(inode, settings.getDownloadTimeout());
-                if (file == null) return null;
-                if (inode.isCompressed()) {
-                    File outf = fs.decompress(file);
-                    if (!file.delete()) {
-                        throw new IOException(String.format("Failed to delete file. [path=%s]", file.getAbsolutePath()));
-                    }
-                    if (!outf.renameTo(file)) {
-                        throw new IOException(String.format("Filed to rename file. [path=%s]", outf.getAbsolutePath()));
-                    }
+            try {
+                return block.length;
+            } finally {
+                block.release();
+            }
+        }
+        String key = String.format("%s:%d", inode.getUuid(), inode.getSyncTimestamp());
+        Optional<Long> size = sizes.get(key);
+        if (size.isPresent()) {
+            return size.get();
+        }
+        long value = reader.size(inode);
+        sizes.put(key, value);
+        return value;
+    }
+
+    /**
+     * Read file data, fetching only the blocks that cover the requested range.
+     *
+     * @param inode    - File inode.
+     * @param position - File position to read from.
+     * @param buffer   - Buffer to read into.
+     * @param offset   - Buffer offset.
+     * @param length   - Max bytes to read.
+     * @return - Bytes read, -1 if position is past the end of the file.
+     * @throws Exception
+     */
+    public int read(@NonNull FileInode inode,
+                    long position,
+                    byte @NonNull [] buffer,
+                    int offset,
+                    int length) throws Exception {
+        Preconditions.checkArgument(ranged(inode));
+        Preconditions.checkArgument(offset >= 0 && length >= 0 && offset + length <= buffer.length);
+        long size = size(inode);
+        if (position >= size) {
+            return -1;
+        }
+        int read = 0;
+        while (read < length && position < size) {
+            Block block = block(inode, position / blockSize, size);
+            if (!block.pin()) {
+                // Evicted between lookup and read.
+                blocks.remove(block.key, block);
+                continue;
+            }
+            long start = position - block.offset;
+            int count = (int) Math.min(length - read, block.length - start);
+            try {
+                if (!block.read(start, buffer, offset + read, count)) {
+                    blocks.remove(block.key, block);
+                    continue;
                 }
-                return put(inode, file);
+            } finally {
+                block.release();
+            }
+            read += count;
+            position += count;
+        }
+        return read;
+    }
+
+    /**
+     * Get the cached whole (decompressed) file, pinned till {@link Block#release()} is called.
+     *
+     * @param inode - File inode.
+     * @return - Pinned block, NULL if the file does not exist.
+     * @throws Exception
+     */
+    public Block acquire(@NonNull FileInode inode) throws Exception {
+        Preconditions.checkState(fs != null);
+        BlockKey key = new BlockKey(inode.getUuid(), inode.getSyncTimestamp(), WHOLE_FILE);
+        while (true) {
+            Block block = load(key, () -> fetch(key, inode));
+            if (block == null) return null;
+            if (block.pin()) {
+                return block;
             }
-            return entry.file;
+            // Evicted between lookup and pin.
+            blocks.remove(key, block);
+        }
+    }
+
+    /**
+     * Get a local copy of the whole (decompressed) file, owned by the caller.
+     *
+     * @param inode - File inode.
+     * @return - Local file, NULL if the file does not exist.
+     * @throws Exception
+     */
+    public File get(@NonNull FileInode inode) throws Exception {
+        Block block = acquire(inode);
+        if (block == null) return null;
+        try {
+            File file = createFile(block.key);
+            Files.copy(block.file.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } finally {
+            block.release();
         }
     }
 
-    public File put(@NonNull FileInode inode,
-                    @NonNull File path) throws Exception {
-        synchronized (cache) {
-            LRUCache<String, FsCacheEntry> cache = getDomainCache(inode.getDomain());
-            FsCacheEntry entry = null;
-            if (cache.containsKey(inode.getUuid())) {
-                Optional<FsCacheEntry> op = cache.get(inode.getUuid());
-                if (op.isPresent()) {
-                    entry = op.get();
+    private Block block(FileInode inode, long index, long size) throws Exception {
+        BlockKey key = new BlockKey(inode.getUuid(), inode.getSyncTimestamp(), index);
+        return load(key, () -> fetch(key, inode, size));
+    }
+
+    private Block load(BlockKey key, Callable<Block> fetcher) throws Exception {
+        Block block = cached(key);
+        if (block != null) {
+            return block;
+        }
+        CompletableFuture<Block> created = new CompletableFuture<>();
+        CompletableFuture<Block> future = fetching.putIfAbsent(key, created);
+        if (future != null) {
+            try {
+                return future.get(settings.getDownloadTimeout(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof Exception) {
+                    throw (Exception) ex.getCause();
                 }
+                throw ex;
             }
-            if (entry == null) {
-                entry = new FsCacheEntry();
-                entry.key = inode.getUuid();
-                entry.node = inode;
-                cache.put(entry.key, entry);
+        }
+        try {
+            // Another thread might have completed the fetch before this one registered.
+            block = cached(key);
+            if (block == null) {
+                block = fetcher.call();
+                if (block != null) {
+                    blocks.put(key, block);
+                }
             }
-            entry.file = path;
-            entry.updatedTime = System.currentTimeMillis();
+            created.complete(block);
+            return block;
+        } catch (Throwable t) {
+            created.completeExceptionally(t);
+            throw t;
+        } finally {
+            fetching.remove(key, created);
+        }
+    }
 
-            return path;
+    private Block cached(BlockKey key) {
+        Optional<Block> op = blocks.get(key);
+        if (op.isPresent()) {
+            Block block = op.get();
+            if ((System.currentTimeMillis() - block.fetchedTime) <= settings.getCacheTimeout()) {
+                return block;
+            }
+            blocks.remove(key, block);
         }
+        return null;
     }
 
-    private LRUCache<String, FsCacheEntry> getDomainCache(String domain) {
-        LRUCache<String, FsCacheEntry> cache = this.cache.get(domain);
-        if (cache == null) {
-            cache = new LRUCache<String, FsCacheEntry>(settings.getCacheSize())
-                    .withEvictionCallback(this);
-            this.cache.put(domain, cache);
+    private Block fetch(BlockKey key, FileInode inode, long size) throws Exception {
+        long offset = key.index * blockSize;
+        int length = (int) Math.min(blockSize, size - offset);
+        byte[] buffer = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int r = reader.read(inode, offset + read, buffer, read, length - read);
+            if (r < 0) {
+                throw new EOFException(String.format("Unexpected end of file. [path=%s][offset=%d]",
+                        inode.getPath(), offset + read));
+            }
+            read += r;
         }
-        return cache;
+        File file = createFile(key);
+        Files.write(file.toPath(), buffer);
+        return new Block(key, file, offset, length);
     }
 
-    @Override
-    public void evicted(String key, FsCacheEntry value) {
-        if (value.file.exists()) {
-            if (!value.file.delete()) {
-                DefaultLogger.error(
-                        String.format("Failed to delete evicted file. [path=%s]", value.file.getAbsolutePath()));
+    private Block fetch(BlockKey key, FileInode inode) throws Exception {
+        File file = fs.download(inode, settings.getDownloadTimeout());
+        if (file == null) return null;
+        if (inode.isCompressed()) {
+            File outf = fs.decompress(file);
+            if (!file.delete()) {
+                throw new IOException(String.format("Failed to delete file. [path=%s]", file.getAbsolutePath()));
             }
+            file = outf;
         }
+        // The cache owns its files, move the download out of the shared inode temp path.
+        File target = createFile(key);
+        Files.move(file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return new Block(key, target, 0, target.length());
     }
 
+    private File createFile(BlockKey key) throws IOException {
+        return File.createTempFile(String.format("%s-%d-", key.uuid, key.index), ".blk", directory);
+    }
+
+    @Override
+    public void evicted(BlockKey key, Block value) {
+        value.evict();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (blocks != null) {
+            blocks.clear();
+        }
+        if (directory != null && Strings.isNullOrEmpty(settings.getDirectory())) {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
 }
@@ -19,6 +19,7 @@ package io.zyient.core.filesystem.impl;
 import io.zyient.base.core.utils.Timer;
 import io.zyient.core.filesystem.Reader;
 import io.zyient.core.filesystem.model.FileInode;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.Accessors;
@@ -28,12 +29,31 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
 
+/**
+ * Reader for remote files, reads are served from the file system cache.
+ * <p>
+ * If the cache supports ranged reads for the file only the blocks being read are fetched,
+ * else the whole file is downloaded on open.
+ */
 @Getter
 @Accessors(fluent = true)
 public abstract class RemoteReader extends Reader {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
     private final RemoteFsCache cache;
+    @Getter(AccessLevel.NONE)
+    private RemoteFsCache.Block cached;
     private File cacheFile;
     private RandomAccessFile inputStream;
+    private boolean ranged = false;
+    private long size;
+    private long position;
+    @Getter(AccessLevel.NONE)
+    private byte[] buffer;
+    @Getter(AccessLevel.NONE)
+    private long bufferStart;
+    @Getter(AccessLevel.NONE)
+    private int bufferLength;
 
     protected RemoteReader(@NonNull FileInode inode,
                            @NonNull RemoteFileSystem fs) {
@@ -44,21 +64,66 @@ public abstract class RemoteReader extends Reader {
     @Override
     public void doOpen() throws IOException {
         try {
-            cacheFile = cache.get(inode());
-            if (cacheFile == null || !cacheFile.exists()) {
+            if (cache.ranged(inode())) {
+                size = cache.size(inode());
+                position = 0;
+                buffer = new byte[(int) Math.min(READ_BUFFER_SIZE, cache.blockSize())];
+                bufferStart = 0;
+                bufferLength = 0;
+                ranged = true;
+                return;
+            }
+            // Pinned till the reader is closed.
+            cached = cache.acquire(inode());
+            if (cached == null) {
                 throw new IOException(
                         String.format("Error downloading file to local. [path=%s]", inode.getPath()));
             }
+            cacheFile = cached.file();
 
             inputStream = new RandomAccessFile(cacheFile, "r");
+            size = inputStream.length();
+        } catch (IOException ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new IOException(ex);
         }
     }
 
+    private boolean fill() throws IOException {
+        if (position >= bufferStart && position < bufferStart + bufferLength) {
+            return true;
+        }
+        if (position >= size) {
+            return false;
+        }
+        int r = readRange(position, buffer, 0, buffer.length);
+        if (r <= 0) {
+            return false;
+        }
+        bufferStart = position;
+        bufferLength = r;
+        return true;
+    }
+
+    private int readRange(long position, byte[] buffer, int offset, int length) throws IOException {
+        try {
+            return cache.read(inode(), position, buffer, offset, length);
+        } catch (IOException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
 
     @Override
     public int read() throws IOException {
+        if (ranged) {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer[(int) (position++ - bufferStart)] & 0xFF;
+        }
         return inputStream.read();
     }
 
@@ -71,23 +136,60 @@ public abstract class RemoteReader extends Reader {
      */
     @Override
     public int doRead(byte @NonNull [] buffer, int offset, int length) throws IOException {
-        return inputStream.read(buffer, offset, length);
+        if (!ranged) {
+            return inputStream.read(buffer, offset, length);
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1;
+        }
+        if (length >= this.buffer.length) {
+            // Large reads go directly to the cache.
+            int r = readRange(position, buffer, offset, length);
+            if (r > 0) {
+                position += r;
+            }
+            return r;
+        }
+        int read = 0;
+        while (read < length && fill()) {
+            int count = (int) Math.min(length - read, bufferStart + bufferLength - position);
+            System.arraycopy(this.buffer, (int) (position - bufferStart), buffer, offset + read, count);
+            read += count;
+            position += count;
+        }
+        return (read > 0 ? read : -1);
     }
 
+    private long currentPosition() throws IOException {
+        if (ranged) {
+            return position;
+        }
+        return inputStream.getChannel().position();
+    }
+
+    private String source() {
+        if (cacheFile != null) {
+            return cacheFile.getAbsolutePath();
+        }
+        return inode().getPath();
+    }
 
     @Override
     public byte[] readAllBytes() throws IOException {
         checkOpen();
         try (Timer t = new Timer(metrics().timerFileRead())) {
-            if (inputStream.getChannel().size() > Integer.MAX_VALUE) {
-                throw new IOException(String.format("File size too large. [size=%d]", inputStream.getChannel().size()));
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(String.format("File size too large. [size=%d]", size));
             }
-            byte[] buffer = new byte[(int) inputStream.getChannel().size()];
+            byte[] buffer = new byte[(int) size];
             int s = read(buffer);
-            if (s != inputStream.getChannel().size()) {
+            if (s != size) {
                 throw new IOException(
                         String.format("Failed to read all bytes: [expected=%d][read=%d][file=%s]",
-                                inputStream.getChannel().size(), s, cacheFile.getAbsolutePath()));
+                                size, s, source()));
             }
             return buffer;
         }
@@ -102,7 +204,7 @@ public abstract class RemoteReader extends Reader {
             if (s != len) {
                 throw new IOException(
                         String.format("Failed to read all bytes: [expected=%d][read=%d][file=%s]",
-                                inputStream.getChannel().size(), s, cacheFile.getAbsolutePath()));
+                                size, s, source()));
             }
             return buffer;
         }
@@ -117,6 +219,11 @@ public abstract class RemoteReader extends Reader {
     @Override
     public long skip(long n) throws IOException {
         checkOpen();
+        if (ranged) {
+            long s = Math.max(0, Math.min(n, size - position));
+            position += s;
+            return s;
+        }
         return inputStream.skipBytes((int) n);
     }
 
@@ -128,9 +235,7 @@ public abstract class RemoteReader extends Reader {
     @Override
     public int available() throws IOException {
         checkOpen();
-        long pos = inputStream.getChannel().position();
-        long size = inputStream.getChannel().size();
-        return (int) (size - pos);
+        return (int) Math.min(Integer.MAX_VALUE, size - currentPosition());
     }
 
     @Override
@@ -158,32 +263,64 @@ public abstract class RemoteReader extends Reader {
      */
     @Override
     public boolean isOpen() {
-        return (inputStream != null);
+        return (inputStream != null || ranged);
     }
 
 
     @Override
     public long seek(long offset) throws IOException {
         checkOpen();
-        if (offset >= inputStream.getChannel().size()) {
-            offset = inputStream.getChannel().size();
+        if (offset >= size) {
+            offset = size;
+        }
+        if (ranged) {
+            position = offset;
+        } else {
+            inputStream.seek(offset);
         }
-        inputStream.seek(offset);
         return offset;
     }
 
+    /**
+     * Get the local copy of the file, for cached copies the file is valid only while the reader is open.
+     *
+     * @return - Local file.
+     * @throws IOException
+     */
     @Override
     public File copy() throws IOException {
         checkOpen();
+        if (cacheFile == null) {
+            try {
+                cached = cache.acquire(inode());
+                if (cached == null) {
+                    throw new IOException(String.format("File not found. [path=%s]", inode().getPath()));
+                }
+                cacheFile = cached.file();
+            } catch (IOException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new IOException(ex);
+            }
+        }
         return cacheFile;
     }
 
     @Override
     public void close() throws IOException {
-        if (inputStream != null) {
-            inputStream.close();
+        try {
+            if (inputStream != null) {
+                inputStream.close();
+            }
+        } finally {
+            if (cached != null) {
+                cached.release();
+                cached = null;
+            }
         }
         cacheFile = null;
         inputStream = null;
+        ranged = false;
+        buffer = null;
     }
 }
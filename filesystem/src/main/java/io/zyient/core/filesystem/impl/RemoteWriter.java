@@ -19,8 +19,10 @@ package io.zyient.core.filesystem.impl;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.core.DistributedLock;
 import io.zyient.core.filesystem.Writer;
+import io.zyient.core.filesystem.model.ChunkManifest;
 import io.zyient.core.filesystem.model.EFileState;
 import io.zyient.core.filesystem.model.FileInode;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.Accessors;
@@ -33,6 +35,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+/**
+ * Writer for remote files, data is written to a local copy and uploaded on commit.
+ * <p>
+ * In append mode (see {@link RemoteFileSystemSettings#isAppendMode()}) only the data appended since
+ * the last commit is uploaded, as an immutable chunk recorded in the inode {@link ChunkManifest}.
+ * Truncated or overwritten files are uploaded as a single chunk.
+ */
 @Getter
 @Accessors(fluent = true)
 public abstract class RemoteWriter extends Writer {
@@ -40,6 +49,8 @@ public abstract class RemoteWriter extends Writer {
     private FileOutputStream outputStream;
     private long lastFlushTimestamp;
     private long lastFlushSize;
+    @Getter(AccessLevel.NONE)
+    private boolean rewrite = false;
 
     protected RemoteWriter(@NonNull FileInode inode,
                            @NonNull RemoteFileSystem fs,
@@ -67,10 +78,11 @@ public abstract class RemoteWriter extends Writer {
                 outputStream = new FileOutputStream(temp, !overwrite);
                 inode.getState().setState(EFileState.Updating);
 
-                inode = (FileInode) fs.updateInode(inode);
+                inode = (FileInode) fs.updateInode(inode, lock);
                 dataSize = inode.getDataSize();
                 lastFlushTimestamp = System.currentTimeMillis();
                 lastFlushSize = fileSize(temp);
+                rewrite = overwrite;
             } finally {
                 lock.unlock();
             }
@@ -130,6 +142,8 @@ public abstract class RemoteWriter extends Writer {
         RemoteFileSystemSettings rs = (RemoteFileSystemSettings) rfs.settings();
         if (t > rs.getWriterFlushInterval() || s > rs.getWriterFlushSize()) {
             commit(false);
+            lastFlushTimestamp = System.currentTimeMillis();
+            lastFlushSize = fileSize(temp);
         }
     }
 
@@ -151,6 +165,7 @@ public abstract class RemoteWriter extends Writer {
         FileChannel channel = outputStream.getChannel();
         channel = channel.truncate(offset + length);
         dataSize = channel.size();
+        rewrite = true;
 
         return dataSize;
     }
@@ -167,30 +182,36 @@ public abstract class RemoteWriter extends Writer {
             if (Files.size(tp) <= 0) {
                 return;
             }
+            if (appendMode()) {
+                commitChunks(clearLock);
+                return;
+            }
             File toUpload = temp;
             if (inode.isCompressed()) {
                 toUpload = fs.compress(temp);
             }
+            // Written in append mode earlier, the whole file replaces the chunks. The replaced chunks
+            // are retired (readers may still hold the previous manifest) and deleted by the compactor.
+            boolean chunked = (inode.getManifest() != null);
 
             try (DistributedLock lock = fs.getLock(inode)) {
                 lock.lock();
                 try {
-                    if (!fs.isFileLocked(inode)) {
-                        throw new IOException(
-                                String.format("[%s][%s] File not locked or locked by another process.",
-                                        inode.getDomain(), inode.getPath()));
-                    }
-                    String path = inode.getLock().getLocalPath();
-                    if (path.compareTo(temp.getAbsolutePath()) != 0) {
-                        throw new IOException(String.format("[%s][%s] Local path mismatch. [expected=%s][locked=%s]",
-                                inode.getDomain(), inode.getPath(),
-                                temp.getAbsolutePath(), path));
+                    checkLocked();
+                    if (chunked) {
+                        // Pick up manifest changes made by background compaction.
+                        FileInode current = (FileInode) fs.getInode(inode.getPathInfo(), true);
+                        ChunkManifest latest = (current.getManifest() != null ?
+                                current.getManifest() : inode.getManifest());
+                        latest.reset(inode.getPathInfo().fsPath(), fileSize(temp));
+                        inode.setManifest(latest);
+                        inode.setUpdateTimestamp(current.getUpdateTimestamp());
                     }
                     inode.setSyncedSize(fileSize(temp));
                     inode.setSyncTimestamp(getLocalUpdateTime());
                     inode.getState().setState(EFileState.PendingSync);
 
-                    inode = (FileInode) fs.updateInode(inode);
+                    inode = (FileInode) fs.updateInode(inode, lock);
 
                     RemoteFileSystem rfs = (RemoteFileSystem) fs;
                     inode = rfs.upload(toUpload, inode, clearLock);
@@ -198,11 +219,116 @@ public abstract class RemoteWriter extends Writer {
                     lock.unlock();
                 }
             }
+            if (chunked) {
+                RemoteFileSystemSettings rs = (RemoteFileSystemSettings) fs.settings();
+                ((RemoteFileSystem) fs).compact(inode, rs.getCompactionRetention());
+            }
         } catch (Exception ex) {
             throw new IOException(ex);
         }
     }
 
+    private boolean appendMode() {
+        RemoteFileSystemSettings rs = (RemoteFileSystemSettings) fs.settings();
+        return rs.isAppendMode() && (fs instanceof ChunkStore) && !inode.isCompressed();
+    }
+
+    private void checkLocked() throws Exception {
+        if (!fs.isFileLocked(inode)) {
+            throw new IOException(
+                    String.format("[%s][%s] File not locked or locked by another process.",
+                            inode.getDomain(), inode.getPath()));
+        }
+        String path = inode.getLock().getLocalPath();
+        if (path.compareTo(temp.getAbsolutePath()) != 0) {
+            throw new IOException(String.format("[%s][%s] Local path mismatch. [expected=%s][locked=%s]",
+                    inode.getDomain(), inode.getPath(),
+                    temp.getAbsolutePath(), path));
+        }
+    }
+
+    /**
+     * Upload the data appended since the last commit as a new chunk. The chunk is uploaded before taking
+     * the inode lock, it is not visible to readers till it is recorded in the manifest.
+     * <p>
+     * Only the first upload of a file is stored at the file path, rewrites are uploaded to a new
+     * parts path and swapped in through the manifest so readers never see a partially replaced file.
+     *
+     * @param clearLock - Release the file lock.
+     * @throws Exception
+     */
+    private void commitChunks(boolean clearLock) throws Exception {
+        ChunkStore store = (ChunkStore) fs;
+        String basePath = inode.getPathInfo().fsPath();
+        long size = fileSize(temp);
+        long synced = 0;
+        ChunkManifest manifest = inode.getManifest();
+        boolean stored = (manifest != null || inode.getSyncedSize() > 0);
+        if (!rewrite) {
+            if (manifest != null) {
+                synced = manifest.length();
+            } else if (inode.getSyncedSize() > 0) {
+                // Uploaded as a whole file, the stored file becomes the first chunk.
+                synced = inode.getSyncedSize();
+            }
+            if (size < synced) {
+                synced = 0;
+            }
+        }
+        String path = null;
+        if (size > synced) {
+            path = (stored ? ChunkManifest.chunkPath(basePath) : basePath);
+            store.putChunk(inode, path, temp, synced, size - synced);
+        }
+        try (DistributedLock lock = fs.getLock(inode)) {
+            lock.lock();
+            try {
+                checkLocked();
+                // Pick up manifest changes made by background compaction.
+                FileInode current = (FileInode) fs.getInode(inode.getPathInfo(), true);
+                ChunkManifest latest = current.getManifest();
+                if (latest == null) {
+                    latest = new ChunkManifest();
+                    if (synced > 0) {
+                        latest.append(basePath, synced);
+                    }
+                }
+                if (path != null) {
+                    if (synced == 0) {
+                        latest.reset(path, size);
+                    } else {
+                        if (latest.length() != synced) {
+                            throw new IOException(
+                                    String.format("Chunk manifest changed. [path=%s][expected=%d][size=%d]",
+                                            inode.getPath(), synced, latest.length()));
+                        }
+                        latest.append(path, size - synced);
+                    }
+                    inode.setSyncTimestamp(Math.max(getLocalUpdateTime(), inode.getSyncTimestamp() + 1));
+                }
+                inode.setManifest(latest);
+                inode.setUpdateTimestamp(current.getUpdateTimestamp());
+                inode.setSyncedSize(size);
+                if (clearLock) {
+                    inode.getState().setState(EFileState.Synced);
+                    inode = (FileInode) fs.fileUnlock(inode);
+                } else {
+                    inode.getState().setState(EFileState.Updating);
+                    inode = (FileInode) fs.fileUpdateLock(inode);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        rewrite = false;
+        RemoteFileSystemSettings rs = (RemoteFileSystemSettings) fs.settings();
+        ChunkManifest latest = inode.getManifest();
+        if (latest.hasExpired(rs.getCompactionRetention())
+                || latest.compaction(rs.getCompactionMinSize(), rs.getCompactionChunks()) != null) {
+            ((RemoteFileSystem) fs).compact(inode);
+        }
+    }
+
 
     @Override
     public void close() throws IOException {
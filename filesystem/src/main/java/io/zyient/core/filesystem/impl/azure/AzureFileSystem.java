@@ -19,7 +19,10 @@ package io.zyient.core.filesystem.impl.azure;
 import com.azure.core.http.rest.Response;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.BlockBlobItem;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
 import com.azure.storage.blob.options.BlobUploadFromUrlOptions;
 import com.azure.storage.blob.sas.BlobContainerSasPermission;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
@@ -36,6 +39,7 @@ import io.zyient.core.filesystem.Reader;
 import io.zyient.core.filesystem.Writer;
 import io.zyient.core.filesystem.impl.FileUploadCallback;
 import io.zyient.core.filesystem.impl.PostOperationVisitor;
+import io.zyient.core.filesystem.impl.RangeReader;
 import io.zyient.core.filesystem.impl.RemoteFileSystem;
 import io.zyient.core.filesystem.model.*;
 import lombok.Getter;
@@ -46,13 +50,14 @@ import org.apache.commons.configuration2.tree.ImmutableNode;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.Map;
 
 @Getter
 @Accessors(fluent = true)
-public class AzureFileSystem extends RemoteFileSystem {
+public class AzureFileSystem extends RemoteFileSystem implements RangeReader {
 
     private AzureFsClient client;
 
@@ -379,6 +384,40 @@ public class AzureFileSystem extends RemoteFileSystem {
         return null;
     }
 
+    @Override
+    public long size(@NonNull FileInode inode) throws IOException {
+        AzurePathInfo path = checkAndGetPath(inode);
+        return size(path);
+    }
+
+    @Override
+    public int read(@NonNull FileInode inode,
+                    long position,
+                    byte @NonNull [] buffer,
+                    int offset,
+                    int length) throws IOException {
+        if (length == 0) return 0;
+        AzurePathInfo path = checkAndGetPath(inode);
+        BlobClient c = client.getContainer(path.container()).getBlobClient(getBlobName(path));
+        BlobInputStreamOptions options = new BlobInputStreamOptions()
+                .setRange(new BlobRange(position, (long) length));
+        try (InputStream stream = c.openInputStream(options)) {
+            int read = 0;
+            while (read < length) {
+                int r = stream.read(buffer, offset + read, length - read);
+                if (r < 0) break;
+                read += r;
+            }
+            return (read > 0 ? read : -1);
+        } catch (BlobStorageException ex) {
+            if (ex.getStatusCode() == 416) {
+                // Range not satisfiable: position is past the end of the blob.
+                return -1;
+            }
+            throw new IOException(ex);
+        }
+    }
+
     @Override
     public long size(@NonNull PathInfo path) throws IOException {
         if (path instanceof AzurePathInfo ap) {
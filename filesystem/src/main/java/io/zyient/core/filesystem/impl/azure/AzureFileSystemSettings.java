@@ -44,7 +44,14 @@ import java.util.concurrent.TimeUnit;
  *                     <connection>[zookeeper connection name]</connection>
  *                     <path>[zookeeper path]</path>
  *                     <lockTimeout>[distributed lock timeout (optional)</lockTimeout>
+ *                     <cache>[true|false, cache inode metadata locally using watches, default=false]</cache>
+ *                     <lockLease>[distributed lock lease, re-used locally without ZooKeeper round-trips, default=0 (disabled)]</lockLease>
+ *                     <lockHierarchy>[true|false, hierarchical (intent) locks, default=false]</lockHierarchy>
  *                 </zk>
+ *                 <metadata> -- Optional
+ *                     <store>[Inode store class, default=ZkInodeStore]</store>
+ *                     <path>[Local directory for embedded stores (LocalInodeStore)]</path>
+ *                 </metadata>
  *                 <hierarchical>[true|false, default = false]</hierarchical>
  *                 <client>
  *                     <endpointUrl>[End-point URL]</endpointUrl>
@@ -38,7 +38,14 @@ import lombok.Setter;
  *                     <connection>[zookeeper connection name]</connection>
  *                     <path>[zookeeper path]</path>
  *                     <lockTimeout>[distributed lock timeout (optional)</lockTimeout>
+ *                     <cache>[true|false, cache inode metadata locally using watches, default=false]</cache>
+ *                     <lockLease>[distributed lock lease, re-used locally without ZooKeeper round-trips, default=0 (disabled)]</lockLease>
+ *                     <lockHierarchy>[true|false, hierarchical (intent) locks, default=false]</lockHierarchy>
  *                 </zk>
+ *                 <metadata> -- Optional
+ *                     <store>[Inode store class, default=ZkInodeStore]</store>
+ *                     <path>[Local directory for embedded stores (LocalInodeStore)]</path>
+ *                 </metadata>
  *                 <compressed>[true|false, default=false]</compressed>
  *                 <containers>
  *                     <container>
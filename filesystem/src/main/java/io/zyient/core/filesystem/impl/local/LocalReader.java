@@ -19,6 +19,8 @@ package io.zyient.core.filesystem.impl.local;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.core.filesystem.FileSystem;
 import io.zyient.core.filesystem.Reader;
+import io.zyient.core.filesystem.compression.FramedCompressedFile;
+import io.zyient.core.filesystem.compression.FramedCompression;
 import io.zyient.core.filesystem.model.FileInode;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -35,6 +37,12 @@ import java.io.RandomAccessFile;
 public class LocalReader extends Reader {
     @Getter(AccessLevel.NONE)
     private RandomAccessFile inputStream;
+    @Getter(AccessLevel.NONE)
+    private FramedCompressedFile compressed;
+    @Getter(AccessLevel.NONE)
+    private long position = 0;
+    @Getter(AccessLevel.NONE)
+    private final byte[] single = new byte[1];
     private final LocalPathInfo path;
     private File temp = null;
 
@@ -60,14 +68,37 @@ public class LocalReader extends Reader {
         }
         if (!inode().isCompressed()) {
             inputStream = new RandomAccessFile(path.file(), "r");
+        } else if (FramedCompression.isFramed(path.file)) {
+            // Framed files are read in place, decompressing only the frames being read.
+            compressed = new FramedCompressedFile(path.file);
+            position = 0;
         } else {
             temp = fs.decompress(path.file);
             inputStream = new RandomAccessFile(temp, "r");
         }
     }
 
+    private long size() throws IOException {
+        if (compressed != null) {
+            return compressed.size();
+        }
+        return inputStream.getChannel().size();
+    }
+
+    private long position() throws IOException {
+        if (compressed != null) {
+            return position;
+        }
+        return inputStream.getChannel().position();
+    }
+
     @Override
     public int read() throws IOException {
+        if (compressed != null) {
+            int r = doRead(single, 0, 1);
+            if (r <= 0) return -1;
+            return single[0] & 0xFF;
+        }
         return inputStream.read();
     }
 
@@ -80,22 +111,29 @@ public class LocalReader extends Reader {
      */
     @Override
     public int doRead(byte @NonNull [] buffer, int offset, int length) throws IOException {
+        if (compressed != null) {
+            int r = compressed.read(position, buffer, offset, length);
+            if (r > 0) {
+                position += r;
+            }
+            return r;
+        }
         return inputStream.read(buffer, offset, length);
     }
 
     @Override
     public byte[] readAllBytes() throws IOException {
         checkOpen();
-        if (inputStream.getChannel().size() > Integer.MAX_VALUE) {
-            throw new IOException(String.format("File size too large. [size=%d]", inputStream.getChannel().size()));
+        if (size() > Integer.MAX_VALUE) {
+            throw new IOException(String.format("File size too large. [size=%d]", size()));
         }
         reset();
-        byte[] buffer = new byte[(int) inputStream.getChannel().size()];
+        byte[] buffer = new byte[(int) size()];
         int s = read(buffer);
-        if (s != inputStream.getChannel().size()) {
+        if (s != size()) {
             throw new IOException(
                     String.format("Failed to read all bytes: [expected=%d][read=%d][file=%s]",
-                            inputStream.getChannel().size(), s, path().file.getAbsolutePath()));
+                            size(), s, path().file.getAbsolutePath()));
         }
         return buffer;
     }
@@ -108,7 +146,7 @@ public class LocalReader extends Reader {
         if (s != len) {
             throw new IOException(
                     String.format("Failed to read all bytes: [expected=%d][read=%d][file=%s]",
-                            inputStream.getChannel().size(), s, path().file.getAbsolutePath()));
+                            size(), s, path().file.getAbsolutePath()));
         }
         return buffer;
     }
@@ -122,6 +160,11 @@ public class LocalReader extends Reader {
     @Override
     public long skip(long n) throws IOException {
         checkOpen();
+        if (compressed != null) {
+            long s = Math.max(0, Math.min(n, size() - position));
+            position += s;
+            return s;
+        }
         return inputStream.skipBytes((int) n);
     }
 
@@ -133,8 +176,8 @@ public class LocalReader extends Reader {
     @Override
     public int available() throws IOException {
         checkOpen();
-        long pos = inputStream.getChannel().position();
-        long size = inputStream.getChannel().size();
+        long pos = position();
+        long size = size();
         return (int) (size - pos);
     }
 
@@ -163,16 +206,20 @@ public class LocalReader extends Reader {
      */
     @Override
     public boolean isOpen() {
-        return (inputStream != null);
+        return (inputStream != null || compressed != null);
     }
 
     @Override
     public long seek(long offset) throws IOException {
         checkOpen();
-        if (offset >= inputStream.getChannel().size()) {
-            offset = inputStream.getChannel().size();
+        if (offset >= size()) {
+            offset = size();
+        }
+        if (compressed != null) {
+            position = offset;
+        } else {
+            inputStream.seek(offset);
         }
-        inputStream.seek(offset);
         return offset;
     }
 
@@ -201,6 +248,10 @@ public class LocalReader extends Reader {
             inputStream.close();
             inputStream = null;
         }
+        if (compressed != null) {
+            compressed.close();
+            compressed = null;
+        }
         if (temp != null) {
             if (!temp.delete()) {
                 DefaultLogger.error(
@@ -27,8 +27,10 @@ import io.zyient.base.core.connections.aws.AwsS3Connection;
 import io.zyient.core.filesystem.FileSystem;
 import io.zyient.core.filesystem.Reader;
 import io.zyient.core.filesystem.Writer;
+import io.zyient.core.filesystem.impl.ChunkStore;
 import io.zyient.core.filesystem.impl.FileUploadCallback;
 import io.zyient.core.filesystem.impl.PostOperationVisitor;
+import io.zyient.core.filesystem.impl.RangeReader;
 import io.zyient.core.filesystem.impl.RemoteFileSystem;
 import io.zyient.core.filesystem.model.*;
 import lombok.AccessLevel;
@@ -37,8 +39,7 @@ import lombok.NonNull;
 import lombok.experimental.Accessors;
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.tree.ImmutableNode;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.waiters.WaiterResponse;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.services.s3.S3Client;
@@ -46,17 +47,19 @@ import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.waiters.S3Waiter;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 @Getter
 @Accessors(fluent = true)
-public class S3FileSystem extends RemoteFileSystem {
+public class S3FileSystem extends RemoteFileSystem implements RangeReader, ChunkStore {
 
     @Getter(AccessLevel.PACKAGE)
     private AwsS3Connection connection;
+    @Getter(AccessLevel.PACKAGE)
+    private S3Transfers transfers;
 
     public S3FileSystem withClient(@NonNull AwsS3Connection connection) {
         this.connection = connection;
@@ -128,6 +131,10 @@ public class S3FileSystem extends RemoteFileSystem {
                         s3settings.getConnection(), AwsS3Connection.class.getCanonicalName()));
             }
         }
+        long partSize = Math.max(s3settings.getTransferPartSize().normalized(), S3FileSystemSettings.MIN_PART_SIZE);
+        transfers = new S3Transfers(partSize,
+                s3settings.getTransferThreads(),
+                s3settings.getTransferRetries());
     }
 
     @Override
@@ -176,6 +183,7 @@ public class S3FileSystem extends RemoteFileSystem {
         Preconditions.checkArgument(path instanceof S3PathInfo);
         try {
             S3Client client = connection.client();
+            Inode node = (recursive ? null : getInode(path));
             if (deleteInode(path, recursive)) {
                 S3PathInfo s3path = (S3PathInfo) path;
                 if (bucketExists(s3path.bucket())) {
@@ -210,6 +218,9 @@ public class S3FileSystem extends RemoteFileSystem {
                         DeleteObjectResponse r = client.deleteObject(dr);
                         SdkHttpResponse sr = r.sdkHttpResponse();
                         if (sr.statusCode() >= 200 && sr.statusCode() < 300) {
+                            if (node instanceof FileInode && ((FileInode) node).getManifest() != null) {
+                                deleteChunks((FileInode) node, s3path);
+                            }
                             return true;
                         } else {
                             String mesg = JSONUtils.asString(sr);
@@ -224,6 +235,21 @@ public class S3FileSystem extends RemoteFileSystem {
         }
     }
 
+    private void deleteChunks(FileInode inode, S3PathInfo path) {
+        ChunkManifest manifest = inode.getManifest();
+        List<ChunkManifest.Chunk> chunks = new ArrayList<>(manifest.getChunks());
+        chunks.addAll(manifest.getRetired());
+        for (ChunkManifest.Chunk chunk : chunks) {
+            if (chunk.getPath().compareTo(path.fsPath()) == 0) continue;
+            try {
+                deleteChunk(inode, chunk.getPath());
+            } catch (IOException ex) {
+                DefaultLogger.warn(LOG, String.format("Failed to delete chunk. [bucket=%s][path=%s][error=%s]",
+                        path.bucket(), chunk.getPath(), ex.getLocalizedMessage()));
+            }
+        }
+    }
+
     @Override
     protected PathInfo __parsePathInfo(@NonNull DirectoryInode parent,
                                      @NonNull String path,
@@ -298,18 +324,39 @@ public class S3FileSystem extends RemoteFileSystem {
         S3PathInfo tp = checkAndGetPath(target);
         try {
             S3Client client = connection.client();
-            CopyObjectRequest cr = CopyObjectRequest.builder()
-                    .sourceBucket(sp.bucket())
-                    .sourceKey(sp.fsPath())
-                    .destinationBucket(tp.bucket())
-                    .destinationKey(tp.fsPath())
-                    .build();
-            CopyObjectResponse rc = client.copyObject(cr);
+            ChunkManifest manifest = source.getManifest();
+            if (manifest == null) {
+                copyObject(client, sp.bucket(), sp.fsPath(), tp.bucket(), tp.fsPath());
+                return;
+            }
+            // Chunks are copied server side, the target gets its own manifest.
+            ChunkManifest copy = new ChunkManifest();
+            for (ChunkManifest.Chunk chunk : manifest.getChunks()) {
+                String path = (copy.size() == 0 ? tp.fsPath() : ChunkManifest.chunkPath(tp.fsPath()));
+                copyObject(client, sp.bucket(), chunk.getPath(), tp.bucket(), path);
+                copy.append(path, chunk.getLength());
+            }
+            target.setManifest(copy);
+            target.setSyncedSize(copy.length());
         } catch (ConnectionError ce) {
             throw new IOException(ce);
         }
     }
 
+    private void copyObject(S3Client client,
+                            String sourceBucket,
+                            String sourceKey,
+                            String targetBucket,
+                            String targetKey) {
+        CopyObjectRequest cr = CopyObjectRequest.builder()
+                .sourceBucket(sourceBucket)
+                .sourceKey(sourceKey)
+                .destinationBucket(targetBucket)
+                .destinationKey(targetKey)
+                .build();
+        client.copyObject(cr);
+    }
+
     @Override
     protected PathInfo renameFile(@NonNull FileInode source,
                                   @NonNull String name) throws IOException {
@@ -415,12 +462,15 @@ public class S3FileSystem extends RemoteFileSystem {
             }
             try {
                 S3Client client = connection.client();
-                GetObjectRequest request = GetObjectRequest.builder()
-                        .bucket(path.bucket())
-                        .key(path.fsPath())
-                        .build();
-                try (FileOutputStream fos = new FileOutputStream(path.temp())) {
-                    client.getObject(request, ResponseTransformer.toOutputStream(fos));
+                ChunkManifest manifest = inode.getManifest();
+                // A rewritten file's first chunk is stored under the parts path.
+                String key = path.fsPath();
+                if (manifest != null && manifest.size() > 0) {
+                    key = manifest.get(0).getPath();
+                }
+                transfers.download(client, path.bucket(), key, path.temp());
+                if (manifest != null && manifest.size() > 1) {
+                    appendChunks(inode, manifest.getChunks().subList(1, manifest.size()), path.temp());
                 }
                 return path.temp();
             } catch (ConnectionError ce) {
@@ -430,14 +480,112 @@ public class S3FileSystem extends RemoteFileSystem {
         return null;
     }
 
+    @Override
+    public long size(@NonNull FileInode inode) throws IOException {
+        if (inode.getManifest() != null) {
+            return inode.getManifest().length();
+        }
+        S3PathInfo path = checkAndGetPath(inode);
+        return size(path);
+    }
+
+    @Override
+    public int read(@NonNull FileInode inode,
+                    long position,
+                    byte @NonNull [] buffer,
+                    int offset,
+                    int length) throws IOException {
+        if (length == 0) return 0;
+        if (inode.getManifest() != null) {
+            return readChunked(inode, position, buffer, offset, length);
+        }
+        S3PathInfo path = checkAndGetPath(inode);
+        return read(path.bucket(), path.fsPath(), position, buffer, offset, length);
+    }
+
+    @Override
+    public int readChunk(@NonNull FileInode inode,
+                         @NonNull String path,
+                         long position,
+                         byte @NonNull [] buffer,
+                         int offset,
+                         int length) throws IOException {
+        if (length == 0) return 0;
+        S3PathInfo pi = checkAndGetPath(inode);
+        return read(pi.bucket(), path, position, buffer, offset, length);
+    }
+
+    @Override
+    public void putChunk(@NonNull FileInode inode,
+                         @NonNull String path,
+                         @NonNull File source,
+                         long offset,
+                         long length) throws IOException {
+        S3PathInfo pi = checkAndGetPath(inode);
+        try {
+            S3Client client = connection.client();
+            transfers.upload(client, pi.bucket(), path, source, offset, length);
+        } catch (ConnectionError ce) {
+            throw new IOException(ce);
+        }
+    }
+
+    @Override
+    public void deleteChunk(@NonNull FileInode inode, @NonNull String path) throws IOException {
+        S3PathInfo pi = checkAndGetPath(inode);
+        try {
+            S3Client client = connection.client();
+            DeleteObjectRequest request = DeleteObjectRequest.builder()
+                    .bucket(pi.bucket())
+                    .key(path)
+                    .build();
+            client.deleteObject(request);
+        } catch (S3Exception | ConnectionError ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private int read(String bucket,
+                     String key,
+                     long position,
+                     byte[] buffer,
+                     int offset,
+                     int length) throws IOException {
+        try {
+            S3Client client = connection.client();
+            GetObjectRequest request = GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .range(String.format("bytes=%d-%d", position, position + length - 1))
+                    .build();
+            try (ResponseInputStream<GetObjectResponse> stream = client.getObject(request)) {
+                int read = 0;
+                while (read < length) {
+                    int r = stream.read(buffer, offset + read, length - read);
+                    if (r < 0) break;
+                    read += r;
+                }
+                return (read > 0 ? read : -1);
+            }
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 416) {
+                // Range not satisfiable: position is past the end of the object.
+                return -1;
+            }
+            throw new IOException(ex);
+        } catch (ConnectionError ce) {
+            throw new IOException(ce);
+        }
+    }
+
     @Override
     public long size(@NonNull PathInfo path) throws IOException {
         if (path instanceof S3PathInfo) {
             try {
                 S3Client client = connection.client();
                 HeadObjectRequest request = HeadObjectRequest.builder()
-                        .key(((S3PathInfo) path).bucket())
-                        .bucket(path.fsPath())
+                        .bucket(((S3PathInfo) path).bucket())
+                        .key(path.fsPath())
                         .build();
                 HeadObjectResponse response = client.headObject(request);
                 return response.contentLength();
@@ -485,6 +633,15 @@ public class S3FileSystem extends RemoteFileSystem {
         }
     }
 
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (transfers != null) {
+            transfers.close();
+            transfers = null;
+        }
+    }
+
     @Getter
     @Accessors(fluent = true)
     public static class S3FileSystemConfigReader extends RemoteFileSystemConfigReader {
@@ -514,12 +671,7 @@ public class S3FileSystem extends RemoteFileSystem {
             if (!source.exists()) {
                 throw new IOException(String.format("Source file not found. [path=%s]", source.getAbsolutePath()));
             }
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(pi.bucket())
-                    .key(pi.fsPath())
-                    .build();
-            PutObjectResponse response = client
-                    .putObject(request, RequestBody.fromFile(source));
+            ((S3FileSystem) fs).transfers().upload(client, pi.bucket(), pi.fsPath(), source);
             S3Waiter waiter = client.waiter();
             HeadObjectRequest requestWait = HeadObjectRequest.builder()
                     .bucket(pi.bucket())
@@ -17,6 +17,8 @@
 package io.zyient.core.filesystem.impl.s3;
 
 import io.zyient.base.common.config.Config;
+import io.zyient.base.common.config.units.SpaceUnitValue;
+import io.zyient.base.common.config.units.SpaceValueParser;
 import io.zyient.core.filesystem.impl.RemoteFileSystemSettings;
 import lombok.Getter;
 import lombok.Setter;
@@ -39,7 +41,14 @@ import lombok.Setter;
  *                     <connection>[zookeeper connection name]</connection>
  *                     <path>[zookeeper path]</path>
  *                     <lockTimeout>[distributed lock timeout (optional)</lockTimeout>
+ *                     <cache>[true|false, cache inode metadata locally using watches, default=false]</cache>
+ *                     <lockLease>[distributed lock lease, re-used locally without ZooKeeper round-trips, default=0 (disabled)]</lockLease>
+ *                     <lockHierarchy>[true|false, hierarchical (intent) locks, default=false]</lockHierarchy>
  *                 </zk>
+ *                 <metadata> -- Optional
+ *                     <store>[Inode store class, default=ZkInodeStore]</store>
+ *                     <path>[Local directory for embedded stores (LocalInodeStore)]</path>
+ *                 </metadata>
  *                 <writer>
  *                     <flush>
  *                         <size>[Flush trigger size (in bytes), default = 32MB]</size>
@@ -47,6 +56,11 @@ import lombok.Setter;
  *                     </flush>
  *                     <threads>[Max #of upload threads, default = 4]</threads>
  *                 </writer>
+ *                 <transfer>
+ *                     <partSize>[Multipart/ranged transfer part size, min = 5MB, default = 16MB]</partSize>
+ *                     <threads>[Parallel part transfers (shared), default = 8]</threads>
+ *                     <retries>[Attempts per part, default = 3]</retries>
+ *                 </transfer>
  *                 <compressed>[true|false, default=false]</compressed>
  *                 <containers>
  *                     <container>
@@ -66,8 +80,19 @@ import lombok.Setter;
 @Getter
 @Setter
 public  class S3FileSystemSettings extends RemoteFileSystemSettings {
+    public static final String CONFIG_TRANSFER_PART_SIZE = "transfer.partSize";
+    public static final String CONFIG_TRANSFER_THREADS = "transfer.threads";
+    public static final String CONFIG_TRANSFER_RETRIES = "transfer.retries";
+    public static final long MIN_PART_SIZE = 5 * 1024 * 1024;
+
     @Config(name = "connection")
     private String connection;
+    @Config(name = CONFIG_TRANSFER_PART_SIZE, required = false, parser = SpaceValueParser.class)
+    private SpaceUnitValue transferPartSize = new SpaceUnitValue(16, SpaceUnitValue.SpaceUnit.MEGABYTES);
+    @Config(name = CONFIG_TRANSFER_THREADS, required = false, type = Integer.class)
+    private int transferThreads = 8;
+    @Config(name = CONFIG_TRANSFER_RETRIES, required = false, type = Integer.class)
+    private int transferRetries = 3;
 
     public S3FileSystemSettings() {
         setType(S3FileSystem.class.getCanonicalName());
@@ -0,0 +1,495 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.impl.s3;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.apache.commons.io.input.BoundedInputStream;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel multipart uploads and ranged downloads.
+ * <p>
+ * Files larger than the part size are transferred as parts on a shared transfer pool. Transfer
+ * state is kept in a side file next to the local file, a failed transfer that is retried resumes
+ * from the completed parts (uploads use the parts listed by S3, downloads the parts recorded
+ * locally for the same object ETag).
+ */
+@Getter
+@Accessors(fluent = true)
+public class S3Transfers implements Closeable {
+    public static final String UPLOAD_STATE_EXT = ".upload";
+    public static final String DOWNLOAD_STATE_EXT = ".download";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final long MAX_PUT_SIZE = 5L * 1024 * 1024 * 1024; // 5GB
+
+    @Getter
+    @Setter
+    public static class UploadState {
+        private String bucket;
+        private String key;
+        private String uploadId;
+        private long partSize;
+        private long length;
+        private long modified;
+
+        public boolean matches(String bucket, String key, File source, long partSize) {
+            return this.bucket.equals(bucket) && this.key.equals(key)
+                    && this.partSize == partSize
+                    && length == source.length()
+                    && modified == source.lastModified();
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class DownloadState {
+        private String bucket;
+        private String key;
+        private String eTag;
+        private long partSize;
+        private long length;
+        private Set<Integer> completed = new HashSet<>();
+
+        public boolean matches(String bucket, String key, String eTag, long length, long partSize) {
+            return this.bucket.equals(bucket) && this.key.equals(key)
+                    && this.eTag.equals(eTag)
+                    && this.length == length
+                    && this.partSize == partSize;
+        }
+    }
+
+    private final long partSize;
+    private final int threads;
+    private final int retries;
+    @Getter(AccessLevel.NONE)
+    private final ExecutorService executor;
+
+    public S3Transfers(long partSize, int threads, int retries) {
+        Preconditions.checkArgument(partSize > 0);
+        Preconditions.checkArgument(threads > 0);
+        this.partSize = partSize;
+        this.threads = threads;
+        this.retries = Math.max(retries, 1);
+        AtomicInteger index = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, String.format("S3-TRANSFER-%d", index.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int parts(long length) {
+        return (int) ((length + partSize - 1) / partSize);
+    }
+
+    /**
+     * Upload the file, using a multipart upload if it is larger than the part size.
+     *
+     * @param client - S3 Client.
+     * @param bucket - Bucket name.
+     * @param key    - Object key.
+     * @param source - File to upload.
+     * @throws IOException
+     */
+    public void upload(@NonNull S3Client client,
+                       @NonNull String bucket,
+                       @NonNull String key,
+                       @NonNull File source) throws IOException {
+        long length = source.length();
+        if (length <= partSize) {
+            PutObjectRequest request = PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build();
+            client.putObject(request, RequestBody.fromFile(source));
+            return;
+        }
+        File stateFile = stateFile(source, UPLOAD_STATE_EXT);
+        UploadState state = readState(stateFile, UploadState.class);
+        Map<Integer, Part> uploaded = null;
+        if (state != null && state.matches(bucket, key, source, partSize)) {
+            uploaded = listParts(client, state);
+        }
+        if (uploaded == null) {
+            state = startUpload(client, bucket, key, source);
+            writeState(stateFile, state);
+            uploaded = new HashMap<>();
+        }
+        int count = parts(length);
+        List<CompletableFuture<CompletedPart>> futures = new ArrayList<>(count);
+        for (int ii = 1; ii <= count; ii++) {
+            long offset = (ii - 1) * partSize;
+            long size = Math.min(partSize, length - offset);
+            Part part = uploaded.get(ii);
+            if (part != null && part.size() == size) {
+                futures.add(CompletableFuture.completedFuture(CompletedPart.builder()
+                        .partNumber(ii)
+                        .eTag(part.eTag())
+                        .build()));
+                continue;
+            }
+            final int number = ii;
+            final UploadState current = state;
+            futures.add(CompletableFuture.supplyAsync(() ->
+                    retry(() -> uploadPart(client, current, source, number, offset, size),
+                            String.format("upload part [key=%s][part=%d]", key, number)), executor));
+        }
+        List<CompletedPart> completed = await(futures, String.format("Upload failed. [bucket=%s][key=%s]",
+                bucket, key));
+        CompleteMultipartUploadRequest request = CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(state.uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder()
+                        .parts(completed)
+                        .build())
+                .build();
+        client.completeMultipartUpload(request);
+        deleteState(stateFile);
+    }
+
+    /**
+     * Upload a range of the file as a single object, whole files are uploaded
+     * using {@link #upload(S3Client, String, String, File)}.
+     *
+     * @param client - S3 Client.
+     * @param bucket - Bucket name.
+     * @param key    - Object key.
+     * @param source - File to upload from.
+     * @param offset - Offset in the file.
+     * @param length - Bytes to upload.
+     * @throws IOException
+     */
+    public void upload(@NonNull S3Client client,
+                       @NonNull String bucket,
+                       @NonNull String key,
+                       @NonNull File source,
+                       long offset,
+                       long length) throws IOException {
+        if (offset == 0 && length == source.length()) {
+            upload(client, bucket, key, source);
+            return;
+        }
+        if (length > MAX_PUT_SIZE) {
+            throw new IOException(String.format("Range too large for a single upload. [key=%s][length=%d]",
+                    key, length));
+        }
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentLength(length)
+                .build();
+        RequestBody body = RequestBody.fromContentProvider(() -> {
+            try {
+                FileInputStream fis = new FileInputStream(source);
+                fis.getChannel().position(offset);
+                return new BoundedInputStream(fis, length);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, length, "application/octet-stream");
+        try {
+            retry(() -> client.putObject(request, body), String.format("upload range [key=%s]", key));
+        } catch (CompletionException ex) {
+            throw new IOException(String.format("Upload failed. [bucket=%s][key=%s]", bucket, key), ex.getCause());
+        }
+    }
+
+    private UploadState startUpload(S3Client client, String bucket, String key, File source) {
+        CreateMultipartUploadRequest request = CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+        CreateMultipartUploadResponse response = client.createMultipartUpload(request);
+        UploadState state = new UploadState();
+        state.bucket = bucket;
+        state.key = key;
+        state.uploadId = response.uploadId();
+        state.partSize = partSize;
+        state.length = source.length();
+        state.modified = source.lastModified();
+        return state;
+    }
+
+    private Map<Integer, Part> listParts(S3Client client, UploadState state) {
+        Map<Integer, Part> parts = new HashMap<>();
+        Integer marker = null;
+        try {
+            while (true) {
+                ListPartsRequest.Builder builder = ListPartsRequest.builder()
+                        .bucket(state.bucket)
+                        .key(state.key)
+                        .uploadId(state.uploadId);
+                if (marker != null) {
+                    builder.partNumberMarker(marker);
+                }
+                ListPartsResponse response = client.listParts(builder.build());
+                for (Part part : response.parts()) {
+                    parts.put(part.partNumber(), part);
+                }
+                if (!Boolean.TRUE.equals(response.isTruncated())) {
+                    break;
+                }
+                marker = response.nextPartNumberMarker();
+            }
+            return parts;
+        } catch (NoSuchUploadException ex) {
+            DefaultLogger.warn(String.format("Multipart upload expired, restarting. [key=%s][upload=%s]",
+                    state.key, state.uploadId));
+            return null;
+        }
+    }
+
+    private CompletedPart uploadPart(S3Client client,
+                                     UploadState state,
+                                     File source,
+                                     int number,
+                                     long offset,
+                                     long size) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(state.bucket)
+                .key(state.key)
+                .uploadId(state.uploadId)
+                .partNumber(number)
+                .contentLength(size)
+                .build();
+        // Streams the part from the file, a new stream is opened for every (SDK) retry.
+        RequestBody body = RequestBody.fromContentProvider(() -> {
+            try {
+                FileInputStream fis = new FileInputStream(source);
+                fis.getChannel().position(offset);
+                return new BoundedInputStream(fis, size);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, size, "application/octet-stream");
+        UploadPartResponse response = client.uploadPart(request, body);
+        return CompletedPart.builder()
+                .partNumber(number)
+                .eTag(response.eTag())
+                .build();
+    }
+
+    /**
+     * Download the object, using parallel ranged reads if it is larger than the part size.
+     *
+     * @param client - S3 Client.
+     * @param bucket - Bucket name.
+     * @param key    - Object key.
+     * @param target - Local file to download to.
+     * @return - Downloaded size.
+     * @throws IOException
+     */
+    public long download(@NonNull S3Client client,
+                         @NonNull String bucket,
+                         @NonNull String key,
+                         @NonNull File target) throws IOException {
+        HeadObjectResponse head = client.headObject(HeadObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build());
+        long length = head.contentLength();
+        if (length <= partSize) {
+            GetObjectRequest request = GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build();
+            try (FileOutputStream fos = new FileOutputStream(target)) {
+                client.getObject(request, ResponseTransformer.toOutputStream(fos));
+            }
+            return target.length();
+        }
+        String eTag = head.eTag();
+        File stateFile = stateFile(target, DOWNLOAD_STATE_EXT);
+        DownloadState state = readState(stateFile, DownloadState.class);
+        if (state == null || !target.exists() || !state.matches(bucket, key, eTag, length, partSize)) {
+            state = new DownloadState();
+            state.bucket = bucket;
+            state.key = key;
+            state.eTag = eTag;
+            state.length = length;
+            state.partSize = partSize;
+            try (RandomAccessFile raf = new RandomAccessFile(target, "rw")) {
+                raf.setLength(length);
+            }
+            writeState(stateFile, state);
+        }
+        int count = parts(length);
+        final DownloadState current = state;
+        try (FileChannel channel = FileChannel.open(target.toPath(), StandardOpenOption.WRITE)) {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>(count);
+            for (int ii = 0; ii < count; ii++) {
+                if (state.completed.contains(ii)) continue;
+                final int index = ii;
+                long offset = ii * partSize;
+                long size = Math.min(partSize, length - offset);
+                futures.add(CompletableFuture.supplyAsync(() ->
+                        retry(() -> {
+                            downloadPart(client, current, channel, offset, size);
+                            // Part data must be durable before it is recorded as completed.
+                            channel.force(false);
+                            partDownloaded(stateFile, current, index);
+                            return index;
+                        }, String.format("download part [key=%s][part=%d]", key, index)), executor));
+            }
+            await(futures, String.format("Download failed. [bucket=%s][key=%s]", bucket, key));
+        }
+        deleteState(stateFile);
+        return length;
+    }
+
+    private void downloadPart(S3Client client,
+                              DownloadState state,
+                              FileChannel channel,
+                              long offset,
+                              long size) throws IOException {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(state.bucket)
+                .key(state.key)
+                .ifMatch(state.eTag)
+                .range(String.format("bytes=%d-%d", offset, offset + size - 1))
+                .build();
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long position = offset;
+        try (ResponseInputStream<GetObjectResponse> stream = client.getObject(request)) {
+            while (true) {
+                int r = stream.read(buffer);
+                if (r < 0) break;
+                ByteBuffer data = ByteBuffer.wrap(buffer, 0, r);
+                while (data.hasRemaining()) {
+                    position += channel.write(data, position);
+                }
+            }
+        }
+        if (position - offset != size) {
+            throw new IOException(String.format("Incomplete part. [key=%s][offset=%d][expected=%d][read=%d]",
+                    state.key, offset, size, position - offset));
+        }
+    }
+
+    private void partDownloaded(File stateFile, DownloadState state, int index) throws IOException {
+        synchronized (state) {
+            state.completed.add(index);
+            writeState(stateFile, state);
+        }
+    }
+
+    private interface Task<T> {
+        T run() throws Exception;
+    }
+
+    private <T> T retry(Task<T> task, String name) {
+        Exception error = null;
+        for (int ii = 0; ii < retries; ii++) {
+            try {
+                return task.run();
+            } catch (Exception ex) {
+                error = ex;
+                DefaultLogger.warn(String.format("Transfer failed, attempt %d of %d: %s [error=%s]",
+                        ii + 1, retries, name, ex.getLocalizedMessage()));
+            }
+        }
+        throw new CompletionException(error);
+    }
+
+    private <T> List<T> await(List<CompletableFuture<T>> futures, String message) throws IOException {
+        List<T> results = new ArrayList<>(futures.size());
+        Throwable error = null;
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException ex) {
+                // Wait for all parts, completed ones are kept for resume.
+                if (error == null) {
+                    error = (ex.getCause() != null ? ex.getCause() : ex);
+                }
+            }
+        }
+        if (error != null) {
+            throw new IOException(message, error);
+        }
+        return results;
+    }
+
+    public static File stateFile(@NonNull File file, @NonNull String extension) {
+        return new File(String.format("%s%s", file.getAbsolutePath(), extension));
+    }
+
+    private <T> T readState(File file, Class<T> type) {
+        if (!file.exists()) return null;
+        try {
+            return JSONUtils.read(file, type);
+        } catch (Exception ex) {
+            DefaultLogger.warn(String.format("Ignoring invalid transfer state. [path=%s][error=%s]",
+                    file.getAbsolutePath(), ex.getLocalizedMessage()));
+            return null;
+        }
+    }
+
+    private void writeState(File file, Object state) throws IOException {
+        File tmp = new File(String.format("%s.tmp", file.getAbsolutePath()));
+        try (FileOutputStream fos = new FileOutputStream(tmp)) {
+            fos.write(JSONUtils.asBytes(state));
+            fos.getFD().sync();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteState(File file) {
+        if (file.exists() && !file.delete()) {
+            DefaultLogger.warn(String.format("Failed to delete transfer state. [path=%s]", file.getAbsolutePath()));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+        }
+    }
+}
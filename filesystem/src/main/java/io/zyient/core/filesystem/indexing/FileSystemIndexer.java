@@ -17,7 +17,6 @@
 package io.zyient.core.filesystem.indexing;
 
 import com.google.common.base.Preconditions;
-import com.google.common.base.Strings;
 import io.zyient.base.common.config.ConfigReader;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.common.utils.JSONUtils;
@@ -25,11 +24,10 @@ import io.zyient.base.common.utils.PathUtils;
 import io.zyient.base.core.BaseEnv;
 import io.zyient.base.core.DistributedLock;
 import io.zyient.base.core.connections.common.ZookeeperConnection;
-import io.zyient.base.core.index.IndexBuilder;
 import io.zyient.base.core.index.SearchCursor;
 import io.zyient.core.filesystem.FileSystem;
 import io.zyient.core.filesystem.impl.PostOperationVisitor;
-import io.zyient.core.filesystem.model.EFileState;
+import io.zyient.core.filesystem.model.Container;
 import io.zyient.core.filesystem.model.FileInode;
 import io.zyient.core.filesystem.model.Inode;
 import lombok.Getter;
@@ -39,25 +37,16 @@ import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.curator.framework.CuratorFramework;
-import org.apache.lucene.analysis.Analyzer;
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexWriter;
-import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.Term;
-import org.apache.lucene.search.*;
-import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.MMapDirectory;
-import org.apache.lucene.store.NIOFSDirectory;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
 
 import java.io.Closeable;
-import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Collection;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
 
 @Getter
 @Accessors(fluent = true)
@@ -65,12 +54,7 @@ public class FileSystemIndexer implements Closeable, PostOperationVisitor {
     private FileSystemIndexerSettings settings;
     private FileSystem fs;
     private BaseEnv<?> env;
-    private final Analyzer analyzer = new StandardAnalyzer();
-    private final IndexBuilder builder = new IndexBuilder();
-    private IndexWriter writer;
-    private IndexSearcher search;
-    private Directory baseDir;
-    private ExecutorService executor;
+    private InodeIndex inodeIndex;
     private ZookeeperConnection connection;
     private DistributedLock indexLock;
     private String zkBasePath;
@@ -112,25 +96,12 @@ public class FileSystemIndexer implements Closeable, PostOperationVisitor {
             indexLock.lock();
             try {
                 state = checkAndGetState();
-                File dir = new File(settings.getDirectory());
-                if (!dir.exists()) {
-                    if (!dir.mkdirs()) {
-                        throw new IOException(String.format("Failed to create directory. [path=%s]", settings.getDirectory()));
-                    }
-                }
-                if (settings().isUseMappedFiles()) {
-                    baseDir = new MMapDirectory(dir.toPath());
-                } else {
-                    baseDir = new NIOFSDirectory(dir.toPath());
-                }
-                executor = Executors.newFixedThreadPool(settings().getPoolSize());
-                IndexWriterConfig indexWriterConfig = new IndexWriterConfig(analyzer);
-                writer = new IndexWriter(baseDir, indexWriterConfig);
+                inodeIndex = new InodeIndex(settings, this::committed)
+                        .open();
                 if (!state.initialized()) {
                     state.setState(EFileIndexerState.Initialized);
                     state = save(state);
                 }
-                search = new IndexSearcher(DirectoryReader.open(writer), executor);
             } finally {
                 indexLock.unlock();
             }
@@ -142,6 +113,17 @@ public class FileSystemIndexer implements Closeable, PostOperationVisitor {
         }
     }
 
+    private void committed(InodeIndex index, int count) throws Exception {
+        indexLock.lock();
+        try {
+            state = checkAndGetState();
+            state.setCount(count);
+            state = save(state);
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
     private FileIndexerState checkAndGetState() throws Exception {
         FileIndexerState state = getState();
         if (state == null) {
@@ -188,81 +170,81 @@ public class FileSystemIndexer implements Closeable, PostOperationVisitor {
                 .build();
     }
 
-    public void index(@NonNull FileInode inode) throws Exception {
+    /**
+     * Re-index all the file inodes if the index was cleared on open (format changed), called
+     * once the file system domains have been registered.
+     *
+     * @throws Exception
+     */
+    public void checkRebuild() throws Exception {
         Preconditions.checkState(state != null && state.initialized());
-        indexLock.lock();
-        try {
-            state = getState();
-            Document doc = builder.build(inode);
-            writer.addDocument(doc);
-            writer.commit();
-            if (inode.getState().getState() == EFileState.New) {
-                state.setCount(state().getCount() + 1);
-                state = save(state);
+        if (!inodeIndex.rebuild()) return;
+        int count = 0;
+        for (Container container : fs.settings().getContainers().values()) {
+            List<Inode> inodes = fs.list(container.pathInfo(fs), true);
+            if (inodes == null) continue;
+            for (Inode inode : inodes) {
+                if (inode instanceof FileInode) {
+                    inodeIndex.update((FileInode) inode);
+                    count++;
+                }
             }
-        } finally {
-            indexLock.unlock();
         }
+        inodeIndex.commit();
+        DefaultLogger.info(String.format("Index rebuilt. [fs=%s][count=%d]", fs.settings().getName(), count));
     }
 
+    public void index(@NonNull FileInode inode) throws Exception {
+        Preconditions.checkState(state != null && state.initialized());
+        inodeIndex.update(inode);
+    }
+
+    /**
+     * Delete the inode from the index.
+     *
+     * @param inode - File inode.
+     * @return - True if the inode was visible to the current searcher.
+     * @throws Exception
+     */
     public boolean delete(@NonNull FileInode inode) throws Exception {
         Preconditions.checkState(state != null && state.initialized());
-        indexLock.lock();
-        try {
-            state = getState();
-            Document doc = findById(inode.getUuid());
-            if (doc != null) {
-                long ret = writer.deleteDocuments(
-                        new Term(InodeIndexConstants.NAME_UUID, String.format("\"%s\"", inode.getUuid())));
-                if (ret > 1) {
-                    throw new Exception(
-                            String.format("Index corrupted: multiple document deleted. [count=%s][uuid=%s]",
-                                    ret, inode.getUuid()));
-                }
-                if (ret == 1) {
-                    state.setCount(state().getCount() - 1);
-                    state = save(state);
-                }
-                return (ret == 1);
-            }
-            return false;
-        } finally {
-            indexLock.unlock();
-        }
+        Term term = new Term(InodeIndexConstants.KEY_UUID, inode.getUuid());
+        boolean exists = inodeIndex.exists(term);
+        inodeIndex.delete(term);
+        return exists;
     }
 
     public boolean delete(@NonNull String fsPath) throws Exception {
         Preconditions.checkState(state != null && state.initialized());
-        indexLock.lock();
-        try {
-            state = getState();
-            Document doc = findByFsPath(fsPath);
-            if (doc != null) {
-                long ret = writer.deleteDocuments(
-                        new Term(InodeIndexConstants.NAME_FS_PATH, String.format("\"%s\"", fsPath)));
-                if (ret > 1) {
-                    throw new Exception(
-                            String.format("Index corrupted: multiple document deleted. [count=%s][faPath=%s]",
-                                    ret, fsPath));
-                }
-                if (ret == 1) {
-                    state.setCount(state().getCount() - 1);
-                    state = save(state);
-                }
-                return (ret == 1);
-            }
-            return false;
-        } finally {
-            indexLock.unlock();
-        }
+        Term term = new Term(InodeIndexConstants.KEY_FS_PATH, fsPath);
+        boolean exists = inodeIndex.exists(term);
+        inodeIndex.delete(term);
+        return exists;
+    }
+
+    /**
+     * Commit pending updates (near-real-time mode commits periodically).
+     *
+     * @throws Exception
+     */
+    public void commit() throws Exception {
+        Preconditions.checkState(state != null && state.initialized());
+        inodeIndex.commit();
+    }
+
+    /**
+     * Wait till all updates issued so far are visible to readers.
+     *
+     * @throws Exception
+     */
+    public void refresh() throws Exception {
+        Preconditions.checkState(state != null && state.initialized());
+        inodeIndex.refresh();
     }
 
     public SearchCursor reader(@NonNull Query query, int pageSize, int pageBuffers) throws Exception {
         Preconditions.checkState(state != null && state.initialized());
-        return new SearchCursor(baseDir, query)
-                .withPageSize(pageSize)
-                .withPageBuffers(pageBuffers)
-                .create(executor);
+        return inodeIndex.cursor(query, pageSize, pageBuffers);
     }
 
     public SearchCursor reader(@NonNull Query query) throws Exception {
@@ -282,24 +264,20 @@ public class FileSystemIndexer implements Closeable, PostOperationVisitor {
     }
 
     public SearchCursor findByDirectory(@NonNull String path) throws Exception {
-        Query query = new PrefixQuery(new Term(InodeIndexConstants.NAME_FS_PATH, path));
-        return reader(query);
+        return reader(directoryQuery(path));
     }
 
     public Document findBy(@NonNull String name, @NonNull String value) throws Exception {
         Preconditions.checkState(state != null && state.initialized());
-        Query query = new TermQuery(new Term(name, String.format("\"%s\"", value)));
-        TopDocs topDocs = search.search(query, 1);
-        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
-            Document doc = search.doc(scoreDoc.doc);
-            String v = doc.get(name);
-            if (v != null) {
-                if (v.compareTo(value) == 0) {
-                    return doc;
-                }
-            }
+        Query query;
+        if (name.equals(InodeIndexConstants.NAME_UUID)) {
+            query = new TermQuery(new Term(InodeIndexConstants.KEY_UUID, value));
+        } else if (name.equals(InodeIndexConstants.NAME_FS_PATH)) {
+            query = new TermQuery(new Term(InodeIndexConstants.KEY_FS_PATH, value));
+        } else {
+            query = new TermQuery(new Term(name, String.format("\"%s\"", value)));
         }
-        return null;
+        return inodeIndex.find(query, name, value);
     }
 
     public SearchCursor find(@NonNull FileIndexFilter filter) throws Exception {
@@ -308,15 +286,18 @@ public class FileSystemIndexer implements Closeable, PostOperationVisitor {
         return reader(query);
     }
 
+    private Query directoryQuery(String path) {
+        if (!path.endsWith("/")) {
+            path = path + "/";
+        }
+        return new PrefixQuery(new Term(InodeIndexConstants.KEY_FS_PATH, path));
+    }
+
     @Override
     public void close() throws IOException {
-        if (writer != null && writer.isOpen()) {
-            writer.flush();
-            writer.close();
-        }
-        writer = null;
-        if (search != null) {
-            search = null;
+        if (inodeIndex != null) {
+            inodeIndex.close();
+            inodeIndex = null;
         }
         state = null;
     }
@@ -344,33 +325,8 @@ public class FileSystemIndexer implements Closeable, PostOperationVisitor {
         if (node instanceof FileInode) {
             delete((FileInode) node);
         } else {
-            try (SearchCursor cursor = findByDirectory(node.getFsPath())) {
-                indexLock.lock();
-                try {
-                    state = getState();
-                    while (true) {
-                        Collection<Document> docs = cursor.fetch();
-                        if (docs == null) break;
-                        for (Document doc : docs) {
-                            String fsPath = doc.get(InodeIndexConstants.NAME_FS_PATH);
-                            if (!Strings.isNullOrEmpty(fsPath)) {
-                                long ret = writer.deleteDocuments(
-                                        new Term(InodeIndexConstants.NAME_FS_PATH, String.format("\"%s\"", fsPath)));
-                                if (ret > 1) {
-                                    throw new Exception(
-                                            String.format("Index corrupted: multiple document deleted. [count=%s][faPath=%s]",
-                                                    ret, fsPath));
-                                }
-                                DefaultLogger.trace(String.format("Delete index: [path=%s]", fsPath));
-                                state.setCount(state().getCount() - 1);
-                            }
-                        }
-                    }
-                    state = save(state);
-                } finally {
-                    indexLock.unlock();
-                }
-            }
+            Preconditions.checkState(state != null && state.initialized());
+            inodeIndex.delete(directoryQuery(node.getFsPath()));
         }
     }
 }
@@ -20,9 +20,13 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.zyient.base.common.config.Config;
 import io.zyient.base.common.config.ConfigPath;
 import io.zyient.base.common.config.Settings;
+import io.zyient.base.common.config.units.TimeUnitValue;
+import io.zyient.base.common.config.units.TimeValueParser;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * <pre>
  *     <fs>
@@ -35,6 +39,12 @@ import lombok.Setter;
  *                     <directory>[Path to index storage]</directory>
  *                     <mapped>[Used Memory mapped index. default=true]</mapped>
  *                     <poolSize>[Executor pool size, default=4]</poolSize>
+ *                     <nrt>
+ *                         <enabled>[Near-real-time indexing, default=false]</enabled>
+ *                         <commitInterval>[Max time between commits, default=30sec]</commitInterval>
+ *                         <commitCount>[Max updates between commits, default=10000]</commitCount>
+ *                         <refreshInterval>[Max staleness of searchers, default=1sec]</refreshInterval>
+ *                     </nrt>
  *                 </indexer>
  *             </fileSystem>
  *             ...
@@ -56,6 +66,17 @@ public class FileSystemIndexerSettings extends Settings {
     private boolean useMappedFiles = true;
     @Config(name = "poolSize", required = false, type = Integer.class)
     private int poolSize = 4;
+    /**
+     * When disabled every update is committed (and the state saved) before returning.
+     */
+    @Config(name = "nrt.enabled", required = false, type = Boolean.class)
+    private boolean nrt = false;
+    @Config(name = "nrt.commitInterval", required = false, parser = TimeValueParser.class)
+    private TimeUnitValue commitInterval = new TimeUnitValue(30, TimeUnit.SECONDS);
+    @Config(name = "nrt.commitCount", required = false, type = Integer.class)
+    private int commitCount = 10000;
+    @Config(name = "nrt.refreshInterval", required = false, parser = TimeValueParser.class)
+    private TimeUnitValue refreshInterval = new TimeUnitValue(1, TimeUnit.SECONDS);
 
     public static String path() {
         ConfigPath cp = FileSystemIndexerSettings.class.getAnnotation(ConfigPath.class);
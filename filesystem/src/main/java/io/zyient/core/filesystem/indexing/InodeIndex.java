@@ -0,0 +1,325 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.indexing;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.index.IndexBuilder;
+import io.zyient.base.core.index.SearchCursor;
+import io.zyient.core.filesystem.model.FileInode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NIOFSDirectory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lucene index of file inodes.
+ * <p>
+ * Documents are keyed by the inode UUID (updateDocument), searchers are shared through
+ * a SearcherManager. In near-real-time mode a reopen thread refreshes the searchers and
+ * commits happen every commit interval or commit count, otherwise every update is
+ * committed and the searchers refreshed before returning.
+ * <p>
+ * The format version is stored in the commit user data, an index written with another format
+ * is cleared on open and flagged for rebuild (see {@link #rebuild()}).
+ */
+@Getter
+@Accessors(fluent = true)
+public class InodeIndex implements Closeable {
+    public interface CommitListener {
+        void committed(@NonNull InodeIndex index, int count) throws Exception;
+    }
+
+    private final FileSystemIndexerSettings settings;
+    @Getter(AccessLevel.NONE)
+    private final Analyzer analyzer = new StandardAnalyzer();
+    @Getter(AccessLevel.NONE)
+    private final IndexBuilder builder = new IndexBuilder();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong pending = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong generation = new AtomicLong(-1);
+    @Getter(AccessLevel.NONE)
+    private final CommitListener listener;
+    private Directory baseDir;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    @Getter(AccessLevel.NONE)
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    @Getter(AccessLevel.NONE)
+    private ScheduledExecutorService committer;
+    private ExecutorService executor;
+    /**
+     * Index was cleared on open (format changed), the inodes have to be re-indexed.
+     */
+    private boolean rebuild = false;
+
+    public InodeIndex(@NonNull FileSystemIndexerSettings settings,
+                      CommitListener listener) {
+        this.settings = settings;
+        this.listener = listener;
+    }
+
+    public InodeIndex open() throws Exception {
+        File dir = new File(settings.getDirectory());
+        if (!dir.exists()) {
+            if (!dir.mkdirs()) {
+                throw new IOException(String.format("Failed to create directory. [path=%s]", settings.getDirectory()));
+            }
+        }
+        if (settings.isUseMappedFiles()) {
+            baseDir = new MMapDirectory(dir.toPath());
+        } else {
+            baseDir = new NIOFSDirectory(dir.toPath());
+        }
+        executor = Executors.newFixedThreadPool(settings.getPoolSize());
+        writer = new IndexWriter(baseDir, new IndexWriterConfig(analyzer));
+        checkFormat();
+        searcherManager = new SearcherManager(writer, new SearcherFactory() {
+            @Override
+            public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+                return new IndexSearcher(reader, executor);
+            }
+        });
+        if (settings.isNrt()) {
+            double maxStale = settings.getRefreshInterval().normalized() / 1000.0;
+            reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                    maxStale, Math.min(maxStale, 0.025));
+            reopenThread.setName(String.format("INDEX-REOPEN-%s", dir.getName()));
+            reopenThread.setDaemon(true);
+            reopenThread.start();
+            long interval = settings.getCommitInterval().normalized();
+            committer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, String.format("INDEX-COMMIT-%s", dir.getName()));
+                thread.setDaemon(true);
+                return thread;
+            });
+            committer.scheduleWithFixedDelay(this::scheduledCommit, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Documents written by an older format cannot be updated or deleted by key (updates would
+     * add duplicates, deletes match nothing), such an index is cleared.
+     */
+    private void checkFormat() throws IOException {
+        String version = null;
+        Iterable<Map.Entry<String, String>> data = writer.getLiveCommitData();
+        if (data != null) {
+            for (Map.Entry<String, String> entry : data) {
+                if (entry.getKey().equals(InodeIndexConstants.KEY_FORMAT_VERSION)) {
+                    version = entry.getValue();
+                }
+            }
+        }
+        if (!InodeIndexConstants.INDEX_FORMAT_VERSION.equals(version)) {
+            if (writer.getDocStats().maxDoc > 0) {
+                DefaultLogger.warn(String.format("Index format changed, rebuilding. [directory=%s][version=%s]",
+                        settings.getDirectory(), version));
+                writer.deleteAll();
+                rebuild = true;
+            }
+            writer.setLiveCommitData(Map.of(InodeIndexConstants.KEY_FORMAT_VERSION,
+                    InodeIndexConstants.INDEX_FORMAT_VERSION).entrySet());
+            writer.commit();
+        }
+    }
+
+    /**
+     * Add or replace the document for the inode.
+     *
+     * @param inode - File inode.
+     * @return - Index generation of this update.
+     * @throws Exception
+     */
+    public long update(@NonNull FileInode inode) throws Exception {
+        Preconditions.checkNotNull(writer);
+        Document doc = builder.build(inode);
+        doc.add(new StringField(InodeIndexConstants.KEY_UUID, inode.getUuid(), Field.Store.NO));
+        doc.add(new StringField(InodeIndexConstants.KEY_FS_PATH, inode.getFsPath(), Field.Store.NO));
+        return updated(writer.updateDocument(new Term(InodeIndexConstants.KEY_UUID, inode.getUuid()), doc));
+    }
+
+    public long delete(@NonNull Term term) throws Exception {
+        Preconditions.checkNotNull(writer);
+        return updated(writer.deleteDocuments(term));
+    }
+
+    public long delete(@NonNull Query query) throws Exception {
+        Preconditions.checkNotNull(writer);
+        return updated(writer.deleteDocuments(query));
+    }
+
+    private long updated(long sequence) throws Exception {
+        generation.accumulateAndGet(sequence, Math::max);
+        if (!settings.isNrt()) {
+            commit();
+        } else if (pending.incrementAndGet() >= settings.getCommitCount()) {
+            commit();
+        }
+        return sequence;
+    }
+
+    /**
+     * Check if a document matching the term is visible to the current searcher.
+     *
+     * @param term - Key term.
+     * @return - Exists?
+     * @throws Exception
+     */
+    public boolean exists(@NonNull Term term) throws Exception {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.count(new TermQuery(term)) > 0;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    public Document find(@NonNull Query query,
+                         @NonNull String name,
+                         @NonNull String value) throws Exception {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, 1);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document doc = searcher.doc(scoreDoc.doc);
+                String v = doc.get(name);
+                if (v != null) {
+                    if (v.compareTo(value) == 0) {
+                        return doc;
+                    }
+                }
+            }
+            return null;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    public SearchCursor cursor(@NonNull Query query, int pageSize, int pageBuffers) throws Exception {
+        return new SearchCursor(searcherManager, query)
+                .withPageSize(pageSize)
+                .withPageBuffers(pageBuffers)
+                .create(executor);
+    }
+
+    /**
+     * Wait till all updates issued so far are visible to searchers.
+     *
+     * @throws Exception
+     */
+    public void refresh() throws Exception {
+        if (reopenThread != null) {
+            long current = generation.get();
+            if (current >= 0) {
+                reopenThread.waitForGeneration(current);
+            }
+        } else {
+            searcherManager.maybeRefreshBlocking();
+        }
+    }
+
+    public synchronized void commit() throws Exception {
+        Preconditions.checkNotNull(writer);
+        pending.set(0);
+        writer.commit();
+        if (reopenThread == null) {
+            searcherManager.maybeRefreshBlocking();
+        }
+        if (listener != null) {
+            listener.committed(this, writer.getDocStats().numDocs);
+        }
+    }
+
+    private void scheduledCommit() {
+        try {
+            if (pending.get() > 0) {
+                commit();
+            }
+        } catch (Throwable t) {
+            DefaultLogger.error(String.format("Index commit failed. [directory=%s]", settings.getDirectory()), t);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (committer != null) {
+            committer.shutdown();
+            try {
+                committer.awaitTermination(settings.getCommitInterval().normalized(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            committer = null;
+        }
+        if (reopenThread != null) {
+            reopenThread.close();
+            reopenThread = null;
+        }
+        try {
+            if (writer != null && writer.isOpen()) {
+                commit();
+            }
+        } catch (IOException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        } finally {
+            if (searcherManager != null) {
+                searcherManager.close();
+                searcherManager = null;
+            }
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            if (baseDir != null) {
+                baseDir.close();
+                baseDir = null;
+            }
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+}
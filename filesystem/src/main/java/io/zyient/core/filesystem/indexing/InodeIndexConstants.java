@@ -34,6 +34,16 @@ public class InodeIndexConstants {
     public static final String NAME_STATE = "state";
     public static final String NAME_CREATE_DATE = "created";
     public static final String NAME_MODIFIED_DATE = "modified";
+    /**
+     * Un-analyzed keys used for exact lookups, updates and deletes.
+     */
+    public static final String KEY_UUID = "_uuid";
+    public static final String KEY_FS_PATH = "_fs_path";
+    /**
+     * Index format version, stored in the commit user data. Indexes with another version are rebuilt.
+     */
+    public static final String KEY_FORMAT_VERSION = "format.version";
+    public static final String INDEX_FORMAT_VERSION = "2";
 
     @Getter
     @Accessors(fluent = true)
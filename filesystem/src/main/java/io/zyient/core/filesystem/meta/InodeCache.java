@@ -0,0 +1,218 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.meta;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+import org.apache.curator.utils.ZKPaths;
+import org.apache.zookeeper.data.Stat;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local cache of the inode metadata stored in ZooKeeper, kept up to date by {@link CuratorCache} watches.
+ * <p>
+ * Reads are served from memory once the initial load has completed. Updates made by this process are
+ * written through, so they are visible to subsequent reads before the watch event arrives. Operations
+ * that must see the latest state (updates under an inode lock) should read from ZooKeeper directly.
+ */
+@Getter
+@Accessors(fluent = true)
+public class InodeCache implements Closeable {
+    /**
+     * Locally written node data, used till the watch event for the write (or a later one) is received.
+     */
+    private record Local(byte[] data, long mzxid, boolean deleted) {
+    }
+
+    private final String path;
+    @Getter(AccessLevel.NONE)
+    private final CuratorCache cache;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Local> local = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Set<String>> children = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final CountDownLatch initialized = new CountDownLatch(1);
+    private volatile boolean ready = false;
+
+    public InodeCache(@NonNull CuratorFramework client,
+                      @NonNull String path) {
+        this.path = path;
+        cache = CuratorCache.build(client, path);
+        CuratorCacheListener listener = CuratorCacheListener.builder()
+                .forCreates(this::created)
+                .forChanges((previous, current) -> changed(current))
+                .forDeletes(this::deleted)
+                .forInitialized(() -> {
+                    ready = true;
+                    initialized.countDown();
+                })
+                .build();
+        cache.listenable().addListener(listener);
+    }
+
+    /**
+     * Start the cache and wait for the initial load.
+     *
+     * @param timeout - Max time to wait (in milliseconds).
+     * @return - Self
+     * @throws InterruptedException
+     */
+    public InodeCache start(long timeout) throws InterruptedException {
+        cache.start();
+        if (!initialized.await(timeout, TimeUnit.MILLISECONDS)) {
+            DefaultLogger.warn(String.format("Inode cache not loaded, reading from ZooKeeper. [path=%s]", path));
+        }
+        return this;
+    }
+
+    /**
+     * Get the cached node data.
+     *
+     * @param path - ZooKeeper path.
+     * @return - Node data, NULL if the node does not exist.
+     */
+    public byte[] get(@NonNull String path) {
+        Optional<ChildData> data = cache.get(path);
+        Local value = local.get(path);
+        if (value != null) {
+            if (data.isEmpty() || value.deleted || data.get().getStat().getMzxid() < value.mzxid) {
+                return (value.deleted ? null : value.data);
+            }
+            local.remove(path, value);
+        }
+        return data.map(ChildData::getData).orElse(null);
+    }
+
+    /**
+     * Check if the node exists in the cache.
+     *
+     * @param path - ZooKeeper path.
+     * @return - Exists?
+     */
+    public boolean exists(@NonNull String path) {
+        Local value = local.get(path);
+        if (value != null && value.deleted) {
+            return false;
+        }
+        return value != null || cache.get(path).isPresent();
+    }
+
+    /**
+     * Get the names of the cached child nodes.
+     *
+     * @param path - ZooKeeper path.
+     * @return - Child node names.
+     */
+    public List<String> children(@NonNull String path) {
+        Set<String> names = children.get(path);
+        if (names == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Record node data written by this process.
+     *
+     * @param path - ZooKeeper path.
+     * @param data - Written data.
+     * @param stat - Stat returned by the write.
+     */
+    public void put(@NonNull String path, byte[] data, Stat stat) {
+        long mzxid = (stat != null ? stat.getMzxid() : Long.MAX_VALUE);
+        local.put(path, new Local(data, mzxid, false));
+        addChild(path);
+    }
+
+    /**
+     * Record a node (and its children) deleted by this process.
+     *
+     * @param path - ZooKeeper path.
+     */
+    public void remove(@NonNull String path) {
+        Set<String> names = children.remove(path);
+        if (names != null) {
+            for (String name : names) {
+                remove(ZKPaths.makePath(path, name));
+            }
+        }
+        local.put(path, new Local(null, Long.MAX_VALUE, true));
+        removeChild(path);
+    }
+
+    private void created(ChildData data) {
+        Local value = local.get(data.getPath());
+        if (value != null && value.deleted) {
+            local.remove(data.getPath(), value);
+        }
+        addChild(data.getPath());
+        changed(data);
+    }
+
+    private void changed(ChildData data) {
+        Local value = local.get(data.getPath());
+        if (value != null && !value.deleted && data.getStat().getMzxid() >= value.mzxid) {
+            local.remove(data.getPath(), value);
+        }
+    }
+
+    private void deleted(ChildData data) {
+        local.remove(data.getPath());
+        removeChild(data.getPath());
+        children.remove(data.getPath());
+    }
+
+    private void addChild(String path) {
+        if (path.compareTo(this.path) == 0) return;
+        ZKPaths.PathAndNode pn = ZKPaths.getPathAndNode(path);
+        children.computeIfAbsent(pn.getPath(), k -> ConcurrentHashMap.newKeySet()).add(pn.getNode());
+    }
+
+    private void removeChild(String path) {
+        if (path.compareTo(this.path) == 0) return;
+        ZKPaths.PathAndNode pn = ZKPaths.getPathAndNode(path);
+        Set<String> names = children.get(pn.getPath());
+        if (names != null) {
+            names.remove(pn.getNode());
+        }
+    }
+
+    @Override
+    public void close() {
+        ready = false;
+        cache.close();
+        local.clear();
+        children.clear();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.meta;
+
+import io.zyient.base.core.connections.common.ZookeeperConnection;
+import io.zyient.core.filesystem.model.FileSystemSettings;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Store for the file system metadata (inodes).
+ * <p>
+ * Inodes are keyed by their (ZooKeeper style) path, the value is the serialized inode.
+ * Implementations must be able to list the direct children of a path and apply a {@link Batch}
+ * of updates atomically.
+ */
+public interface InodeStore extends Closeable {
+    /**
+     * Initialize the store.
+     *
+     * @param settings   - File system settings.
+     * @param connection - ZooKeeper connection (used for distributed locks).
+     * @param basePath   - Root path of the file system metadata.
+     * @return - Self
+     * @throws IOException
+     */
+    InodeStore init(@NonNull FileSystemSettings settings,
+                    ZookeeperConnection connection,
+                    @NonNull String basePath) throws IOException;
+
+    /**
+     * Read the data for a path.
+     *
+     * @param path       - Inode path.
+     * @param consistent - Read the latest committed state, bypassing any local cache.
+     * @return - Inode data, NULL if not found.
+     * @throws IOException
+     */
+    byte[] read(@NonNull String path, boolean consistent) throws IOException;
+
+    boolean exists(@NonNull String path, boolean consistent) throws IOException;
+
+    /**
+     * Get the names of the direct children of a path.
+     *
+     * @param path       - Inode path.
+     * @param consistent - Read the latest committed state, bypassing any local cache.
+     * @return - Child names, NULL if the path doesn't exist.
+     * @throws IOException
+     */
+    List<String> children(@NonNull String path, boolean consistent) throws IOException;
+
+    /**
+     * Create a new path, fails if the path already exists.
+     *
+     * @param path    - Inode path.
+     * @param data    - Inode data.
+     * @param parents - Create missing parent paths.
+     * @throws IOException
+     */
+    void create(@NonNull String path, byte[] data, boolean parents) throws IOException;
+
+    /**
+     * Update the data of an existing path.
+     *
+     * @param path - Inode path.
+     * @param data - Inode data.
+     * @throws IOException
+     */
+    void write(@NonNull String path, byte[] data) throws IOException;
+
+    /**
+     * Delete a path.
+     *
+     * @param path      - Inode path.
+     * @param recursive - Delete the sub-tree, else fails if the path has children.
+     * @return - Deleted, false if the path doesn't exist.
+     * @throws IOException
+     */
+    boolean delete(@NonNull String path, boolean recursive) throws IOException;
+
+    /**
+     * Apply all the operations in the batch atomically, either all are applied or none.
+     *
+     * @param batch - Batch of operations.
+     * @throws IOException
+     */
+    void commit(@NonNull Batch batch) throws IOException;
+
+    enum EOperation {
+        Create,
+        Write,
+        /**
+         * Delete the path (and sub-tree) if it exists.
+         */
+        Delete
+    }
+
+    record Operation(EOperation type, String path, byte[] data) {
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    class Batch {
+        private final List<Operation> operations = new ArrayList<>();
+
+        public Batch create(@NonNull String path, byte[] data) {
+            operations.add(new Operation(EOperation.Create, path, data));
+            return this;
+        }
+
+        public Batch write(@NonNull String path, byte[] data) {
+            operations.add(new Operation(EOperation.Write, path, data));
+            return this;
+        }
+
+        public Batch delete(@NonNull String path) {
+            operations.add(new Operation(EOperation.Delete, path, null));
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return operations.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.meta;
+
+import com.google.common.base.Strings;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.PathUtils;
+import io.zyient.base.core.connections.common.ZookeeperConnection;
+import io.zyient.core.filesystem.model.FileSystemSettings;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.h2.mvstore.MVStore;
+import org.h2.mvstore.tx.Transaction;
+import org.h2.mvstore.tx.TransactionMap;
+import org.h2.mvstore.tx.TransactionStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Inode store using an embedded, transactional key/value store (H2 MVStore), for file systems
+ * with more inodes than ZooKeeper handles comfortably. The store is local to the process,
+ * distributed locks are still acquired using ZooKeeper.
+ * <p>
+ * Keys are the parent path and the name separated by '\0', so the direct children of a path are
+ * a contiguous key range (prefix scan) and a sub-tree is two ranges ([path]\0 and [path]/).
+ * Writes are serialized and each operation (or batch) is applied in a single transaction,
+ * readers only see committed data.
+ */
+@Getter
+@Accessors(fluent = true)
+public class LocalInodeStore implements InodeStore {
+    public static final String MAP_NAME = "inodes";
+    private static final char SEPARATOR = '\0';
+    private static final byte[] EMPTY = new byte[0];
+
+    private File file;
+    private String basePath;
+    @Getter(AccessLevel.NONE)
+    private MVStore store;
+    @Getter(AccessLevel.NONE)
+    private TransactionStore transactions;
+    @Getter(AccessLevel.NONE)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Override
+    public InodeStore init(@NonNull FileSystemSettings settings,
+                           ZookeeperConnection connection,
+                           @NonNull String basePath) throws IOException {
+        if (Strings.isNullOrEmpty(settings.getMetadataPath())) {
+            throw new IOException(String.format("[%s] Metadata store path not specified.", settings.getName()));
+        }
+        File dir = new File(settings.getMetadataPath());
+        if (!dir.exists()) {
+            if (!dir.mkdirs()) {
+                throw new IOException(String.format("Failed to create directory. [path=%s]", dir.getAbsolutePath()));
+            }
+        }
+        return open(new File(PathUtils.formatPath(String.format("%s/%s.mv.db",
+                dir.getAbsolutePath(), settings.getName()))), basePath);
+    }
+
+    public LocalInodeStore open(@NonNull File file, @NonNull String basePath) throws IOException {
+        try {
+            this.file = file;
+            this.basePath = basePath;
+            store = new MVStore.Builder()
+                    .fileName(file.getAbsolutePath())
+                    .open();
+            transactions = new TransactionStore(store);
+            transactions.init();
+            if (!exists(basePath, true)) {
+                create(basePath, null, true);
+            }
+            return this;
+        } catch (IOException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    public static String key(@NonNull String path) {
+        int index = path.lastIndexOf('/');
+        if (index <= 0) {
+            return "/" + SEPARATOR + path.substring(index + 1);
+        }
+        return path.substring(0, index) + SEPARATOR + path.substring(index + 1);
+    }
+
+    private static String parent(String path) {
+        int index = path.lastIndexOf('/');
+        if (index <= 0) {
+            return "/";
+        }
+        return path.substring(0, index);
+    }
+
+    private static String childPrefix(String path) {
+        return path + SEPARATOR;
+    }
+
+    private static String descendantPrefix(String path) {
+        return (path.compareTo("/") == 0 ? path : path + "/");
+    }
+
+    private TransactionMap<String, byte[]> map(Transaction tx) {
+        return tx.openMap(MAP_NAME);
+    }
+
+    @Override
+    public byte[] read(@NonNull String path, boolean consistent) throws IOException {
+        Transaction tx = transactions.begin();
+        try {
+            byte[] data = map(tx).get(key(path));
+            if (data != null && data.length == 0) {
+                return null;
+            }
+            return data;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        } finally {
+            tx.commit();
+        }
+    }
+
+    @Override
+    public boolean exists(@NonNull String path, boolean consistent) throws IOException {
+        Transaction tx = transactions.begin();
+        try {
+            return map(tx).containsKey(key(path));
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        } finally {
+            tx.commit();
+        }
+    }
+
+    @Override
+    public List<String> children(@NonNull String path, boolean consistent) throws IOException {
+        Transaction tx = transactions.begin();
+        try {
+            TransactionMap<String, byte[]> map = map(tx);
+            if (!map.containsKey(key(path))) {
+                return null;
+            }
+            String prefix = childPrefix(path);
+            List<String> names = new ArrayList<>();
+            Iterator<String> iter = map.keyIterator(prefix);
+            while (iter.hasNext()) {
+                String key = iter.next();
+                if (!key.startsWith(prefix)) break;
+                names.add(key.substring(prefix.length()));
+            }
+            return names;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        } finally {
+            tx.commit();
+        }
+    }
+
+    @Override
+    public void create(@NonNull String path, byte[] data, boolean parents) throws IOException {
+        execute(map -> create(map, path, data, parents));
+    }
+
+    @Override
+    public void write(@NonNull String path, byte[] data) throws IOException {
+        execute(map -> write(map, path, data));
+    }
+
+    @Override
+    public boolean delete(@NonNull String path, boolean recursive) throws IOException {
+        boolean[] deleted = {false};
+        execute(map -> deleted[0] = delete(map, path, recursive));
+        return deleted[0];
+    }
+
+    @Override
+    public void commit(@NonNull Batch batch) throws IOException {
+        if (batch.isEmpty()) return;
+        execute(map -> {
+            for (Operation op : batch.operations()) {
+                switch (op.type()) {
+                    case Create -> create(map, op.path(), op.data(), false);
+                    case Write -> write(map, op.path(), op.data());
+                    case Delete -> delete(map, op.path(), true);
+                }
+            }
+        });
+    }
+
+    private interface Updates {
+        void apply(TransactionMap<String, byte[]> map) throws IOException;
+    }
+
+    private void execute(Updates updates) throws IOException {
+        writeLock.lock();
+        try {
+            Transaction tx = transactions.begin();
+            try {
+                updates.apply(map(tx));
+                tx.commit();
+            } catch (Throwable t) {
+                tx.rollback();
+                if (t instanceof IOException) {
+                    throw (IOException) t;
+                }
+                throw new IOException(t);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void create(TransactionMap<String, byte[]> map,
+                        String path,
+                        byte[] data,
+                        boolean parents) throws IOException {
+        String key = key(path);
+        if (map.containsKey(key)) {
+            throw new IOException(String.format("Path already exists. [path=%s]", path));
+        }
+        String parent = parent(path);
+        if (parent.compareTo("/") != 0 && !map.containsKey(key(parent))) {
+            if (!parents) {
+                throw new IOException(String.format("Parent path not found. [path=%s]", parent));
+            }
+            create(map, parent, null, true);
+        }
+        map.put(key, (data != null ? data : EMPTY));
+    }
+
+    private void write(TransactionMap<String, byte[]> map,
+                       String path,
+                       byte[] data) throws IOException {
+        String key = key(path);
+        if (!map.containsKey(key)) {
+            throw new IOException(String.format("Path not found. [path=%s]", path));
+        }
+        map.put(key, (data != null ? data : EMPTY));
+    }
+
+    private boolean delete(TransactionMap<String, byte[]> map,
+                           String path,
+                           boolean recursive) throws IOException {
+        String key = key(path);
+        if (!map.containsKey(key)) {
+            return false;
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        scan(map, childPrefix(path), keys);
+        if (!keys.isEmpty()) {
+            if (!recursive) {
+                throw new IOException(String.format("Path has children. [path=%s]", path));
+            }
+            scan(map, descendantPrefix(path), keys);
+            for (String k : keys) {
+                map.remove(k);
+            }
+        }
+        map.remove(key);
+        return true;
+    }
+
+    private void scan(TransactionMap<String, byte[]> map, String prefix, Set<String> keys) {
+        Iterator<String> iter = map.keyIterator(prefix);
+        while (iter.hasNext()) {
+            String key = iter.next();
+            if (!key.startsWith(prefix)) break;
+            keys.add(key);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (transactions != null) {
+                transactions.close();
+                transactions = null;
+            }
+            if (store != null) {
+                store.close();
+                store = null;
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            throw new IOException(ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.meta;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.core.DistributedLock;
+import io.zyient.base.core.connections.common.ZookeeperConnection;
+import io.zyient.core.filesystem.model.FileSystemSettings;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.transaction.CuratorOp;
+import org.apache.curator.utils.ZKPaths;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inode store using ZooKeeper nodes, one node per inode.
+ * <p>
+ * Optionally caches the inodes locally ({@link InodeCache}), reads with consistent = true
+ * always go to ZooKeeper.
+ */
+@Getter
+@Accessors(fluent = true)
+public class ZkInodeStore implements InodeStore {
+    @Getter(AccessLevel.NONE)
+    private CuratorFramework client;
+    @Getter(AccessLevel.NONE)
+    private InodeCache cache;
+    private String basePath;
+
+    @Override
+    public InodeStore init(@NonNull FileSystemSettings settings,
+                           ZookeeperConnection connection,
+                           @NonNull String basePath) throws IOException {
+        Preconditions.checkArgument(connection != null);
+        try {
+            this.basePath = basePath;
+            client = connection.client();
+            if (client.checkExists().forPath(basePath) == null) {
+                client.create().creatingParentContainersIfNeeded().forPath(basePath);
+                client.setData().forPath(basePath, null);
+            }
+            if (settings.isCacheInodes()) {
+                cache = new InodeCache(client, basePath)
+                        .start(settings.getLockTimeout().normalized());
+            }
+            return this;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private boolean useCache(boolean consistent) {
+        return !consistent && cache != null && cache.ready();
+    }
+
+    @Override
+    public byte[] read(@NonNull String path, boolean consistent) throws IOException {
+        if (useCache(consistent)) {
+            return cache.get(path);
+        }
+        try {
+            return client.getData().forPath(path);
+        } catch (KeeperException.NoNodeException ex) {
+            return null;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public boolean exists(@NonNull String path, boolean consistent) throws IOException {
+        if (useCache(consistent)) {
+            return cache.exists(path);
+        }
+        try {
+            return client.checkExists().forPath(path) != null;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public List<String> children(@NonNull String path, boolean consistent) throws IOException {
+        List<String> names = null;
+        if (useCache(consistent)) {
+            if (!cache.exists(path)) {
+                return null;
+            }
+            names = cache.children(path);
+        } else {
+            try {
+                names = client.getChildren().forPath(path);
+            } catch (KeeperException.NoNodeException ex) {
+                return null;
+            } catch (Exception ex) {
+                throw new IOException(ex);
+            }
+        }
+        List<String> children = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (name.compareTo(DistributedLock.ZK_PATH_LOCK) != 0) {
+                children.add(name);
+            }
+        }
+        return children;
+    }
+
+    @Override
+    public void create(@NonNull String path, byte[] data, boolean parents) throws IOException {
+        try {
+            if (parents) {
+                client.create().creatingParentContainersIfNeeded().forPath(path, data);
+            } else {
+                client.create().forPath(path, data);
+            }
+            cached(path, data);
+        } catch (KeeperException.NodeExistsException ex) {
+            throw new IOException(String.format("Path already exists. [path=%s]", path));
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public void write(@NonNull String path, byte[] data) throws IOException {
+        try {
+            Stat stat = client.setData().forPath(path, data);
+            if (cache != null) {
+                cache.put(path, data, stat);
+            }
+        } catch (KeeperException.NoNodeException ex) {
+            throw new IOException(String.format("Path not found. [path=%s]", path));
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public boolean delete(@NonNull String path, boolean recursive) throws IOException {
+        try {
+            if (client.checkExists().forPath(path) == null) {
+                return false;
+            }
+            if (recursive) {
+                client.delete().deletingChildrenIfNeeded().forPath(path);
+            } else {
+                client.setData().forPath(path, null);
+                List<String> children = client.getChildren().forPath(path);
+                for (String zp : children) {
+                    if (zp.compareTo(DistributedLock.ZK_PATH_LOCK) == 0) {
+                        client.delete().deletingChildrenIfNeeded().forPath(ZKPaths.makePath(path, zp));
+                    }
+                }
+                client.delete().forPath(path);
+            }
+            if (cache != null) {
+                cache.remove(path);
+            }
+            return true;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Commit the batch as a ZooKeeper multi-op transaction. Deletes are expanded to the
+     * nodes of the sub-tree (leaves first) as ZooKeeper can only delete leaf nodes.
+     */
+    @Override
+    public void commit(@NonNull Batch batch) throws IOException {
+        if (batch.isEmpty()) return;
+        try {
+            List<CuratorOp> ops = new ArrayList<>();
+            for (Operation op : batch.operations()) {
+                switch (op.type()) {
+                    case Create -> ops.add(client.transactionOp().create().forPath(op.path(), op.data()));
+                    case Write -> ops.add(client.transactionOp().setData().forPath(op.path(), op.data()));
+                    case Delete -> {
+                        if (client.checkExists().forPath(op.path()) != null) {
+                            subtree(op.path(), ops);
+                        }
+                    }
+                }
+            }
+            client.transaction().forOperations(ops);
+            if (cache != null) {
+                for (Operation op : batch.operations()) {
+                    if (op.type() == EOperation.Delete) {
+                        cache.remove(op.path());
+                    } else {
+                        cached(op.path(), op.data());
+                    }
+                }
+            }
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private void subtree(String path, List<CuratorOp> ops) throws Exception {
+        List<String> children = client.getChildren().forPath(path);
+        for (String child : children) {
+            subtree(ZKPaths.makePath(path, child), ops);
+        }
+        ops.add(client.transactionOp().delete().forPath(path));
+    }
+
+    private void cached(String path, byte[] data) throws Exception {
+        if (cache != null) {
+            Stat stat = client.checkExists().forPath(path);
+            if (stat != null) {
+                cache.put(path, data, stat);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (cache != null) {
+            cache.close();
+            cache = null;
+        }
+    }
+}
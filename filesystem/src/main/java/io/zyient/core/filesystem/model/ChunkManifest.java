@@ -0,0 +1,271 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Manifest of the immutable chunks that make up a file uploaded in append mode.
+ * <p>
+ * The first upload of a file is stored at the file path, appended (or rewritten) chunks are stored
+ * as separate objects under the file's parts path. Chunks replaced by a compaction (or rewrite) are
+ * retained until readers holding an older manifest can no longer reference them.
+ */
+@Getter
+@Setter
+public class ChunkManifest {
+    public static final String PARTS_SUFFIX = ".parts";
+
+    @Getter
+    @Setter
+    public static class Chunk {
+        private String path;
+        private long offset;
+        private long length;
+        private long created;
+        private long retired = 0;
+
+        public Chunk() {
+        }
+
+        public Chunk(@NonNull String path, long offset, long length) {
+            this.path = path;
+            this.offset = offset;
+            this.length = length;
+            this.created = System.currentTimeMillis();
+        }
+
+        @JsonIgnore
+        public long end() {
+            return offset + length;
+        }
+    }
+
+    /**
+     * Range of chunks [from, to) selected for compaction.
+     */
+    public record Span(int from, int to) {
+        public int count() {
+            return to - from;
+        }
+    }
+
+    private List<Chunk> chunks = new ArrayList<>();
+    private List<Chunk> retired = new ArrayList<>();
+
+    @JsonIgnore
+    public long length() {
+        if (chunks.isEmpty()) return 0;
+        return chunks.get(chunks.size() - 1).end();
+    }
+
+    @JsonIgnore
+    public int size() {
+        return chunks.size();
+    }
+
+    public Chunk get(int index) {
+        return chunks.get(index);
+    }
+
+    /**
+     * Find the chunk containing the file position.
+     *
+     * @param position - File position.
+     * @return - Chunk index, -1 if the position is past the end of the file.
+     */
+    public int find(long position) {
+        int low = 0;
+        int high = chunks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Chunk chunk = chunks.get(mid);
+            if (position < chunk.offset) {
+                high = mid - 1;
+            } else if (position >= chunk.end()) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Add a chunk at the end of the file.
+     *
+     * @param path   - Stored chunk path.
+     * @param length - Chunk length.
+     * @return - Added chunk.
+     */
+    public Chunk append(@NonNull String path, long length) {
+        Preconditions.checkArgument(length > 0);
+        Chunk chunk = new Chunk(path, length(), length);
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    /**
+     * Replace all chunks by a single (rewritten) chunk, existing chunks stored at
+     * other paths are retired.
+     *
+     * @param path   - Stored chunk path.
+     * @param length - Chunk length.
+     * @return - Added chunk.
+     */
+    public Chunk reset(@NonNull String path, long length) {
+        long now = System.currentTimeMillis();
+        for (Chunk chunk : chunks) {
+            if (chunk.path.compareTo(path) != 0) {
+                chunk.retired = now;
+                retired.add(chunk);
+            }
+        }
+        chunks.clear();
+        return append(path, length);
+    }
+
+    /**
+     * Select the longest run of consecutive appended chunks smaller than the minimum size, if
+     * the manifest has more than the max number of chunks.
+     *
+     * @param minSize   - Chunks smaller than this are merged.
+     * @param maxChunks - Compact only if there are more chunks than this.
+     * @return - Chunks to merge, NULL if nothing to compact.
+     */
+    public Span compaction(long minSize, int maxChunks) {
+        if (chunks.size() <= maxChunks) {
+            return null;
+        }
+        Span selected = null;
+        int start = -1;
+        // The first chunk is never merged.
+        for (int ii = 1; ii <= chunks.size(); ii++) {
+            boolean small = (ii < chunks.size() && chunks.get(ii).length < minSize);
+            if (small) {
+                if (start < 0) start = ii;
+            } else if (start >= 0) {
+                if (ii - start > 1 && (selected == null || ii - start > selected.count())) {
+                    selected = new Span(start, ii);
+                }
+                start = -1;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Check the chunks are still at the span positions.
+     *
+     * @param span   - Chunk span.
+     * @param chunks - Expected chunks.
+     * @return - Matches?
+     */
+    public boolean matches(@NonNull Span span, @NonNull List<Chunk> chunks) {
+        if (span.to > this.chunks.size() || span.count() != chunks.size()) {
+            return false;
+        }
+        for (int ii = 0; ii < chunks.size(); ii++) {
+            Chunk current = this.chunks.get(span.from + ii);
+            Chunk expected = chunks.get(ii);
+            if (current.path.compareTo(expected.path) != 0
+                    || current.offset != expected.offset
+                    || current.length != expected.length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace the chunks in the span by the merged chunk, replaced chunks are retired.
+     *
+     * @param span - Chunk span.
+     * @param path - Stored path of the merged chunk.
+     * @return - Merged chunk.
+     */
+    public Chunk replace(@NonNull Span span, @NonNull String path) {
+        Preconditions.checkArgument(span.from > 0 && span.to <= chunks.size() && span.count() > 0);
+        List<Chunk> replaced = chunks.subList(span.from, span.to);
+        long offset = replaced.get(0).offset;
+        long length = replaced.get(replaced.size() - 1).end() - offset;
+        long now = System.currentTimeMillis();
+        for (Chunk chunk : replaced) {
+            chunk.retired = now;
+            retired.add(chunk);
+        }
+        replaced.clear();
+        Chunk merged = new Chunk(path, offset, length);
+        chunks.add(span.from, merged);
+        return merged;
+    }
+
+    /**
+     * Check if any retired chunks are older than the retention period.
+     *
+     * @param retention - Retention period (in milliseconds).
+     * @return - Has expired chunks?
+     */
+    public boolean hasExpired(long retention) {
+        long now = System.currentTimeMillis();
+        for (Chunk chunk : retired) {
+            if (now - chunk.retired >= retention) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove retired chunks older than the retention period.
+     *
+     * @param retention - Retention period (in milliseconds).
+     * @return - Expired chunks, to be deleted from the store.
+     */
+    public List<Chunk> expire(long retention) {
+        List<Chunk> expired = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        Iterator<Chunk> iter = retired.iterator();
+        while (iter.hasNext()) {
+            Chunk chunk = iter.next();
+            if (now - chunk.retired >= retention) {
+                expired.add(chunk);
+                iter.remove();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Get a new stored path for an appended chunk.
+     *
+     * @param path - File path.
+     * @return - Chunk path.
+     */
+    public static String chunkPath(@NonNull String path) {
+        return String.format("%s%s/%s", path, PARTS_SUFFIX, UUID.randomUUID().toString());
+    }
+}
@@ -38,6 +38,7 @@ public class FileInode extends Inode {
     private long dataSize = 0;
     private EncryptionType encryption = EncryptionType.None;
     private Encrypted encrypted;
+    private ChunkManifest manifest;
 
     public FileInode() {
 
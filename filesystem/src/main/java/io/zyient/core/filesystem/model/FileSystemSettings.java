@@ -19,10 +19,15 @@ package io.zyient.core.filesystem.model;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.zyient.base.common.config.Config;
 import io.zyient.base.common.config.Settings;
+import io.zyient.base.common.config.units.SpaceUnitValue;
+import io.zyient.base.common.config.units.SpaceValueParser;
 import io.zyient.base.common.config.units.TimeUnitValue;
 import io.zyient.base.common.config.units.TimeValueParser;
 import io.zyient.base.core.model.ESettingsSource;
+import io.zyient.core.filesystem.compression.SnappyCodec;
 import io.zyient.core.filesystem.indexing.FileSystemIndexerSettings;
+import io.zyient.core.filesystem.meta.InodeStore;
+import io.zyient.core.filesystem.meta.ZkInodeStore;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -45,8 +50,19 @@ import java.util.concurrent.TimeUnit;
  *                     <connection>[zookeeper connection name]</connection>
  *                     <path>[zookeeper path]</path>
  *                     <lockTimeout>[distributed lock timeout (optional)</lockTimeout>
+ *                     <cache>[true|false, cache inode metadata locally using watches, default=false]</cache>
+ *                     <lockLease>[distributed lock lease, re-used locally without ZooKeeper round-trips, default=0 (disabled)]</lockLease>
+ *                     <lockHierarchy>[true|false, hierarchical (intent) locks, default=false]</lockHierarchy>
  *                 </zk>
+ *                 <metadata> -- Optional
+ *                     <store>[Inode store class, default=ZkInodeStore]</store>
+ *                     <path>[Local directory for embedded stores (LocalInodeStore)]</path>
+ *                 </metadata>
  *                 <compressed>[true|false, default=false]</compressed>
+ *                 <compression>
+ *                     <codec>[snappy|lz4|zstd, default=snappy]</codec>
+ *                     <frameSize>[Uncompressed frame size, default=1MB]</frameSize>
+ *                 </compression>
  *                 <encryption>
  *                     <enable>[true/false, default=false]</enable>
  *                     <key>[Encryption Key reference]</key>
@@ -83,7 +99,14 @@ public abstract class FileSystemSettings extends Settings {
         public static final String CONFIG_ZK_CONNECTION = "zk.connection";
         public static final String CONFIG_ZK_PATH = "zk.path";
         public static final String CONFIG_ZK_LOCK_TIMEOUT = "zk.lockTimeout";
+        public static final String CONFIG_ZK_CACHE = "zk.cache";
+        public static final String CONFIG_ZK_LOCK_LEASE = "zk.lockLease";
+        public static final String CONFIG_ZK_LOCK_HIERARCHY = "zk.lockHierarchy";
+        public static final String CONFIG_METADATA_STORE = "metadata.store";
+        public static final String CONFIG_METADATA_PATH = "metadata.path";
         public static final String CONFIG_DEFAULT_COMPRESSED = "compressed";
+        public static final String CONFIG_COMPRESSION_CODEC = "compression.codec";
+        public static final String CONFIG_COMPRESSION_FRAME_SIZE = "compression.frameSize";
         public static final String CONFIG_ENCRYPTED = "encryption.enable";
         public static final String CONFIG_ENCRYPTION_KEY = "encryption.key";
         public static final int LOCK_TIMEOUT = 60 * 1000;
@@ -109,8 +132,22 @@ public abstract class FileSystemSettings extends Settings {
     private TimeUnitValue tempCleanInterval = new TimeUnitValue(60 * 1000, TimeUnit.MILLISECONDS);
     @Config(name = Constants.CONFIG_ZK_LOCK_TIMEOUT, required = false, parser = TimeValueParser.class)
     private TimeUnitValue lockTimeout = new TimeUnitValue(Constants.LOCK_TIMEOUT, TimeUnit.MILLISECONDS);
+    @Config(name = Constants.CONFIG_ZK_CACHE, required = false, type = Boolean.class)
+    private boolean cacheInodes = false;
+    @Config(name = Constants.CONFIG_ZK_LOCK_LEASE, required = false, parser = TimeValueParser.class)
+    private TimeUnitValue lockLease = new TimeUnitValue(0, TimeUnit.MILLISECONDS);
+    @Config(name = Constants.CONFIG_ZK_LOCK_HIERARCHY, required = false, type = Boolean.class)
+    private boolean lockHierarchy = false;
+    @Config(name = Constants.CONFIG_METADATA_STORE, required = false, type = Class.class)
+    private Class<? extends InodeStore> metadataStore = ZkInodeStore.class;
+    @Config(name = Constants.CONFIG_METADATA_PATH, required = false)
+    private String metadataPath;
     @Config(name = Constants.CONFIG_DEFAULT_COMPRESSED, required = false, type = Boolean.class)
     private boolean compressed = false;
+    @Config(name = Constants.CONFIG_COMPRESSION_CODEC, required = false)
+    private String compressionCodec = SnappyCodec.NAME;
+    @Config(name = Constants.CONFIG_COMPRESSION_FRAME_SIZE, required = false, parser = SpaceValueParser.class)
+    private SpaceUnitValue compressionFrameSize = new SpaceUnitValue(1, SpaceUnitValue.SpaceUnit.MEGABYTES);
     @Config(name = Constants.CONFIG_ENCRYPTED, required = false, type = Boolean.class)
     private boolean encrypted = false;
     @Config(name = Constants.CONFIG_ENCRYPTION_KEY, required = false)
@@ -52,6 +52,10 @@ public abstract class Inode {
     @Indexed(name = InodeIndexConstants.NAME_MODIFIED_DATE)
     private long updateTimestamp = 0;
     private long syncTimestamp = 0;
+    /**
+     * Fencing token of the lock holder that last updated the inode (-1 if not fenced).
+     */
+    private long fencingToken = -1;
     @Indexed(name = InodeIndexConstants.NAME_TYPE)
     private InodeType type;
     @JsonIgnore
@@ -0,0 +1,147 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.compression;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.xerial.snappy.Snappy;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FramedCompressionTest {
+    private static final int FRAME_SIZE = 64 * 1024;
+    private static final String[] CODECS = {SnappyCodec.NAME, Lz4Codec.NAME, ZstdCodec.NAME};
+
+    private static File directory;
+    private static byte[] data;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        directory = Files.createTempDirectory("framed-compression").toFile();
+        // Mix of compressible text and random (incompressible) blocks.
+        Random rnd = new Random(17);
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < FRAME_SIZE * 5) {
+            builder.append(String.format("record-%d,%d,%s\n", builder.length(), rnd.nextInt(), "value"));
+        }
+        byte[] text = builder.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] random = new byte[FRAME_SIZE * 2 + 123];
+        rnd.nextBytes(random);
+        data = new byte[text.length + random.length];
+        System.arraycopy(text, 0, data, 0, text.length);
+        System.arraycopy(random, 0, data, text.length, random.length);
+    }
+
+    @AfterAll
+    static void teardown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    private File write(String codec) throws Exception {
+        File source = new File(directory, "source.dat");
+        Files.write(source.toPath(), data);
+        File target = new File(directory, String.format("compressed.%s", codec));
+        FramedCompression.compress(source, target, CompressionCodecs.get(codec), FRAME_SIZE);
+        return target;
+    }
+
+    @Test
+    void roundTrip() {
+        try {
+            for (String name : CODECS) {
+                File compressed = write(name);
+                assertTrue(FramedCompression.isFramed(compressed));
+                File output = new File(directory, String.format("output.%s", name));
+                long size = FramedCompression.decompress(compressed, output);
+                assertEquals(data.length, size);
+                assertArrayEquals(data, Files.readAllBytes(output.toPath()));
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void seekableRead() {
+        try {
+            for (String name : CODECS) {
+                File compressed = write(name);
+                try (FramedCompressedFile file = new FramedCompressedFile(compressed)) {
+                    assertEquals(data.length, file.size());
+                    assertEquals(name, file.codec().name());
+                    Random rnd = new Random();
+                    for (int ii = 0; ii < 100; ii++) {
+                        long position = rnd.nextInt(data.length);
+                        int length = rnd.nextInt(FRAME_SIZE * 3);
+                        byte[] buffer = new byte[length];
+                        int r = file.read(position, buffer, 0, length);
+                        int expected = (int) Math.min(length, data.length - position);
+                        assertEquals(expected, r);
+                        assertArrayEquals(Arrays.copyOfRange(data, (int) position, (int) position + expected),
+                                Arrays.copyOf(buffer, r));
+                    }
+                    assertEquals(-1, file.read(data.length, new byte[8], 0, 8));
+                }
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void corruptFrame() {
+        try {
+            File compressed = write(SnappyCodec.NAME);
+            try (RandomAccessFile raf = new RandomAccessFile(compressed, "rw")) {
+                long position = FramedCompression.HEADER_SIZE + FramedCompression.FRAME_HEADER_SIZE + 16;
+                raf.seek(position);
+                int b = raf.read();
+                raf.seek(position);
+                raf.write(b ^ 0xFF);
+            }
+            File output = new File(directory, "corrupt.out");
+            assertThrows(Exception.class, () -> FramedCompression.decompress(compressed, output));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void legacyFormat() {
+        try {
+            File legacy = new File(directory, "legacy.snappy");
+            Files.write(legacy.toPath(), Snappy.compress(data));
+            assertFalse(FramedCompression.isFramed(legacy));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
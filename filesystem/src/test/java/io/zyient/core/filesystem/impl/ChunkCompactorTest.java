@@ -0,0 +1,115 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.impl;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.base.common.model.services.EConfigFileType;
+import io.zyient.base.common.utils.DateTimeUtils;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.filesystem.FileSystem;
+import io.zyient.core.filesystem.FileSystemManager;
+import io.zyient.core.filesystem.Writer;
+import io.zyient.core.filesystem.env.DemoFileSystemEnv;
+import io.zyient.core.filesystem.model.ChunkManifest;
+import io.zyient.core.filesystem.model.FileInode;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkCompactorTest {
+    private static final String __CONFIG_FILE = "src/test/resources/s3/fs-s3-test.xml";
+    private static final String FS_APPEND = "s3-test-append";
+    private static final String FS_APPEND_DOMAIN = "s3-demo-append";
+
+    private static XMLConfiguration xmlConfiguration = null;
+    private static DemoFileSystemEnv env = new DemoFileSystemEnv();
+    private static RemoteFileSystem fs;
+    private static String BASE_DIR;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        xmlConfiguration = ConfigReader.read(__CONFIG_FILE, EConfigFileType.File);
+        Preconditions.checkState(xmlConfiguration != null);
+        env.create(xmlConfiguration);
+        FileSystemManager manager = env.fileSystemManager();
+        Preconditions.checkNotNull(manager);
+        FileSystem f = manager.get(FS_APPEND);
+        Preconditions.checkState(f instanceof RemoteFileSystem && f instanceof ChunkStore);
+        fs = (RemoteFileSystem) f;
+        String dtDir = DateTimeUtils.formatTimestamp("yyyy/MM/dd/HH/mm");
+        BASE_DIR = String.format("demo/compact/%s", dtDir);
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        env.close();
+    }
+
+    @Test
+    void compact() {
+        try {
+            String dir = String.format("%s/%s/compact", BASE_DIR, UUID.randomUUID().toString());
+            FileInode fi = RemoteWriterTest.create(fs, FS_APPEND_DOMAIN, dir);
+            assertNotNull(fi);
+            String basePath = fi.getPathInfo().fsPath();
+            // One large chunk followed by small appends (compaction: chunks=4, minSize=1024).
+            byte[] data = new byte[2048 + 10 * 100];
+            new Random(31).nextBytes(data);
+            try (Writer writer = fs.writer(fi)) {
+                writer.write(data, 0, 2048);
+                writer.commit(false);
+                for (int ii = 0; ii < 10; ii++) {
+                    writer.write(data, 2048 + ii * 100, 100);
+                    writer.commit(ii == 9);
+                }
+            }
+            // The writer schedules background passes, run passes till the small chunks are merged.
+            for (int ii = 0; ; ii++) {
+                fi = (FileInode) fs.getInode(fi.getPathInfo(), true);
+                if (fi.getManifest().size() <= 4) break;
+                if (ii >= 20) {
+                    fail(String.format("Compaction not done. [chunks=%d]", fi.getManifest().size()));
+                }
+                new ChunkCompactor(fs, fi).compact();
+            }
+            ChunkManifest manifest = fi.getManifest();
+            assertEquals(basePath, manifest.get(0).getPath());
+            assertEquals(2048, manifest.get(1).getOffset());
+            assertEquals(data.length, manifest.length());
+            assertArrayEquals(data, RemoteWriterTest.readAll(fs, fi));
+
+            // Nothing left to merge, the pass only expires the retired chunks.
+            Thread.sleep(1500);
+            assertFalse(new ChunkCompactor(fs, fi).compact());
+            fi = (FileInode) fs.getInode(fi.getPathInfo(), true);
+            assertTrue(fi.getManifest().getRetired().isEmpty());
+            assertTrue(fs.exists(fi.getPathInfo()));
+            assertArrayEquals(data, RemoteWriterTest.readAll(fs, fi));
+            assertTrue(fs.delete(fi.getPathInfo()));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
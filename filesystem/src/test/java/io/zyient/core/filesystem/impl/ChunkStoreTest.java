@@ -0,0 +1,223 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.impl;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.filesystem.model.ChunkManifest;
+import io.zyient.core.filesystem.model.FileInode;
+import lombok.NonNull;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkStoreTest {
+    private static final String BASE_PATH = "data/test.bin";
+
+    private static File directory;
+
+    private static class MemoryChunkStore implements ChunkStore {
+        private final Map<String, byte[]> chunks = new ConcurrentHashMap<>();
+
+        @Override
+        public void putChunk(@NonNull FileInode inode,
+                             @NonNull String path,
+                             @NonNull File source,
+                             long offset,
+                             long length) throws IOException {
+            byte[] data = new byte[(int) length];
+            try (RandomAccessFile raf = new RandomAccessFile(source, "r")) {
+                raf.seek(offset);
+                raf.readFully(data);
+            }
+            chunks.put(path, data);
+        }
+
+        @Override
+        public int readChunk(@NonNull FileInode inode,
+                             @NonNull String path,
+                             long position,
+                             byte @NonNull [] buffer,
+                             int offset,
+                             int length) throws IOException {
+            byte[] data = chunks.get(path);
+            if (data == null) {
+                throw new IOException(String.format("Chunk not found. [path=%s]", path));
+            }
+            if (position >= data.length) return -1;
+            int count = (int) Math.min(length, data.length - position);
+            System.arraycopy(data, (int) position, buffer, offset, count);
+            return count;
+        }
+
+        @Override
+        public void deleteChunk(@NonNull FileInode inode, @NonNull String path) throws IOException {
+            chunks.remove(path);
+        }
+    }
+
+    @BeforeAll
+    static void setup() throws Exception {
+        directory = Files.createTempDirectory("fs-chunks").toFile();
+    }
+
+    @AfterAll
+    static void teardown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    /**
+     * Write the data in appends of the specified sizes, uploading only the appended range each time.
+     */
+    private static FileInode append(MemoryChunkStore store,
+                                    File file,
+                                    byte[] data,
+                                    int[] sizes) throws Exception {
+        FileInode inode = new FileInode("test", BASE_PATH, "test.bin");
+        ChunkManifest manifest = new ChunkManifest();
+        inode.setManifest(manifest);
+        int offset = 0;
+        for (int size : sizes) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.seek(offset);
+                raf.write(data, offset, size);
+            }
+            String path = (offset == 0 ? BASE_PATH : ChunkManifest.chunkPath(BASE_PATH));
+            store.putChunk(inode, path, file, offset, size);
+            manifest.append(path, size);
+            offset += size;
+        }
+        return inode;
+    }
+
+    private static byte[] readAll(ChunkStore store, FileInode inode, int bufferSize) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[bufferSize];
+        long position = 0;
+        while (true) {
+            int r = store.readChunked(inode, position, buffer, 0, buffer.length);
+            if (r < 0) break;
+            output.write(buffer, 0, r);
+            position += r;
+        }
+        return output.toByteArray();
+    }
+
+    @Test
+    void readChunked() {
+        try {
+            MemoryChunkStore store = new MemoryChunkStore();
+            byte[] data = new byte[10000];
+            new Random(7).nextBytes(data);
+            File file = new File(directory, "read.bin");
+            FileInode inode = append(store, file, data, new int[]{4000, 100, 1, 2899, 3000});
+
+            ChunkManifest manifest = inode.getManifest();
+            assertEquals(5, manifest.size());
+            assertEquals(data.length, manifest.length());
+            assertEquals(0, manifest.find(0));
+            assertEquals(0, manifest.find(3999));
+            assertEquals(2, manifest.find(4100));
+            assertEquals(4, manifest.find(9999));
+            assertEquals(-1, manifest.find(10000));
+            assertEquals(BASE_PATH, manifest.get(0).getPath());
+
+            for (int size : new int[]{1, 7, 4096, 20000}) {
+                assertArrayEquals(data, readAll(store, inode, size));
+            }
+            File copy = new File(directory, "read.copy");
+            store.appendChunks(inode, manifest.getChunks(), copy);
+            assertArrayEquals(data, Files.readAllBytes(copy.toPath()));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void compaction() {
+        try {
+            MemoryChunkStore store = new MemoryChunkStore();
+            byte[] data = new byte[4000 + 20 * 50 + 3000 + 5 * 50];
+            new Random(11).nextBytes(data);
+            int[] sizes = new int[27];
+            sizes[0] = 4000;
+            for (int ii = 1; ii <= 20; ii++) sizes[ii] = 50;
+            sizes[21] = 3000;
+            for (int ii = 22; ii < 27; ii++) sizes[ii] = 50;
+            File file = new File(directory, "compact.bin");
+            FileInode inode = append(store, file, data, sizes);
+            ChunkManifest manifest = inode.getManifest();
+
+            assertNull(manifest.compaction(1000, 32));
+            ChunkManifest.Span span = manifest.compaction(1000, 8);
+            assertNotNull(span);
+            assertEquals(new ChunkManifest.Span(1, 21), span);
+
+            // Merge as the compactor does: assemble, upload, swap.
+            List<ChunkManifest.Chunk> chunks = new ArrayList<>(manifest.getChunks().subList(span.from(), span.to()));
+            File merged = new File(directory, "compact.merged");
+            store.appendChunks(inode, chunks, merged);
+            String path = ChunkManifest.chunkPath(BASE_PATH);
+            store.putChunk(inode, path, merged, 0, merged.length());
+            assertTrue(manifest.matches(span, chunks));
+            ChunkManifest.Chunk chunk = manifest.replace(span, path);
+            assertEquals(4000, chunk.getOffset());
+            assertEquals(1000, chunk.getLength());
+            assertEquals(8, manifest.size());
+            assertEquals(20, manifest.getRetired().size());
+            assertFalse(manifest.matches(span, chunks));
+            assertArrayEquals(data, readAll(store, inode, 333));
+
+            // The trailing run is the only one left.
+            assertEquals(new ChunkManifest.Span(3, 8), manifest.compaction(1000, 4));
+            assertNull(manifest.compaction(1000, 8));
+
+            assertFalse(manifest.hasExpired(60 * 1000));
+            assertTrue(manifest.expire(60 * 1000).isEmpty());
+            assertTrue(manifest.hasExpired(0));
+            List<ChunkManifest.Chunk> expired = manifest.expire(0);
+            assertEquals(20, expired.size());
+            assertTrue(manifest.getRetired().isEmpty());
+            for (ChunkManifest.Chunk c : expired) {
+                store.deleteChunk(inode, c.getPath());
+            }
+            assertArrayEquals(data, readAll(store, inode, 4096));
+
+            manifest.reset(BASE_PATH, 100);
+            assertEquals(1, manifest.size());
+            assertEquals(100, manifest.length());
+            assertEquals(7, manifest.getRetired().size());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
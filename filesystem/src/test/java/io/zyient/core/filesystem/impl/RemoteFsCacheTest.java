@@ -0,0 +1,223 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.impl;
+
+import io.zyient.base.common.config.units.SpaceUnitValue;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.filesystem.model.FileInode;
+import lombok.NonNull;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteFsCacheTest {
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private static File source;
+    private static final Map<String, File> files = new HashMap<>();
+
+    private static class LocalRangeReader implements RangeReader {
+        private final Map<String, AtomicInteger> fetches = new ConcurrentHashMap<>();
+
+        @Override
+        public long size(@NonNull FileInode inode) throws IOException {
+            return files.get(inode.getUuid()).length();
+        }
+
+        @Override
+        public int read(@NonNull FileInode inode,
+                        long position,
+                        byte @NonNull [] buffer,
+                        int offset,
+                        int length) throws IOException {
+            fetches.computeIfAbsent(String.format("%s:%d", inode.getUuid(), position), k -> new AtomicInteger())
+                    .incrementAndGet();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ie) {
+                throw new IOException(ie);
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(files.get(inode.getUuid()), "r")) {
+                raf.seek(position);
+                return raf.read(buffer, offset, length);
+            }
+        }
+    }
+
+    @BeforeAll
+    static void setup() throws Exception {
+        source = Files.createTempDirectory("fs-cache-source").toFile();
+    }
+
+    @AfterAll
+    static void teardown() throws Exception {
+        FileUtils.deleteDirectory(source);
+    }
+
+    private static FileInode createFile(int size) throws Exception {
+        String name = String.format("%s.bin", UUID.randomUUID());
+        FileInode inode = new FileInode("test", String.format("/test/%s", name), name);
+        File file = new File(source, name);
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        Files.write(file.toPath(), data);
+        files.put(inode.getUuid(), file);
+        return inode;
+    }
+
+    private static RemoteFsCache createCache(RangeReader reader, long maxSize) throws Exception {
+        FsCacheSettings settings = new FsCacheSettings();
+        settings.setBlockSize(new SpaceUnitValue(BLOCK_SIZE / 1024, SpaceUnitValue.SpaceUnit.KILOBYTES));
+        settings.setMaxSize(new SpaceUnitValue(maxSize / 1024, SpaceUnitValue.SpaceUnit.KILOBYTES));
+        return new RemoteFsCache(reader).init(settings);
+    }
+
+    @Test
+    void readRanges() {
+        try {
+            FileInode inode = createFile(BLOCK_SIZE * 3 + 1000);
+            byte[] data = Files.readAllBytes(files.get(inode.getUuid()).toPath());
+            try (RemoteFsCache cache = createCache(new LocalRangeReader(), 16L * 1024 * 1024)) {
+                assertTrue(cache.ranged(inode));
+                assertEquals(data.length, cache.size(inode));
+                Random rnd = new Random();
+                for (int ii = 0; ii < 200; ii++) {
+                    long position = rnd.nextInt(data.length);
+                    int length = rnd.nextInt(BLOCK_SIZE * 2);
+                    byte[] buffer = new byte[length];
+                    int r = cache.read(inode, position, buffer, 0, length);
+                    int expected = (int) Math.min(length, data.length - position);
+                    assertEquals(expected, r);
+                    assertArrayEquals(Arrays.copyOfRange(data, (int) position, (int) position + expected),
+                            Arrays.copyOf(buffer, r));
+                }
+                assertEquals(-1, cache.read(inode, data.length, new byte[16], 0, 16));
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void singleFlight() {
+        try {
+            FileInode inode = createFile(BLOCK_SIZE * 4);
+            byte[] data = Files.readAllBytes(files.get(inode.getUuid()).toPath());
+            LocalRangeReader reader = new LocalRangeReader();
+            try (RemoteFsCache cache = createCache(reader, 16L * 1024 * 1024)) {
+                int threads = 16;
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<byte[]>> results = new ArrayList<>();
+                for (int ii = 0; ii < threads; ii++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        byte[] buffer = new byte[data.length];
+                        int r = cache.read(inode, 0, buffer, 0, buffer.length);
+                        assertEquals(data.length, r);
+                        return buffer;
+                    }));
+                }
+                start.countDown();
+                for (Future<byte[]> result : results) {
+                    assertArrayEquals(data, result.get());
+                }
+                executor.shutdown();
+                assertEquals(4, reader.fetches.size());
+                for (AtomicInteger count : reader.fetches.values()) {
+                    assertEquals(1, count.get());
+                }
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void evictBySize() {
+        try {
+            long maxSize = BLOCK_SIZE * 4L;
+            FileInode inode = createFile(BLOCK_SIZE * 32);
+            try (RemoteFsCache cache = createCache(new LocalRangeReader(), maxSize)) {
+                byte[] buffer = new byte[BLOCK_SIZE * 32];
+                assertEquals(buffer.length, cache.read(inode, 0, buffer, 0, buffer.length));
+                // Eviction callbacks are asynchronous.
+                long size = Long.MAX_VALUE;
+                for (int ii = 0; ii < 50; ii++) {
+                    size = FileUtils.sizeOfDirectory(cache.directory());
+                    if (size <= maxSize) break;
+                    Thread.sleep(100);
+                }
+                assertTrue(size <= maxSize, String.format("Cache size exceeded. [size=%d]", size));
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void readWhileEvicting() {
+        try {
+            // Cache holds two blocks, concurrent readers keep evicting the blocks being read.
+            FileInode inode = createFile(BLOCK_SIZE * 16);
+            byte[] data = Files.readAllBytes(files.get(inode.getUuid()).toPath());
+            try (RemoteFsCache cache = createCache(new LocalRangeReader(), BLOCK_SIZE * 2L)) {
+                int threads = 8;
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int ii = 0; ii < threads; ii++) {
+                    final long seed = ii;
+                    results.add(executor.submit(() -> {
+                        Random rnd = new Random(seed);
+                        for (int jj = 0; jj < 20; jj++) {
+                            long position = rnd.nextInt(data.length);
+                            int length = rnd.nextInt(BLOCK_SIZE * 3) + 1;
+                            byte[] buffer = new byte[length];
+                            int r = cache.read(inode, position, buffer, 0, length);
+                            int expected = (int) Math.min(length, data.length - position);
+                            assertEquals(expected, r);
+                            assertArrayEquals(Arrays.copyOfRange(data, (int) position, (int) position + expected),
+                                    Arrays.copyOf(buffer, r));
+                        }
+                        return 20;
+                    }));
+                }
+                for (Future<Integer> result : results) {
+                    assertEquals(20, result.get());
+                }
+                executor.shutdown();
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.impl;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.base.common.model.services.EConfigFileType;
+import io.zyient.base.common.utils.DateTimeUtils;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.filesystem.FileSystem;
+import io.zyient.core.filesystem.FileSystemManager;
+import io.zyient.core.filesystem.Reader;
+import io.zyient.core.filesystem.Writer;
+import io.zyient.core.filesystem.env.DemoFileSystemEnv;
+import io.zyient.core.filesystem.model.ChunkManifest;
+import io.zyient.core.filesystem.model.DirectoryInode;
+import io.zyient.core.filesystem.model.FileInode;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteWriterTest {
+    private static final String __CONFIG_FILE = "src/test/resources/s3/fs-s3-test.xml";
+    private static final String FS_APPEND = "s3-test-append";
+    private static final String FS_APPEND_DOMAIN = "s3-demo-append";
+
+    private static XMLConfiguration xmlConfiguration = null;
+    private static DemoFileSystemEnv env = new DemoFileSystemEnv();
+    private static FileSystem fs;
+    private static String BASE_DIR;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        xmlConfiguration = ConfigReader.read(__CONFIG_FILE, EConfigFileType.File);
+        Preconditions.checkState(xmlConfiguration != null);
+        env.create(xmlConfiguration);
+        FileSystemManager manager = env.fileSystemManager();
+        Preconditions.checkNotNull(manager);
+        fs = manager.get(FS_APPEND);
+        Preconditions.checkNotNull(fs);
+        String dtDir = DateTimeUtils.formatTimestamp("yyyy/MM/dd/HH/mm");
+        BASE_DIR = String.format("demo/append/%s", dtDir);
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        env.close();
+    }
+
+    static byte[] readAll(FileSystem fs, FileInode inode) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (Reader reader = fs.reader(inode)) {
+            byte[] buffer = new byte[777];
+            while (true) {
+                int r = reader.read(buffer);
+                if (r <= 0) break;
+                output.write(buffer, 0, r);
+            }
+        }
+        return output.toByteArray();
+    }
+
+    static FileInode create(FileSystem fs, String domain, String dir) throws Exception {
+        DirectoryInode di = fs.mkdirs(domain, dir);
+        assertNotNull(di);
+        FileInode fi = fs.create(di, String.format("%s.bin", UUID.randomUUID().toString()));
+        return (FileInode) fs.getInode(fi.getPathInfo());
+    }
+
+    @Test
+    void append() {
+        try {
+            String dir = String.format("%s/%s/append", BASE_DIR, UUID.randomUUID().toString());
+            FileInode fi = create(fs, FS_APPEND_DOMAIN, dir);
+            assertNotNull(fi);
+            String basePath = fi.getPathInfo().fsPath();
+            byte[] data = new byte[3 * 4096];
+            new Random(17).nextBytes(data);
+            try (Writer writer = fs.writer(fi)) {
+                for (int ii = 0; ii < 3; ii++) {
+                    writer.write(data, ii * 4096, 4096);
+                    writer.commit(ii == 2);
+                }
+            }
+            fi = (FileInode) fs.getInode(fi.getPathInfo());
+            ChunkManifest manifest = fi.getManifest();
+            assertNotNull(manifest);
+            assertEquals(3, manifest.size());
+            assertEquals(data.length, manifest.length());
+            // Only the first upload is stored at the file path.
+            assertEquals(basePath, manifest.get(0).getPath());
+            for (int ii = 1; ii < manifest.size(); ii++) {
+                assertTrue(manifest.get(ii).getPath().startsWith(basePath + ChunkManifest.PARTS_SUFFIX));
+            }
+            assertArrayEquals(data, readAll(fs, fi));
+            assertTrue(fs.delete(fi.getPathInfo()));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void rewrite() {
+        try {
+            String dir = String.format("%s/%s/rewrite", BASE_DIR, UUID.randomUUID().toString());
+            FileInode fi = create(fs, FS_APPEND_DOMAIN, dir);
+            assertNotNull(fi);
+            String basePath = fi.getPathInfo().fsPath();
+            Random random = new Random(23);
+            byte[] data = new byte[8192];
+            random.nextBytes(data);
+            try (Writer writer = fs.writer(fi)) {
+                writer.write(data);
+                writer.commit(true);
+            }
+            fi = (FileInode) fs.getInode(fi.getPathInfo());
+            assertEquals(basePath, fi.getManifest().get(0).getPath());
+
+            byte[] rewritten = new byte[5000];
+            random.nextBytes(rewritten);
+            try (Writer writer = fs.writer(fi, true)) {
+                writer.write(rewritten);
+                writer.commit(true);
+            }
+            fi = (FileInode) fs.getInode(fi.getPathInfo());
+            ChunkManifest manifest = fi.getManifest();
+            assertEquals(1, manifest.size());
+            assertEquals(rewritten.length, manifest.length());
+            // The rewrite is swapped in through the manifest, the stored file is not overwritten.
+            assertTrue(manifest.get(0).getPath().startsWith(basePath + ChunkManifest.PARTS_SUFFIX));
+            assertEquals(1, manifest.getRetired().size());
+            assertEquals(basePath, manifest.getRetired().get(0).getPath());
+            assertTrue(fs.exists(fi.getPathInfo()));
+            assertArrayEquals(rewritten, readAll(fs, fi));
+
+            // Truncate and append after a rewrite.
+            try (Writer writer = fs.writer(fi)) {
+                writer.truncate(1000);
+                writer.write(data, 0, 1000);
+                writer.commit(true);
+            }
+            fi = (FileInode) fs.getInode(fi.getPathInfo());
+            byte[] expected = new byte[2000];
+            System.arraycopy(rewritten, 0, expected, 0, 1000);
+            System.arraycopy(data, 0, expected, 1000, 1000);
+            assertEquals(1, fi.getManifest().size());
+            assertArrayEquals(expected, readAll(fs, fi));
+            assertTrue(fs.delete(fi.getPathInfo()));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.impl.s3;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process S3 stand-in (object and multipart APIs used by the file system), with
+ * failure injection for transfer parts.
+ */
+@Getter
+@Accessors(fluent = true)
+public class MockS3Client implements InvocationHandler {
+    private record Upload(String bucket, String key, Map<Integer, byte[]> parts) {
+    }
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, String> eTags = new ConcurrentHashMap<>();
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+    private final Set<Integer> failParts = ConcurrentHashMap.newKeySet();
+    private final Set<Long> failRanges = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, AtomicInteger> partCalls = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> rangeCalls = new ConcurrentHashMap<>();
+
+    public S3Client client() {
+        return (S3Client) Proxy.newProxyInstance(S3Client.class.getClassLoader(),
+                new Class<?>[]{S3Client.class}, this);
+    }
+
+    public void reset() {
+        failParts.clear();
+        failRanges.clear();
+        partCalls.clear();
+        rangeCalls.clear();
+    }
+
+    private static String path(String bucket, String key) {
+        return String.format("%s/%s", bucket, key);
+    }
+
+    private static S3Exception error(int status, String message) {
+        return (S3Exception) S3Exception.builder().statusCode(status).message(message).build();
+    }
+
+    private void put(String bucket, String key, byte[] data) {
+        objects.put(path(bucket, key), data);
+        eTags.put(path(bucket, key), String.format("\"%s\"", UUID.randomUUID()));
+    }
+
+    private static byte[] read(RequestBody body) throws Exception {
+        try (InputStream stream = body.contentStreamProvider().newStream()) {
+            return stream.readAllBytes();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "serviceName":
+                return "s3";
+            case "close":
+                return null;
+            case "headObject": {
+                HeadObjectRequest request = (HeadObjectRequest) args[0];
+                byte[] data = objects.get(path(request.bucket(), request.key()));
+                if (data == null) throw NoSuchKeyException.builder().statusCode(404).build();
+                return HeadObjectResponse.builder()
+                        .contentLength((long) data.length)
+                        .eTag(eTags.get(path(request.bucket(), request.key())))
+                        .build();
+            }
+            case "getObject": {
+                GetObjectRequest request = (GetObjectRequest) args[0];
+                ResponseTransformer<GetObjectResponse, ?> transformer = (args.length > 1
+                        ? (ResponseTransformer<GetObjectResponse, ?>) args[1]
+                        : ResponseTransformer.toInputStream());
+                String path = path(request.bucket(), request.key());
+                byte[] data = objects.get(path);
+                if (data == null) throw NoSuchKeyException.builder().statusCode(404).build();
+                if (request.ifMatch() != null && !request.ifMatch().equals(eTags.get(path))) {
+                    throw error(412, "Precondition failed");
+                }
+                int from = 0;
+                int to = data.length - 1;
+                if (request.range() != null) {
+                    String[] parts = request.range().substring("bytes=".length()).split("-");
+                    from = Integer.parseInt(parts[0]);
+                    to = Math.min(Integer.parseInt(parts[1]), data.length - 1);
+                    if (from >= data.length) throw error(416, "Range not satisfiable");
+                    rangeCalls.computeIfAbsent((long) from, k -> new AtomicInteger()).incrementAndGet();
+                    if (failRanges.contains((long) from)) throw error(500, "Injected failure");
+                }
+                byte[] range = Arrays.copyOfRange(data, from, to + 1);
+                GetObjectResponse response = GetObjectResponse.builder()
+                        .contentLength((long) range.length)
+                        .eTag(eTags.get(path))
+                        .build();
+                return transformer.transform(response,
+                        AbortableInputStream.create(new ByteArrayInputStream(range)));
+            }
+            case "putObject": {
+                PutObjectRequest request = (PutObjectRequest) args[0];
+                put(request.bucket(), request.key(), read((RequestBody) args[1]));
+                return PutObjectResponse.builder().eTag(eTags.get(path(request.bucket(), request.key()))).build();
+            }
+            case "createMultipartUpload": {
+                CreateMultipartUploadRequest request = (CreateMultipartUploadRequest) args[0];
+                String id = UUID.randomUUID().toString();
+                uploads.put(id, new Upload(request.bucket(), request.key(), new ConcurrentHashMap<>()));
+                return CreateMultipartUploadResponse.builder().uploadId(id).build();
+            }
+            case "uploadPart": {
+                UploadPartRequest request = (UploadPartRequest) args[0];
+                Upload upload = uploads.get(request.uploadId());
+                if (upload == null) throw NoSuchUploadException.builder().statusCode(404).build();
+                partCalls.computeIfAbsent(request.partNumber(), k -> new AtomicInteger()).incrementAndGet();
+                if (failParts.contains(request.partNumber())) throw error(500, "Injected failure");
+                upload.parts.put(request.partNumber(), read((RequestBody) args[1]));
+                return UploadPartResponse.builder().eTag(String.format("\"part-%d\"", request.partNumber())).build();
+            }
+            case "listParts": {
+                ListPartsRequest request = (ListPartsRequest) args[0];
+                Upload upload = uploads.get(request.uploadId());
+                if (upload == null) throw NoSuchUploadException.builder().statusCode(404).build();
+                List<Part> parts = new ArrayList<>();
+                for (Map.Entry<Integer, byte[]> entry : new TreeMap<>(upload.parts).entrySet()) {
+                    parts.add(Part.builder()
+                            .partNumber(entry.getKey())
+                            .size((long) entry.getValue().length)
+                            .eTag(String.format("\"part-%d\"", entry.getKey()))
+                            .build());
+                }
+                return ListPartsResponse.builder().parts(parts).isTruncated(false).build();
+            }
+            case "completeMultipartUpload": {
+                CompleteMultipartUploadRequest request = (CompleteMultipartUploadRequest) args[0];
+                Upload upload = uploads.remove(request.uploadId());
+                if (upload == null) throw NoSuchUploadException.builder().statusCode(404).build();
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                int expected = 1;
+                for (CompletedPart part : request.multipartUpload().parts()) {
+                    if (part.partNumber() != expected++) throw error(400, "Invalid part order");
+                    byte[] data = upload.parts.get(part.partNumber());
+                    if (data == null) throw error(400, "Invalid part");
+                    out.write(data);
+                }
+                put(upload.bucket, upload.key, out.toByteArray());
+                return CompleteMultipartUploadResponse.builder().build();
+            }
+            case "abortMultipartUpload": {
+                AbortMultipartUploadRequest request = (AbortMultipartUploadRequest) args[0];
+                uploads.remove(request.uploadId());
+                return AbortMultipartUploadResponse.builder().build();
+            }
+            default:
+                if (method.getDeclaringClass() == Object.class) {
+                    return method.invoke(this, args);
+                }
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+}
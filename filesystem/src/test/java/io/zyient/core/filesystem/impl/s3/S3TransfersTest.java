@@ -0,0 +1,136 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.impl.s3;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3TransfersTest {
+    private static final long PART_SIZE = 64 * 1024;
+    private static final String BUCKET = "test-bucket";
+
+    private static File directory;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        directory = Files.createTempDirectory("s3-transfers").toFile();
+    }
+
+    @AfterAll
+    static void teardown() throws Exception {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    private static File createFile(String name, int size) throws Exception {
+        File file = new File(directory, name);
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        Files.write(file.toPath(), data);
+        return file;
+    }
+
+    private static int calls(AtomicInteger count) {
+        return (count == null ? 0 : count.get());
+    }
+
+    @Test
+    void uploadAndDownload() {
+        try (S3Transfers transfers = new S3Transfers(PART_SIZE, 4, 2)) {
+            MockS3Client mock = new MockS3Client();
+            S3Client client = mock.client();
+            for (int size : new int[]{1000, (int) PART_SIZE * 5 + 100}) {
+                File source = createFile(String.format("upload-%d.bin", size), size);
+                String key = String.format("data/%d.bin", size);
+                transfers.upload(client, BUCKET, key, source);
+                assertArrayEquals(Files.readAllBytes(source.toPath()),
+                        mock.objects().get(String.format("%s/%s", BUCKET, key)));
+                assertFalse(S3Transfers.stateFile(source, S3Transfers.UPLOAD_STATE_EXT).exists());
+
+                File target = new File(directory, String.format("download-%d.bin", size));
+                assertEquals(size, transfers.download(client, BUCKET, key, target));
+                assertArrayEquals(Files.readAllBytes(source.toPath()), Files.readAllBytes(target.toPath()));
+                assertFalse(S3Transfers.stateFile(target, S3Transfers.DOWNLOAD_STATE_EXT).exists());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void resumeUpload() {
+        try (S3Transfers transfers = new S3Transfers(PART_SIZE, 4, 2)) {
+            MockS3Client mock = new MockS3Client();
+            S3Client client = mock.client();
+            File source = createFile("resume-upload.bin", (int) PART_SIZE * 6 + 10);
+            mock.failParts().add(3);
+            assertThrows(IOException.class, () -> transfers.upload(client, BUCKET, "resume", source));
+            assertEquals(2, calls(mock.partCalls().get(3)));
+            assertTrue(S3Transfers.stateFile(source, S3Transfers.UPLOAD_STATE_EXT).exists());
+            assertNull(mock.objects().get(String.format("%s/resume", BUCKET)));
+
+            mock.reset();
+            transfers.upload(client, BUCKET, "resume", source);
+            for (int ii = 1; ii <= 7; ii++) {
+                assertEquals(ii == 3 ? 1 : 0, calls(mock.partCalls().get(ii)));
+            }
+            assertArrayEquals(Files.readAllBytes(source.toPath()),
+                    mock.objects().get(String.format("%s/resume", BUCKET)));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void resumeDownload() {
+        try (S3Transfers transfers = new S3Transfers(PART_SIZE, 4, 2)) {
+            MockS3Client mock = new MockS3Client();
+            S3Client client = mock.client();
+            File source = createFile("resume-download.bin", (int) PART_SIZE * 6 + 10);
+            transfers.upload(client, BUCKET, "download", source);
+
+            File target = new File(directory, "resume-download.out");
+            mock.reset();
+            mock.failRanges().add(PART_SIZE * 2);
+            assertThrows(IOException.class, () -> transfers.download(client, BUCKET, "download", target));
+            assertTrue(S3Transfers.stateFile(target, S3Transfers.DOWNLOAD_STATE_EXT).exists());
+
+            mock.reset();
+            transfers.download(client, BUCKET, "download", target);
+            for (int ii = 0; ii < 7; ii++) {
+                assertEquals(ii == 2 ? 1 : 0, calls(mock.rangeCalls().get(PART_SIZE * ii)));
+            }
+            assertArrayEquals(Files.readAllBytes(source.toPath()), Files.readAllBytes(target.toPath()));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.indexing;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.filesystem.model.FileInode;
+import org.apache.commons.io.FileUtils;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.NIOFSDirectory;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InodeIndexTest {
+    private static final int COUNT = 1000;
+
+    @Test
+    void updateNrt() {
+        try {
+            run(true);
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void updateSync() {
+        try {
+            run(false);
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void rebuildOldFormat() {
+        try {
+            File dir = Files.createTempDirectory("inode-index").toFile();
+            try {
+                // Index written without the format version (and key fields).
+                try (Directory directory = new NIOFSDirectory(dir.toPath());
+                     IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+                    Document doc = new Document();
+                    doc.add(new StringField(InodeIndexConstants.NAME_UUID, "old", Field.Store.YES));
+                    writer.addDocument(doc);
+                    writer.commit();
+                }
+                FileSystemIndexerSettings settings = new FileSystemIndexerSettings();
+                settings.setDirectory(dir.getAbsolutePath());
+                settings.setNrt(false);
+                try (InodeIndex index = new InodeIndex(settings, null).open()) {
+                    assertTrue(index.rebuild());
+                    assertEquals(0, index.writer().getDocStats().numDocs);
+                    FileInode inode = new FileInode("test", "/test/file.json", "file.json");
+                    inode.setPath("/test");
+                    index.update(inode);
+                }
+                try (InodeIndex index = new InodeIndex(settings, null).open()) {
+                    assertFalse(index.rebuild());
+                    assertEquals(1, index.writer().getDocStats().numDocs);
+                }
+            } finally {
+                FileUtils.deleteDirectory(dir);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    private void run(boolean nrt) throws Exception {
+        File dir = Files.createTempDirectory("inode-index").toFile();
+        try {
+            FileSystemIndexerSettings settings = new FileSystemIndexerSettings();
+            settings.setDirectory(dir.getAbsolutePath());
+            settings.setNrt(nrt);
+            AtomicInteger count = new AtomicInteger(-1);
+            List<FileInode> inodes = new ArrayList<>(COUNT);
+            try (InodeIndex index = new InodeIndex(settings, (i, c) -> count.set(c)).open()) {
+                for (int ii = 0; ii < COUNT; ii++) {
+                    String path = String.format("/test/%02d", ii % 10);
+                    String name = String.format("file-%04d.json", ii);
+                    FileInode inode = new FileInode("test", String.format("%s/%s", path, name), name);
+                    inode.setPath(path);
+                    index.update(inode);
+                    inodes.add(inode);
+                }
+                if (!nrt) {
+                    assertEquals(COUNT, count.get());
+                }
+                index.refresh();
+                for (FileInode inode : inodes) {
+                    assertTrue(index.exists(new Term(InodeIndexConstants.KEY_UUID, inode.getUuid())));
+                }
+                // Updates replace the document keyed by UUID.
+                for (int ii = 0; ii < 100; ii++) {
+                    FileInode inode = inodes.get(ii);
+                    inode.setUpdateTimestamp(System.currentTimeMillis());
+                    index.update(inode);
+                }
+                index.commit();
+                assertEquals(COUNT, count.get());
+
+                FileInode deleted = inodes.get(0);
+                Term term = new Term(InodeIndexConstants.KEY_UUID, deleted.getUuid());
+                index.delete(term);
+                index.refresh();
+                assertFalse(index.exists(term));
+
+                index.delete(new PrefixQuery(new Term(InodeIndexConstants.KEY_FS_PATH, "/test/01/")));
+                index.commit();
+                assertEquals(COUNT - 1 - (COUNT / 10), count.get());
+                index.refresh();
+                for (FileInode inode : inodes) {
+                    boolean expected = inode != deleted && !inode.getFsPath().startsWith("/test/01/");
+                    assertEquals(expected,
+                            index.exists(new Term(InodeIndexConstants.KEY_UUID, inode.getUuid())));
+                }
+            }
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.meta;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryOneTime;
+import org.apache.curator.test.TestingServer;
+import org.apache.zookeeper.data.Stat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InodeCacheTest {
+    private static final String BASE_PATH = "/test/fs/inodes";
+    private static TestingServer server;
+    private static CuratorFramework client;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        server = new TestingServer(true);
+        client = CuratorFrameworkFactory.newClient(server.getConnectString(), new RetryOneTime(100));
+        client.start();
+        client.blockUntilConnected();
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void create(String path, String value) throws Exception {
+        client.create().creatingParentContainersIfNeeded().forPath(path, bytes(value));
+    }
+
+    private static void await(BooleanSupplier condition) throws Exception {
+        long start = System.currentTimeMillis();
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() - start > 10000) {
+                fail("Timeout waiting for cache update.");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void watches() {
+        String root = String.format("%s/watches", BASE_PATH);
+        try {
+            create(String.format("%s/a/b/f1", root), "f1");
+            create(String.format("%s/a/b/f2", root), "f2");
+            create(String.format("%s/a/c", root), "c");
+            try (InodeCache cache = new InodeCache(client, root).start(10000)) {
+                assertTrue(cache.ready());
+                assertArrayEquals(bytes("f1"), cache.get(String.format("%s/a/b/f1", root)));
+                assertNull(cache.get(String.format("%s/a/b/f3", root)));
+                Set<String> children = new HashSet<>(cache.children(String.format("%s/a/b", root)));
+                assertEquals(new HashSet<>(Arrays.asList("f1", "f2")), children);
+                assertEquals(2, cache.children(String.format("%s/a", root)).size());
+
+                // Changes made by other clients are applied by the watches.
+                String f3 = String.format("%s/a/b/f3", root);
+                create(f3, "f3");
+                await(() -> cache.exists(f3));
+                assertArrayEquals(bytes("f3"), cache.get(f3));
+                assertEquals(3, cache.children(String.format("%s/a/b", root)).size());
+
+                client.setData().forPath(f3, bytes("f3-v2"));
+                await(() -> Arrays.equals(bytes("f3-v2"), cache.get(f3)));
+
+                client.delete().forPath(f3);
+                await(() -> !cache.exists(f3));
+                assertNull(cache.get(f3));
+                assertEquals(2, cache.children(String.format("%s/a/b", root)).size());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void writeThrough() {
+        String root = String.format("%s/writes", BASE_PATH);
+        try {
+            create(String.format("%s/d/f1", root), "f1");
+            try (InodeCache cache = new InodeCache(client, root).start(10000)) {
+                String f1 = String.format("%s/d/f1", root);
+                Stat stat = client.setData().forPath(f1, bytes("f1-v2"));
+                cache.put(f1, bytes("f1-v2"), stat);
+                // Visible before the watch event is received.
+                assertArrayEquals(bytes("f1-v2"), cache.get(f1));
+                await(() -> Arrays.equals(bytes("f1-v2"), cache.get(f1)));
+
+                String f2 = String.format("%s/d/f2", root);
+                client.create().forPath(f2);
+                stat = client.setData().forPath(f2, bytes("f2"));
+                cache.put(f2, bytes("f2"), stat);
+                assertArrayEquals(bytes("f2"), cache.get(f2));
+                assertTrue(cache.children(String.format("%s/d", root)).contains("f2"));
+
+                String dir = String.format("%s/d", root);
+                client.delete().deletingChildrenIfNeeded().forPath(dir);
+                cache.remove(dir);
+                assertFalse(cache.exists(dir));
+                assertNull(cache.get(f1));
+                assertNull(cache.get(f2));
+                assertTrue(cache.children(dir).isEmpty());
+
+                // Re-created by another client after the local delete.
+                create(f1, "f1-v3");
+                await(() -> Arrays.equals(bytes("f1-v3"), cache.get(f1)));
+                List<String> children = cache.children(dir);
+                assertEquals(List.of("f1"), children);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
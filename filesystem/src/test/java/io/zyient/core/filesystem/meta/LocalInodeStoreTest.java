@@ -0,0 +1,150 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.filesystem.meta;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalInodeStoreTest {
+    private static final String BASE_PATH = "/test/fs/inodes";
+    private static File dir;
+    private static LocalInodeStore store;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        dir = Files.createTempDirectory("inodes").toFile();
+        store = new LocalInodeStore()
+                .open(new File(dir, "test.mv.db"), BASE_PATH);
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        store.close();
+        FileUtils.deleteDirectory(dir);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] data) {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void children() {
+        String root = String.format("%s/children", BASE_PATH);
+        try {
+            store.create(String.format("%s/a/f1", root), bytes("f1"), true);
+            store.create(String.format("%s/a/f2", root), bytes("f2"), true);
+            store.create(String.format("%s/a/b/f3", root), bytes("f3"), true);
+            store.create(String.format("%s/ab/f4", root), bytes("f4"), true);
+
+            assertTrue(store.exists(String.format("%s/a/b", root), true));
+            assertNull(store.read(String.format("%s/a/b", root), true));
+            assertEquals("f3", string(store.read(String.format("%s/a/b/f3", root), true)));
+
+            List<String> children = store.children(String.format("%s/a", root), true);
+            assertNotNull(children);
+            assertEquals(Set.of("f1", "f2", "b"), new HashSet<>(children));
+            children = store.children(root, true);
+            assertNotNull(children);
+            assertEquals(Set.of("a", "ab"), new HashSet<>(children));
+            assertNull(store.children(String.format("%s/x", root), true));
+
+            assertThrows(Exception.class,
+                    () -> store.create(String.format("%s/a/f1", root), bytes("f1"), false));
+            assertThrows(Exception.class,
+                    () -> store.create(String.format("%s/x/f1", root), bytes("f1"), false));
+            assertThrows(Exception.class,
+                    () -> store.write(String.format("%s/a/x", root), bytes("x")));
+            store.write(String.format("%s/a/f1", root), bytes("updated"));
+            assertEquals("updated", string(store.read(String.format("%s/a/f1", root), true)));
+
+            assertThrows(Exception.class, () -> store.delete(String.format("%s/a", root), false));
+            assertTrue(store.delete(String.format("%s/a", root), true));
+            assertFalse(store.exists(String.format("%s/a/b/f3", root), true));
+            assertFalse(store.exists(String.format("%s/a/f1", root), true));
+            assertTrue(store.exists(String.format("%s/ab/f4", root), true));
+            assertFalse(store.delete(String.format("%s/a", root), true));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void commit() {
+        String root = String.format("%s/commit", BASE_PATH);
+        try {
+            String source = String.format("%s/source/file.json", root);
+            String target = String.format("%s/target/file.json", root);
+            store.create(source, bytes("source"), true);
+            store.create(target, bytes("new"), true);
+
+            // Fails on the last operation, nothing should be applied.
+            InodeStore.Batch batch = new InodeStore.Batch()
+                    .write(target, bytes("moved"))
+                    .delete(source)
+                    .create(target, bytes("exists"));
+            assertThrows(Exception.class, () -> store.commit(batch));
+            assertEquals("new", string(store.read(target, true)));
+            assertEquals("source", string(store.read(source, true)));
+
+            store.commit(new InodeStore.Batch()
+                    .write(target, bytes("moved"))
+                    .delete(source));
+            assertEquals("moved", string(store.read(target, true)));
+            assertFalse(store.exists(source, true));
+            List<String> children = store.children(String.format("%s/source", root), true);
+            assertNotNull(children);
+            assertTrue(children.isEmpty());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void reopen() {
+        File file = new File(dir, "reopen.mv.db");
+        String path = String.format("%s/reopen/file.json", BASE_PATH);
+        try {
+            try (LocalInodeStore local = new LocalInodeStore().open(file, BASE_PATH)) {
+                local.create(path, bytes("persisted"), true);
+            }
+            try (LocalInodeStore local = new LocalInodeStore().open(file, BASE_PATH)) {
+                assertEquals("persisted", string(local.read(path, true)));
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
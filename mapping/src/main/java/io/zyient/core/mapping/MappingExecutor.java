@@ -24,6 +24,7 @@ import io.zyient.base.core.BaseEnv;
 import io.zyient.base.core.connections.ConnectionManager;
 import io.zyient.base.core.processing.ProcessorState;
 import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.pipeline.ParallelPipelineSource;
 import io.zyient.core.mapping.pipeline.Pipeline;
 import io.zyient.core.mapping.pipeline.PipelineBuilder;
 import io.zyient.core.mapping.pipeline.PipelineHandle;
@@ -43,6 +44,7 @@ import org.apache.commons.configuration2.tree.ImmutableNode;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -57,6 +59,7 @@ public class MappingExecutor implements Closeable {
     private PipelineBuilder builder;
     private MappingExecutorSettings settings;
     private ExecutorService executorService;
+    private ExecutorService pipelineWorkers;
     private DataStoreManager dataStoreManager;
     private ConnectionManager connectionManager;
     private DataStoreEnv<?> env;
@@ -81,6 +84,10 @@ public class MappingExecutor implements Closeable {
                     settings.getNumThreads(),
                     0L, TimeUnit.MILLISECONDS,
                     new LinkedBlockingQueue<>(settings.getTaskQueueSize()));
+            if (settings.getPipelineWorkers() > 0) {
+                // Unbounded queue, each file bounds the chunks it has in flight.
+                pipelineWorkers = Executors.newFixedThreadPool(settings.getPipelineWorkers());
+            }
             state.setState(ProcessorState.EProcessorState.Running);
 
             builder = new PipelineBuilder()
@@ -116,7 +123,9 @@ public class MappingExecutor implements Closeable {
         }
         Reader reader = new Reader(handle.pipeline(),
                 handle.reader(),
-                contentInfo);
+                contentInfo,
+                pipelineWorkers,
+                settings);
         executorService.submit(reader);
     }
 
@@ -136,6 +145,10 @@ public class MappingExecutor implements Closeable {
             }
             executorService = null;
         }
+        if (pipelineWorkers != null) {
+            pipelineWorkers.shutdownNow();
+            pipelineWorkers = null;
+        }
         __instance = null;
     }
 
@@ -156,7 +169,9 @@ public class MappingExecutor implements Closeable {
 
     private record Reader(Pipeline pipeline,
                           InputReader reader,
-                          InputContentInfo contentInfo) implements Runnable {
+                          InputContentInfo contentInfo,
+                          ExecutorService workers,
+                          MappingExecutorSettings settings) implements Runnable {
 
         @Override
         public void run() {
@@ -168,7 +183,12 @@ public class MappingExecutor implements Closeable {
                 DefaultLogger.info(String.format("Starting pipeline. [name=%s]", pipeline.name()));
                 DefaultLogger.trace(pipeline.name(), contentInfo);
 
-                ReadResponse response = ((PipelineSource) pipeline).read(reader, contentInfo);
+                ReadResponse response;
+                if (workers != null && pipeline instanceof ParallelPipelineSource) {
+                    response = ((ParallelPipelineSource) pipeline).read(reader, contentInfo, workers, settings);
+                } else {
+                    response = ((PipelineSource) pipeline).read(reader, contentInfo);
+                }
                 if (contentInfo.callback() != null) {
                     contentInfo.callback().onSuccess(contentInfo, response);
                 }
@@ -32,4 +32,15 @@ public class MappingExecutorSettings extends Settings {
     private int numThreads = 8;
     @Config(name = "taskQueueSize", required = false, type = Integer.class)
     private int taskQueueSize = 128;
+    /**
+     * Number of threads used to map records within a file, disabled (one thread per file) if 0.
+     */
+    @Config(name = "pipeline.workers", required = false, type = Integer.class)
+    private int pipelineWorkers = 0;
+    @Config(name = "pipeline.chunkSize", required = false, type = Integer.class)
+    private int pipelineChunkSize = 128;
+    @Config(name = "pipeline.queueSize", required = false, type = Integer.class)
+    private int pipelineQueueSize = 64;
+    @Config(name = "pipeline.ordered", required = false, type = Boolean.class)
+    private boolean pipelineOrdered = true;
 }
@@ -78,6 +78,14 @@ public class MapTransformer<T> {
         return this;
     }
 
+    Transformer<?> transformer(@NonNull MappedElement element) throws Exception {
+        if (element instanceof CustomMappedElement
+                || element instanceof RegexMappedElement) {
+            return findTransformer(element, true);
+        }
+        return null;
+    }
+
     private Transformer<?> findTransformer(MappedElement elem, boolean create) throws Exception {
         if (elem instanceof CustomMappedElement element) {
             if (transformers.containsKey(element.getTransformer())) {
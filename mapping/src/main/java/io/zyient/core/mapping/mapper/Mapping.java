@@ -31,6 +31,7 @@ import io.zyient.base.common.utils.JSONUtils;
 import io.zyient.base.common.utils.ReflectionHelper;
 import io.zyient.base.common.utils.beans.PropertyDef;
 import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.decisions.CompiledEvaluationTree;
 import io.zyient.base.core.decisions.EvaluationTree;
 import io.zyient.base.core.decisions.builder.EvaluationTreeBuilder;
 import io.zyient.core.mapping.DataException;
@@ -41,6 +42,7 @@ import io.zyient.core.mapping.model.mapping.*;
 import io.zyient.core.mapping.readers.MappingContextProvider;
 import io.zyient.core.mapping.rules.*;
 import io.zyient.core.mapping.transformers.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.Accessors;
@@ -53,6 +55,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @Accessors(fluent = true)
@@ -76,7 +79,12 @@ public abstract class Mapping<T> {
     private boolean terminateOnValidationError = false;
     private StringTransformer stringTransformer;
     private EvaluationTree<Map<String, Object>, ConditionalMappedElement> evaluationTree;
+    @Getter(AccessLevel.NONE)
+    private CompiledEvaluationTree<Map<String, Object>, ConditionalMappedElement> compiledTree;
     private BaseEnv<?> env;
+    private MappingPlan<T> plan;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, PropertyDef> properties = new ConcurrentHashMap<>();
 
     protected Mapping(@NonNull Class<? extends T> entityType, @NonNull Class<? extends MappedResponse<T>> responseType) {
         this.entityType = entityType;
@@ -134,6 +142,8 @@ public abstract class Mapping<T> {
                 }
                 mapper.registerModule(module);
             }
+            plan = new MappingCompiler<>(entityType, mapper, mapTransformer, deSerializers)
+                    .compile(sourceIndex, settings.isCompile());
             checkAndLoadFilters(config);
             checkAndLoadRules(config);
             return this;
@@ -219,6 +229,9 @@ public abstract class Mapping<T> {
             }
             EvaluationTreeBuilder<Map<String, Object>, ConditionalMappedElement> builder = type.getDeclaredConstructor().newInstance().configure(bNode, env);
             evaluationTree = builder.build();
+            if (evaluationTree != null) {
+                compiledTree = evaluationTree.compile();
+            }
         }
     }
 
@@ -237,23 +250,23 @@ public abstract class Mapping<T> {
                 return response;
             }
         }
-        Map<String, Object> converted = mapTransformer.transform(source, entityType, context);
-        T entity = mapper.convertValue(converted, entityType);
+        T entity = null;
+        if (plan.compiled()) {
+            entity = plan.create(source, context);
+        } else {
+            Map<String, Object> converted = mapTransformer.transform(source, entityType, context);
+            entity = mapper.convertValue(converted, entityType);
+        }
         response.setEntity(entity);
 
-        for (Integer index : sourceIndex.keySet()) {
-
-            Mapped m = sourceIndex.get(index);
-            if (m instanceof MappedElement me) {
-                if (me.getMappingType() == MappingType.Field || me.getMappingType() == MappingType.ConstField) continue;
-                executeMapping(me, response, source, context);
-            }
+        for (MappingPlan.ElementStep step : plan.elements()) {
+            executeMapping(step.element(), step.parts(), response, source, context);
         }
-        if (evaluationTree != null) {
-            ConditionalMappedElement element = evaluationTree.evaluate(source);
+        if (compiledTree != null) {
+            ConditionalMappedElement element = compiledTree.evaluate(source);
             if (element != null) {
                 for (MappedElement me : element.getMappings()) {
-                    executeMapping(me, response, source, context);
+                    executeMapping(me, null, response, source, context);
                 }
             }
         }
@@ -268,7 +281,11 @@ public abstract class Mapping<T> {
         return response;
     }
 
-    private void executeMapping(MappedElement me, MappedResponse<T> response, SourceMap source, Context context) throws Exception {
+    private void executeMapping(MappedElement me,
+                                String[] parts,
+                                MappedResponse<T> response,
+                                SourceMap source,
+                                Context context) throws Exception {
         Object value = null;
         String path = me.getSourcePath();
         if (me instanceof WildcardMappedElement wme && ReflectionHelper.implementsInterface(PropertyBag.class, entityType)) {
@@ -283,7 +300,9 @@ public abstract class Mapping<T> {
         } else if (me.getMappingType() == MappingType.ConstProperty || me.getMappingType() == MappingType.ConstField) {
             value = me.getSourcePath();
         } else {
-            String[] parts = path.split("\\.");
+            if (parts == null) {
+                parts = path.split("\\.");
+            }
             value = findSourceValue(source, parts, 0);
         }
         if (value == null) {
@@ -328,9 +347,13 @@ public abstract class Mapping<T> {
                     throw new DataException(String.format("Required field value is missing. [source=%s][field=%s]", element.getSourcePath(), element.getTargetPath()));
                 }
             } else {
-                PropertyDef def = ReflectionHelper.findProperty(entityType, element.getTargetPath());
+                PropertyDef def = properties.get(element.getTargetPath());
                 if (def == null) {
-                    throw new Exception(String.format("Property not found. [entity=%s][property=%s]", entityType.getCanonicalName(), element.getTargetPath()));
+                    def = ReflectionHelper.findProperty(entityType, element.getTargetPath());
+                    if (def == null) {
+                        throw new Exception(String.format("Property not found. [entity=%s][property=%s]", entityType.getCanonicalName(), element.getTargetPath()));
+                    }
+                    properties.put(element.getTargetPath(), def);
                 }
                 MappingReflectionHelper.setProperty(element.getTargetPath(), def, data, tv);
             }
@@ -0,0 +1,276 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.mapper;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.google.common.base.Strings;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.model.mapping.Mapped;
+import io.zyient.core.mapping.model.mapping.MappedElement;
+import io.zyient.core.mapping.model.mapping.MappingType;
+import io.zyient.core.mapping.transformers.DeSerializer;
+import io.zyient.core.mapping.transformers.Transformer;
+import lombok.NonNull;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Compiles the mapping definition into a {@link MappingPlan} once, at load time.
+ * <p>
+ * The compiled plan produces the same entity as converting the MapTransformer output with
+ * Jackson: properties and their (generic resolved) types are taken from Jackson's own bean
+ * introspection, values are converted with the registered de-serializers. Definitions the
+ * plan cannot reproduce exactly (nested source paths, indexed targets, Jackson annotated
+ * properties, polymorphic or custom de-serialized types, duplicate targets) are not compiled
+ * and the mapping keeps using the MapTransformer.
+ *
+ * @param <T> - Entity type.
+ */
+public class MappingCompiler<T> {
+    private static class Unsupported extends Exception {
+        private Unsupported(String message) {
+            super(message);
+        }
+    }
+
+    private static final Set<Class<? extends Annotation>> ALLOWED_TYPE_ANNOTATIONS = Set.of(
+            JsonTypeInfo.class,
+            JsonIgnoreProperties.class,
+            JsonInclude.class,
+            JsonAutoDetect.class
+    );
+
+    private final Class<? extends T> entityType;
+    private final ObjectMapper mapper;
+    private final MapTransformer<T> mapTransformer;
+    private final Map<Class<?>, DeSerializer<?>> deSerializers = new HashMap<>();
+    private final List<MappingPlan.TargetNode> nodes = new ArrayList<>();
+    private final Map<String, Integer> nodeIndex = new HashMap<>();
+    private final Map<Integer, JavaType> nodeTypes = new HashMap<>();
+
+    public MappingCompiler(@NonNull Class<? extends T> entityType,
+                           @NonNull ObjectMapper mapper,
+                           @NonNull MapTransformer<T> mapTransformer,
+                           @NonNull Map<String, DeSerializer<?>> deSerializers) {
+        this.entityType = entityType;
+        this.mapper = mapper;
+        this.mapTransformer = mapTransformer;
+        for (String name : deSerializers.keySet()) {
+            DeSerializer<?> deSerializer = deSerializers.get(name);
+            this.deSerializers.put(deSerializer.type(), deSerializer);
+        }
+    }
+
+    /**
+     * Compile the mapping definition.
+     *
+     * @param sourceIndex - Mapped elements, indexed by sequence
+     * @param entity      - Compile the entity population (Field/ConstField mappings)?
+     * @return - Mapping plan
+     */
+    public MappingPlan<T> compile(@NonNull Map<Integer, Mapped> sourceIndex, boolean entity) {
+        List<Mapped> sorted = new ArrayList<>(sourceIndex.values());
+        sorted.sort(Comparator.comparingInt(Mapped::getSequence));
+        List<MappingPlan.ElementStep> elements = new ArrayList<>();
+        List<MappedElement> fields = new ArrayList<>();
+        for (Mapped m : sorted) {
+            if (m instanceof MappedElement me) {
+                if (me.getMappingType() == MappingType.Field || me.getMappingType() == MappingType.ConstField) {
+                    fields.add(me);
+                } else {
+                    String[] parts = null;
+                    if (me.getSourcePath() != null) {
+                        parts = me.getSourcePath().split("\\.");
+                    }
+                    elements.add(new MappingPlan.ElementStep(me, parts));
+                }
+            }
+        }
+        if (!entity) {
+            return new MappingPlan<>(entityType, elements, null, null, null, mapper);
+        }
+        try {
+            return compile(elements, fields);
+        } catch (Unsupported ex) {
+            DefaultLogger.info(String.format("Mapping not compiled, using map transformer. [entity=%s][reason=%s]",
+                    entityType.getCanonicalName(), ex.getLocalizedMessage()));
+        } catch (Exception ex) {
+            DefaultLogger.error(String.format("Mapping compilation failed. [entity=%s]",
+                    entityType.getCanonicalName()), ex);
+        }
+        return new MappingPlan<>(entityType, elements, null, null, null, mapper);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MappingPlan<T> compile(List<MappingPlan.ElementStep> elements,
+                                   List<MappedElement> fields) throws Exception {
+        if (fields.isEmpty()) {
+            throw new Unsupported("no field mappings");
+        }
+        JavaType rootType = mapper.constructType(entityType);
+        Constructor<? extends T> constructor = (Constructor<? extends T>) constructor(rootType);
+        nodes.add(new MappingPlan.TargetNode(0, -1, null, null));
+        nodeIndex.put("", 0);
+        nodeTypes.put(0, rootType);
+        Set<String> targets = new HashSet<>();
+        List<MappingPlan.FieldStep> steps = new ArrayList<>(fields.size());
+        for (MappedElement me : fields) {
+            String target = me.getTargetPath();
+            if (Strings.isNullOrEmpty(target) || target.contains("[")) {
+                throw new Unsupported(String.format("indexed target [%s]", target));
+            }
+            if (!targets.add(target)) {
+                throw new Unsupported(String.format("duplicate target [%s]", target));
+            }
+            boolean constant = (me.getMappingType() == MappingType.ConstField);
+            if (!constant && me.getSourcePath().contains(".")) {
+                throw new Unsupported(String.format("nested source [%s]", me.getSourcePath()));
+            }
+            String[] parts = target.split("\\.");
+            int owner = 0;
+            StringBuilder path = new StringBuilder();
+            for (int ii = 0; ii < parts.length - 1; ii++) {
+                if (!path.isEmpty()) {
+                    path.append(".");
+                }
+                path.append(parts[ii]);
+                owner = node(path.toString(), owner, parts[ii]);
+            }
+            BeanPropertyDefinition property = property(nodeTypes.get(owner), parts[parts.length - 1]);
+            AnnotatedMember mutator = property.getMutator();
+            JavaType type = mutatorType(mutator);
+            Object nullValue = null;
+            if (type.isPrimitive()) {
+                nullValue = Array.get(Array.newInstance(type.getRawClass(), 1), 0);
+            }
+            Transformer<?> transformer = mapTransformer.transformer(me);
+            steps.add(new MappingPlan.FieldStep(me,
+                    constant,
+                    transformer,
+                    owner,
+                    mutator,
+                    type,
+                    deSerializers.get(type.getRawClass()),
+                    nullValue));
+        }
+        return new MappingPlan<>(entityType, elements, constructor, nodes, steps, mapper);
+    }
+
+    private int node(String path, int parent, String name) throws Exception {
+        Integer index = nodeIndex.get(path);
+        if (index != null) {
+            return index;
+        }
+        BeanPropertyDefinition property = property(nodeTypes.get(parent), name);
+        AnnotatedMember mutator = property.getMutator();
+        JavaType type = mutatorType(mutator);
+        if (type.isContainerType() || type.isPrimitive() || type.getRawClass().equals(String.class)) {
+            throw new Unsupported(String.format("non-bean intermediate [%s]", path));
+        }
+        Constructor<?> constructor = constructor(type);
+        index = nodes.size();
+        nodes.add(new MappingPlan.TargetNode(index, parent, mutator, constructor));
+        nodeIndex.put(path, index);
+        nodeTypes.put(index, type);
+        return index;
+    }
+
+    private Constructor<?> constructor(JavaType type) throws Exception {
+        Class<?> cls = type.getRawClass();
+        if (cls.isInterface() || Modifier.isAbstract(cls.getModifiers())) {
+            throw new Unsupported(String.format("abstract type [%s]", cls.getCanonicalName()));
+        }
+        if (deSerializers.containsKey(cls)) {
+            throw new Unsupported(String.format("custom de-serializer [%s]", cls.getCanonicalName()));
+        }
+        for (Annotation annotation : cls.getAnnotations()) {
+            Class<? extends Annotation> at = annotation.annotationType();
+            if (at.getPackageName().startsWith("com.fasterxml.jackson")) {
+                if (!ALLOWED_TYPE_ANNOTATIONS.contains(at)) {
+                    throw new Unsupported(String.format("annotated type [%s][%s]",
+                            cls.getCanonicalName(), at.getSimpleName()));
+                }
+                if (annotation instanceof JsonTypeInfo ti && ti.use() != JsonTypeInfo.Id.CLASS) {
+                    throw new Unsupported(String.format("polymorphic type [%s]", cls.getCanonicalName()));
+                }
+            }
+        }
+        try {
+            Constructor<?> constructor = cls.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException ex) {
+            throw new Unsupported(String.format("no default constructor [%s]", cls.getCanonicalName()));
+        }
+    }
+
+    private BeanPropertyDefinition property(JavaType owner, String name) throws Exception {
+        BeanDescription description = mapper.getDeserializationConfig().introspect(owner);
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.getName().equals(name)) {
+                AnnotatedMember mutator = property.getMutator();
+                if (!(mutator instanceof AnnotatedMethod) && !(mutator instanceof AnnotatedField)) {
+                    throw new Unsupported(String.format("no mutator [%s.%s]",
+                            owner.getRawClass().getCanonicalName(), name));
+                }
+                if (annotated(property.getField())
+                        || annotated(property.getSetter())
+                        || annotated(property.getGetter())) {
+                    throw new Unsupported(String.format("annotated property [%s.%s]",
+                            owner.getRawClass().getCanonicalName(), name));
+                }
+                mutator.fixAccess(true);
+                return property;
+            }
+        }
+        throw new Unsupported(String.format("property not found [%s.%s]",
+                owner.getRawClass().getCanonicalName(), name));
+    }
+
+    private boolean annotated(AnnotatedMember member) {
+        if (member == null) {
+            return false;
+        }
+        for (Annotation annotation : member.getAnnotated().getAnnotations()) {
+            if (annotation.annotationType().getPackageName().startsWith("com.fasterxml.jackson")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private JavaType mutatorType(AnnotatedMember mutator) {
+        if (mutator instanceof AnnotatedMethod method) {
+            return method.getParameterType(0);
+        }
+        return mutator.getType();
+    }
+}
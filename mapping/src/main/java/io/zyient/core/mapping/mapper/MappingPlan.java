@@ -0,0 +1,213 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.mapper;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import io.zyient.base.common.model.Context;
+import io.zyient.core.mapping.model.mapping.MappedElement;
+import io.zyient.core.mapping.rules.MappingReflectionHelper;
+import io.zyient.core.mapping.transformers.DeSerializer;
+import io.zyient.core.mapping.transformers.Transformer;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-compiled entity population plan (see {@link MappingCompiler}): Field/ConstField mappings
+ * are applied in sequence order, directly on the entity through pre-bound mutators, nested
+ * objects are created on first use.
+ *
+ * @param <T> - Entity type.
+ */
+@Getter
+@Accessors(fluent = true)
+public class MappingPlan<T> {
+    /**
+     * Target object node, the root node (index 0) is the entity.
+     */
+    static class TargetNode {
+        private final int index;
+        private final int parent;
+        private final AnnotatedMember mutator;
+        private final Constructor<?> constructor;
+
+        TargetNode(int index, int parent, AnnotatedMember mutator, Constructor<?> constructor) {
+            this.index = index;
+            this.parent = parent;
+            this.mutator = mutator;
+            this.constructor = constructor;
+        }
+    }
+
+    /**
+     * Field/ConstField mapping bound to the target property.
+     */
+    static class FieldStep {
+        private final MappedElement element;
+        private final String name;
+        private final boolean constant;
+        private final boolean contextPrefixed;
+        private final Transformer<?> transformer;
+        private final int owner;
+        private final AnnotatedMember mutator;
+        private final JavaType type;
+        private final DeSerializer<?> deSerializer;
+        private final Object nullValue;
+
+        FieldStep(MappedElement element,
+                  boolean constant,
+                  Transformer<?> transformer,
+                  int owner,
+                  AnnotatedMember mutator,
+                  JavaType type,
+                  DeSerializer<?> deSerializer,
+                  Object nullValue) {
+            this.element = element;
+            this.name = element.getSourcePath();
+            this.constant = constant;
+            this.contextPrefixed = MappingReflectionHelper.isContextPrefixed(name);
+            this.transformer = transformer;
+            this.owner = owner;
+            this.mutator = mutator;
+            this.type = type;
+            this.deSerializer = deSerializer;
+            this.nullValue = nullValue;
+        }
+    }
+
+    /**
+     * Non-field mapping with the source path split once.
+     *
+     * @param element - Mapped element
+     * @param parts   - Source path parts
+     */
+    public record ElementStep(MappedElement element, String[] parts) {
+    }
+
+    private final Class<? extends T> entityType;
+    private final List<ElementStep> elements;
+    @Getter(lombok.AccessLevel.NONE)
+    private final Constructor<? extends T> constructor;
+    @Getter(lombok.AccessLevel.NONE)
+    private final List<TargetNode> nodes;
+    @Getter(lombok.AccessLevel.NONE)
+    private final List<FieldStep> fields;
+    @Getter(lombok.AccessLevel.NONE)
+    private final ObjectMapper mapper;
+
+    MappingPlan(@NonNull Class<? extends T> entityType,
+                @NonNull List<ElementStep> elements,
+                Constructor<? extends T> constructor,
+                List<TargetNode> nodes,
+                List<FieldStep> fields,
+                ObjectMapper mapper) {
+        this.entityType = entityType;
+        this.elements = elements;
+        this.constructor = constructor;
+        this.nodes = nodes;
+        this.fields = fields;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Can the entity be populated directly? If not the mapping falls back to building the
+     * entity through the MapTransformer.
+     *
+     * @return - Compiled?
+     */
+    public boolean compiled() {
+        return constructor != null;
+    }
+
+    public T create(@NonNull Map<String, Object> source, @NonNull Context context) throws Exception {
+        T entity = constructor.newInstance();
+        Object[] targets = new Object[nodes.size()];
+        targets[0] = entity;
+        for (FieldStep step : fields) {
+            Map<String, Object> params = null;
+            if (source.containsKey(step.name) || step.constant) {
+                params = source;
+            } else if (step.contextPrefixed) {
+                params = context.params;
+            } else {
+                if (!step.element.isNullable()) {
+                    throw new Exception(String.format("Field is not nullable. [field=%s]",
+                            step.element.getTargetPath()));
+                }
+                continue;
+            }
+            Object value = null;
+            if (step.constant) {
+                value = step.name;
+            } else if (step.contextPrefixed) {
+                Context ctx = new Context();
+                ctx.setParams(params);
+                value = MappingReflectionHelper.getContextProperty(step.name, ctx);
+            } else {
+                value = params.get(step.name);
+            }
+            if (value == null) {
+                if (!step.element.isNullable()) {
+                    throw new Exception(String.format("Field is not nullable. [field=%s]",
+                            step.element.getTargetPath()));
+                }
+                continue;
+            }
+            if (step.transformer != null) {
+                value = step.transformer.read(value);
+            }
+            Object owner = target(targets, nodes.get(step.owner));
+            step.mutator.setValue(owner, convert(step, value));
+        }
+        return entity;
+    }
+
+    private Object target(Object[] targets, TargetNode node) throws Exception {
+        Object target = targets[node.index];
+        if (target == null) {
+            target = node.constructor.newInstance();
+            Object parent = target(targets, nodes.get(node.parent));
+            node.mutator.setValue(parent, target);
+            targets[node.index] = target;
+        }
+        return target;
+    }
+
+    private Object convert(FieldStep step, Object value) throws Exception {
+        if (value == null) {
+            return step.nullValue;
+        }
+        if (value instanceof String s) {
+            if (step.deSerializer != null) {
+                if (s.isEmpty()) {
+                    return null;
+                }
+                return step.deSerializer.transform(s);
+            }
+            if (step.type.getRawClass().equals(String.class)) {
+                return s;
+            }
+        }
+        return mapper.convertValue(value, step.type);
+    }
+}
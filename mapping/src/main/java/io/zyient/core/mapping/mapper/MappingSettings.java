@@ -44,6 +44,8 @@ public class MappingSettings extends Settings {
     private String localeStr = null;
     @Config(name = "useJson", required = false, type = Boolean.class)
     private boolean useJsonForString = true;
+    @Config(name = "compile", required = false, type = Boolean.class)
+    private boolean compile = true;
     private Locale locale = Locale.getDefault();
 
     public MappingSettings() {
@@ -18,6 +18,7 @@ package io.zyient.core.mapping.model;
 
 import io.zyient.base.core.utils.SourceTypes;
 import io.zyient.core.mapping.readers.ReadCompleteCallback;
+import io.zyient.core.mapping.readers.ReadProgressListener;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -38,6 +39,7 @@ public class InputContentInfo extends ContentInfo {
     public static final String KEY_READER_NAME = "reader.name";
 
     private ReadCompleteCallback callback;
+    private ReadProgressListener progressListener;
 
     public InputContentInfo() {
     }
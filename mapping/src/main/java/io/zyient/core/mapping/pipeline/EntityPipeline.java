@@ -68,6 +68,14 @@ public class EntityPipeline<K extends IKey, E extends IEntity<K>> extends Persis
 
     @Override
     public RecordResponse execute(@NonNull SourceMap data, Context context) throws Exception {
+        return persist(map(data, context), context);
+    }
+
+    /**
+     * Map and run the post-processing rules on the input record. Records are not persisted, but rules
+     * may read from the data store (see {@link #mapsInParallel()}), these use the calling thread's session.
+     */
+    public RecordResponse map(@NonNull SourceMap data, Context context) throws Exception {
         RecordResponse response = new RecordResponse();
         response.setSource(data);
         MappedResponse<E> r = mapping().read(data, context);
@@ -77,10 +85,29 @@ public class EntityPipeline<K extends IKey, E extends IEntity<K>> extends Persis
             EvaluationStatus ret = postProcessor().evaluate(r);
             response.setStatus(ret);
         }
+        return response;
+    }
+
+    /**
+     * Can records be mapped on worker threads? Not if the mapping or post-processing rules read from
+     * the data store: sessions are bound to the calling thread, a worker would open (and leak) its own
+     * session, without visibility of the caller's uncommitted writes.
+     *
+     * @return - Can map in parallel?
+     */
+    public boolean mapsInParallel() {
+        if (mapping().rulesExecutor() != null && mapping().rulesExecutor().usesDataStore()) {
+            return false;
+        }
+        return (postProcessor() == null || !postProcessor().usesDataStore());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected RecordResponse persist(@NonNull RecordResponse response, Context context) throws Exception {
         if (response.getStatus().getStatus() != StatusCode.IgnoreRecord) {
             //beingTransaction();
             try {
-                E entity = save(r.getEntity(), context);
+                E entity = save((E) response.getEntity(), context);
                 ValidationExceptions errors = response.getStatus().getErrors();
                 if (errors != null) {
                     if (settings().isTerminateOnValidationError()) {
@@ -97,7 +124,7 @@ public class EntityPipeline<K extends IKey, E extends IEntity<K>> extends Persis
                 throw new Exception(t);
             }
         } else if (DefaultLogger.isTraceEnabled()) {
-            DefaultLogger.trace("RECORD IGNORED", data);
+            DefaultLogger.trace("RECORD IGNORED", response.getSource());
         }
         return response;
     }
@@ -30,8 +30,10 @@ import io.zyient.core.mapping.pipeline.settings.PersistencePipelineSettings;
 import io.zyient.core.mapping.pipeline.settings.PipelineSettings;
 import io.zyient.core.mapping.rules.RuleValidationError;
 import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.BulkResult;
 import io.zyient.core.persistence.TransactionDataStore;
 import io.zyient.core.persistence.env.DataStoreEnv;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -40,6 +42,9 @@ import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 @Setter
 @Accessors(fluent = true)
@@ -47,6 +52,26 @@ public abstract class PersistencePipeline<K extends IKey, E extends IEntity<K>>
     private Class<? extends E> entityType;
     private Class<? extends K> keyType;
     private AbstractDataStore<?> dataStore;
+    /**
+     * Entities (and validation errors) buffered for a bulk write, flushed on commit.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final List<PendingEntity<E>> pending = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Context pendingContext = null;
+    @Setter(AccessLevel.NONE)
+    private boolean batched = false;
+
+    private static class PendingEntity<E> {
+        private final E entity;
+        private ValidationExceptions errors;
+
+        private PendingEntity(E entity) {
+            this.entity = entity;
+        }
+    }
 
     @Override
     @SuppressWarnings("unchecked")
@@ -66,8 +91,20 @@ public abstract class PersistencePipeline<K extends IKey, E extends IEntity<K>>
         }
     }
 
+    /**
+     * Buffer the saves and write them in bulk on commit.
+     */
+    protected void startBatch() {
+        batched = true;
+    }
+
     protected E save(@NonNull E entity,
                      Context context) throws Exception {
+        if (batched) {
+            pending.add(new PendingEntity<>(entity));
+            pendingContext = context;
+            return entity;
+        }
         entity = dataStore().create(entity, entityType, context);
         if (DefaultLogger.isTraceEnabled()) {
             String json = JSONUtils.asString(entity);
@@ -81,6 +118,14 @@ public abstract class PersistencePipeline<K extends IKey, E extends IEntity<K>>
                         @NonNull ValidationExceptions errors,
                         Context context) throws Exception {
         if (settings().isSaveValidationErrors()) {
+            if (batched) {
+                for (int ii = pending.size() - 1; ii >= 0; ii--) {
+                    if (pending.get(ii).entity == entity) {
+                        pending.get(ii).errors = errors;
+                        return;
+                    }
+                }
+            }
             for (ValidationException error : errors) {
                 if (error instanceof RuleValidationError) {
                     EntityValidationError ve = new EntityValidationError(entity.entityKey().stringKey(),
@@ -98,7 +143,55 @@ public abstract class PersistencePipeline<K extends IKey, E extends IEntity<K>>
         }
     }
 
+    /**
+     * Write the buffered entities (and validation errors) using the bulk APIs of the data store.
+     */
+    @SuppressWarnings("unchecked")
+    protected void flush() throws Exception {
+        if (pending.isEmpty()) return;
+        try {
+            List<E> entities = new ArrayList<>(pending.size());
+            for (PendingEntity<E> pe : pending) {
+                entities.add(pe.entity);
+            }
+            BulkResult<E> result = dataStore().createAll(entities, entityType, pendingContext);
+            if (result.hasErrors()) {
+                throw new Exception(String.format("Bulk save failed. [type=%s][errors=%d]",
+                        entityType.getCanonicalName(), result.errorCount()), result.firstError());
+            }
+            List<EntityValidationError> errors = new ArrayList<>();
+            for (int ii = 0; ii < pending.size(); ii++) {
+                E entity = result.get(ii).value();
+                if (DefaultLogger.isTraceEnabled()) {
+                    DefaultLogger.trace(JSONUtils.asString(entity));
+                }
+                ValidationExceptions ves = pending.get(ii).errors;
+                if (ves == null) continue;
+                for (ValidationException error : ves) {
+                    if (error instanceof RuleValidationError) {
+                        errors.add(new EntityValidationError(entity.entityKey().stringKey(),
+                                (Class<? extends IEntity<?>>) entity.getClass(),
+                                (RuleValidationError) error));
+                    }
+                }
+            }
+            if (!errors.isEmpty()) {
+                BulkResult<EntityValidationError> er = dataStore().upsertAll(errors,
+                        EntityValidationError.class,
+                        pendingContext);
+                if (er.hasErrors()) {
+                    throw new Exception(String.format("Failed to save validation errors. [type=%s][errors=%d]",
+                            entityType.getCanonicalName(), er.errorCount()), er.firstError());
+                }
+            }
+        } finally {
+            pending.clear();
+            pendingContext = null;
+        }
+    }
+
     protected void rollback() throws Exception {
+        pending.clear();
         if (dataStore instanceof TransactionDataStore<?, ?>) {
             if (((TransactionDataStore<?, ?>) dataStore).isInTransaction()) {
                 ((TransactionDataStore<?, ?>) dataStore).rollback(true);
@@ -107,6 +200,7 @@ public abstract class PersistencePipeline<K extends IKey, E extends IEntity<K>>
     }
 
     protected void commit() throws Exception {
+        flush();
         if (dataStore instanceof TransactionDataStore<?, ?>) {
             if (((TransactionDataStore<?, ?>) dataStore).isInTransaction()) {
                 ((TransactionDataStore<?, ?>) dataStore).commit();
@@ -117,6 +211,8 @@ public abstract class PersistencePipeline<K extends IKey, E extends IEntity<K>>
     }
 
     protected void finished() throws Exception {
+        pending.clear();
+        batched = false;
         if (dataStore instanceof TransactionDataStore<?,?>) {
             ((TransactionDataStore<?, ?>) dataStore).endSession();;
         }
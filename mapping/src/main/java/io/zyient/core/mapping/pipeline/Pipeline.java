@@ -28,11 +28,14 @@ import io.zyient.base.core.utils.Timer;
 import io.zyient.core.mapping.PipelineMetrics;
 import io.zyient.core.mapping.mapper.MapperFactory;
 import io.zyient.core.mapping.model.EvaluationStatus;
+import io.zyient.core.mapping.model.InputContentInfo;
 import io.zyient.core.mapping.model.RecordResponse;
 import io.zyient.core.mapping.model.StatusCode;
 import io.zyient.core.mapping.model.mapping.SourceMap;
 import io.zyient.core.mapping.pipeline.settings.PipelineSettings;
 import io.zyient.core.mapping.readers.MappingContextProvider;
+import io.zyient.core.mapping.readers.ReadResponse;
+import io.zyient.core.mapping.readers.StreamingReadResponse;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -101,6 +104,23 @@ public abstract class Pipeline implements Closeable {
         return response;
     }
 
+    protected ReadResponse createResponse(@NonNull InputContentInfo context) {
+        if (!settings.isStreamResponse()) {
+            return new ReadResponse();
+        }
+        String dir = settings.getResponseErrorsDir();
+        if (dir == null) {
+            dir = System.getProperty("java.io.tmpdir");
+        }
+        StreamingReadResponse response = new StreamingReadResponse(new File(dir), name());
+        response.setProgressInterval(settings.getProgressInterval());
+        response.setMaxErrorSummary(settings.getMaxErrorSummary());
+        if (context.progressListener() != null) {
+            response.withListener(context.progressListener());
+        }
+        return response;
+    }
+
     protected void checkState() throws StateException {
         if (!state.isAvailable()) {
             throw new StateException(String.format("[%s] Pipeline not available. [state=%s]",
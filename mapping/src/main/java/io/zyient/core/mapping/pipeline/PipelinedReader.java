@@ -0,0 +1,199 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.pipeline;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.ReadCursor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Staged reader: records are read from the cursor on a dedicated thread, mapped in chunks on the
+ * worker pool and handed back to the (single) consuming thread, which is left to do the writes.
+ * The number of chunks in flight is bounded by the queue size.
+ */
+@Getter
+@Accessors(fluent = true)
+public class PipelinedReader implements Closeable {
+    public interface RecordMapper {
+        RecordResponse map(@NonNull SourceMap data) throws Exception;
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    public static class MappedRecord {
+        private final SourceMap source;
+        private final RecordResponse response;
+        private final Exception error;
+
+        private MappedRecord(SourceMap source, RecordResponse response, Exception error) {
+            this.source = source;
+            this.response = response;
+            this.error = error;
+        }
+    }
+
+    private static class Chunk {
+        private final List<MappedRecord> records;
+        private final long total;
+
+        private Chunk(List<MappedRecord> records, long total) {
+            this.records = records;
+            this.total = total;
+        }
+    }
+
+    private final String name;
+    private final ReadCursor cursor;
+    private final ExecutorService workers;
+    private final RecordMapper mapper;
+    private final int chunkSize;
+    private final boolean ordered;
+    private final Semaphore inflight;
+    private final LinkedBlockingQueue<Future<Chunk>> chunks = new LinkedBlockingQueue<>();
+    private Thread readerThread;
+    private long consumed = 0;
+    private long total = -1;
+    private volatile boolean closed = false;
+
+    public PipelinedReader(@NonNull String name,
+                           @NonNull ReadCursor cursor,
+                           @NonNull ExecutorService workers,
+                           @NonNull RecordMapper mapper,
+                           int chunkSize,
+                           int queueSize,
+                           boolean ordered) {
+        if (chunkSize <= 0 || queueSize <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid pipeline sizes. [chunkSize=%d][queueSize=%d]",
+                    chunkSize, queueSize));
+        }
+        this.name = name;
+        this.cursor = cursor;
+        this.workers = workers;
+        this.mapper = mapper;
+        this.chunkSize = chunkSize;
+        this.ordered = ordered;
+        this.inflight = new Semaphore(queueSize);
+    }
+
+    public PipelinedReader start() {
+        readerThread = new Thread(this::readLoop, String.format("pipeline-reader-%s", name));
+        readerThread.setDaemon(true);
+        readerThread.start();
+        return this;
+    }
+
+    /**
+     * Get the next chunk of mapped records, blocks till one is available.
+     *
+     * @return - Mapped records or NULL once the input has been exhausted.
+     * @throws Exception - Read/Scheduling error
+     */
+    public List<MappedRecord> next() throws Exception {
+        while (total < 0 || consumed < total) {
+            Future<Chunk> future = chunks.take();
+            Chunk chunk;
+            try {
+                chunk = future.get();
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                throw new Exception(cause);
+            }
+            if (chunk.records == null) {
+                total = chunk.total;
+                continue;
+            }
+            consumed++;
+            inflight.release();
+            return chunk.records;
+        }
+        return null;
+    }
+
+    private void readLoop() {
+        long count = 0;
+        try {
+            List<SourceMap> batch = new ArrayList<>(chunkSize);
+            while (!closed) {
+                SourceMap data = cursor.next();
+                if (data != null) {
+                    batch.add(data);
+                    if (batch.size() < chunkSize) continue;
+                }
+                if (!batch.isEmpty()) {
+                    submit(batch);
+                    count++;
+                    batch = new ArrayList<>(chunkSize);
+                }
+                if (data == null) break;
+            }
+            chunks.add(CompletableFuture.completedFuture(new Chunk(null, count)));
+        } catch (Throwable t) {
+            if (!closed) {
+                DefaultLogger.stacktrace(t);
+            }
+            chunks.add(CompletableFuture.failedFuture(t));
+        }
+    }
+
+    private void submit(List<SourceMap> batch) throws InterruptedException {
+        inflight.acquire();
+        CompletableFuture<Chunk> future = CompletableFuture.supplyAsync(() -> map(batch), workers);
+        if (ordered) {
+            chunks.add(future);
+        } else {
+            future.whenComplete((c, t) -> chunks.add(future));
+        }
+    }
+
+    private Chunk map(List<SourceMap> batch) {
+        List<MappedRecord> records = new ArrayList<>(batch.size());
+        for (SourceMap data : batch) {
+            if (closed) break;
+            try {
+                records.add(new MappedRecord(data, mapper.map(data), null));
+            } catch (Exception ex) {
+                records.add(new MappedRecord(data, null, ex));
+            }
+        }
+        return new Chunk(records, 0);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (readerThread != null) {
+            readerThread.interrupt();
+            readerThread = null;
+        }
+        for (Future<Chunk> future : chunks) {
+            future.cancel(true);
+        }
+        chunks.clear();
+    }
+}
@@ -36,4 +36,16 @@ public class PipelineSettings extends Settings {
     private boolean terminateOnValidationError = true;
     @Config(name = "saveValidationErrors", required = false, type = Boolean.class)
     private boolean saveValidationErrors = false;
+    /**
+     * Stream the read response: only counts and an error summary are retained,
+     * failed records are spilled to the errors directory.
+     */
+    @Config(name = "response.streaming", required = false, type = Boolean.class)
+    private boolean streamResponse = false;
+    @Config(name = "response.errorsDir", required = false)
+    private String responseErrorsDir;
+    @Config(name = "response.progressInterval", required = false, type = Integer.class)
+    private int progressInterval = 10000;
+    @Config(name = "response.maxErrorSummary", required = false, type = Integer.class)
+    private int maxErrorSummary = 64;
 }
@@ -40,38 +40,42 @@ public abstract class SourceCompositePipeline extends CompositePipeline implemen
         CompositePipelineSettings settings = (CompositePipelineSettings) settings();
         Preconditions.checkNotNull(settings);
         DefaultLogger.info(String.format("Running pipeline for entity. [name=%s]", name()));
-        ReadResponse response = new ReadResponse();
-        ReadCursor cursor = reader.open(env());
-        while (true) {
-            try (Timer t = new Timer(metrics.processTimer())) {
-                RecordResponse r = new RecordResponse();
-                try {
-                    SourceMap data = cursor.next();
-                    if (data == null) break;
-                    metrics.recordsCounter().increment();
-                    r.setSource(data);
-                    response.incrementCount();
-                    r = process(data, context);
-                    response.add(r);
-                    metrics.processedCounter().increment();
-                } catch (ValidationException | ValidationExceptions ex) {
-                    String mesg = String.format("[file=%s][record=%d] Validation Failed: %s",
-                            reader.input().getAbsolutePath(), response.getRecordCount(), ex.getLocalizedMessage());
-                    if (settings().isTerminateOnValidationError()) {
-                        DefaultLogger.stacktrace(ex);
-                        throw ex;
-                    } else {
-                        metrics.errorsCounter().increment();
-                        DefaultLogger.warn(mesg);
-                        r = errorResponse(r, null, ex);
+        ReadResponse response = createResponse(context);
+        try {
+            ReadCursor cursor = reader.open(env());
+            while (true) {
+                try (Timer t = new Timer(metrics.processTimer())) {
+                    RecordResponse r = new RecordResponse();
+                    try {
+                        SourceMap data = cursor.next();
+                        if (data == null) break;
+                        metrics.recordsCounter().increment();
+                        r.setSource(data);
+                        response.incrementCount();
+                        r = process(data, context);
                         response.add(r);
+                        metrics.processedCounter().increment();
+                    } catch (ValidationException | ValidationExceptions ex) {
+                        String mesg = String.format("[file=%s][record=%d] Validation Failed: %s",
+                                reader.input().getAbsolutePath(), response.getRecordCount(), ex.getLocalizedMessage());
+                        if (settings().isTerminateOnValidationError()) {
+                            DefaultLogger.stacktrace(ex);
+                            throw ex;
+                        } else {
+                            metrics.errorsCounter().increment();
+                            DefaultLogger.warn(mesg);
+                            r = errorResponse(r, null, ex);
+                            response.add(r);
+                        }
+                    } catch (Exception e) {
+                        DefaultLogger.stacktrace(e);
+                        DefaultLogger.error(e.getLocalizedMessage());
+                        throw e;
                     }
-                } catch (Exception e) {
-                    DefaultLogger.stacktrace(e);
-                    DefaultLogger.error(e.getLocalizedMessage());
-                    throw e;
                 }
             }
+        } finally {
+            response.finish();
         }
         DefaultLogger.info(String.format("Processed [%d] records for entity. [name=%s]",
                 response.getRecordCount(), name()));
@@ -26,16 +26,21 @@ import io.zyient.base.core.utils.Timer;
 import io.zyient.core.mapping.model.InputContentInfo;
 import io.zyient.core.mapping.model.RecordResponse;
 import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.MappingExecutorSettings;
 import io.zyient.core.mapping.pipeline.EntityPipeline;
-import io.zyient.core.mapping.pipeline.PipelineSource;
+import io.zyient.core.mapping.pipeline.ParallelPipelineSource;
+import io.zyient.core.mapping.pipeline.PipelinedReader;
 import io.zyient.core.mapping.pipeline.settings.PersistedEntityPipelineSettings;
 import io.zyient.core.mapping.readers.InputReader;
 import io.zyient.core.mapping.readers.ReadCursor;
 import io.zyient.core.mapping.readers.ReadResponse;
 import lombok.NonNull;
 
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
 public class SourceEntityPipeline<K extends IKey, E extends IEntity<K>> extends EntityPipeline<K, E>
-        implements PipelineSource {
+        implements ParallelPipelineSource {
 
     @Override
     @SuppressWarnings(("unchecked"))
@@ -45,9 +50,10 @@ public class SourceEntityPipeline<K extends IKey, E extends IEntity<K>> extends
         PersistedEntityPipelineSettings settings = (PersistedEntityPipelineSettings) settings();
         Preconditions.checkNotNull(settings);
         DefaultLogger.info(String.format("Running pipeline for entity. [type=%s]", entityType().getCanonicalName()));
-        ReadResponse response = new ReadResponse();
+        ReadResponse response = createResponse(context);
         try {
             int pendingCommitCount = 0;
+            startBatch();
             ReadCursor cursor = reader.open(env());
             while (true) {
                 try (Timer t = new Timer(metrics.processTimer())) {
@@ -99,6 +105,7 @@ public class SourceEntityPipeline<K extends IKey, E extends IEntity<K>> extends
             throw e;
         } finally {
             finished();
+            response.finish();
         }
 
 
@@ -106,4 +113,106 @@ public class SourceEntityPipeline<K extends IKey, E extends IEntity<K>> extends
                 response.getRecordCount(), entityType().getCanonicalName()));
         return response;
     }
+
+    /**
+     * Pipelined read: mapping is run on the worker pool, while the data store writes (and hence the
+     * transactions) remain on the calling thread, committed every commitBatchSize records. Pipelines
+     * with rules that read from the data store are run single threaded (see {@link #mapsInParallel()}).
+     */
+    @Override
+    public ReadResponse read(@NonNull InputReader reader,
+                             @NonNull InputContentInfo context,
+                             @NonNull ExecutorService workers,
+                             @NonNull MappingExecutorSettings executorSettings) throws Exception {
+        checkState();
+        if (!mapsInParallel()) {
+            DefaultLogger.info(String.format("Rules read from the data store, running single threaded. [type=%s]",
+                    entityType().getCanonicalName()));
+            return read(reader, context);
+        }
+        PersistedEntityPipelineSettings settings = (PersistedEntityPipelineSettings) settings();
+        Preconditions.checkNotNull(settings);
+        DefaultLogger.info(String.format("Running pipelined read for entity. [type=%s][workers=%d]",
+                entityType().getCanonicalName(), executorSettings.getPipelineWorkers()));
+        ReadResponse response = createResponse(context);
+        PipelinedReader.RecordMapper mapper = (data) -> {
+            pMetrics().recordsCounter().increment();
+            try (Timer t = new Timer(pMetrics().recordTimer())) {
+                return map(data, context);
+            }
+        };
+        try (PipelinedReader stages = new PipelinedReader(name(),
+                reader.open(env()),
+                workers,
+                mapper,
+                executorSettings.getPipelineChunkSize(),
+                executorSettings.getPipelineQueueSize(),
+                executorSettings.isPipelineOrdered())) {
+            int pendingCommitCount = 0;
+            startBatch();
+            stages.start();
+            while (true) {
+                List<PipelinedReader.MappedRecord> records = stages.next();
+                if (records == null) break;
+                for (PipelinedReader.MappedRecord record : records) {
+                    try (Timer t = new Timer(metrics.processTimer())) {
+                        if (pendingCommitCount >= settings.getCommitBatchSize()) {
+                            commit();
+                            pendingCommitCount = 0;
+                        }
+                        if (pendingCommitCount == 0) {
+                            beingTransaction();
+                        }
+                        RecordResponse r = record.response();
+                        if (r == null) {
+                            r = new RecordResponse();
+                            r.setSource(record.source());
+                        }
+                        metrics.recordsCounter().increment();
+                        response.incrementCount();
+                        try {
+                            if (record.error() != null) {
+                                throw record.error();
+                            }
+                            r = persist(r, context);
+                            pMetrics().processedCounter().increment();
+                            response.add(r);
+                            response.incrementCommitCount();
+                            metrics.processedCounter().increment();
+                            pendingCommitCount++;
+                        } catch (ValidationException | ValidationExceptions ex) {
+                            String mesg = String.format("[file=%s][record=%d] Validation Failed: %s",
+                                    reader.input().getAbsolutePath(), response.getRecordCount(), ex.getLocalizedMessage());
+                            ValidationExceptions ve = ValidationExceptions.add(new ValidationException(mesg), null);
+                            if (settings().isTerminateOnValidationError()) {
+                                DefaultLogger.stacktrace(ex);
+                                throw ve;
+                            } else {
+                                metrics.errorsCounter().increment();
+                                DefaultLogger.warn(mesg);
+                                r = errorResponse(r, null, ex);
+                                response.add(r);
+                            }
+                        } catch (Exception e) {
+                            DefaultLogger.stacktrace(e);
+                            DefaultLogger.error(e.getLocalizedMessage());
+                            throw e;
+                        }
+                    }
+                }
+            }
+            if (pendingCommitCount > 0) {
+                commit();
+            }
+        } catch (Exception e) {
+            rollback();
+            throw e;
+        } finally {
+            finished();
+            response.finish();
+        }
+        DefaultLogger.info(String.format("Processed [%d] records for entity. [type=%s]",
+                response.getRecordCount(), entityType().getCanonicalName()));
+        return response;
+    }
 }
@@ -56,4 +56,11 @@ public class ReadResponse {
         commitCount++;
         return this;
     }
+
+    /**
+     * Invoked by the pipeline once the input has been processed.
+     */
+    public ReadResponse finish() {
+        return this;
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.zyient.base.common.model.ValidationException;
+import io.zyient.base.common.model.ValidationExceptions;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.StatusCode;
+import io.zyient.core.mapping.rules.RuleValidationError;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Read response that does not retain the record responses: only the counts and an error summary
+ * (bounded number of distinct errors) are kept in memory, the failed records are spilled
+ * to a local file (one JSON document per line).
+ */
+@Getter
+@Setter
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
+        property = "@class")
+public class StreamingReadResponse extends ReadResponse {
+    public static final String KEY_OTHER_ERRORS = "__OTHER__";
+
+    private File errorFile;
+    private int maxErrorSummary = 64;
+    private int progressInterval = 10000;
+    private Map<String, Long> errorSummary = new LinkedHashMap<>();
+    private long spilledCount = 0;
+    @JsonIgnore
+    private final File errorDir;
+    @JsonIgnore
+    private final List<ReadProgressListener> listeners = new ArrayList<>();
+    @JsonIgnore
+    private BufferedWriter writer;
+
+    public StreamingReadResponse(@NonNull File errorDir, @NonNull String name) {
+        this.errorDir = errorDir;
+        this.errorFile = new File(errorDir, String.format("%s-%s.errors.json", name, UUID.randomUUID()));
+    }
+
+    public StreamingReadResponse withListener(@NonNull ReadProgressListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    @Override
+    public void add(@NonNull RecordResponse record) {
+        if (record.getStatus() == null || record.getStatus().getStatus() != StatusCode.ValidationFailed) {
+            return;
+        }
+        incrementErrorCount();
+        ValidationExceptions errors = record.getStatus().getErrors();
+        List<String> messages = new ArrayList<>();
+        if (errors != null) {
+            for (ValidationException error : errors) {
+                summarize(error);
+                messages.add(error.getLocalizedMessage());
+            }
+        } else {
+            summarize(null);
+        }
+        spill(record, messages);
+    }
+
+    private void summarize(ValidationException error) {
+        String key;
+        if (error instanceof RuleValidationError re) {
+            key = String.format("%s:%s:%d", re.rule(), re.field(), re.errorCode());
+        } else if (error != null) {
+            key = error.getClass().getSimpleName();
+        } else {
+            key = StatusCode.ValidationFailed.name();
+        }
+        if (!errorSummary.containsKey(key) && errorSummary.size() >= maxErrorSummary) {
+            key = KEY_OTHER_ERRORS;
+        }
+        errorSummary.merge(key, 1L, Long::sum);
+    }
+
+    private void spill(RecordResponse record, List<String> messages) {
+        try {
+            if (writer == null) {
+                if (!errorDir.exists() && !errorDir.mkdirs()) {
+                    throw new IOException(String.format("Failed to create directory. [path=%s]",
+                            errorDir.getAbsolutePath()));
+                }
+                writer = new BufferedWriter(new FileWriter(errorFile));
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("record", getRecordCount());
+            entry.put("source", record.getSource());
+            entry.put("errors", messages);
+            writer.write(JSONUtils.asString(entry));
+            writer.newLine();
+            spilledCount++;
+        } catch (Exception ex) {
+            DefaultLogger.warn(String.format("Failed to spill record error. [file=%s][error=%s]",
+                    errorFile.getAbsolutePath(), ex.getLocalizedMessage()));
+        }
+    }
+
+    @Override
+    public ReadResponse incrementCount() {
+        super.incrementCount();
+        if (progressInterval > 0 && getRecordCount() % progressInterval == 0) {
+            notify(false);
+        }
+        return this;
+    }
+
+    @Override
+    public ReadResponse finish() {
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        } catch (IOException ex) {
+            DefaultLogger.stacktrace(ex);
+        }
+        if (spilledCount == 0) {
+            errorFile = null;
+        }
+        notify(true);
+        return this;
+    }
+
+    private void notify(boolean finished) {
+        for (ReadProgressListener listener : listeners) {
+            try {
+                listener.progress(this, finished);
+            } catch (Throwable t) {
+                DefaultLogger.warn(String.format("Progress listener failed. [error=%s]", t.getLocalizedMessage()));
+            }
+        }
+    }
+}
@@ -174,7 +174,7 @@ public class ExcelInputReader extends InputReader {
         return o;
     }
 
-    private boolean isDateValid(String dateStr) {
+    static boolean isDateValid(String dateStr) {
         dateStr = dateStr.replace("\\", "");
         String[] dateFormats = {
                 "yyyy-MM-dd", "MM/dd/yyyy", "dd-MM-yyyy", "yyyy/MM/dd", "M/dd/yy", "MM/dd/yy", "MM/d/yy", "M/d/yy", "M/d/yyyy"
@@ -187,7 +187,7 @@ public class ExcelInputReader extends InputReader {
         return false;
     }
 
-    private boolean checkHeaderRow(Map<String, Object> record, ExcelReaderSettings settings) {
+    static boolean checkHeaderRow(Map<String, Object> record, ExcelReaderSettings settings) {
         for (String key : record.keySet()) {
             Object v = record.get(key);
             if (!(v instanceof String value)) {
@@ -66,6 +66,9 @@ public class ExcelReaderConfig extends InputReaderConfig {
 
     @Override
     public InputReader createInstance(@NonNull InputContentInfo contentInfo) throws Exception {
+        if (((ExcelReaderSettings) settings()).isStreaming()) {
+            return (new ExcelStreamingInputReader()).contentInfo(contentInfo).settings(this.settings());
+        }
         return (new ExcelInputReader()).contentInfo(contentInfo).settings(this.settings());
     }
 }
@@ -0,0 +1,322 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.impl.excel;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.model.ExcelColumn;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.InputReader;
+import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.settings.ExcelReaderSettings;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.LocaleUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+/**
+ * Excel (XLSX) reader that does not build the workbook DOM: the sheets are streamed from the package
+ * ({@link XSSFReader}) using the read-only shared strings table, and rows are parsed incrementally,
+ * only the current batch is held in memory. Cell values are typed the same way as {@link ExcelInputReader}.
+ * <p>
+ * If no columns are configured, the header row (first row of each sheet/of the first sheet)
+ * is used as the column names when the header type is set.
+ */
+public class ExcelStreamingInputReader extends InputReader {
+    private OPCPackage pkg;
+    private XSSFReader xssfReader;
+    private ReadOnlySharedStringsTable sharedStrings;
+    private StylesTable styles;
+    private XMLInputFactory factory;
+    private InputStream sheetStream;
+    private XMLStreamReader sheet;
+    private int sheetIndex = -1;
+    private int rowIndex = 0;
+    private Map<Integer, String> detectedHeaders;
+    private boolean EOF = false;
+
+    private record CellValue(int column, Object value) {
+    }
+
+    @Override
+    protected ReadCursor doOpen() throws IOException {
+        Preconditions.checkState(settings() instanceof ExcelReaderSettings);
+        try {
+            pkg = OPCPackage.open(contentInfo().path(), PackageAccess.READ);
+            xssfReader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            styles = xssfReader.getStylesTable();
+            factory = XMLHelper.newXMLInputFactory();
+            return new ExcelReadCursor(this, settings().getReadBatchSize());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public List<SourceMap> fetchNextBatch() throws IOException {
+        Preconditions.checkState(pkg != null);
+        if (EOF) return null;
+        ExcelReaderSettings settings = (ExcelReaderSettings) settings();
+        try {
+            List<SourceMap> response = new ArrayList<>();
+            while (response.size() < settings.getReadBatchSize()) {
+                if (sheet == null && !nextSheet(settings)) {
+                    EOF = true;
+                    break;
+                }
+                SourceMap record = nextRow(settings);
+                if (record == null) {
+                    closeSheet();
+                    continue;
+                }
+                if (!record.isEmpty()) {
+                    response.add(record);
+                }
+            }
+            return response;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private boolean nextSheet(ExcelReaderSettings settings) throws Exception {
+        if (sheetIndex >= settings.getSheets().size() - 1) {
+            return false;
+        }
+        sheetIndex++;
+        rowIndex = 0;
+        if (settings.getHeader() == ExcelHeader.HeaderOnEachSheet) {
+            detectedHeaders = null;
+        }
+        ExcelSheet config = settings.getSheets().get(sheetIndex);
+        XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+        int index = 0;
+        while (iterator.hasNext()) {
+            InputStream stream = iterator.next();
+            boolean matched = Strings.isNullOrEmpty(config.getName()) ?
+                    index == config.getIndex() : config.getName().equals(iterator.getSheetName());
+            if (matched) {
+                sheetStream = stream;
+                sheet = factory.createXMLStreamReader(stream);
+                return true;
+            }
+            stream.close();
+            index++;
+        }
+        if (!Strings.isNullOrEmpty(config.getName())) {
+            throw new Exception(String.format("Sheet not found. [file=%s][sheet=%s]",
+                    contentInfo().path().getAbsolutePath(), config.getName()));
+        }
+        throw new Exception(String.format("Sheet not found. [file=%s][sheet=%d]",
+                contentInfo().path().getAbsolutePath(), config.getIndex()));
+    }
+
+    /**
+     * Read the next row of the current sheet.
+     *
+     * @return - Record (empty if the row should be skipped) or NULL at the end of the sheet.
+     */
+    private SourceMap nextRow(ExcelReaderSettings settings) throws Exception {
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT && sheet.getLocalName().equals("row")) {
+                String ref = sheet.getAttributeValue(null, "r");
+                if (ref != null && Integer.parseInt(ref) - 1 != rowIndex) {
+                    // Same as the DOM reader, which stops at the first missing row.
+                    return null;
+                }
+                List<CellValue> cells = readCells();
+                SourceMap record = createRecord(cells, settings);
+                rowIndex++;
+                return record;
+            } else if (event == XMLStreamConstants.END_ELEMENT && sheet.getLocalName().equals("sheetData")) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private List<CellValue> readCells() throws Exception {
+        List<CellValue> cells = new ArrayList<>();
+        int column = -1;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT && sheet.getLocalName().equals("c")) {
+                String ref = sheet.getAttributeValue(null, "r");
+                column = ref != null ? new CellReference(ref).getCol() : column + 1;
+                cells.add(readCell(column));
+            } else if (event == XMLStreamConstants.END_ELEMENT && sheet.getLocalName().equals("row")) {
+                break;
+            }
+        }
+        return cells;
+    }
+
+    private CellValue readCell(int column) throws Exception {
+        String type = sheet.getAttributeValue(null, "t");
+        String style = sheet.getAttributeValue(null, "s");
+        String text = null;
+        StringBuilder inline = null;
+        boolean formula = false;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = sheet.getLocalName();
+                if (name.equals("f")) {
+                    formula = true;
+                } else if (name.equals("v")) {
+                    text = sheet.getElementText();
+                } else if (name.equals("t")) {
+                    if (inline == null) {
+                        inline = new StringBuilder();
+                    }
+                    inline.append(sheet.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && sheet.getLocalName().equals("c")) {
+                break;
+            }
+        }
+        if (inline != null) {
+            text = inline.toString();
+        }
+        return new CellValue(column, value(type, style, text, formula));
+    }
+
+    private Object value(String type, String style, String text, boolean formula) {
+        // Formula and error cells are not read by the DOM reader either.
+        if (formula || text == null) return null;
+        if (type == null || type.equals("n")) {
+            double value = Double.parseDouble(text);
+            XSSFCellStyle cs = styles != null ? styles.getStyleAt(style != null ? Integer.parseInt(style) : 0) : null;
+            if (cs != null && cs.getDataFormatString() != null && ExcelInputReader.isDateValid(cs.getDataFormatString())) {
+                DateFormat fmt = new SimpleDateFormat("dd-MMM-yyyy", LocaleUtil.getUserLocale());
+                fmt.setTimeZone(LocaleUtil.getUserTimeZone());
+                return fmt.format(DateUtil.getJavaDate(value));
+            }
+            return value;
+        }
+        return switch (type) {
+            case "s" -> sharedStrings.getItemAt(Integer.parseInt(text)).getString().trim();
+            case "inlineStr" -> text.trim();
+            case "b" -> text.equals("1") || text.equalsIgnoreCase("true");
+            default -> null;
+        };
+    }
+
+    private SourceMap createRecord(List<CellValue> cells, ExcelReaderSettings settings) {
+        SourceMap record = new SourceMap();
+        if (settings.getHeaders() != null) {
+            Map<Integer, Object> values = new HashMap<>(cells.size());
+            for (CellValue cell : cells) {
+                if (cell.value() != null) {
+                    values.put(cell.column(), cell.value());
+                }
+            }
+            for (int ii : settings.getHeaders().keySet()) {
+                ExcelColumn column = (ExcelColumn) settings.getHeaders().get(ii);
+                Object value = values.get(column.getCellIndex());
+                if (value != null) {
+                    record.put(column.getName(), value);
+                }
+            }
+            if (rowIndex == 0 &&
+                    settings.isSkipHeader() &&
+                    ExcelInputReader.checkHeaderRow(record, settings)) {
+                record.clear();
+            }
+        } else if (detectHeader(settings)) {
+            detectedHeaders = new HashMap<>(cells.size());
+            for (CellValue cell : cells) {
+                if (cell.value() instanceof String name && !Strings.isNullOrEmpty(name)) {
+                    detectedHeaders.put(cell.column(), name);
+                }
+            }
+        } else if (detectedHeaders != null) {
+            for (CellValue cell : cells) {
+                if (cell.value() != null) {
+                    String column = detectedHeaders.get(cell.column());
+                    if (column == null) {
+                        column = String.format("%s%d", settings.getColumnPrefix(), cell.column());
+                    }
+                    record.put(column, cell.value());
+                }
+            }
+        } else {
+            int ii = 0;
+            for (CellValue cell : cells) {
+                if (cell.value() != null) {
+                    record.put(String.format("%s%d", settings.getColumnPrefix(), ii), cell.value());
+                }
+                ii++;
+            }
+        }
+        return record;
+    }
+
+    private boolean detectHeader(ExcelReaderSettings settings) {
+        if (rowIndex != 0 || detectedHeaders != null) return false;
+        return settings.getHeader() == ExcelHeader.HeaderOnEachSheet ||
+                (settings.getHeader() == ExcelHeader.HeaderOnFirstSheet && sheetIndex == 0);
+    }
+
+    private void closeSheet() throws IOException {
+        try {
+            if (sheet != null) {
+                sheet.close();
+                sheet = null;
+            }
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        } finally {
+            if (sheetStream != null) {
+                sheetStream.close();
+                sheetStream = null;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closeSheet();
+        } finally {
+            if (pkg != null) {
+                pkg.revert();
+                pkg = null;
+            }
+        }
+    }
+}
@@ -39,7 +39,9 @@ public class JsonReaderConfig extends InputReaderConfig {
     @Override
     public InputReader createInstance(@NonNull InputContentInfo contentInfo) throws Exception {
         Preconditions.checkState(settings() instanceof JsonReaderSettings);
-        return new JsonInputReader()
+        InputReader reader = ((JsonReaderSettings) settings()).isStreaming() ?
+                new JsonStreamingInputReader() : new JsonInputReader();
+        return reader
                 .contentInfo(contentInfo)
                 .settings(settings());
     }
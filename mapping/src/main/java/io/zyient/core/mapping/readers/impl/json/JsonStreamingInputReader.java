@@ -0,0 +1,154 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.impl.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.InputReader;
+import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.settings.JsonReaderSettings;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON reader that parses the records incrementally from the token stream, only the current
+ * batch is held in memory. The records are selected using a JSON Pointer (ex: /data/customers),
+ * which should point to an array of objects or a single object.
+ */
+public class JsonStreamingInputReader extends InputReader {
+    private ObjectMapper mapper;
+    private JsonParser parser;
+    private boolean array = false;
+    private boolean EOF = false;
+
+    public static String selector(@NonNull JsonReaderSettings settings) {
+        if (!Strings.isNullOrEmpty(settings.getSelector())) {
+            return settings.getSelector();
+        }
+        if (!settings.isArray() && !Strings.isNullOrEmpty(settings.getBasePath())) {
+            return "/" + settings.getBasePath().replace('.', '/');
+        }
+        return "";
+    }
+
+    @Override
+    protected ReadCursor doOpen() throws IOException {
+        Preconditions.checkState(settings() instanceof JsonReaderSettings);
+        JsonReaderSettings settings = (JsonReaderSettings) settings();
+        try {
+            mapper = settings.getObjectMapper();
+            parser = mapper.getFactory().createParser(contentInfo().path());
+            JsonPointer pointer = JsonPointer.compile(selector(settings));
+            if (parser.nextToken() == null || !seek(pointer)) {
+                DefaultLogger.warn(String.format("No records found. [path=%s][selector=%s]",
+                        contentInfo().path().getAbsolutePath(), pointer));
+                EOF = true;
+            } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+                array = true;
+            } else if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new IOException(String.format("Invalid record node. [selector=%s][token=%s]",
+                        pointer, parser.currentToken()));
+            }
+            return new JsonReadCursor(this, settings.getReadBatchSize());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            throw new IOException(ex);
+        }
+    }
+
+    private boolean seek(JsonPointer pointer) throws IOException {
+        while (!pointer.matches()) {
+            JsonToken token = parser.currentToken();
+            boolean found = false;
+            if (token == JsonToken.START_OBJECT) {
+                String name = pointer.getMatchingProperty();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if (field.equals(name)) {
+                        found = true;
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                int index = pointer.getMatchingIndex();
+                if (index >= 0) {
+                    int ii = 0;
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (ii == index) {
+                            found = true;
+                            break;
+                        }
+                        parser.skipChildren();
+                        ii++;
+                    }
+                }
+            }
+            if (!found) return false;
+            pointer = pointer.tail();
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SourceMap> fetchNextBatch() throws IOException {
+        if (EOF) return null;
+        List<SourceMap> records = new ArrayList<>();
+        if (!array) {
+            Map<String, Object> data = mapper.readValue(parser, Map.class);
+            if (data != null) {
+                records.add(new SourceMap(data));
+            }
+            EOF = true;
+            return records;
+        }
+        while (records.size() < settings().getReadBatchSize()) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                EOF = true;
+                break;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException(String.format("Invalid record: expected object. [token=%s][location=%s]",
+                        token, parser.currentLocation()));
+            }
+            Map<String, Object> data = mapper.readValue(parser, Map.class);
+            records.add(new SourceMap(data));
+        }
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (parser != null) {
+            parser.close();
+            parser = null;
+        }
+    }
+}
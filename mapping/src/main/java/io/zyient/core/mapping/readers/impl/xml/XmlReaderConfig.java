@@ -39,7 +39,9 @@ public class XmlReaderConfig extends InputReaderConfig {
     @Override
     public InputReader createInstance(@NonNull InputContentInfo contentInfo) throws Exception {
         Preconditions.checkState(settings() instanceof XmlReaderSettings);
-        return new XmlInputReader()
+        InputReader reader = ((XmlReaderSettings) settings()).isStreaming() ?
+                new XmlStreamingInputReader() : new XmlInputReader();
+        return reader
                 .contentInfo(contentInfo)
                 .settings(settings());
     }
@@ -0,0 +1,157 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.impl.xml;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.InputReader;
+import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.settings.XmlReaderSettings;
+import lombok.NonNull;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XML reader that parses the records incrementally (StAX), only the current batch is held in memory.
+ * Record elements are selected using a path starting at the root element (ex: /customers/DATA_RECORD),
+ * each record element is converted using the configured {@link XmlMapper}.
+ */
+public class XmlStreamingInputReader extends InputReader {
+    public static final String SELECTOR_ANY = "*";
+
+    private XmlMapper mapper;
+    private InputStream stream;
+    private XMLStreamReader reader;
+    private String[] path;
+    private int depth = 0;
+    private boolean EOF = false;
+
+    public static String selector(@NonNull XmlReaderSettings settings) throws IOException {
+        if (!Strings.isNullOrEmpty(settings.getSelector())) {
+            return settings.getSelector();
+        }
+        if (settings.isArray()) {
+            return "/*/*";
+        }
+        if (Strings.isNullOrEmpty(settings.getBasePath())) {
+            throw new IOException("Invalid Configuration: {selector} or {basePath} not specified...");
+        }
+        return "/*/" + settings.getBasePath().replace('.', '/');
+    }
+
+    @Override
+    protected ReadCursor doOpen() throws IOException {
+        Preconditions.checkState(settings() instanceof XmlReaderSettings);
+        XmlReaderSettings settings = (XmlReaderSettings) settings();
+        try {
+            String selector = selector(settings);
+            path = selector.replaceFirst("^/", "").split("/");
+            if (path.length == 0 || Strings.isNullOrEmpty(path[0])) {
+                throw new IOException(String.format("Invalid selector. [selector=%s]", selector));
+            }
+            mapper = settings.getXmlMapper();
+            XMLInputFactory factory = mapper.getFactory().getXMLInputFactory();
+            stream = new FileInputStream(contentInfo().path());
+            reader = factory.createXMLStreamReader(stream);
+            return new XmlReadCursor(this, settings.getReadBatchSize());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            throw new IOException(ex);
+        }
+    }
+
+    private boolean matches(int index, String name) {
+        return path[index].equals(SELECTOR_ANY) || path[index].equals(name);
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int level = 1;
+        while (level > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                level++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                level--;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SourceMap> fetchNextBatch() throws IOException {
+        if (EOF) return null;
+        List<SourceMap> records = new ArrayList<>();
+        try {
+            while (records.size() < settings().getReadBatchSize()) {
+                if (!reader.hasNext()) {
+                    EOF = true;
+                    break;
+                }
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (!matches(depth, reader.getLocalName())) {
+                        skipElement();
+                        continue;
+                    }
+                    depth++;
+                    if (depth == path.length) {
+                        // Reader is left at the END_ELEMENT of the record.
+                        Map<String, Object> data = mapper.readValue(reader, Map.class);
+                        if (data != null) {
+                            records.add(new SourceMap(data));
+                        }
+                        depth--;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+            return records;
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (reader != null) {
+                reader.close();
+                reader = null;
+            }
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        } finally {
+            if (stream != null) {
+                stream.close();
+                stream = null;
+            }
+        }
+    }
+}
@@ -40,4 +40,9 @@ public class ExcelReaderSettings extends ReaderSettings {
     private ExcelHeader header = ExcelHeader.None;
     @Config(name = "header.skip", required = false, type = Boolean.class)
     private boolean skipHeader = true;
+    /**
+     * Stream the sheets (no workbook DOM), only supported for un-protected XLSX files.
+     */
+    @Config(name = "streaming", required = false, type = Boolean.class)
+    private boolean streaming = false;
 }
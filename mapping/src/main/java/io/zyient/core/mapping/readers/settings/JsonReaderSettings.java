@@ -37,6 +37,16 @@ public class JsonReaderSettings extends ReaderSettings {
     private boolean array = true;
     @Config(name = "dateFormat", required = false)
     private String dateFormat = null;
+    /**
+     * Parse the records incrementally (token stream) instead of reading the entire file.
+     */
+    @Config(name = "streaming", required = false, type = Boolean.class)
+    private boolean streaming = false;
+    /**
+     * JSON Pointer to the record array/object (streaming only), derived from basePath if not specified.
+     */
+    @Config(name = "selector", required = false)
+    private String selector;
 
     public ObjectMapper getObjectMapper() {
         ObjectMapper mapper = GlobalConstants.getJsonMapper();
@@ -31,12 +31,23 @@ import java.text.SimpleDateFormat;
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
         property = "@class")
 public class XmlReaderSettings extends ReaderSettings {
-    @Config(name = "basePath")
+    @Config(name = "basePath", required = false)
     private String basePath;
     @Config(name = "isArray", required = false, type = Boolean.class)
     private boolean isArray = false;
     @Config(name = "dateFormat", required = false)
     private String dateFormat = null;
+    /**
+     * Parse the records incrementally (StAX) instead of reading the entire file.
+     */
+    @Config(name = "streaming", required = false, type = Boolean.class)
+    private boolean streaming = false;
+    /**
+     * Path of the record elements, starting at the root element (ex: /customers/DATA_RECORD),
+     * "*" matches any element name. Derived from basePath if not specified.
+     */
+    @Config(name = "selector", required = false)
+    private String selector;
 
     public XmlMapper getXmlMapper() {
         XmlMapper mapper = new XmlMapper();
@@ -53,6 +53,11 @@ public abstract class BaseRule<T> implements Rule<T> {
         return this;
     }
 
+    @Override
+    public boolean usesDataStore() {
+        return Rule.usesDataStore(rules);
+    }
+
     @Override
     public void addSubRules(@NonNull List<Rule<T>> rules) {
         if (this.rules == null)
@@ -59,4 +59,25 @@ public interface Rule<T> {
     Rule<T> addVisitor(@NonNull RuleVisitor<T> visitor);
 
     RuleVisitor<T> visitor();
+
+    /**
+     * Does the rule (or any of its sub-rules) read from a data store? Data store sessions are bound
+     * to the calling thread, such rules must be evaluated on the thread that owns the transaction.
+     *
+     * @return - Uses a data store?
+     */
+    default boolean usesDataStore() {
+        return false;
+    }
+
+    static <T> boolean usesDataStore(List<Rule<T>> rules) {
+        if (rules != null) {
+            for (Rule<T> rule : rules) {
+                if (rule.usesDataStore()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
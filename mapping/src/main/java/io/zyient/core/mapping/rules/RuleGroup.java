@@ -138,6 +138,11 @@ public class RuleGroup<T> implements Rule<T> {
         return -1;
     }
 
+    @Override
+    public boolean usesDataStore() {
+        return Rule.usesDataStore(rules);
+    }
+
     @Override
     public void addSubRules(@NonNull List<Rule<T>> rules) throws Exception {
         if (this.rules == null)
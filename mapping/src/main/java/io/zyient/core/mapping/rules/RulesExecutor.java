@@ -60,6 +60,15 @@ public class RulesExecutor<T> {
         return this;
     }
 
+    /**
+     * Do any of the rules read from a data store (see {@link Rule#usesDataStore()})?
+     *
+     * @return - Uses a data store?
+     */
+    public boolean usesDataStore() {
+        return Rule.usesDataStore(rules);
+    }
+
     public EvaluationStatus evaluate(@NonNull T input) throws Exception {
         synchronized (this) {
             if (evaluator == null) {
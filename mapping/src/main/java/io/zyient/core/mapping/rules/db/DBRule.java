@@ -168,6 +168,11 @@ public abstract class DBRule<T, K extends IKey, E extends IEntity<K>> extends Ex
         return this;
     }
 
+    @Override
+    public boolean usesDataStore() {
+        return true;
+    }
+
     @Override
     protected Object doEvaluate(@NonNull T data) throws RuleValidationError, RuleEvaluationError {
         Preconditions.checkNotNull(dataStore);
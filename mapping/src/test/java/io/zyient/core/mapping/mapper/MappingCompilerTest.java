@@ -0,0 +1,124 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.mapper;
+
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.core.mapping.env.DemoDataStoreEnv;
+import io.zyient.core.mapping.model.Customer;
+import io.zyient.core.mapping.model.mapping.MappedResponse;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappingCompilerTest {
+    private static final String __CONFIG_FILE_MAPPING = "src/test/resources/mapping/mappers/test/compiled-customer.xml";
+    private static final String __INPUT_CUSTOMER_CSV = "src/test/resources/data/customers_202311231439.csv";
+
+    private static final DemoDataStoreEnv env = new DemoDataStoreEnv();
+    private static final List<SourceMap> records = new ArrayList<>();
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .build();
+        try (Reader reader = new FileReader(__INPUT_CUSTOMER_CSV);
+             CSVParser parser = new CSVParser(reader, format)) {
+            List<String> header = parser.getHeaderNames();
+            for (CSVRecord record : parser) {
+                SourceMap source = new SourceMap(header.size());
+                for (String name : header) {
+                    source.put(name, record.get(name));
+                }
+                records.add(source);
+            }
+        }
+    }
+
+    private Mapping<Customer> mapping(boolean compile) throws Exception {
+        XMLConfiguration xmlConfig = ConfigReader.readFromFile(__CONFIG_FILE_MAPPING);
+        HierarchicalConfiguration<ImmutableNode> config = xmlConfig.configurationAt(Mapping.__CONFIG_PATH);
+        config.setProperty("settings.compile", String.valueOf(compile));
+        return new CustomerEntityMapping().configure(config, env);
+    }
+
+    private Context context(int index) {
+        Context context = new Context();
+        context.put("source.URI", String.format("file:///customers/%d.csv", index));
+        return context;
+    }
+
+    @Test
+    void compiled() {
+        try {
+            Mapping<Customer> compiled = mapping(true);
+            Mapping<Customer> legacy = mapping(false);
+            assertTrue(compiled.plan().compiled());
+            assertFalse(legacy.plan().compiled());
+            assertFalse(records.isEmpty());
+            for (int ii = 0; ii < records.size(); ii++) {
+                MappedResponse<Customer> expected = legacy.read(records.get(ii), context(ii));
+                MappedResponse<Customer> actual = compiled.read(records.get(ii), context(ii));
+                assertNotNull(actual.getEntity());
+                assertEquals(JSONUtils.asString(expected.getEntity()), JSONUtils.asString(actual.getEntity()));
+                assertEquals(expected.getCached(), actual.getCached());
+                assertEquals(expected.getStatus().getStatus(), actual.getStatus().getStatus());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void missingRequired() {
+        try {
+            Mapping<Customer> compiled = mapping(true);
+            Mapping<Customer> legacy = mapping(false);
+            SourceMap source = new SourceMap(records.get(0));
+            source.remove("city");
+            assertThrows(Exception.class, () -> legacy.read(source, context(0)));
+            assertThrows(Exception.class, () -> compiled.read(source, context(0)));
+            SourceMap nulls = new SourceMap(records.get(0));
+            nulls.put("state", null);
+            nulls.put("creditLimit", null);
+            MappedResponse<Customer> expected = legacy.read(nulls, context(0));
+            MappedResponse<Customer> actual = compiled.read(nulls, context(0));
+            assertEquals(JSONUtils.asString(expected.getEntity()), JSONUtils.asString(actual.getEntity()));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
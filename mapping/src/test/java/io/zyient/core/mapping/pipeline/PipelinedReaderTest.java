@@ -0,0 +1,143 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.pipeline;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.InputReader;
+import io.zyient.core.mapping.readers.ReadCursor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelinedReaderTest {
+    private static final int RECORD_COUNT = 10_000;
+
+    private static class TestReader extends InputReader {
+        private final int count;
+        private int index = 0;
+
+        private TestReader(int count) {
+            this.count = count;
+        }
+
+        @Override
+        protected ReadCursor doOpen() throws IOException {
+            return new ReadCursor(this, 100);
+        }
+
+        @Override
+        public List<SourceMap> nextBatch() throws IOException {
+            return fetchNextBatch();
+        }
+
+        @Override
+        public List<SourceMap> fetchNextBatch() throws IOException {
+            List<SourceMap> batch = new ArrayList<>();
+            while (index < count && batch.size() < 100) {
+                SourceMap map = new SourceMap();
+                map.put("index", index++);
+                batch.add(map);
+            }
+            return batch;
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    private static RecordResponse map(SourceMap data) throws Exception {
+        int index = (int) data.get("index");
+        if (index % 1000 == 999) {
+            throw new Exception(String.format("Invalid record. [index=%d]", index));
+        }
+        RecordResponse response = new RecordResponse();
+        response.setSource(data);
+        response.setEntity(index);
+        return response;
+    }
+
+    @Test
+    void ordered() {
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try (PipelinedReader reader = new PipelinedReader("ordered",
+                new TestReader(RECORD_COUNT).doOpen(),
+                workers,
+                PipelinedReaderTest::map,
+                64, 8, true)) {
+            reader.start();
+            int expected = 0;
+            int errors = 0;
+            while (true) {
+                List<PipelinedReader.MappedRecord> records = reader.next();
+                if (records == null) break;
+                for (PipelinedReader.MappedRecord record : records) {
+                    assertEquals(expected, (int) record.source().get("index"));
+                    if (record.error() != null) {
+                        errors++;
+                    } else {
+                        assertEquals(expected, (int) record.response().getEntity());
+                    }
+                    expected++;
+                }
+            }
+            assertEquals(RECORD_COUNT, expected);
+            assertEquals(RECORD_COUNT / 1000, errors);
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void unordered() {
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try (PipelinedReader reader = new PipelinedReader("unordered",
+                new TestReader(RECORD_COUNT).doOpen(),
+                workers,
+                PipelinedReaderTest::map,
+                64, 8, false)) {
+            reader.start();
+            Set<Integer> seen = new HashSet<>();
+            while (true) {
+                List<PipelinedReader.MappedRecord> records = reader.next();
+                if (records == null) break;
+                for (PipelinedReader.MappedRecord record : records) {
+                    assertTrue(seen.add((int) record.source().get("index")));
+                }
+            }
+            assertEquals(RECORD_COUNT, seen.size());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.model.EvaluationStatus;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.StatusCode;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.rules.RuleValidationError;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingReadResponseTest {
+    private static final int RECORD_COUNT = 10_000_000;
+    private static final int ERROR_INTERVAL = 1000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    void add() {
+        File dir = null;
+        try {
+            dir = Files.createTempDirectory("streaming-response").toFile();
+            AtomicInteger progress = new AtomicInteger();
+            AtomicInteger finished = new AtomicInteger();
+            StreamingReadResponse response = new StreamingReadResponse(dir, "test");
+            response.setMaxErrorSummary(4);
+            response.withListener((r, done) -> {
+                if (done) {
+                    finished.incrementAndGet();
+                } else {
+                    progress.incrementAndGet();
+                }
+            });
+            long start = usedHeap();
+            for (int ii = 0; ii < RECORD_COUNT; ii++) {
+                SourceMap source = new SourceMap(4);
+                source.put("index", ii);
+                source.put("name", String.format("name-%d", ii));
+                RecordResponse r = new RecordResponse();
+                r.setSource(source);
+                EvaluationStatus status = new EvaluationStatus();
+                if (ii % ERROR_INTERVAL == 0) {
+                    status.setStatus(StatusCode.ValidationFailed);
+                    status.error(new RuleValidationError(String.format("rule-%d", (ii / ERROR_INTERVAL) % 8),
+                            SourceMap.class, "name", 100, "Invalid name"));
+                } else {
+                    status.setStatus(StatusCode.Success);
+                }
+                r.setStatus(status);
+                response.incrementCount();
+                response.add(r);
+                response.incrementCommitCount();
+            }
+            long growth = usedHeap() - start;
+            response.finish();
+            assertTrue(growth < MAX_HEAP_GROWTH,
+                    String.format("Heap grew by %d bytes", growth));
+            assertNull(response.getRecords());
+            assertEquals(RECORD_COUNT, response.getRecordCount());
+            int errors = RECORD_COUNT / ERROR_INTERVAL;
+            assertEquals(errors, response.getErrorCount());
+            assertEquals(errors, response.getSpilledCount());
+            assertEquals(5, response.getErrorSummary().size());
+            long summarized = 0;
+            for (long count : response.getErrorSummary().values()) {
+                summarized += count;
+            }
+            assertEquals(errors, summarized);
+            assertTrue(response.getErrorSummary().containsKey(StreamingReadResponse.KEY_OTHER_ERRORS));
+            assertEquals(RECORD_COUNT / response.getProgressInterval(), progress.get());
+            assertEquals(1, finished.get());
+            assertNotNull(response.getErrorFile());
+            try (Stream<String> lines = Files.lines(response.getErrorFile().toPath())) {
+                assertEquals(errors, lines.count());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        } finally {
+            if (dir != null) {
+                File[] files = dir.listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        if (!file.delete()) {
+                            file.deleteOnExit();
+                        }
+                    }
+                }
+                if (!dir.delete()) {
+                    dir.deleteOnExit();
+                }
+            }
+        }
+    }
+
+    @Test
+    void noErrors() {
+        try {
+            File dir = Files.createTempDirectory("streaming-response").toFile();
+            StreamingReadResponse response = new StreamingReadResponse(dir, "test");
+            RecordResponse r = new RecordResponse();
+            EvaluationStatus status = new EvaluationStatus();
+            status.setStatus(StatusCode.Success);
+            r.setStatus(status);
+            response.incrementCount();
+            response.add(r);
+            response.finish();
+            assertEquals(0, response.getErrorCount());
+            assertNull(response.getErrorFile());
+            assertTrue(response.getErrorSummary().isEmpty());
+            assertFalse(new File(dir, "test").exists());
+            if (!dir.delete()) {
+                dir.deleteOnExit();
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.impl.excel;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.base.common.model.services.EConfigFileType;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.env.DemoDataStoreEnv;
+import io.zyient.core.mapping.model.Column;
+import io.zyient.core.mapping.model.ExcelColumn;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.settings.ExcelReaderSettings;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExcelStreamingInputReaderTest {
+    private static final String FILE_EXCEL_MULTI_SHEET = "src/test/resources/data/Financial Sample.xlsx";
+    private static final String __CONFIG_FILE = "src/test/resources/mapping/test-mapping-env.xml";
+    private static final int LARGE_ROW_COUNT = 500_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+    private static XMLConfiguration xmlConfiguration = null;
+    private static DemoDataStoreEnv env = new DemoDataStoreEnv();
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        xmlConfiguration = ConfigReader.read(__CONFIG_FILE, EConfigFileType.File);
+        Preconditions.checkState(xmlConfiguration != null);
+        env.create(xmlConfiguration);
+        env.connectionManager().save();
+    }
+
+    @AfterAll
+    static void afterAll() throws Exception {
+        env.close();
+    }
+
+    private static ExcelReaderSettings settings(int... sheetIndexes) {
+        ExcelReaderSettings settings = new ExcelReaderSettings();
+        settings.setName("excel-streaming");
+        settings.setSkipHeader(true);
+        List<ExcelSheet> sheets = new ArrayList<>();
+        for (int index : sheetIndexes) {
+            ExcelSheet sheet = new ExcelSheet();
+            sheet.setIndex(index);
+            sheets.add(sheet);
+        }
+        settings.setSheets(sheets);
+        return settings;
+    }
+
+    private static List<Map<String, Object>> readAll(ReadCursor cursor) throws Exception {
+        List<Map<String, Object>> records = new ArrayList<>();
+        while (true) {
+            Map<String, Object> data = cursor.next();
+            if (data == null) {
+                break;
+            }
+            records.add(data);
+        }
+        return records;
+    }
+
+    @Test
+    void nextBatch() {
+        try {
+            File file = new File(FILE_EXCEL_MULTI_SHEET);
+            InputContentInfo ci = new InputContentInfo()
+                    .path(file)
+                    .sourceURI(file.toURI());
+            ExcelReaderSettings settings = settings(0, 1);
+            settings.setHeader(ExcelHeader.HeaderOnEachSheet);
+            String line = "Segment, Country	, Product, Discount Band, Units Sold, Manufacturing Price, Sale Price, Gross Sales, Discounts, Sales, COGS, Profit, Date, Month Number, Month Name, Year";
+            settings.setHeaders(createColumns(line));
+            List<Map<String, Object>> expected;
+            try (ReadCursor cursor = new ExcelInputReader()
+                    .contentInfo(ci)
+                    .settings(settings)
+                    .open(env)) {
+                expected = readAll(cursor);
+            }
+            try (ReadCursor cursor = new ExcelStreamingInputReader()
+                    .contentInfo(ci)
+                    .settings(settings)
+                    .open(env)) {
+                List<Map<String, Object>> records = readAll(cursor);
+                assertEquals(1400, records.size());
+                assertEquals(expected, records);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void detectHeader() {
+        try {
+            File file = new File(FILE_EXCEL_MULTI_SHEET);
+            InputContentInfo ci = new InputContentInfo()
+                    .path(file)
+                    .sourceURI(file.toURI());
+            ExcelReaderSettings settings = settings(0);
+            settings.setHeader(ExcelHeader.HeaderOnEachSheet);
+            try (ReadCursor cursor = new ExcelStreamingInputReader()
+                    .contentInfo(ci)
+                    .settings(settings)
+                    .open(env)) {
+                List<Map<String, Object>> records = readAll(cursor);
+                assertFalse(records.isEmpty());
+                assertTrue(records.get(0).containsKey("Segment"));
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void largeWorkbook() {
+        File file = null;
+        try {
+            file = Files.createTempFile("excel-streaming", ".xlsx").toFile();
+            try (SXSSFWorkbook workbook = new SXSSFWorkbook(100)) {
+                workbook.setCompressTempFiles(true);
+                Sheet sheet = workbook.createSheet("data");
+                Row header = sheet.createRow(0);
+                for (int ii = 0; ii < 8; ii++) {
+                    header.createCell(ii).setCellValue(String.format("column_%d", ii));
+                }
+                for (int ii = 1; ii <= LARGE_ROW_COUNT; ii++) {
+                    Row row = sheet.createRow(ii);
+                    for (int jj = 0; jj < 8; jj++) {
+                        if (jj % 2 == 0) {
+                            row.createCell(jj).setCellValue(String.format("value-%d-%d", ii, jj));
+                        } else {
+                            row.createCell(jj).setCellValue(ii * jj);
+                        }
+                    }
+                }
+                try (FileOutputStream fos = new FileOutputStream(file)) {
+                    workbook.write(fos);
+                }
+                workbook.dispose();
+            }
+            InputContentInfo ci = new InputContentInfo()
+                    .path(file)
+                    .sourceURI(file.toURI());
+            ExcelReaderSettings settings = settings(0);
+            settings.setHeader(ExcelHeader.HeaderOnFirstSheet);
+            settings.setReadBatchSize(1024);
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            long start = runtime.totalMemory() - runtime.freeMemory();
+            long peak = 0;
+            int count = 0;
+            try (ReadCursor cursor = new ExcelStreamingInputReader()
+                    .contentInfo(ci)
+                    .settings(settings)
+                    .open(env)) {
+                while (true) {
+                    Map<String, Object> data = cursor.next();
+                    if (data == null) {
+                        break;
+                    }
+                    count++;
+                    if (count % 100_000 == 0) {
+                        assertEquals(String.format("value-%d-0", count), data.get("column_0"));
+                        System.gc();
+                        peak = Math.max(peak, runtime.totalMemory() - runtime.freeMemory() - start);
+                    }
+                }
+            }
+            assertEquals(LARGE_ROW_COUNT, count);
+            assertTrue(peak < MAX_HEAP_GROWTH, String.format("Heap grew by %d bytes", peak));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        } finally {
+            if (file != null && !file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    private Map<Integer, Column> createColumns(String line) {
+        String[] parts = line.split(",");
+        Map<Integer, Column> columns = new HashMap<>();
+        for (int ii = 0; ii < parts.length; ii++) {
+            ExcelColumn column = new ExcelColumn();
+            column.setIndex(ii);
+            column.setCellIndex(ii);
+            column.setName(parts[ii].trim());
+            columns.put(ii, column);
+        }
+        return columns;
+    }
+}
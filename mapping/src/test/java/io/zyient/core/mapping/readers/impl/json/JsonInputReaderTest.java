@@ -30,6 +30,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -114,4 +116,51 @@ class JsonInputReaderTest {
             fail(ex);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void nextBatchStreaming() {
+        try {
+            File file = new File(FILE_JSON_OBJECT);
+            InputContentInfo ci = new InputContentInfo()
+                    .path(file)
+                    .sourceURI(file.toURI());
+            JsonReaderSettings settings = new JsonReaderSettings();
+            settings.setArray(false);
+            settings.setBasePath("customers");
+            settings.setReadBatchSize(16);
+            List<Map<String, Object>> expected = new ArrayList<>();
+            try (ReadCursor cursor = new JsonInputReader()
+                    .contentInfo(ci)
+                    .settings(settings)
+                    .open(env)) {
+                while (true) {
+                    Map<String, Object> data = cursor.next();
+                    if (data == null) {
+                        break;
+                    }
+                    expected.add(data);
+                }
+            }
+            settings.setStreaming(true);
+            settings.setSelector("/customers");
+            JsonStreamingInputReader reader = (JsonStreamingInputReader) new JsonStreamingInputReader()
+                    .contentInfo(ci)
+                    .settings(settings);
+            try (ReadCursor cursor = reader.open(env)) {
+                int count = 0;
+                while (true) {
+                    Map<String, Object> data = cursor.next();
+                    if (data == null) {
+                        break;
+                    }
+                    assertEquals(expected.get(count), data);
+                    count++;
+                }
+                assertEquals(215, count);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
@@ -30,6 +30,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -82,4 +84,50 @@ class XmlInputReaderTest {
             fail(ex);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void nextBatchStreaming() {
+        try {
+            File file = new File(FILE_XML_OBJECT);
+            InputContentInfo ci = new InputContentInfo()
+                    .path(file)
+                    .sourceURI(file.toURI());
+            XmlReaderSettings settings = new XmlReaderSettings();
+            settings.setBasePath("DATA_RECORD");
+            settings.setReadBatchSize(16);
+            List<Map<String, Object>> expected = new ArrayList<>();
+            try (ReadCursor cursor = new XmlInputReader()
+                    .contentInfo(ci)
+                    .settings(settings)
+                    .open(env)) {
+                while (true) {
+                    Map<String, Object> data = cursor.next();
+                    if (data == null) {
+                        break;
+                    }
+                    expected.add(data);
+                }
+            }
+            settings.setStreaming(true);
+            settings.setSelector("/customers/DATA_RECORD");
+            XmlStreamingInputReader reader = (XmlStreamingInputReader) new XmlStreamingInputReader()
+                    .contentInfo(ci)
+                    .settings(settings);
+            try (ReadCursor cursor = reader.open(env)) {
+                int count = 0;
+                while (true) {
+                    Map<String, Object> data = cursor.next();
+                    if (data == null) {
+                        break;
+                    }
+                    assertEquals(expected.get(count), data);
+                    count++;
+                }
+                assertEquals(215, count);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
@@ -312,6 +312,13 @@ public abstract class BaseKafkaConsumer<M> extends MessageReceiver<String, M> {
             cache.clear();
             cache = null;
         }
+        if (stateManager != null) {
+            try {
+                stateManager.flush();
+            } catch (Exception ex) {
+                throw new IOException(ex);
+            }
+        }
         if (consumer != null) {
             consumer.close();
             consumer = null;
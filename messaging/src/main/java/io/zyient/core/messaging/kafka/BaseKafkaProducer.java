@@ -28,8 +28,8 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.internals.RecordHeader;
 
@@ -37,72 +37,253 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Future;
+import java.util.concurrent.*;
 
 @Getter
 @Setter
 @Accessors(fluent = true)
 public abstract class BaseKafkaProducer<M> extends MessageSender<String, M> {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+    private static final String NETWORK_THREAD_PREFIX = "kafka-producer-network-thread";
+
     @Setter(AccessLevel.NONE)
     private BasicKafkaProducerConnection producer;
     @Setter(AccessLevel.NONE)
     private String topic;
     private KafkaPartitioner<M> partitioner;
+    @Setter(AccessLevel.NONE)
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Producer<String, byte[]> client;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Semaphore window;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ExecutorService callbacks;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean ownsCallbacks = false;
+
+    /**
+     * Set the max. number of sent records pending broker acknowledgement, async sends
+     * block once the window is full.
+     *
+     * @param maxInFlight - Max. in-flight records
+     * @return - Self
+     */
+    public BaseKafkaProducer<M> withMaxInFlight(int maxInFlight) {
+        Preconditions.checkArgument(maxInFlight > 0);
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Set the executor used to complete the futures returned by async sends. Futures are never
+     * completed on the Kafka producer I/O thread, by default a single thread per producer is used.
+     *
+     * @param callbacks - Completion executor (not shut down by this producer)
+     * @return - Self
+     */
+    public BaseKafkaProducer<M> withCallbackExecutor(@NonNull ExecutorService callbacks) {
+        this.callbacks = callbacks;
+        return this;
+    }
 
     @Override
     public MessageSender<String, M> init() throws MessagingError {
         Preconditions.checkArgument(connection() instanceof BasicKafkaProducerConnection);
         producer = (BasicKafkaProducerConnection) connection();
-        topic = ((BasicKafkaProducerConnection) connection()).topic();
+        return init(producer.producer(), producer.topic());
+    }
+
+    /**
+     * Initialize with an existing Kafka producer (not managed by the connection manager).
+     *
+     * @param client - Kafka producer
+     * @param topic  - Target topic
+     * @return - Self
+     * @throws MessagingError
+     */
+    public MessageSender<String, M> init(@NonNull Producer<String, byte[]> client,
+                                         @NonNull String topic) throws MessagingError {
+        this.client = client;
+        this.topic = topic;
+        window = new Semaphore(maxInFlight);
+        if (callbacks == null) {
+            final String name = String.format("kafka-producer-callbacks-%s", topic);
+            callbacks = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            ownsCallbacks = true;
+        }
         state().setState(ProcessorState.EProcessorState.Running);
         return this;
     }
 
-    @Override
-    public MessageObject<String, M> send(@NonNull MessageObject<String, M> message) throws MessagingError {
-        Preconditions.checkArgument(state().isAvailable());
-        try {
-            message.queue(topic);
+    private ProducerRecord<String, byte[]> record(MessageObject<String, M> message) throws Exception {
+        message.queue(topic);
 
-            List<Header> headers = new ArrayList<>();
-            Header h = new RecordHeader(MessageObject.HEADER_MESSAGE_ID, message.id().getBytes(StandardCharsets.UTF_8));
+        List<Header> headers = new ArrayList<>();
+        Header h = new RecordHeader(MessageObject.HEADER_MESSAGE_ID, message.id().getBytes(StandardCharsets.UTF_8));
+        headers.add(h);
+        if (!Strings.isNullOrEmpty(message.correlationId())) {
+            h = new RecordHeader(MessageObject.HEADER_CORRELATION_ID, message.correlationId().getBytes(StandardCharsets.UTF_8));
             headers.add(h);
-            if (!Strings.isNullOrEmpty(message.correlationId())) {
-                h = new RecordHeader(MessageObject.HEADER_CORRELATION_ID, message.correlationId().getBytes(StandardCharsets.UTF_8));
-                headers.add(h);
+        }
+        if (message.mode() == null) {
+            throw new MessagingError(String.format("Invalid Message Object: mode not set. [id=%s]", message.id()));
+        }
+        h = new RecordHeader(MessageObject.HEADER_MESSAGE_MODE, message.mode().name().getBytes(StandardCharsets.UTF_8));
+        headers.add(h);
+
+        byte[] data = serialize(message.value());
+        Integer partition = null;
+        if (partitioner != null) {
+            partition = partitioner.partition(message.value());
+        }
+        return new ProducerRecord<>(topic, partition, message.key(), data, headers);
+    }
+
+    /**
+     * Send the message without waiting for the broker acknowledgement. Blocks if the
+     * in-flight window is full, except when invoked from the Kafka producer I/O thread
+     * (e.g. from a raw producer callback) where it fails instead, as the window can only
+     * be released by that thread.
+     *
+     * @param message - Message to send
+     * @return - Future completed when the record is acknowledged (or failed)
+     * @throws MessagingError
+     */
+    public CompletableFuture<MessageObject<String, M>> sendAsync(@NonNull MessageObject<String, M> message) throws MessagingError {
+        Preconditions.checkArgument(state().isAvailable());
+        CompletableFuture<MessageObject<String, M>> future = new CompletableFuture<>();
+        ProducerRecord<String, byte[]> record;
+        try {
+            record = record(message);
+        } catch (Exception ex) {
+            future.completeExceptionally(ex);
+            return future;
+        }
+        if (Thread.currentThread().getName().startsWith(NETWORK_THREAD_PREFIX)) {
+            if (!window.tryAcquire()) {
+                future.completeExceptionally(new MessagingError(
+                        String.format("In-flight window full, cannot block the producer I/O thread. [topic=%s][id=%s]",
+                                topic, message.id())));
+                return future;
             }
-            if (message.mode() == null) {
-                throw new MessagingError(String.format("Invalid Message Object: mode not set. [id=%s]", message.id()));
+        } else {
+            try {
+                window.acquire();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new MessagingError(ie);
             }
-            h = new RecordHeader(MessageObject.HEADER_MESSAGE_MODE, message.mode().name().getBytes(StandardCharsets.UTF_8));
-            headers.add(h);
+        }
+        try {
+            client.send(record, (metadata, error) -> {
+                window.release();
+                complete(future, message, error);
+            });
+        } catch (Exception ex) {
+            window.release();
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
 
-            byte[] data = serialize(message.value());
-            Future<RecordMetadata> result = null;
-            Integer partition = null;
-            if (partitioner != null) {
-                partition = partitioner.partition(message.value());
+    private void complete(CompletableFuture<MessageObject<String, M>> future,
+                          MessageObject<String, M> message,
+                          Exception error) {
+        Runnable task = () -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(message);
             }
-            result = producer.producer().send(new ProducerRecord<>(topic, partition, message.key(), data, headers));
-            RecordMetadata rm = result.get();
+        };
+        try {
+            callbacks.execute(task);
+        } catch (RejectedExecutionException re) {
+            task.run();
+        }
+    }
 
-            return message;
-        } catch (Exception ex) {
-            throw new MessagingError(ex);
+    /**
+     * Send all the messages without waiting, the returned futures report the per-record status.
+     *
+     * @param messages - Messages to send
+     * @return - Futures, in message order
+     * @throws MessagingError
+     */
+    public List<CompletableFuture<MessageObject<String, M>>> sendAsync(@NonNull List<MessageObject<String, M>> messages) throws MessagingError {
+        List<CompletableFuture<MessageObject<String, M>>> futures = new ArrayList<>(messages.size());
+        for (MessageObject<String, M> message : messages) {
+            futures.add(sendAsync(message));
+        }
+        return futures;
+    }
+
+    @Override
+    public MessageObject<String, M> send(@NonNull MessageObject<String, M> message) throws MessagingError {
+        try {
+            return sendAsync(message).get();
+        } catch (ExecutionException ex) {
+            throw new MessagingError(ex.getCause());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new MessagingError(ie);
         }
     }
 
     @Override
     public List<MessageObject<String, M>> send(@NonNull List<MessageObject<String, M>> messages) throws MessagingError {
         Preconditions.checkArgument(state().isAvailable());
+        List<CompletableFuture<MessageObject<String, M>>> futures = sendAsync(messages);
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(t -> null).get();
+        } catch (ExecutionException ex) {
+            throw new MessagingError(ex.getCause());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new MessagingError(ie);
+        }
         List<MessageObject<String, M>> responses = new ArrayList<>(messages.size());
-        for (MessageObject<String, M> message : messages) {
-            MessageObject<String, M> response = send(message);
-            responses.add(response);
+        List<String> failed = new ArrayList<>();
+        Throwable error = null;
+        for (int ii = 0; ii < futures.size(); ii++) {
+            CompletableFuture<MessageObject<String, M>> future = futures.get(ii);
+            try {
+                responses.add(future.join());
+            } catch (CompletionException ce) {
+                Throwable cause = (ce.getCause() != null ? ce.getCause() : ce);
+                failed.add(messages.get(ii).id());
+                if (error == null) {
+                    error = cause;
+                } else {
+                    error.addSuppressed(cause);
+                }
+            }
+        }
+        if (error != null) {
+            throw new MessagingError(String.format("Failed to send messages. [topic=%s][failed=%d][ids=%s]",
+                    topic, failed.size(), failed), error);
         }
         return responses;
     }
 
+    /**
+     * Flush any buffered records to the broker.
+     */
+    public void flush() {
+        if (client != null) {
+            client.flush();
+        }
+    }
+
     protected abstract byte[] serialize(@NonNull M message) throws MessagingError;
 
     @Override
@@ -110,5 +291,18 @@ public abstract class BaseKafkaProducer<M> extends MessageSender<String, M> {
         if (state().isAvailable()) {
             state().setState(ProcessorState.EProcessorState.Stopped);
         }
+        flush();
+        if (callbacks != null && ownsCallbacks) {
+            callbacks.shutdown();
+            try {
+                if (!callbacks.awaitTermination(30, TimeUnit.SECONDS)) {
+                    callbacks.shutdownNow();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            callbacks = null;
+            ownsCallbacks = false;
+        }
     }
 }
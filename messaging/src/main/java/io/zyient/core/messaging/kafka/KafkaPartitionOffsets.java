@@ -0,0 +1,128 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.messaging.kafka;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.TreeSet;
+
+/**
+ * Tracks in-flight records of a partition that may complete out of order. Only the
+ * contiguous prefix of completed offsets is reported as committable; a failed record
+ * holds the watermark until the partition is reset (re-delivered on restart).
+ */
+@Getter
+@Accessors(fluent = true)
+public class KafkaPartitionOffsets {
+    private final TopicPartition partition;
+    @Getter(AccessLevel.NONE)
+    private final TreeSet<Long> pending = new TreeSet<>();
+    @Getter(AccessLevel.NONE)
+    private final TreeSet<Long> failed = new TreeSet<>();
+    private long lastRead = -1;
+    private long lastCommitted = -1;
+
+    public KafkaPartitionOffsets(@NonNull TopicPartition partition) {
+        this.partition = partition;
+    }
+
+    public synchronized void read(long offset) {
+        pending.add(offset);
+        if (offset > lastRead) {
+            lastRead = offset;
+        }
+    }
+
+    public synchronized void completed(long offset) {
+        pending.remove(offset);
+        if (pending.isEmpty()) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Mark the record as failed (not handled and not handed to an error sink). The committable
+     * offset will not advance past a failed record.
+     *
+     * @param offset - Record offset
+     */
+    public synchronized void failed(long offset) {
+        failed.add(offset);
+        completed(offset);
+    }
+
+    public synchronized int failedCount() {
+        return failed.size();
+    }
+
+    /**
+     * Wait for all the in-flight records of this partition to complete.
+     *
+     * @param timeout - Max wait time (milliseconds)
+     * @return - Drained?
+     * @throws InterruptedException
+     */
+    public synchronized boolean await(long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (!pending.isEmpty()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Get the highest offset such that it and every offset read before it have completed.
+     *
+     * @return - Committable offset, -1 if none.
+     */
+    public synchronized long committable() {
+        long offset = lastRead;
+        if (!pending.isEmpty()) {
+            offset = pending.first() - 1;
+        }
+        if (!failed.isEmpty()) {
+            offset = Math.min(offset, failed.first() - 1);
+        }
+        return offset;
+    }
+
+    public synchronized int inFlight() {
+        return pending.size();
+    }
+
+    public synchronized void committed(long offset) {
+        if (offset > lastCommitted) {
+            lastCommitted = offset;
+        }
+    }
+
+    public synchronized void reset(long offset) {
+        pending.clear();
+        failed.clear();
+        lastRead = offset;
+        lastCommitted = offset;
+    }
+}
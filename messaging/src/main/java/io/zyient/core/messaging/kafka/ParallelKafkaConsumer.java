@@ -0,0 +1,441 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.messaging.kafka;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.messaging.MessagingError;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.connections.kafka.BasicKafkaConsumerConnection;
+import io.zyient.base.core.processing.ProcessorState;
+import io.zyient.core.messaging.MessageSender;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kafka consumer that fans records from all assigned partitions out to a pool of single-threaded
+ * workers. Records are routed by partition or by message key, so the order of records
+ * with the same routing value is preserved. Offsets are committed per partition only up to
+ * the last contiguous completed record (at-least-once on restart). A record whose handler
+ * fails is retried (see {@link ParallelKafkaConsumerSettings#getRetries()}), after which it counts
+ * as completed only once it has been handed to the error queue. Without an error queue the consumer
+ * stops with an error, the committed offset of its partition stops before the record so it is
+ * re-delivered on restart.
+ * <p>
+ * If the consumer is subscribed to topics (group-managed assignment), partitions are tracked
+ * through a rebalance listener: revoked partitions are drained and committed, newly assigned
+ * partitions are (re)initialized. For manually assigned consumers the assignment is fixed.
+ * <p>
+ * All calls to the underlying Kafka consumer are made from the thread executing {@link #run()}.
+ *
+ * @param <M> - Message type
+ */
+@Getter
+@Accessors(fluent = true)
+public abstract class ParallelKafkaConsumer<M> implements Runnable, Closeable {
+    private final ProcessorState state = new ProcessorState();
+    private ParallelKafkaConsumerSettings settings;
+    @Getter(AccessLevel.NONE)
+    private Consumer<String, byte[]> consumer;
+    @Getter(AccessLevel.NONE)
+    private BasicKafkaConsumerConnection connection;
+    private KafkaStateManager stateManager;
+    private KafkaMessageHandler<M> handler;
+    private MessageSender<String, M> errors;
+    @Getter(AccessLevel.NONE)
+    private final Map<TopicPartition, KafkaPartitionOffsets> offsets = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<TopicPartition, KafkaConsumerState> states = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private ExecutorService[] workers;
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private boolean paused = false;
+    private long lastCommit = 0;
+    @Getter(AccessLevel.NONE)
+    private volatile boolean running = false;
+
+    public ParallelKafkaConsumer<M> withConnection(@NonNull BasicKafkaConsumerConnection connection) throws MessagingError {
+        try {
+            if (!connection.isConnected()) {
+                connection.connect();
+            }
+            this.connection = connection;
+            this.consumer = connection.consumer();
+            return this;
+        } catch (Exception ex) {
+            throw new MessagingError(ex);
+        }
+    }
+
+    public ParallelKafkaConsumer<M> withConsumer(@NonNull Consumer<String, byte[]> consumer) {
+        this.consumer = consumer;
+        return this;
+    }
+
+    public ParallelKafkaConsumer<M> withStateManager(@NonNull KafkaStateManager stateManager) {
+        this.stateManager = stateManager;
+        return this;
+    }
+
+    public ParallelKafkaConsumer<M> withHandler(@NonNull KafkaMessageHandler<M> handler) {
+        this.handler = handler;
+        return this;
+    }
+
+    public ParallelKafkaConsumer<M> withErrorQueue(@NonNull MessageSender<String, M> errors) {
+        this.errors = errors;
+        return this;
+    }
+
+    public ParallelKafkaConsumer<M> init(@NonNull ParallelKafkaConsumerSettings settings) throws MessagingError {
+        Preconditions.checkNotNull(consumer);
+        Preconditions.checkNotNull(handler);
+        Preconditions.checkArgument(settings.getWorkers() > 0);
+        Preconditions.checkArgument(settings.getMaxInFlight() > 0);
+        Preconditions.checkArgument(settings.getRetries() >= 0);
+        try {
+            this.settings = settings;
+            Set<String> topics = consumer.subscription();
+            if (topics != null && !topics.isEmpty()) {
+                consumer.subscribe(topics, new RebalanceListener());
+            } else {
+                Set<TopicPartition> partitions = consumer.assignment();
+                if (partitions == null || partitions.isEmpty()) {
+                    throw new MessagingError("No assigned partitions found.");
+                }
+                assigned(partitions);
+            }
+            workers = new ExecutorService[settings.getWorkers()];
+            for (int ii = 0; ii < workers.length; ii++) {
+                final String name = String.format("kafka-worker-%d", ii);
+                workers[ii] = Executors.newSingleThreadExecutor(r -> new Thread(r, name));
+            }
+            state.setState(ProcessorState.EProcessorState.Running);
+            return this;
+        } catch (MessagingError me) {
+            state.error(me);
+            throw me;
+        } catch (Exception ex) {
+            state.error(ex);
+            throw new MessagingError("Error initializing parallel kafka consumer.", ex);
+        }
+    }
+
+    private void assigned(Collection<TopicPartition> partitions) throws Exception {
+        for (TopicPartition partition : partitions) {
+            KafkaPartitionOffsets po = new KafkaPartitionOffsets(partition);
+            if (stateManager != null) {
+                KafkaConsumerState s = stateManager.get(partition.topic(), partition.partition());
+                if (s == null) {
+                    s = stateManager.create(partition.topic(), partition.partition());
+                }
+                long committed = s.getOffset().getOffsetCommitted().getValue();
+                if (committed > 0) {
+                    consumer.seek(partition, committed + 1);
+                    po.reset(committed);
+                } else {
+                    consumer.seekToBeginning(Set.of(partition));
+                }
+                states.put(partition, s);
+            }
+            offsets.put(partition, po);
+        }
+        if (paused) {
+            consumer.pause(partitions);
+        }
+    }
+
+    /**
+     * Stop tracking the partitions; if commit is set, wait for their in-flight records
+     * and commit the completed offsets first.
+     */
+    private void revoked(Collection<TopicPartition> partitions, boolean commit) throws Exception {
+        List<KafkaPartitionOffsets> removed = new ArrayList<>(partitions.size());
+        for (TopicPartition partition : partitions) {
+            KafkaPartitionOffsets po = offsets.get(partition);
+            if (po == null) continue;
+            if (commit && !po.await(settings.getDrainTimeout().normalized())) {
+                DefaultLogger.warn(String.format("Timeout draining revoked partition. [partition=%s][in-flight=%d]",
+                        partition, po.inFlight()));
+            }
+            removed.add(po);
+        }
+        if (commit) {
+            commit(removed);
+        }
+        for (KafkaPartitionOffsets po : removed) {
+            offsets.remove(po.partition());
+            states.remove(po.partition());
+        }
+    }
+
+    private class RebalanceListener implements ConsumerRebalanceListener {
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            if (consumer == null) return;
+            try {
+                revoked(partitions, true);
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+            if (consumer == null) return;
+            try {
+                // Partitions already owned by another member: must not commit.
+                revoked(partitions, false);
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            try {
+                assigned(partitions);
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        Preconditions.checkState(state.isAvailable());
+        running = true;
+        try {
+            while (state.isAvailable()) {
+                poll();
+            }
+        } catch (Throwable t) {
+            state.error(t);
+            DefaultLogger.error("Parallel Kafka consumer terminated with error", t);
+        } finally {
+            running = false;
+        }
+    }
+
+    /**
+     * Execute one fetch cycle: commit completed offsets (if due), apply back-pressure and
+     * dispatch the polled records to the workers.
+     *
+     * @return - Number of records dispatched.
+     * @throws Exception
+     */
+    protected int poll() throws Exception {
+        long now = System.currentTimeMillis();
+        if (now - lastCommit >= settings.getCommitInterval().normalized()) {
+            commit();
+            lastCommit = now;
+        }
+        int count = inFlight.get();
+        if (!paused && count >= settings.getMaxInFlight()) {
+            consumer.pause(offsets.keySet());
+            paused = true;
+        } else if (paused && count <= settings.getMaxInFlight() / 2) {
+            consumer.resume(offsets.keySet());
+            paused = false;
+        }
+        ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(settings.getPollTimeout().normalized()));
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+        for (ConsumerRecord<String, byte[]> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            KafkaPartitionOffsets po = offsets.get(partition);
+            if (po == null) {
+                throw new MessagingError(String.format("Record for unassigned partition. [partition=%s]",
+                        partition));
+            }
+            po.read(record.offset());
+            inFlight.incrementAndGet();
+            workers[worker(record)].execute(() -> process(record, po));
+        }
+        return records.count();
+    }
+
+    private int worker(ConsumerRecord<String, byte[]> record) {
+        if (settings.getOrdering() == ParallelKafkaConsumerSettings.EOrdering.Key && record.key() != null) {
+            return Math.floorMod(record.key().hashCode(), workers.length);
+        }
+        return Math.floorMod(record.topic().hashCode() * 31 + record.partition(), workers.length);
+    }
+
+    private void process(ConsumerRecord<String, byte[]> record, KafkaPartitionOffsets po) {
+        KafkaMessage<String, M> message = null;
+        boolean done = false;
+        try {
+            Throwable error = null;
+            for (int attempt = 0; attempt <= settings.getRetries(); attempt++) {
+                if (attempt > 0) {
+                    if (!state.isAvailable()) break;
+                    Thread.sleep(settings.getRetryInterval().normalized());
+                }
+                try {
+                    if (message == null) {
+                        M value = deserialize(record.value());
+                        message = new KafkaMessage<>(record, value);
+                    }
+                    handler.handle(message);
+                    processed.incrementAndGet();
+                    done = true;
+                    break;
+                } catch (InterruptedException ie) {
+                    throw ie;
+                } catch (Throwable t) {
+                    error = t;
+                    DefaultLogger.warn(String.format("Failed to process record. [topic=%s][partition=%d][offset=%d][attempt=%d][error=%s]",
+                            record.topic(), record.partition(), record.offset(), attempt, t.getLocalizedMessage()));
+                }
+            }
+            if (!done && error != null) {
+                failed.incrementAndGet();
+                if (errors != null && message != null) {
+                    try {
+                        errors.send(message);
+                        done = true;
+                    } catch (Exception ex) {
+                        DefaultLogger.stacktrace(ex);
+                    }
+                }
+                if (!done) {
+                    // The record would hold the partition offset forever: stop consuming, it is
+                    // re-delivered on restart.
+                    String msg = String.format("Failed record not committed, stopping consumer. [topic=%s][partition=%d][offset=%d][retries=%d]",
+                            record.topic(), record.partition(), record.offset(), settings.getRetries());
+                    DefaultLogger.error(msg);
+                    if (state.isAvailable()) {
+                        state.error(new MessagingError(msg, error));
+                    }
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (done) {
+                po.completed(record.offset());
+            } else {
+                po.failed(record.offset());
+            }
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Commit the contiguous completed offsets of all the assigned partitions.
+     *
+     * @return - Number of partitions committed.
+     * @throws Exception
+     */
+    protected int commit() throws Exception {
+        return commit(offsets.values());
+    }
+
+    private int commit(Collection<KafkaPartitionOffsets> partitions) throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        Map<TopicPartition, Long> values = new HashMap<>();
+        for (KafkaPartitionOffsets po : partitions) {
+            long offset = po.committable();
+            if (offset > po.lastCommitted()) {
+                commits.put(po.partition(), new OffsetAndMetadata(offset + 1));
+                values.put(po.partition(), offset);
+            }
+        }
+        if (commits.isEmpty()) return 0;
+        consumer.commitSync(commits);
+        for (TopicPartition partition : values.keySet()) {
+            long offset = values.get(partition);
+            KafkaPartitionOffsets po = offsets.get(partition);
+            po.committed(offset);
+            KafkaConsumerState s = states.get(partition);
+            if (s != null) {
+                s.getOffset().setOffsetRead(new KafkaOffsetValue(po.lastRead()));
+                s.getOffset().setOffsetCommitted(new KafkaOffsetValue(offset));
+                states.put(partition, stateManager.update(s));
+            }
+        }
+        return commits.size();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    protected abstract M deserialize(byte[] message) throws MessagingError;
+
+    @Override
+    public void close() throws IOException {
+        if (state.isAvailable()) {
+            state.setState(ProcessorState.EProcessorState.Stopped);
+        }
+        try {
+            while (running) {
+                Thread.sleep(10);
+            }
+            if (workers != null) {
+                for (ExecutorService worker : workers) {
+                    worker.shutdown();
+                }
+                for (ExecutorService worker : workers) {
+                    if (!worker.awaitTermination(30, TimeUnit.SECONDS)) {
+                        worker.shutdownNow();
+                    }
+                }
+                workers = null;
+            }
+            if (consumer != null) {
+                commit();
+            }
+            if (stateManager != null) {
+                stateManager.flush();
+            }
+        } catch (IOException ie) {
+            throw ie;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        } finally {
+            if (connection != null) {
+                connection.close();
+                connection = null;
+            }
+            consumer = null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.messaging.kafka;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.zyient.base.common.config.Config;
+import io.zyient.base.common.config.Settings;
+import io.zyient.base.common.config.units.TimeUnitValue;
+import io.zyient.base.common.config.units.TimeValueParser;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ *     <parallel>
+ *         <workers>[Worker threads, default = available processors]</workers>
+ *         <ordering>[Partition|Key, default = Key]</ordering>
+ *         <maxInFlight>[Max. incomplete records before pausing fetch, default = 4096]</maxInFlight>
+ *         <commitInterval>[Offset commit interval, default = 1sec]</commitInterval>
+ *         <pollTimeout>[Poll timeout, default = 100ms]</pollTimeout>
+ *         <drainTimeout>[Max. wait for in-flight records of revoked partitions, default = 30sec]</drainTimeout>
+ *         <retries>[Retries of a failed record before it is sent to the error queue, default = 3]</retries>
+ *         <retryInterval>[Wait between retries of a failed record, default = 100ms]</retryInterval>
+ *     </parallel>
+ * </pre>
+ */
+@Getter
+@Setter
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
+        property = "@class")
+public class ParallelKafkaConsumerSettings extends Settings {
+    public static final String __CONFIG_PATH = "parallel";
+
+    public enum EOrdering {
+        Partition, Key
+    }
+
+    public static final class Constants {
+        public static final int MAX_IN_FLIGHT = 4096;
+        public static final long COMMIT_INTERVAL = 1000;
+        public static final long POLL_TIMEOUT = 100;
+        public static final long DRAIN_TIMEOUT = 30000;
+        public static final int RETRIES = 3;
+        public static final long RETRY_INTERVAL = 100;
+
+        public static final String CONFIG_WORKERS = "workers";
+        public static final String CONFIG_ORDERING = "ordering";
+        public static final String CONFIG_MAX_IN_FLIGHT = "maxInFlight";
+        public static final String CONFIG_COMMIT_INTERVAL = "commitInterval";
+        public static final String CONFIG_POLL_TIMEOUT = "pollTimeout";
+        public static final String CONFIG_DRAIN_TIMEOUT = "drainTimeout";
+        public static final String CONFIG_RETRIES = "retries";
+        public static final String CONFIG_RETRY_INTERVAL = "retryInterval";
+    }
+
+    @Config(name = Constants.CONFIG_WORKERS, required = false, type = Integer.class)
+    private int workers = Runtime.getRuntime().availableProcessors();
+    @Config(name = Constants.CONFIG_ORDERING, required = false, type = EOrdering.class)
+    private EOrdering ordering = EOrdering.Key;
+    @Config(name = Constants.CONFIG_MAX_IN_FLIGHT, required = false, type = Integer.class)
+    private int maxInFlight = Constants.MAX_IN_FLIGHT;
+    @Config(name = Constants.CONFIG_COMMIT_INTERVAL, required = false, parser = TimeValueParser.class)
+    private TimeUnitValue commitInterval = new TimeUnitValue(Constants.COMMIT_INTERVAL, TimeUnit.MILLISECONDS);
+    @Config(name = Constants.CONFIG_POLL_TIMEOUT, required = false, parser = TimeValueParser.class)
+    private TimeUnitValue pollTimeout = new TimeUnitValue(Constants.POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+    @Config(name = Constants.CONFIG_DRAIN_TIMEOUT, required = false, parser = TimeValueParser.class)
+    private TimeUnitValue drainTimeout = new TimeUnitValue(Constants.DRAIN_TIMEOUT, TimeUnit.MILLISECONDS);
+    @Config(name = Constants.CONFIG_RETRIES, required = false, type = Integer.class)
+    private int retries = Constants.RETRIES;
+    @Config(name = Constants.CONFIG_RETRY_INTERVAL, required = false, parser = TimeValueParser.class)
+    private TimeUnitValue retryInterval = new TimeUnitValue(Constants.RETRY_INTERVAL, TimeUnit.MILLISECONDS);
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.messaging.kafka;
+
+import io.zyient.base.common.messaging.MessagingError;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.messaging.MessageObject;
+import kafka.testkit.KafkaClusterTestKit;
+import kafka.testkit.TestKitNodes;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseKafkaProducerTest {
+    private static final String TOPIC = "producer-test";
+    private static KafkaClusterTestKit cluster;
+    private static KafkaProducer<String, byte[]> client;
+    private static DemoKafkaProducer producer;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        cluster = new KafkaClusterTestKit.Builder(
+                new TestKitNodes.Builder()
+                        .setNumBrokerNodes(1)
+                        .setNumControllerNodes(1)
+                        .build())
+                .build();
+        cluster.format();
+        cluster.startup();
+        cluster.waitForReadyBrokers();
+        try (Admin admin = Admin.create(cluster.clientProperties())) {
+            admin.createTopics(List.of(new NewTopic(TOPIC, 1, (short) 1))).all().get();
+        }
+        Properties props = cluster.clientProperties();
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        client = new KafkaProducer<>(props);
+        producer = new DemoKafkaProducer();
+        producer.withMaxInFlight(32);
+        producer.init(client, TOPIC);
+    }
+
+    @AfterAll
+    public static void shutdown() throws Exception {
+        if (producer != null)
+            producer.close();
+        if (client != null)
+            client.close();
+        if (cluster != null)
+            cluster.close();
+    }
+
+    private static List<MessageObject<String, String>> messages(int count) {
+        List<MessageObject<String, String>> messages = new ArrayList<>(count);
+        for (int ii = 0; ii < count; ii++) {
+            MessageObject<String, String> message = new MessageObject<>();
+            message.key(String.format("key-%d", ii % 8));
+            message.mode(MessageObject.MessageMode.New);
+            message.value(String.format("message-%d", ii));
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static long endOffset() {
+        Properties props = cluster.clientProperties();
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        try (KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(props)) {
+            TopicPartition partition = new TopicPartition(TOPIC, 0);
+            return consumer.endOffsets(List.of(partition)).get(partition);
+        }
+    }
+
+    @Test
+    void sendBatch() {
+        try {
+            long start = endOffset();
+            List<MessageObject<String, String>> responses = producer.send(messages(1000));
+            assertEquals(1000, responses.size());
+            assertEquals(start + 1000, endOffset());
+
+            List<CompletableFuture<MessageObject<String, String>>> futures = producer.sendAsync(messages(100));
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+            assertEquals(start + 1100, endOffset());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void dependentSendsFromCallbacks() {
+        try {
+            long start = endOffset();
+            List<CompletableFuture<MessageObject<String, String>>> futures = new ArrayList<>();
+            List<MessageObject<String, String>> followUps = messages(200);
+            List<MessageObject<String, String>> messages = messages(200);
+            for (int ii = 0; ii < messages.size(); ii++) {
+                final MessageObject<String, String> next = followUps.get(ii);
+                futures.add(producer.sendAsync(messages.get(ii)).thenCompose(m -> {
+                    assertFalse(Thread.currentThread().getName().startsWith("kafka-producer-network-thread"));
+                    try {
+                        // Window (32) is full at this point: must not deadlock the producer.
+                        return producer.sendAsync(next);
+                    } catch (MessagingError ex) {
+                        throw new CompletionException(ex);
+                    }
+                }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+            assertEquals(start + 400, endOffset());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void reportRecordErrors() {
+        try {
+            List<MessageObject<String, String>> messages = messages(10);
+            MessageObject<String, String> invalid = messages.get(4);
+            invalid.mode(null);
+            List<CompletableFuture<MessageObject<String, String>>> futures = producer.sendAsync(messages);
+            for (int ii = 0; ii < futures.size(); ii++) {
+                if (ii == 4) {
+                    assertTrue(futures.get(ii).handle((r, t) -> t != null).get());
+                } else {
+                    assertNotNull(futures.get(ii).get());
+                }
+            }
+            MessagingError error = assertThrows(MessagingError.class, () -> producer.send(messages));
+            assertTrue(error.getMessage().contains(invalid.id()));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
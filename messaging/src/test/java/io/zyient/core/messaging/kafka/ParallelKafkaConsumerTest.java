@@ -0,0 +1,278 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.messaging.kafka;
+
+import io.zyient.base.common.messaging.MessagingError;
+import io.zyient.base.common.utils.DefaultLogger;
+import kafka.testkit.KafkaClusterTestKit;
+import kafka.testkit.TestKitNodes;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelKafkaConsumerTest {
+    private static final String TOPIC = "parallel-test";
+    private static final String GROUP = "parallel-test-group";
+    private static final int PARTITIONS = 4;
+    private static final int KEYS = 32;
+    private static final int RECORDS = 4000;
+    private static KafkaClusterTestKit cluster;
+
+    public static class DemoParallelConsumer extends ParallelKafkaConsumer<String> {
+        @Override
+        protected String deserialize(byte[] message) throws MessagingError {
+            return new String(message, StandardCharsets.UTF_8);
+        }
+    }
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        cluster = new KafkaClusterTestKit.Builder(
+                new TestKitNodes.Builder()
+                        .setNumBrokerNodes(1)
+                        .setNumControllerNodes(1)
+                        .build())
+                .build();
+        cluster.format();
+        cluster.startup();
+        cluster.waitForReadyBrokers();
+        try (Admin admin = Admin.create(cluster.clientProperties())) {
+            admin.createTopics(List.of(new NewTopic(TOPIC, PARTITIONS, (short) 1))).all().get();
+        }
+        Properties props = cluster.clientProperties();
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(props)) {
+            int[] sequences = new int[KEYS];
+            for (int ii = 0; ii < RECORDS; ii++) {
+                int key = ii % KEYS;
+                String value = String.valueOf(sequences[key]++);
+                producer.send(new ProducerRecord<>(TOPIC, String.format("key-%d", key),
+                        value.getBytes(StandardCharsets.UTF_8)));
+            }
+            producer.flush();
+        }
+    }
+
+    @AfterAll
+    public static void shutdown() throws Exception {
+        if (cluster != null) {
+            cluster.close();
+        }
+    }
+
+    private static KafkaConsumer<String, byte[]> consumer(Set<TopicPartition> partitions) {
+        Properties props = cluster.clientProperties();
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, GROUP);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(props);
+        consumer.assign(partitions);
+        return consumer;
+    }
+
+    private static Set<TopicPartition> partitions() {
+        Set<TopicPartition> partitions = new HashSet<>();
+        for (int ii = 0; ii < PARTITIONS; ii++) {
+            partitions.add(new TopicPartition(TOPIC, ii));
+        }
+        return partitions;
+    }
+
+    @Test
+    void consumeInKeyOrder() {
+        try {
+            Map<String, Integer> sequences = new ConcurrentHashMap<>();
+            AtomicInteger outOfOrder = new AtomicInteger();
+            AtomicInteger received = new AtomicInteger();
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            ParallelKafkaConsumerSettings settings = new ParallelKafkaConsumerSettings();
+            settings.setWorkers(8);
+            settings.setMaxInFlight(256);
+            try (KafkaConsumer<String, byte[]> kc = consumer(partitions())) {
+                DemoParallelConsumer consumer = new DemoParallelConsumer();
+                consumer.withConsumer(kc)
+                        .withHandler(message -> {
+                            int seq = Integer.parseInt(message.value());
+                            Integer last = sequences.put(message.key(), seq);
+                            if ((last == null && seq != 0) || (last != null && last + 1 != seq)) {
+                                outOfOrder.incrementAndGet();
+                            }
+                            threads.add(Thread.currentThread().getName());
+                            if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                                Thread.sleep(1);
+                            }
+                            received.incrementAndGet();
+                        })
+                        .init(settings);
+                Thread runner = new Thread(consumer);
+                runner.start();
+                long start = System.currentTimeMillis();
+                while (received.get() < RECORDS && System.currentTimeMillis() - start < 60000) {
+                    Thread.sleep(100);
+                }
+                consumer.close();
+                runner.join();
+                assertEquals(RECORDS, received.get());
+                assertEquals(0, outOfOrder.get());
+                assertEquals(KEYS, sequences.size());
+                assertTrue(threads.size() > 1);
+                DefaultLogger.info(String.format("Processed [%d] records on [%d] workers.",
+                        consumer.processed().get(), threads.size()));
+            }
+            try (KafkaConsumer<String, byte[]> kc = consumer(partitions())) {
+                Map<TopicPartition, OffsetAndMetadata> committed = kc.committed(partitions());
+                Map<TopicPartition, Long> ends = kc.endOffsets(partitions());
+                for (TopicPartition partition : partitions()) {
+                    assertNotNull(committed.get(partition));
+                    assertEquals(ends.get(partition), committed.get(partition).offset());
+                }
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void subscribeAndStopOnFailed() {
+        try {
+            final String group = "parallel-subscribe-group";
+            final long failAt = 100;
+            AtomicInteger attempts = new AtomicInteger();
+            ParallelKafkaConsumerSettings settings = new ParallelKafkaConsumerSettings();
+            settings.setWorkers(4);
+            settings.setOrdering(ParallelKafkaConsumerSettings.EOrdering.Partition);
+            settings.setRetries(2);
+            Properties props = cluster.clientProperties();
+            props.put(ConsumerConfig.GROUP_ID_CONFIG, group);
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+            props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+            props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+            props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+            try (KafkaConsumer<String, byte[]> kc = new KafkaConsumer<>(props)) {
+                kc.subscribe(List.of(TOPIC));
+                DemoParallelConsumer consumer = new DemoParallelConsumer();
+                consumer.withConsumer(kc)
+                        .withHandler(message -> {
+                            if (message.partition() == 0 && message.offset() == failAt) {
+                                attempts.incrementAndGet();
+                                throw new Exception("Failed record");
+                            }
+                        })
+                        .init(settings);
+                Thread runner = new Thread(consumer);
+                runner.start();
+                // Without an error queue the consumer stops once the retries are exhausted.
+                runner.join(60000);
+                assertFalse(runner.isAlive());
+                assertTrue(consumer.state().hasError());
+                consumer.close();
+                assertEquals(3, attempts.get());
+                assertEquals(1, consumer.failed().get());
+            }
+            try (KafkaConsumer<String, byte[]> kc = new KafkaConsumer<>(props)) {
+                Map<TopicPartition, OffsetAndMetadata> committed = kc.committed(partitions());
+                TopicPartition partition = new TopicPartition(TOPIC, 0);
+                // Failed record without an error queue: must be re-delivered.
+                assertNotNull(committed.get(partition));
+                assertEquals(failAt, committed.get(partition).offset());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void commitStopsAtFailed() {
+        try {
+            KafkaPartitionOffsets offsets = new KafkaPartitionOffsets(new TopicPartition(TOPIC, 0));
+            for (long ii = 0; ii < 10; ii++) {
+                offsets.read(ii);
+            }
+            offsets.completed(0);
+            offsets.completed(1);
+            offsets.failed(2);
+            for (long ii = 3; ii < 10; ii++) {
+                offsets.completed(ii);
+            }
+            assertEquals(0, offsets.inFlight());
+            assertEquals(1, offsets.failedCount());
+            assertEquals(1, offsets.committable());
+            assertTrue(offsets.await(10));
+            offsets.reset(1);
+            assertEquals(0, offsets.failedCount());
+            assertEquals(1, offsets.committable());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void commitContiguousOnly() {
+        try {
+            KafkaPartitionOffsets offsets = new KafkaPartitionOffsets(new TopicPartition(TOPIC, 0));
+            for (long ii = 10; ii < 20; ii++) {
+                offsets.read(ii);
+            }
+            assertEquals(9, offsets.committable());
+            offsets.completed(12);
+            offsets.completed(11);
+            assertEquals(9, offsets.committable());
+            offsets.completed(10);
+            assertEquals(12, offsets.committable());
+            offsets.committed(offsets.committable());
+            offsets.completed(19);
+            assertEquals(12, offsets.committable());
+            for (long ii = 13; ii < 19; ii++) {
+                offsets.completed(ii);
+            }
+            assertEquals(19, offsets.committable());
+            assertEquals(0, offsets.inFlight());
+            assertEquals(12, offsets.lastCommitted());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.google.common.base.Preconditions;
 import io.zyient.base.common.model.Context;
 import io.zyient.base.common.model.entity.IEntity;
 import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.core.BaseEnv;
 import io.zyient.base.core.utils.Timer;
 import io.zyient.core.persistence.model.BaseEntity;
@@ -32,6 +33,7 @@ import org.apache.commons.configuration2.ex.ConfigurationException;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Getter
@@ -79,6 +81,7 @@ public abstract class AbstractDataStore<T> implements Closeable {
     protected AbstractDataStoreSettings settings;
     protected BaseEnv<?> env;
     private final Map<String, QueryParser<?, ?>> parsers = new HashMap<>();
+    private EntityCache cache = null;
 
     public String name() {
         Preconditions.checkNotNull(settings);
@@ -113,6 +116,14 @@ public abstract class AbstractDataStore<T> implements Closeable {
                                 settings.getConnectionName(), settings.getConnectionType().getCanonicalName()));
             }
             configure();
+            if (settings.getCachedTypes() != null && !settings.getCachedTypes().isEmpty()) {
+                if (writesVisible()) {
+                    cache = new EntityCache(settings.getCachedTypes(), settings.getCacheSize().normalized());
+                } else {
+                    DefaultLogger.warn(String.format("Entity cache disabled, writes are not visible on return. [store=%s]",
+                            settings.getName()));
+                }
+            }
             setupMonitoring(env);
             state.setState(DataStoreState.EDataStoreState.Available);
         } catch (Exception ex) {
@@ -149,7 +160,11 @@ public abstract class AbstractDataStore<T> implements Closeable {
                     ((BaseEntity<?>) entity).setCreatedTime(System.nanoTime());
                     ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
                 }
-                return createEntity(entity, type, context);
+                try {
+                    return createEntity(entity, type, context);
+                } finally {
+                    invalidate(entity, type);
+                }
             }
         } catch (Throwable t) {
             metrics.createCounterError().increment();
@@ -169,7 +184,11 @@ public abstract class AbstractDataStore<T> implements Closeable {
                 if (entity instanceof BaseEntity<?>) {
                     ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
                 }
-                return updateEntity(entity, type, context);
+                try {
+                    return updateEntity(entity, type, context);
+                } finally {
+                    invalidate(entity, type);
+                }
             }
         } catch (Throwable t) {
             metrics.updateCounterError().increment();
@@ -191,7 +210,11 @@ public abstract class AbstractDataStore<T> implements Closeable {
                 if (entity instanceof BaseEntity<?>) {
                     ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
                 }
-                return upsertEntity(entity, type, context);
+                try {
+                    return upsertEntity(entity, type, context);
+                } finally {
+                    invalidate(entity, type);
+                }
             }
         } catch (Throwable t) {
             metrics.updateCounterError().increment();
@@ -212,7 +235,11 @@ public abstract class AbstractDataStore<T> implements Closeable {
         try {
             metrics.deleteCounter().increment();
             try (Timer t = new Timer(metrics.deleteTimer())) {
-                return deleteEntity(key, type, context);
+                try {
+                    return deleteEntity(key, type, context);
+                } finally {
+                    invalidate(key, type);
+                }
             }
         } catch (Throwable t) {
             metrics.deleteCounterError().increment();
@@ -225,6 +252,202 @@ public abstract class AbstractDataStore<T> implements Closeable {
                                                                 Context context) throws
             DataStoreException;
 
+    /**
+     * Create a batch of entities, mapped to the native batch write of the store (where supported).
+     * Failures are reported per-item in the returned result.
+     *
+     * @param entities - Entities to create
+     * @param type     - Entity type
+     * @param context  - Call context
+     * @return - Per-item results
+     * @throws DataStoreException
+     */
+    public <E extends IEntity<?>> BulkResult<E> createAll(@NonNull List<E> entities,
+                                                          @NonNull Class<? extends E> type,
+                                                          Context context) throws
+            DataStoreException {
+        state.check(DataStoreState.EDataStoreState.Available);
+        try {
+            metrics.createCounter().increment(entities.size());
+            try (Timer t = new Timer(metrics.createTimer())) {
+                for (E entity : entities) {
+                    if (entity instanceof BaseEntity<?>) {
+                        ((BaseEntity<?>) entity).setCreatedTime(System.nanoTime());
+                        ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
+                    }
+                }
+                try {
+                    BulkResult<E> result = createEntities(entities, type, context);
+                    metrics.createCounterError().increment(result.errorCount());
+                    return result;
+                } finally {
+                    for (E entity : entities) {
+                        invalidate(entity, type);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            metrics.createCounterError().increment();
+            throw new DataStoreException(t);
+        }
+    }
+
+    protected <E extends IEntity<?>> BulkResult<E> createEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws
+            DataStoreException {
+        BulkResult<E> result = new BulkResult<>(entities);
+        for (int ii = 0; ii < entities.size(); ii++) {
+            try {
+                result.success(ii, createEntity(entities.get(ii), type, context));
+            } catch (Exception ex) {
+                result.error(ii, ex);
+            }
+        }
+        return result;
+    }
+
+    public <E extends IEntity<?>> BulkResult<E> updateAll(@NonNull List<E> entities,
+                                                          @NonNull Class<? extends E> type,
+                                                          Context context) throws
+            DataStoreException {
+        state.check(DataStoreState.EDataStoreState.Available);
+        try {
+            metrics.updateCounter().increment(entities.size());
+            try (Timer t = new Timer(metrics.updateTimer())) {
+                for (E entity : entities) {
+                    if (entity instanceof BaseEntity<?>) {
+                        ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
+                    }
+                }
+                try {
+                    BulkResult<E> result = updateEntities(entities, type, context);
+                    metrics.updateCounterError().increment(result.errorCount());
+                    return result;
+                } finally {
+                    for (E entity : entities) {
+                        invalidate(entity, type);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            metrics.updateCounterError().increment();
+            throw new DataStoreException(t);
+        }
+    }
+
+    protected <E extends IEntity<?>> BulkResult<E> updateEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws
+            DataStoreException {
+        BulkResult<E> result = new BulkResult<>(entities);
+        for (int ii = 0; ii < entities.size(); ii++) {
+            try {
+                result.success(ii, updateEntity(entities.get(ii), type, context));
+            } catch (Exception ex) {
+                result.error(ii, ex);
+            }
+        }
+        return result;
+    }
+
+    public <E extends IEntity<?>> BulkResult<E> upsertAll(@NonNull List<E> entities,
+                                                          @NonNull Class<? extends E> type,
+                                                          Context context) throws
+            DataStoreException {
+        state.check(DataStoreState.EDataStoreState.Available);
+        try {
+            metrics.updateCounter().increment(entities.size());
+            try (Timer t = new Timer(metrics.updateTimer())) {
+                for (E entity : entities) {
+                    if (entity instanceof BaseEntity<?>) {
+                        ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
+                    }
+                }
+                try {
+                    BulkResult<E> result = upsertEntities(entities, type, context);
+                    metrics.updateCounterError().increment(result.errorCount());
+                    return result;
+                } finally {
+                    for (E entity : entities) {
+                        invalidate(entity, type);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            metrics.updateCounterError().increment();
+            throw new DataStoreException(t);
+        }
+    }
+
+    protected <E extends IEntity<?>> BulkResult<E> upsertEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws
+            DataStoreException {
+        BulkResult<E> result = new BulkResult<>(entities);
+        for (int ii = 0; ii < entities.size(); ii++) {
+            try {
+                result.success(ii, upsertEntity(entities.get(ii), type, context));
+            } catch (Exception ex) {
+                result.error(ii, ex);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Delete a batch of entities, keys not found are reported as NotFound.
+     *
+     * @param keys    - Entity keys
+     * @param type    - Entity type
+     * @param context - Call context
+     * @return - Per-item results
+     * @throws DataStoreException
+     */
+    public <E extends IEntity<?>> BulkResult<Object> deleteAll(@NonNull List<?> keys,
+                                                               @NonNull Class<? extends E> type,
+                                                               Context context) throws
+            DataStoreException {
+        state.check(DataStoreState.EDataStoreState.Available);
+        try {
+            metrics.deleteCounter().increment(keys.size());
+            try (Timer t = new Timer(metrics.deleteTimer())) {
+                try {
+                    BulkResult<Object> result = deleteEntities(keys, type, context);
+                    metrics.deleteCounterError().increment(result.errorCount());
+                    return result;
+                } finally {
+                    for (Object key : keys) {
+                        invalidate(key, type);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            metrics.deleteCounterError().increment();
+            throw new DataStoreException(t);
+        }
+    }
+
+    protected <E extends IEntity<?>> BulkResult<Object> deleteEntities(@NonNull List<?> keys,
+                                                                       @NonNull Class<? extends E> type,
+                                                                       Context context) throws
+            DataStoreException {
+        BulkResult<Object> result = new BulkResult<>(keys);
+        for (int ii = 0; ii < keys.size(); ii++) {
+            Object key = keys.get(ii);
+            try {
+                if (deleteEntity(key, type, context)) {
+                    result.success(ii, key);
+                } else {
+                    result.notFound(ii);
+                }
+            } catch (Exception ex) {
+                result.error(ii, ex);
+            }
+        }
+        return result;
+    }
+
     public <E extends IEntity<?>> E find(@NonNull Object key,
                                          @NonNull Class<? extends E> type,
                                          Context context) throws
@@ -233,6 +456,9 @@ public abstract class AbstractDataStore<T> implements Closeable {
         try {
             metrics.readCounter().increment();
             try (Timer t = new Timer(metrics.readTimer())) {
+                if (cache != null && cache.handles(type) && !inTransaction()) {
+                    return findCached(key, type, context);
+                }
                 return findEntity(key, type, context);
             }
         } catch (Throwable t) {
@@ -241,6 +467,43 @@ public abstract class AbstractDataStore<T> implements Closeable {
         }
     }
 
+    /**
+     * Read-through lookup for cached types: on a miss the entity is read from the store
+     * with refresh set (stores only re-read entities already held in a session level cache)
+     * and published unless a write to the same type was invalidated in the meantime.
+     */
+    private <E extends IEntity<?>> E findCached(@NonNull Object key,
+                                                @NonNull Class<? extends E> type,
+                                                Context context) throws Exception {
+        if (!doRefresh(context)) {
+            E entity = cache.get(key, type);
+            if (entity != null) {
+                metrics.cacheHitCounter().increment();
+                return entity;
+            }
+        }
+        metrics.cacheMissCounter().increment();
+        long generation = cache.generation(type);
+        if (context == null) {
+            context = new Context();
+        }
+        Object refresh = context.get(CONTEXT_KEY_REFRESH);
+        context.put(CONTEXT_KEY_REFRESH, true);
+        try {
+            E entity = findEntity(key, type, context);
+            if (entity != null) {
+                cache.put(key, entity, type, generation);
+            }
+            return entity;
+        } finally {
+            if (refresh == null) {
+                context.remove(CONTEXT_KEY_REFRESH);
+            } else {
+                context.put(CONTEXT_KEY_REFRESH, refresh);
+            }
+        }
+    }
+
     public abstract <E extends IEntity<?>> E findEntity(@NonNull Object key,
                                                         @NonNull Class<? extends E> type,
                                                         Context context) throws
@@ -311,6 +574,48 @@ public abstract class AbstractDataStore<T> implements Closeable {
         }
     }
 
+    /**
+     * Remove the entity from the entity cache (if the type is cached).
+     *
+     * @param entity - Entity instance or entity key
+     * @param type   - Entity type
+     */
+    protected void invalidate(Object entity, @NonNull Class<?> type) {
+        if (cache == null || entity == null || !cache.handles(type)) {
+            return;
+        }
+        Object key = entity;
+        if (entity instanceof IEntity<?>) {
+            key = ((IEntity<?>) entity).entityKey();
+            if (key == null) {
+                return;
+            }
+        }
+        cache.invalidate(key, type);
+        invalidated(key, type);
+    }
+
+    /**
+     * Hook invoked after a cache entry was invalidated by a write through this store.
+     */
+    protected void invalidated(@NonNull Object key, @NonNull Class<?> type) {
+    }
+
+    /**
+     * Are writes visible to reads once the write call returns? If not, a read right after a write
+     * could cache the previous value, the entity cache is disabled for such stores.
+     */
+    protected boolean writesVisible() {
+        return true;
+    }
+
+    /**
+     * Reads within an active transaction bypass the entity cache.
+     */
+    protected boolean inTransaction() {
+        return false;
+    }
+
     public long nextSequence(@NonNull String name) throws Exception {
         state.check(DataStoreState.EDataStoreState.Available);
         return dataStoreManager().nextSequence(name(), name);
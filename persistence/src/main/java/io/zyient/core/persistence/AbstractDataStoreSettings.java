@@ -20,9 +20,13 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.zyient.base.common.config.Config;
 import io.zyient.base.common.config.Settings;
+import io.zyient.base.common.config.units.SpaceUnitValue;
+import io.zyient.base.common.config.units.SpaceValueParser;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Set;
+
 @Getter
 @Setter
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
@@ -32,6 +36,7 @@ public class AbstractDataStoreSettings extends Settings {
     public static final long SEQUENCE_BLOCK_SIZE = 8;
 
     private static final int DEFAULT_MAX_RESULTS = 500;
+    private static final int DEFAULT_BATCH_SIZE = 100;
     @Config(name = "class", type = Class.class)
     private Class<? extends AbstractDataStore<?>> dataStoreClass;
     @Config(name = "name")
@@ -51,4 +56,10 @@ public class AbstractDataStoreSettings extends Settings {
     private EDataStoreType type;
     @Config(name = "sequenceBlockSize", required = false, type = Long.class)
     private long sequenceBlockSize = SEQUENCE_BLOCK_SIZE;
+    @Config(name = "batchSize", required = false, type = Integer.class)
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    @Config(name = "cache.types", required = false, parser = ClassSetParser.class)
+    private Set<Class<?>> cachedTypes;
+    @Config(name = "cache.maxSize", required = false, parser = SpaceValueParser.class)
+    private SpaceUnitValue cacheSize = new SpaceUnitValue(32, SpaceUnitValue.SpaceUnit.MEGABYTES);
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-item results of a bulk data store operation, items are in the order of the input.
+ *
+ * @param <T> - Entity type (key type for deletes)
+ */
+@Getter
+@Accessors(fluent = true)
+public class BulkResult<T> {
+    public enum EStatus {
+        Pending, Success, NotFound, Failed
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    public static class Item<T> {
+        private final int index;
+        private T value;
+        private EStatus status = EStatus.Pending;
+        private Throwable error;
+
+        public Item(int index, T value) {
+            this.index = index;
+            this.value = value;
+        }
+
+        public boolean succeeded() {
+            return status == EStatus.Success;
+        }
+    }
+
+    private final List<Item<T>> items;
+
+    public BulkResult(@NonNull List<? extends T> values) {
+        items = new ArrayList<>(values.size());
+        for (int ii = 0; ii < values.size(); ii++) {
+            items.add(new Item<>(ii, values.get(ii)));
+        }
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public Item<T> get(int index) {
+        return items.get(index);
+    }
+
+    public BulkResult<T> success(int index, T value) {
+        Item<T> item = items.get(index);
+        item.value = value;
+        item.status = EStatus.Success;
+        return this;
+    }
+
+    public BulkResult<T> notFound(int index) {
+        items.get(index).status = EStatus.NotFound;
+        return this;
+    }
+
+    public BulkResult<T> error(int index, @NonNull Throwable error) {
+        Item<T> item = items.get(index);
+        item.status = EStatus.Failed;
+        item.error = error;
+        return this;
+    }
+
+    /**
+     * Mark all the pending items as failed.
+     *
+     * @param error - Batch error
+     * @return - Self
+     */
+    public BulkResult<T> errorPending(@NonNull Throwable error) {
+        for (Item<T> item : items) {
+            if (item.status == EStatus.Pending) {
+                item.status = EStatus.Failed;
+                item.error = error;
+            }
+        }
+        return this;
+    }
+
+    public int errorCount() {
+        int count = 0;
+        for (Item<T> item : items) {
+            if (item.status == EStatus.Failed) count++;
+        }
+        return count;
+    }
+
+    public boolean hasErrors() {
+        return errorCount() > 0;
+    }
+
+    /**
+     * Get the values of the successful items.
+     *
+     * @return - List of values
+     */
+    public List<T> values() {
+        List<T> values = new ArrayList<>();
+        for (Item<T> item : items) {
+            if (item.succeeded()) {
+                values.add(item.value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Get the first error (if any).
+     *
+     * @return - Error or NULL
+     */
+    public Throwable firstError() {
+        for (Item<T> item : items) {
+            if (item.status == EStatus.Failed) return item.error;
+        }
+        return null;
+    }
+}
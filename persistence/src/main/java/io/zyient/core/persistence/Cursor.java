@@ -25,16 +25,38 @@ import lombok.experimental.Accessors;
 
 import java.io.Closeable;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+/**
+ * Page-wise iterator over search results. When prefetch is enabled the next page is
+ * read on a background thread while the caller is processing the current one; the
+ * implementation's next(page) is still only invoked by one thread at a time and always
+ * for consecutive pages. Cursors reading through the caller's (thread bound) session
+ * cannot prefetch.
+ */
 @Getter
 @Setter
 @Accessors(fluent = true)
 public abstract class Cursor<K extends IKey, E extends IEntity<K>> implements Closeable {
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "cursor-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private int pageSize = 256;
     @Setter(AccessLevel.NONE)
     private int currentPage = 0;
     @Setter(AccessLevel.NONE)
     private boolean EOF = false;
+    @Setter(AccessLevel.NONE)
+    private boolean prefetch = false;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Future<List<E>> prefetched = null;
 
     protected Cursor(int currentPage) {
         if (currentPage < 0) {
@@ -43,14 +65,45 @@ public abstract class Cursor<K extends IKey, E extends IEntity<K>> implements Cl
         this.currentPage = currentPage;
     }
 
+    /**
+     * Enable reading the next page on a background thread.
+     *
+     * @param prefetch - Prefetch the next page?
+     * @return - Self
+     */
+    public Cursor<K, E> prefetch(boolean prefetch) {
+        if (prefetch && sessionBound()) {
+            throw new IllegalArgumentException(
+                    String.format("Prefetch not supported, cursor is bound to the caller's session. [type=%s]",
+                            getClass().getCanonicalName()));
+        }
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    /**
+     * Is the cursor read through a session bound to the calling thread (cannot be read from
+     * another thread)?
+     *
+     * @return - Session bound?
+     */
+    protected boolean sessionBound() {
+        return false;
+    }
+
     public List<E> nextPage() throws DataStoreException {
         if (!EOF) {
-            List<E> result = next(currentPage);
+            List<E> result = fetch(currentPage);
             if (result != null) {
                 if (result.size() < pageSize) {
                     EOF = true;
-                } else
+                } else {
                     currentPage++;
+                    if (prefetch) {
+                        final int page = currentPage;
+                        prefetched = PREFETCH_EXECUTOR.submit(() -> next(page));
+                    }
+                }
             } else {
                 EOF = true;
             }
@@ -59,5 +112,42 @@ public abstract class Cursor<K extends IKey, E extends IEntity<K>> implements Cl
         return null;
     }
 
+    private List<E> fetch(int page) throws DataStoreException {
+        if (prefetched != null) {
+            Future<List<E>> future = prefetched;
+            prefetched = null;
+            try {
+                return future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new DataStoreException(ex);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof DataStoreException) {
+                    throw (DataStoreException) cause;
+                }
+                throw new DataStoreException(cause);
+            }
+        }
+        return next(page);
+    }
+
+    /**
+     * Wait for (and discard) any in-flight prefetch, implementations should call
+     * this before releasing the underlying resources in close().
+     */
+    protected void cancelPrefetch() {
+        if (prefetched != null) {
+            Future<List<E>> future = prefetched;
+            prefetched = null;
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ignored) {
+            }
+        }
+    }
+
     protected abstract List<E> next(int page) throws DataStoreException;
 }
@@ -43,6 +43,8 @@ public class DataStoreMetrics extends MetricsBase {
     public static final String METRIC_TAG_CREATE_ERROR = "CREATE_ERROR";
     public static final String METRIC_TAG_UPDATE_ERROR = "UPDATE_ERROR";
     public static final String METRIC_TAG_DELETE_ERROR = "DELETE_ERROR";
+    public static final String METRIC_TAG_CACHE_HIT = "CACHE_HIT";
+    public static final String METRIC_TAG_CACHE_MISS = "CACHE_MISS";
 
     private Counter readCounter;
     private Counter searchCounter;
@@ -62,6 +64,9 @@ public class DataStoreMetrics extends MetricsBase {
     private Counter updateCounterError;
     private Counter deleteCounterError;
 
+    private Counter cacheHitCounter;
+    private Counter cacheMissCounter;
+
     public DataStoreMetrics(@NonNull String engine,
                             @NonNull String name,
                             @NonNull String sourceType,
@@ -86,5 +91,8 @@ public class DataStoreMetrics extends MetricsBase {
         createCounterError = addCounter(METRIC_TAG_CREATE_ERROR, tags);
         updateCounterError = addCounter(METRIC_TAG_UPDATE_ERROR, tags);
         deleteCounterError = addCounter(METRIC_TAG_DELETE_ERROR, tags);
+
+        cacheHitCounter = addCounter(METRIC_TAG_CACHE_HIT, tags);
+        cacheMissCounter = addCounter(METRIC_TAG_CACHE_MISS, tags);
     }
 }
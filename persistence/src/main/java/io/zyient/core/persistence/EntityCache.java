@@ -0,0 +1,141 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence;
+
+import io.zyient.base.common.cache.LRUCache;
+import io.zyient.base.common.model.entity.EEntityState;
+import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.core.persistence.model.BaseEntity;
+import lombok.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache for the entity types configured on a data store.
+ * <p>
+ * Entities are stored serialized, bounded by their size in bytes, so callers never share
+ * (or mutate) a cached instance. Each type carries a generation counter that is bumped on
+ * every invalidation; a value loaded before a concurrent write is never published.
+ */
+public class EntityCache {
+    private static class TypeCache {
+        private final LRUCache<String, byte[]> cache;
+        private final AtomicLong generation = new AtomicLong(0);
+
+        private TypeCache(long maxSize) {
+            cache = new LRUCache<>(maxSize, (key, value) -> key.length() + value.length);
+        }
+    }
+
+    private final Map<Class<?>, TypeCache> caches = new HashMap<>();
+
+    public EntityCache(@NonNull Set<Class<?>> types, long maxSize) {
+        for (Class<?> type : types) {
+            caches.put(type, new TypeCache(maxSize));
+        }
+    }
+
+    public boolean handles(@NonNull Class<?> type) {
+        return caches.containsKey(type);
+    }
+
+    public long generation(@NonNull Class<?> type) {
+        TypeCache cache = caches.get(type);
+        if (cache != null) {
+            return cache.generation.get();
+        }
+        return -1;
+    }
+
+    public <E> E get(@NonNull Object key, @NonNull Class<? extends E> type) throws Exception {
+        TypeCache cache = caches.get(type);
+        if (cache != null) {
+            byte[] data = cache.cache.get(key(key)).orElse(null);
+            if (data != null) {
+                E entity = JSONUtils.read(data, type);
+                if (entity instanceof BaseEntity<?>) {
+                    ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
+                }
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add the loaded entity, unless the type has been invalidated since the specified
+     * generation was read (i.e. the entity may be stale).
+     */
+    public boolean put(@NonNull Object key,
+                       @NonNull Object entity,
+                       @NonNull Class<?> type,
+                       long generation) {
+        TypeCache cache = caches.get(type);
+        if (cache == null || cache.generation.get() != generation) {
+            return false;
+        }
+        String k = key(key);
+        try {
+            cache.cache.put(k, JSONUtils.asBytes(entity));
+        } catch (Exception ex) {
+            DefaultLogger.debug(String.format("Entity not cacheable. [type=%s][key=%s][error=%s]",
+                    type.getCanonicalName(), k, ex.getLocalizedMessage()));
+            return false;
+        }
+        if (cache.generation.get() != generation) {
+            cache.cache.remove(k);
+            return false;
+        }
+        return true;
+    }
+
+    public void invalidate(@NonNull Object key, @NonNull Class<?> type) {
+        TypeCache cache = caches.get(type);
+        if (cache != null) {
+            cache.generation.incrementAndGet();
+            cache.cache.remove(key(key));
+        }
+    }
+
+    public void invalidate(@NonNull Class<?> type) {
+        TypeCache cache = caches.get(type);
+        if (cache != null) {
+            cache.generation.incrementAndGet();
+            cache.cache.clear();
+        }
+    }
+
+    public int size(@NonNull Class<?> type) {
+        TypeCache cache = caches.get(type);
+        if (cache != null) {
+            return cache.cache.size();
+        }
+        return 0;
+    }
+
+    public static String key(@NonNull Object key) {
+        if (key instanceof IKey) {
+            return ((IKey) key).stringKey();
+        }
+        return key.toString();
+    }
+}
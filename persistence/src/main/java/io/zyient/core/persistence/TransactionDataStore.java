@@ -17,17 +17,24 @@
 package io.zyient.core.persistence;
 
 import com.google.common.base.Preconditions;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Setter
 @Accessors(fluent = true)
 public abstract class TransactionDataStore<C, T> extends AbstractDataStore<C> {
     private StoreSessionManager<C, T> sessionManager;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ThreadLocal<List<Object[]>> invalidations = ThreadLocal.withInitial(ArrayList::new);
 
 
     @Override
@@ -60,7 +67,11 @@ public abstract class TransactionDataStore<C, T> extends AbstractDataStore<C> {
     public void commit() throws DataStoreException {
         checkState();
         Preconditions.checkState(isInTransaction());
-        sessionManager.commit();
+        try {
+            sessionManager.commit();
+        } finally {
+            flushInvalidations();
+        }
     }
 
     public void rollback(boolean raiseError) throws DataStoreException {
@@ -70,7 +81,45 @@ public abstract class TransactionDataStore<C, T> extends AbstractDataStore<C> {
                 return;
             }
         }
-        sessionManager().rollback();
+        try {
+            sessionManager().rollback();
+        } finally {
+            flushInvalidations();
+        }
+    }
+
+    @Override
+    protected boolean inTransaction() {
+        try {
+            return isInTransaction();
+        } catch (DataStoreException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes inside a transaction are invalidated again once the transaction ends, a
+     * concurrent reader may have cached the previously committed version in between.
+     */
+    @Override
+    protected void invalidated(@NonNull Object key, @NonNull Class<?> type) {
+        if (inTransaction()) {
+            invalidations.get().add(new Object[]{key, type});
+        }
+    }
+
+    private void flushInvalidations() {
+        List<Object[]> pending = invalidations.get();
+        if (pending.isEmpty()) {
+            return;
+        }
+        invalidations.remove();
+        EntityCache cache = cache();
+        if (cache != null) {
+            for (Object[] entry : pending) {
+                cache.invalidate(entry[0], (Class<?>) entry[1]);
+            }
+        }
     }
 
     public void endSession() throws DataStoreException {
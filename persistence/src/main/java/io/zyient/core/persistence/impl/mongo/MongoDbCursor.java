@@ -25,22 +25,35 @@ import lombok.NonNull;
 import java.io.IOException;
 import java.util.List;
 
+/**
+ * Pages by seeking past the last document id read (keyset paging) when the query is
+ * ordered only on _id and iterated from the first page; otherwise uses skip/limit.
+ */
 public class MongoDbCursor<K extends IKey, E extends IEntity<K>> extends Cursor<K, E> {
     private final Class<? extends K> keyType;
     private final Class<? extends E> entityType;
     private final MongoDbDataStore dataStore;
     private final String query;
+    private int direction = 0;
+    private int seekPage = -1;
+    private String lastKey = null;
 
     public MongoDbCursor(@NonNull Class<? extends K> keyType,
                          @NonNull Class<? extends E> entityType,
                          @NonNull MongoDbDataStore dataStore,
                          @NonNull String query,
-                         int currentPage) {
+                         int currentPage) throws DataStoreException {
         super(currentPage);
         this.keyType = keyType;
         this.entityType = entityType;
         this.dataStore = dataStore;
         this.query = query;
+        if (currentPage() == 0) {
+            direction = dataStore.seekDirection(query);
+            if (direction != 0) {
+                seekPage = 0;
+            }
+        }
     }
 
     public MongoDbCursor(@NonNull MongoDbCursor<K, E> cursor) {
@@ -49,16 +62,29 @@ public class MongoDbCursor<K extends IKey, E extends IEntity<K>> extends Cursor<
         this.entityType = cursor.entityType;
         this.dataStore = cursor.dataStore;
         this.query = cursor.query;
+        this.direction = cursor.direction;
+        this.seekPage = cursor.seekPage;
+        this.lastKey = cursor.lastKey;
+        pageSize(cursor.pageSize());
+        prefetch(cursor.prefetch());
     }
 
     @Override
     protected List<E> next(int page) throws DataStoreException {
+        if (direction != 0 && page == seekPage) {
+            List<E> result = dataStore.executeSeek(query, lastKey, direction, pageSize(), keyType, entityType, null);
+            if (result != null && !result.isEmpty()) {
+                lastKey = result.get(result.size() - 1).entityKey().stringKey();
+                seekPage = page + 1;
+            }
+            return result;
+        }
         int offset = page * pageSize();
         return dataStore.executeSearch(query, offset, pageSize(), keyType, entityType, null);
     }
 
     @Override
     public void close() throws IOException {
-
+        cancelPrefetch();
     }
 }
@@ -22,14 +22,23 @@ import com.github.vincentrussell.query.mongodb.sql.converter.QueryResultIterator
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.ReadConcern;
 import com.mongodb.ReadPreference;
 import com.mongodb.TransactionOptions;
 import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.InsertOneResult;
 import com.mongodb.client.result.UpdateResult;
@@ -57,9 +66,7 @@ import org.bson.Document;
 import org.bson.conversions.Bson;
 
 import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, MongoTransaction> {
 
@@ -315,6 +322,235 @@ public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, Mongo
         }
     }
 
+    private enum EBulkWrite {
+        Create, Update, Upsert
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BulkResult<E> createEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws DataStoreException {
+        return writeEntities(entities, type, context, EBulkWrite.Create);
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BulkResult<E> updateEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws DataStoreException {
+        return writeEntities(entities, type, context, EBulkWrite.Update);
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BulkResult<E> upsertEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws DataStoreException {
+        return writeEntities(entities, type, context, EBulkWrite.Upsert);
+    }
+
+    /**
+     * Batched writes: Morphia entities are saved as a list, JSON entities are written using an un-ordered
+     * bulkWrite (per-item errors are mapped from the bulk write errors).
+     */
+    private <E extends IEntity<?>> BulkResult<E> writeEntities(List<E> entities,
+                                                               Class<? extends E> type,
+                                                               Context context,
+                                                               EBulkWrite op) throws DataStoreException {
+        checkState();
+        Preconditions.checkState(isInTransaction());
+        BulkResult<E> result = new BulkResult<>(entities);
+        try {
+            MorphiaSession session = sessionManager().session();
+            boolean morphia = ReflectionHelper.isSuperType(MongoEntity.class, type);
+            MongoCollection<Document> collection = null;
+            if (!morphia) {
+                collection = session.getDatabase().getCollection(getCollection(type));
+            }
+            int batchSize = settings.getBatchSize();
+            for (int start = 0; start < entities.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, entities.size());
+                Set<String> existing = null;
+                if (op == EBulkWrite.Update) {
+                    List<String> keys = new ArrayList<>(end - start);
+                    for (int ii = start; ii < end; ii++) {
+                        keys.add(entities.get(ii).entityKey().stringKey());
+                    }
+                    existing = existingKeys(session, type, keys);
+                }
+                List<Integer> indexes = new ArrayList<>(end - start);
+                List<E> batch = new ArrayList<>(end - start);
+                List<WriteModel<Document>> models = new ArrayList<>(end - start);
+                for (int ii = start; ii < end; ii++) {
+                    E entity = entities.get(ii);
+                    try {
+                        String key = entity.entityKey().stringKey();
+                        if (existing != null && !existing.contains(key)) {
+                            throw new DataStoreException(String.format("Entity not found. [key=%s][type=%s]",
+                                    key, type.getCanonicalName()));
+                        }
+                        entity.validate();
+                        if (morphia) {
+                            ((MongoEntity<?>) entity).preSave();
+                            if (op == EBulkWrite.Create) {
+                                checkReferences(entity, context);
+                            }
+                            ((MongoEntity<?>) entity).getState().setState(EEntityState.Synced);
+                            batch.add(entity);
+                        } else {
+                            Document doc = toDocument(entity, type);
+                            Bson filter = com.mongodb.client.model.Filters.eq(JsonFieldConstants.FIELD_DOC_ID, key);
+                            switch (op) {
+                                case Create -> models.add(new InsertOneModel<>(doc));
+                                case Update -> models.add(new ReplaceOneModel<>(filter, doc));
+                                case Upsert -> models.add(new ReplaceOneModel<>(filter, doc,
+                                        new ReplaceOptions().upsert(true)));
+                            }
+                        }
+                        indexes.add(ii);
+                    } catch (Exception ex) {
+                        result.error(ii, ex);
+                    }
+                }
+                if (indexes.isEmpty()) continue;
+                if (morphia) {
+                    try {
+                        List<E> saved = session.save(batch);
+                        for (int ii = 0; ii < indexes.size(); ii++) {
+                            result.success(indexes.get(ii), saved.get(ii));
+                        }
+                    } catch (Exception ex) {
+                        for (int index : indexes) {
+                            result.error(index, ex);
+                        }
+                    }
+                } else {
+                    bulkWrite(collection, models, indexes, result, type);
+                }
+            }
+            return result;
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            throw new DataStoreException(ex);
+        }
+    }
+
+    private <E extends IEntity<?>> Document toDocument(E entity, Class<? extends E> type) throws Exception {
+        if (entity instanceof BaseEntity<?>) {
+            ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
+        }
+        String json = JSONUtils.asString(entity);
+        Document doc = Document.parse(json);
+        doc.put(JsonFieldConstants.FIELD_DOC_ID, entity.entityKey().stringKey());
+        doc.put(JsonFieldConstants.FIELD_DOC_TYPE, type.getCanonicalName());
+        if (!(entity instanceof BaseEntity<?>)) {
+            doc.put(JsonFieldConstants.FIELD_DOC_CREATED, System.nanoTime());
+            doc.put(JsonFieldConstants.FIELD_DOC_LAST_UPDATED, System.nanoTime());
+        }
+        return doc;
+    }
+
+    private <E extends IEntity<?>> void bulkWrite(MongoCollection<Document> collection,
+                                                  List<WriteModel<Document>> models,
+                                                  List<Integer> indexes,
+                                                  BulkResult<E> result,
+                                                  Class<? extends E> type) throws DataStoreException {
+        Set<Integer> failed = new HashSet<>();
+        try {
+            BulkWriteResult br = collection.bulkWrite(models, new BulkWriteOptions().ordered(false));
+            if (!br.wasAcknowledged()) {
+                throw new DataStoreException(String.format("Bulk write not acknowledged. [type=%s][count=%d]",
+                        type.getCanonicalName(), models.size()));
+            }
+        } catch (MongoBulkWriteException ex) {
+            for (BulkWriteError error : ex.getWriteErrors()) {
+                int index = indexes.get(error.getIndex());
+                failed.add(index);
+                result.error(index, new DataStoreException(String.format("Write failed. [code=%d][error=%s]",
+                        error.getCode(), error.getMessage())));
+            }
+        }
+        for (int index : indexes) {
+            if (!failed.contains(index)) {
+                result.success(index, result.get(index).value());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends IEntity<?>> Set<String> existingKeys(MorphiaSession session,
+                                                            Class<? extends E> type,
+                                                            List<String> keys) throws Exception {
+        Set<String> existing = new HashSet<>();
+        if (keys.isEmpty()) return existing;
+        if (ReflectionHelper.isSuperType(MongoEntity.class, type)) {
+            Query<E> query = (Query<E>) session.find(type)
+                    .filter(Filters.in(JsonFieldConstants.FIELD_DOC_ID, keys));
+            try (MorphiaCursor<E> cursor = query.iterator()) {
+                while (cursor.hasNext()) {
+                    existing.add(cursor.next().entityKey().stringKey());
+                }
+            }
+        } else {
+            MongoCollection<Document> collection = session.getDatabase().getCollection(getCollection(type));
+            Bson filter = com.mongodb.client.model.Filters.in(JsonFieldConstants.FIELD_DOC_ID, keys);
+            for (Document document : collection.find(filter)
+                    .projection(Projections.include(JsonFieldConstants.FIELD_DOC_ID))) {
+                existing.add(String.valueOf(document.get(JsonFieldConstants.FIELD_DOC_ID)));
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <E extends IEntity<?>> BulkResult<Object> deleteEntities(@NonNull List<?> keys,
+                                                                       @NonNull Class<? extends E> type,
+                                                                       Context context) throws DataStoreException {
+        checkState();
+        Preconditions.checkState(isInTransaction());
+        BulkResult<Object> result = new BulkResult<>(keys);
+        try {
+            MorphiaSession session = sessionManager().session();
+            int batchSize = settings.getBatchSize();
+            for (int start = 0; start < keys.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, keys.size());
+                List<String> values = new ArrayList<>(end - start);
+                for (int ii = start; ii < end; ii++) {
+                    Object key = keys.get(ii);
+                    if (key instanceof String) {
+                        values.add((String) key);
+                    } else if (key instanceof IKey) {
+                        values.add(((IKey) key).stringKey());
+                    } else {
+                        throw new DataStoreException(String.format("Key type not supported. [type=%s]",
+                                key.getClass().getCanonicalName()));
+                    }
+                }
+                Set<String> existing = existingKeys(session, type, values);
+                if (!existing.isEmpty()) {
+                    if (ReflectionHelper.isSuperType(MongoEntity.class, type)) {
+                        Query<E> query = (Query<E>) session.find(type)
+                                .filter(Filters.in(JsonFieldConstants.FIELD_DOC_ID, existing));
+                        query.delete(new DeleteOptions().multi(true));
+                    } else {
+                        MongoCollection<Document> collection = session.getDatabase().getCollection(getCollection(type));
+                        collection.deleteMany(com.mongodb.client.model.Filters.in(JsonFieldConstants.FIELD_DOC_ID, existing));
+                    }
+                }
+                for (int ii = start; ii < end; ii++) {
+                    if (existing.contains(values.get(ii - start))) {
+                        result.success(ii, keys.get(ii));
+                    } else {
+                        result.notFound(ii);
+                    }
+                }
+            }
+            return result;
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            throw new DataStoreException(ex);
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <E extends IEntity<?>> E findEntity(@NonNull Object key,
@@ -464,6 +700,99 @@ public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, Mongo
         }
     }
 
+    /**
+     * Returns the _id sort direction (1/-1) if the query can be paged by seeking on the
+     * document id, or 0 if it is ordered on other fields and needs offset paging.
+     */
+    public int seekDirection(@NonNull String query) throws DataStoreException {
+        try {
+            QueryConverter queryConverter = new QueryConverter.Builder().sqlString(query).build();
+            Document qsort = queryConverter.getMongoQuery().getSort();
+            if (qsort == null || qsort.isEmpty()) {
+                return 1;
+            }
+            if (qsort.size() == 1 && qsort.containsKey(JsonFieldConstants.FIELD_DOC_ID)) {
+                Object dir = qsort.get(JsonFieldConstants.FIELD_DOC_ID);
+                if (dir instanceof Number) {
+                    return (((Number) dir).intValue() < 0 ? -1 : 1);
+                }
+            }
+            return 0;
+        } catch (Exception ex) {
+            throw new DataStoreException(ex);
+        }
+    }
+
+    /**
+     * Keyset variant of executeSearch: returns the next maxResults records after the
+     * specified document id (null for the first page) without skipping over the
+     * preceding records.
+     */
+    public <K extends IKey, E extends IEntity<K>> List<E> executeSeek(@NonNull String query,
+                                                                      String after,
+                                                                      int direction,
+                                                                      int maxResults,
+                                                                      @NonNull Class<? extends K> keyType,
+                                                                      @NonNull Class<? extends E> type,
+                                                                      Context context) throws DataStoreException {
+        checkState();
+        Preconditions.checkArgument(direction == 1 || direction == -1);
+        try {
+            MorphiaSession session = sessionManager().session();
+            String cname = getCollection(type);
+            QueryConverter queryConverter = new QueryConverter.Builder().sqlString(query).build();
+            MongoDBQueryHolder mongoDBQueryHolder = queryConverter.getMongoQuery();
+            if (Strings.isNullOrEmpty(cname) || cname.compareTo(mongoDBQueryHolder.getCollection()) != 0) {
+                throw new DataStoreException(
+                        String.format("Query does not match entity collection. [expected=%s][query=%s]",
+                                cname, mongoDBQueryHolder.getCollection()));
+            }
+            Bson filter = mongoDBQueryHolder.getQuery();
+            if (after != null) {
+                Bson seek = (direction > 0 ?
+                        com.mongodb.client.model.Filters.gt(JsonFieldConstants.FIELD_DOC_ID, after) :
+                        com.mongodb.client.model.Filters.lt(JsonFieldConstants.FIELD_DOC_ID, after));
+                filter = com.mongodb.client.model.Filters.and(filter, seek);
+            }
+            Bson sort = new Document(JsonFieldConstants.FIELD_DOC_ID, direction);
+            List<E> entities = new ArrayList<>();
+            if (ReflectionHelper.isSuperType(MongoEntity.class, type)) {
+                Datastore ds = ((MongoSessionManager) sessionManager()).connection().datastore();
+                FindIterable<? extends E> result = ds.getCollection(type)
+                        .find(filter)
+                        .sort(sort)
+                        .limit(maxResults);
+                try (MongoCursor<? extends E> cursor = result.iterator()) {
+                    while (cursor.hasNext()) {
+                        E entity = cursor.next();
+                        ((MongoEntity<?>) entity).postLoad();
+                        entities.add(entity);
+                    }
+                }
+            } else {
+                MongoCollection<Document> collection = session.getDatabase().getCollection(cname);
+                FindIterable<Document> documents = collection.find(filter)
+                        .sort(sort)
+                        .limit(maxResults);
+                try (MongoCursor<Document> cursor = documents.iterator()) {
+                    while (cursor.hasNext()) {
+                        E entity = JSONUtils.read(cursor.next().toJson(), type);
+                        if (entity instanceof BaseEntity<?>) {
+                            ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
+                        }
+                        entities.add(entity);
+                    }
+                }
+            }
+            if (!entities.isEmpty()) {
+                return entities;
+            }
+            return null;
+        } catch (Exception ex) {
+            throw new DataStoreException(ex);
+        }
+    }
+
     @Override
     public boolean isThreadSafe() {
         return true;
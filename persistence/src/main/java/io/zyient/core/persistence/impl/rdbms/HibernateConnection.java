@@ -169,6 +169,13 @@ public class HibernateConnection extends AbstractConnection<Session> {
             properties.setProperty(Environment.PASS, passwd);
             properties.setProperty(Environment.DIALECT, settings.getDialect());
             properties.setProperty(Environment.AUTO_CLOSE_SESSION, "false");
+            if (settings.getJdbcBatchSize() > 0) {
+                // Note: batching of inserts is disabled by Hibernate for IDENTITY generated keys.
+                properties.setProperty(Environment.STATEMENT_BATCH_SIZE, String.valueOf(settings.getJdbcBatchSize()));
+                properties.setProperty(Environment.ORDER_INSERTS, "true");
+                properties.setProperty(Environment.ORDER_UPDATES, "true");
+                properties.setProperty(Environment.BATCH_VERSIONED_DATA, "true");
+            }
             if (DefaultLogger.isTraceEnabled() || DefaultLogger.isDebugEnabled()) {
                 properties.setProperty(Environment.SHOW_SQL, "true");
             }
@@ -22,7 +22,10 @@ import io.zyient.base.common.model.entity.IKey;
 import io.zyient.core.persistence.Cursor;
 import io.zyient.core.persistence.DataStoreException;
 import io.zyient.core.persistence.model.BaseEntity;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
 import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 
@@ -30,9 +33,22 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Streams the results sequentially; rows are read with next() so a forward-only
+ * scroll never re-positions the underlying JDBC result set. When detach is enabled
+ * the entities of the previous page are evicted from the session, keeping the
+ * persistence context flat on long scans. The session is bound to the caller's thread,
+ * hence pages are not prefetched.
+ */
 public class HibernateCursor<K extends IKey, E extends IEntity<K>> extends Cursor<K, E> {
     private final ScrollableResults<E> results;
     private final Session session;
+    private int position = 0;
+    @Getter
+    @Setter
+    @Accessors(fluent = true)
+    private boolean detach = false;
+    private List<E> last = null;
 
     public HibernateCursor(@NonNull Session session,
                            @NonNull ScrollableResults<E> results,
@@ -46,32 +62,60 @@ public class HibernateCursor<K extends IKey, E extends IEntity<K>> extends Curso
         super(cursor.currentPage());
         session = cursor.session;
         results = cursor.results;
+        position = cursor.position;
+        detach = cursor.detach;
+        pageSize(cursor.pageSize());
+        prefetch(cursor.prefetch());
+    }
+
+    @Override
+    protected boolean sessionBound() {
+        return true;
     }
 
     @Override
     protected List<E> next(int page) throws DataStoreException {
-        int index = page * pageSize() + 1;
-        if (!results.position(index)) {
-            return null;
+        int start = page * pageSize();
+        if (start < position) {
+            throw new DataStoreException(String.format("Cannot move cursor backwards. [position=%d][page=%d]",
+                    position, page));
+        }
+        if (detach && last != null) {
+            for (E entity : last) {
+                session.detach(entity);
+            }
+            last = null;
+        }
+        while (position < start) {
+            if (!results.next()) {
+                return null;
+            }
+            position++;
         }
-        List<E> batch = new ArrayList<>();
-        int count = pageSize();
-        while (count > 0) {
+        List<E> batch = new ArrayList<>(pageSize());
+        while (batch.size() < pageSize()) {
+            if (!results.next()) {
+                break;
+            }
+            position++;
             E entity = results.get();
             if (entity instanceof BaseEntity<?>) {
                 ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
             }
             batch.add(entity);
-            if (!results.next()) {
-                break;
-            }
-            count--;
+        }
+        if (batch.isEmpty()) {
+            return null;
+        }
+        if (detach) {
+            last = batch;
         }
         return batch;
     }
 
     @Override
     public void close() throws IOException {
+        cancelPrefetch();
         results.close();
     }
 }
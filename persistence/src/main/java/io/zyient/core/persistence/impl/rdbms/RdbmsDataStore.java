@@ -27,11 +27,17 @@ import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
 import io.zyient.core.persistence.model.BaseEntity;
 import lombok.NonNull;
 import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.query.Query;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class RdbmsDataStore extends TransactionDataStore<Session, Transaction> {
     public void flush() throws DataStoreException {
         checkState();
@@ -114,6 +120,122 @@ public class RdbmsDataStore extends TransactionDataStore<Session, Transaction> {
         return false;
     }
 
+    @Override
+    protected <E extends IEntity<?>> BulkResult<E> createEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws
+            DataStoreException {
+        return persistEntities(entities, true);
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BulkResult<E> updateEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws
+            DataStoreException {
+        return persistEntities(entities, false);
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BulkResult<E> upsertEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws
+            DataStoreException {
+        return persistEntities(entities, false);
+    }
+
+    /**
+     * Persist the entities, flushing the session every batch (JDBC batching, with ordered inserts/updates).
+     * A flush failure fails the pending items and the transaction should be rolled back.
+     */
+    private <E extends IEntity<?>> BulkResult<E> persistEntities(List<E> entities,
+                                                                 boolean create) throws DataStoreException {
+        checkState();
+        Preconditions.checkState(isInTransaction());
+        RdbmsSessionManager sessionManager = (RdbmsSessionManager) sessionManager();
+        Session session = sessionManager.session();
+        BulkResult<E> result = new BulkResult<>(entities);
+        int batchSize = settings.getBatchSize();
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            List<Integer> pending = new ArrayList<>(batchSize);
+            for (int ii = 0; ii < entities.size(); ii++) {
+                E entity = entities.get(ii);
+                try {
+                    if (entity instanceof BaseEntity) {
+                        ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
+                    }
+                    if (create) {
+                        IDGenerator.process(entity, this);
+                    }
+                    session.persist(entity);
+                    pending.add(ii);
+                } catch (Exception ex) {
+                    result.error(ii, ex);
+                }
+                if (pending.size() >= batchSize) {
+                    flush(session, pending, result);
+                }
+            }
+            if (!pending.isEmpty()) {
+                flush(session, pending, result);
+            }
+            return result;
+        } finally {
+            session.setJdbcBatchSize(jdbcBatchSize);
+        }
+    }
+
+    private <E extends IEntity<?>> void flush(Session session,
+                                              List<Integer> pending,
+                                              BulkResult<E> result) throws DataStoreException {
+        try {
+            session.flush();
+            for (int index : pending) {
+                result.success(index, result.get(index).value());
+            }
+            pending.clear();
+        } catch (Exception ex) {
+            result.errorPending(ex);
+            throw new DataStoreException(ex);
+        }
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BulkResult<Object> deleteEntities(@NonNull List<?> keys,
+                                                                       @NonNull Class<? extends E> type,
+                                                                       Context context) throws
+            DataStoreException {
+        checkState();
+        Preconditions.checkState(isInTransaction());
+        RdbmsSessionManager sessionManager = (RdbmsSessionManager) sessionManager();
+        Session session = sessionManager.session();
+        BulkResult<Object> result = new BulkResult<>(keys);
+        int batchSize = settings.getBatchSize();
+        List<Integer> pending = new ArrayList<>(batchSize);
+        for (int ii = 0; ii < keys.size(); ii++) {
+            try {
+                E entity = session.find(type, keys.get(ii));
+                if (entity == null) {
+                    result.notFound(ii);
+                    continue;
+                }
+                session.remove(entity);
+                pending.add(ii);
+            } catch (Exception ex) {
+                result.error(ii, ex);
+            }
+            if (pending.size() >= batchSize) {
+                flush(session, pending, result);
+            }
+        }
+        if (!pending.isEmpty()) {
+            flush(session, pending, result);
+        }
+        return result;
+    }
+
     @Override
     public <E extends IEntity<?>> E findEntity(@NonNull Object key,
                                                @NonNull Class<? extends E> type,
@@ -122,17 +244,32 @@ public class RdbmsDataStore extends TransactionDataStore<Session, Transaction> {
         checkState();
         RdbmsSessionManager sessionManager = (RdbmsSessionManager) sessionManager();
         Session session = sessionManager.session();
-        E entity = session.find(type, key);
         if (doRefresh(context)) {
-            session.evict(entity);
+            // Only an entity already loaded in the session can be stale, a find otherwise reads the database.
+            Object loaded = loaded(session, type, key);
+            if (loaded != null) {
+                session.evict(loaded);
+            }
         }
-        entity = session.find(type, key);
+        E entity = session.find(type, key);
         if (entity instanceof BaseEntity) {
             ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
         }
         return entity;
     }
 
+    /**
+     * Get the entity instance held in the session persistence context, without loading it.
+     */
+    private Object loaded(Session session, Class<?> type, Object key) {
+        SessionImplementor si = session.unwrap(SessionImplementor.class);
+        EntityPersister persister = si.getFactory()
+                .getRuntimeMetamodels()
+                .getMappingMetamodel()
+                .getEntityDescriptor(type);
+        return si.getPersistenceContextInternal().getEntity(si.generateEntityKey(key, persister));
+    }
+
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
     public <K extends IKey, E extends IEntity<K>> Cursor<K, E> doSearch(@NonNull Q query,
@@ -153,7 +290,8 @@ public class RdbmsDataStore extends TransactionDataStore<Session, Transaction> {
                 for (String key : query.parameters().keySet())
                     qq.setParameter(key, query.parameters().get(key));
             }
-            ScrollableResults<E> results = qq.scroll();
+            qq.setFetchSize(maxResults);
+            ScrollableResults<E> results = qq.scroll(ScrollMode.FORWARD_ONLY);
             HibernateCursor<K, E> cursor = new HibernateCursor<>(session, results, currentPage);
             return cursor.pageSize(maxResults);
         } catch (Exception ex) {
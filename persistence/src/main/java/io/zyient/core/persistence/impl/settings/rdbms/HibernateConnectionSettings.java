@@ -43,6 +43,7 @@ public class HibernateConnectionSettings extends AbstractConnectionSettings {
     private static final int DEFAULT_POOL_MIN_SIZE = 4;
     private static final int DEFAULT_POOL_MAX_SIZE = 8;
     private static final int DEFAULT_POOL_TIMEOUT = 1800;
+    private static final int DEFAULT_JDBC_BATCH_SIZE = 50;
 
 
     @Config(name = "url")
@@ -81,4 +82,6 @@ public class HibernateConnectionSettings extends AbstractConnectionSettings {
     private TimeUnitValue connectionIdleTimeout = new TimeUnitValue(DEFAULT_POOL_TIMEOUT, TimeUnit.MILLISECONDS);
     @Config(name = "timeout.opened", required = false, parser = TimeValueParser.class)
     private TimeUnitValue connectionOpenedTimeout = new TimeUnitValue(30, TimeUnit.MINUTES);
+    @Config(name = "jdbc.batchSize", required = false, type = Integer.class)
+    private int jdbcBatchSize = DEFAULT_JDBC_BATCH_SIZE;
 }
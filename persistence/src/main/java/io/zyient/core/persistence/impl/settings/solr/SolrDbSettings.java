@@ -17,16 +17,28 @@
 package io.zyient.core.persistence.impl.settings.solr;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.zyient.base.common.config.Config;
+import io.zyient.base.common.config.units.TimeUnitValue;
+import io.zyient.base.common.config.units.TimeValueParser;
 import io.zyient.core.persistence.AbstractDataStoreSettings;
 import io.zyient.core.persistence.EDataStoreType;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.concurrent.TimeUnit;
+
 @Getter
 @Setter
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
         property = "@class")
 public class SolrDbSettings extends AbstractDataStoreSettings {
+    /**
+     * Commit within (0 = soft commit per write/batch, writes are visible on return). Hard commits are only
+     * done on flush.
+     */
+    @Config(name = "commitWithin", required = false, parser = TimeValueParser.class)
+    private TimeUnitValue commitWithin = new TimeUnitValue(0, TimeUnit.MILLISECONDS);
+
     public SolrDbSettings() {
         setType(EDataStoreType.kvstore);
     }
@@ -26,6 +26,7 @@ import io.zyient.core.persistence.Cursor;
 import io.zyient.core.persistence.DataStoreException;
 import io.zyient.core.persistence.model.Document;
 import io.zyient.core.persistence.model.DocumentId;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.Accessors;
@@ -34,12 +35,18 @@ import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * Pages through Solr results using cursorMark (sorted on the unique key) when reading
+ * from the first page, so deep pages cost the same as the first. Cursors opened at an
+ * arbitrary page fall back to start/rows paging.
+ */
 @Getter
 @Accessors(fluent = true)
 public class SolrCursor<K extends IKey, E extends IEntity<K>> extends Cursor<K, E> {
@@ -49,6 +56,10 @@ public class SolrCursor<K extends IKey, E extends IEntity<K>> extends Cursor<K,
     private final SolrDataStore dataStore;
     private final SolrClient client;
     private final boolean fetchChildren;
+    @Getter(AccessLevel.NONE)
+    private String cursorMark = null;
+    @Getter(AccessLevel.NONE)
+    private int markPage = -1;
 
     public SolrCursor(@NonNull Class<? extends E> entityType,
                       @NonNull SolrDataStore dataStore,
@@ -64,6 +75,11 @@ public class SolrCursor<K extends IKey, E extends IEntity<K>> extends Cursor<K,
         this.query = query;
         this.batchSize = batchSize;
         this.fetchChildren = fetchChildren;
+        pageSize(batchSize);
+        if (currentPage() == 0) {
+            cursorMark = CursorMarkParams.CURSOR_MARK_START;
+            markPage = 0;
+        }
     }
 
     @Override
@@ -71,9 +87,23 @@ public class SolrCursor<K extends IKey, E extends IEntity<K>> extends Cursor<K,
     protected List<E> next(int page) throws DataStoreException {
         try {
             SolrQuery query = new SolrQuery(this.query.where());
-            query.setStart(page * batchSize);
+            boolean seek = (cursorMark != null && page == markPage);
+            if (seek) {
+                query.setSort(SolrConstants.FIELD_SOLR_ID, SolrQuery.ORDER.asc);
+                query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            } else {
+                query.setStart(page * batchSize);
+            }
             query.setRows(batchSize);
             QueryResponse response = client.query(query);
+            if (seek) {
+                String next = response.getNextCursorMark();
+                if (next == null || next.equals(cursorMark)) {
+                    return null;
+                }
+                cursorMark = next;
+                markPage = page + 1;
+            }
             if (ReflectionHelper.isSuperType(SolrEntity.class, entityType)) {
                 List<E> entities = (List<E>) response.getBeans(entityType);
                 if (entities != null) {
@@ -126,6 +156,6 @@ public class SolrCursor<K extends IKey, E extends IEntity<K>> extends Cursor<K,
 
     @Override
     public void close() throws IOException {
-
+        cancelPrefetch();
     }
 }
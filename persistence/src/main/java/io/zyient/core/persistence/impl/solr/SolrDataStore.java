@@ -40,15 +40,18 @@ import lombok.NonNull;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
-import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
 import org.apache.solr.client.solrj.request.schema.SchemaRequest;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.UpdateResponse;
 import org.apache.solr.client.solrj.response.schema.SchemaRepresentation;
 import org.apache.solr.client.solrj.response.schema.SchemaResponse;
+import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.ModifiableSolrParams;
 import org.apache.solr.common.util.NamedList;
 import org.apache.tika.config.TikaConfig;
 import org.apache.tika.detect.Detector;
@@ -60,6 +63,8 @@ import org.apache.tika.mime.MediaType;
 import java.io.File;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 
 public class SolrDataStore extends AbstractDataStore<SolrClient> {
@@ -85,6 +90,10 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
     public static final String CONTEXT_KEY_JSON_SPLITS = "SOLR_JSON_SPLITS";
     public static final String JSON_FIELD = "data_json";
     private final Map<Class<?>, Boolean> checkedSchema = new HashMap<>();
+    /**
+     * Collections with writes not yet hard committed.
+     */
+    private final Set<String> uncommitted = ConcurrentHashMap.newKeySet();
 
     @Override
     protected <K extends IKey, E extends IEntity<K>> QueryParser<K, E> createParser(@NonNull Class<? extends E> entityType,
@@ -166,6 +175,10 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
                 }
                 ((Document<?, ?, ?>) entity).getState().setState(EEntityState.Synced);
                 ContentStreamUpdateRequest ur = getContentUpdateRequest((Document<?, ?, ?>) entity);
+                int commitWithin = commitWithin();
+                if (commitWithin > 0) {
+                    ur.setCommitWithin(commitWithin);
+                }
                 NamedList<Object> request = client.request(ur);
                 if (DefaultLogger.isTraceEnabled()) {
                     for (Map.Entry<String, Object> entry : request) {
@@ -173,49 +186,345 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
                                 entry.getKey(), entry.getValue()));
                     }
                 }
-            } else if (entity instanceof SolrEntity<?>) {
-                ((SolrEntity<?>) entity).setId(entity.entityKey().stringKey());
-                if (((SolrEntity<?>) entity).getCreatedTime() <= 0)
-                    ((SolrEntity<?>) entity).setCreatedTime(System.nanoTime());
-                ((SolrEntity<?>) entity).setUpdatedTime(System.nanoTime());
-                ((SolrEntity<?>) entity).getState().setState(EEntityState.Synced);
-                UpdateResponse ur = client.addBean(entity);
+            } else {
+                Object bean = toBean(entity);
+                int commitWithin = commitWithin();
+                UpdateResponse ur = (commitWithin > 0 ? client.addBean(bean, commitWithin) : client.addBean(bean));
                 if (ur.getStatus() != 0) {
                     throw new DataStoreException(String.format("Insert failed [status=%d]. [type=%s][id=%s]",
                             ur.getStatus(), type.getCanonicalName(), entity.entityKey().stringKey()));
                 }
+            }
+            committed(cname, client);
+            return entity;
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            throw new DataStoreException(ex);
+        }
+    }
+
+    /**
+     * With commit within set, writes are visible only after the delayed soft commit.
+     */
+    @Override
+    protected boolean writesVisible() {
+        return ((SolrDbSettings) settings).getCommitWithin().normalized() <= 0;
+    }
+
+    private int commitWithin() throws Exception {
+        return (int) ((SolrDbSettings) settings).getCommitWithin().normalized(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record the write on the collection, soft commit if commit within is not set. Hard commits are
+     * only done on {@link #flush()}.
+     */
+    private void committed(String collection, SolrClient client) throws Exception {
+        uncommitted.add(collection);
+        if (commitWithin() <= 0) {
+            client.commit(true, true, true);
+        }
+    }
+
+    /**
+     * Hard commit the collections written to since the last flush.
+     *
+     * @throws DataStoreException
+     */
+    public void flush() throws DataStoreException {
+        checkState();
+        try {
+            SolrConnection connection = (SolrConnection) connection();
+            for (String cname : new ArrayList<>(uncommitted)) {
+                uncommitted.remove(cname);
+                SolrClient client = connection.connect(cname);
+                UpdateResponse ur = client.commit();
+                if (ur.getStatus() != 0) {
+                    uncommitted.add(cname);
+                    throw new DataStoreException(String.format("Commit failed [status=%d]. [collection=%s]",
+                            ur.getStatus(), cname));
+                }
+            }
+        } catch (DataStoreException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            throw new DataStoreException(ex);
+        }
+    }
+
+    /**
+     * Get the Solr bean for a (non-document) entity.
+     */
+    private <E extends IEntity<?>> Object toBean(E entity) throws Exception {
+        if (entity instanceof SolrEntity<?>) {
+            ((SolrEntity<?>) entity).setId(entity.entityKey().stringKey());
+            if (((SolrEntity<?>) entity).getCreatedTime() <= 0)
+                ((SolrEntity<?>) entity).setCreatedTime(System.nanoTime());
+            ((SolrEntity<?>) entity).setUpdatedTime(System.nanoTime());
+            ((SolrEntity<?>) entity).getState().setState(EEntityState.Synced);
+            return entity;
+        }
+        long createdTimestamp = System.nanoTime();
+        long updatedTimestamp = System.nanoTime();
+        if (entity instanceof BaseEntity<?>) {
+            if (((BaseEntity<?>) entity).getCreatedTime() <= 0) {
+                ((BaseEntity<?>) entity).setCreatedTime(createdTimestamp);
             } else {
-                long createdTimestamp = System.nanoTime();
-                long updatedTimestamp = System.nanoTime();
-                if (entity instanceof BaseEntity<?>) {
-                    if (((BaseEntity<?>) entity).getCreatedTime() <= 0) {
-                        ((BaseEntity<?>) entity).setCreatedTime(createdTimestamp);
-                    } else {
-                        createdTimestamp = ((BaseEntity<?>) entity).getCreatedTime();
+                createdTimestamp = ((BaseEntity<?>) entity).getCreatedTime();
+            }
+            ((BaseEntity<?>) entity).setUpdatedTime(updatedTimestamp);
+            ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
+        }
+        SolrJsonEntity je = new SolrJsonEntity();
+        je.setId(entity.entityKey().stringKey());
+        je.setJson(JSONUtils.asString(entity));
+        je.setCreatedTime(createdTimestamp);
+        je.setUpdatedTime(updatedTimestamp);
+        return je;
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BulkResult<E> createEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws DataStoreException {
+        checkState();
+        BulkResult<E> result = new BulkResult<>(entities);
+        Map<String, List<Integer>> collections = new LinkedHashMap<>();
+        for (int ii = 0; ii < entities.size(); ii++) {
+            E entity = entities.get(ii);
+            try {
+                if (entity instanceof Document<?, ?, ?>) {
+                    // Content is streamed per document.
+                    result.success(ii, createEntity(entity, null, type, context));
+                    continue;
+                }
+                entity.validate();
+                collections.computeIfAbsent(getCollection(entity), k -> new ArrayList<>()).add(ii);
+            } catch (Exception ex) {
+                result.error(ii, ex);
+            }
+        }
+        addBeans(collections, entities, type, result);
+        return result;
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BulkResult<E> updateEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws DataStoreException {
+        checkState();
+        BulkResult<E> result = new BulkResult<>(entities);
+        Map<String, List<Integer>> collections = new LinkedHashMap<>();
+        SolrConnection connection = (SolrConnection) connection();
+        for (int ii = 0; ii < entities.size(); ii++) {
+            E entity = entities.get(ii);
+            try {
+                if (entity instanceof Document<?, ?, ?>) {
+                    result.success(ii, updateEntity(entity, type, context));
+                    continue;
+                }
+                entity.validate();
+                String cname = getCollection(entity);
+                if (checkEntityVersion(context)) {
+                    checkEntity(entity, connection.connect(cname));
+                }
+                collections.computeIfAbsent(cname, k -> new ArrayList<>()).add(ii);
+            } catch (Exception ex) {
+                result.error(ii, ex);
+            }
+        }
+        addBeans(collections, entities, type, result);
+        return result;
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BulkResult<E> upsertEntities(@NonNull List<E> entities,
+                                                                  @NonNull Class<? extends E> type,
+                                                                  Context context) throws DataStoreException {
+        return createEntities(entities, type, context);
+    }
+
+    /**
+     * Add the beans in batches (per collection), the collections are soft committed once the batch is
+     * added (unless commit within is set).
+     */
+    private <E extends IEntity<?>> void addBeans(Map<String, List<Integer>> collections,
+                                                 List<E> entities,
+                                                 Class<? extends E> type,
+                                                 BulkResult<E> result) throws DataStoreException {
+        try {
+            SolrConnection connection = (SolrConnection) connection();
+            int commitWithin = commitWithin();
+            int batchSize = settings.getBatchSize();
+            for (String cname : collections.keySet()) {
+                SolrClient client = connection.connect(cname);
+                if (!checkedSchema.containsKey(type)) {
+                    checkSchema(type, client);
+                }
+                List<Integer> indexes = collections.get(cname);
+                for (int start = 0; start < indexes.size(); start += batchSize) {
+                    int end = Math.min(start + batchSize, indexes.size());
+                    List<Object> beans = new ArrayList<>(end - start);
+                    List<Integer> batch = new ArrayList<>(end - start);
+                    for (int ii = start; ii < end; ii++) {
+                        int index = indexes.get(ii);
+                        try {
+                            beans.add(toBean(entities.get(index)));
+                            batch.add(index);
+                        } catch (Exception ex) {
+                            result.error(index, ex);
+                        }
+                    }
+                    if (beans.isEmpty()) continue;
+                    try {
+                        UpdateResponse ur = (commitWithin > 0 ?
+                                client.addBeans(beans, commitWithin) : client.addBeans(beans));
+                        if (ur.getStatus() != 0) {
+                            throw new DataStoreException(String.format("Insert failed [status=%d]. [type=%s][count=%d]",
+                                    ur.getStatus(), type.getCanonicalName(), beans.size()));
+                        }
+                        for (int index : batch) {
+                            result.success(index, entities.get(index));
+                        }
+                    } catch (Exception ex) {
+                        DefaultLogger.stacktrace(ex);
+                        for (int index : batch) {
+                            result.error(index, ex);
+                        }
                     }
-                    ((BaseEntity<?>) entity).setUpdatedTime(updatedTimestamp);
-                    ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
                 }
-                SolrJsonEntity je = new SolrJsonEntity();
-                je.setId(entity.entityKey().stringKey());
-                je.setJson(JSONUtils.asString(entity));
-                je.setCreatedTime(createdTimestamp);
-                je.setUpdatedTime(updatedTimestamp);
+                committed(cname, client);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            throw new DataStoreException(ex);
+        }
+    }
 
-                UpdateResponse ur = client.addBean(je);
-                if (ur.getStatus() != 0) {
-                    throw new DataStoreException(String.format("Insert failed [status=%d]. [type=%s][id=%s]",
-                            ur.getStatus(), type.getCanonicalName(), entity.entityKey().stringKey()));
+    /**
+     * Delete the entities by id, a single existence query and delete request per batch (per collection).
+     * Child documents are deleted with their parents.
+     */
+    @Override
+    protected <E extends IEntity<?>> BulkResult<Object> deleteEntities(@NonNull List<?> keys,
+                                                                       @NonNull Class<? extends E> type,
+                                                                       Context context) throws DataStoreException {
+        checkState();
+        BulkResult<Object> result = new BulkResult<>(keys);
+        try {
+            SolrConnection connection = (SolrConnection) connection();
+            Map<String, Map<String, List<Integer>>> collections = new LinkedHashMap<>();
+            for (int ii = 0; ii < keys.size(); ii++) {
+                Object key = keys.get(ii);
+                try {
+                    String k = searchId(key);
+                    collections.computeIfAbsent(getCollection(key, type), c -> new LinkedHashMap<>())
+                            .computeIfAbsent(k, c -> new ArrayList<>())
+                            .add(ii);
+                } catch (Exception ex) {
+                    result.error(ii, ex);
                 }
             }
-            client.commit();
-            return entity;
+            boolean documents = ReflectionHelper.isSuperType(Document.class, type);
+            int commitWithin = commitWithin();
+            int batchSize = settings.getBatchSize();
+            for (String cname : collections.keySet()) {
+                SolrClient client = connection.connect(cname);
+                Map<String, List<Integer>> indexes = collections.get(cname);
+                List<String> ids = new ArrayList<>(indexes.keySet());
+                for (int start = 0; start < ids.size(); start += batchSize) {
+                    List<String> batch = ids.subList(start, Math.min(start + batchSize, ids.size()));
+                    List<String> pending = batch;
+                    try {
+                        Set<String> found = findIds(client, batch);
+                        pending = new ArrayList<>(found.size());
+                        for (String id : batch) {
+                            if (found.contains(id)) {
+                                pending.add(id);
+                            } else {
+                                for (int index : indexes.get(id)) {
+                                    result.notFound(index);
+                                }
+                            }
+                        }
+                        if (pending.isEmpty()) continue;
+                        UpdateRequest request = new UpdateRequest();
+                        request.deleteById(pending);
+                        if (documents) {
+                            request.deleteByQuery(termsQuery(SolrConstants.FIELD_DOC_PARENT_ID, pending));
+                        }
+                        if (commitWithin > 0) {
+                            request.setCommitWithin(commitWithin);
+                        }
+                        UpdateResponse ur = request.process(client);
+                        if (ur.getStatus() != 0) {
+                            throw new DataStoreException(String.format("Delete failed [status=%d]. [type=%s][collection=%s]",
+                                    ur.getStatus(), type.getCanonicalName(), cname));
+                        }
+                        committed(cname, client);
+                        for (String id : pending) {
+                            for (int index : indexes.get(id)) {
+                                result.success(index, keys.get(index));
+                            }
+                        }
+                    } catch (Exception ex) {
+                        DefaultLogger.stacktrace(ex);
+                        for (String id : pending) {
+                            for (int index : indexes.get(id)) {
+                                result.error(index, ex);
+                            }
+                        }
+                    }
+                }
+            }
+            return result;
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
             throw new DataStoreException(ex);
         }
     }
 
+    private static String searchId(Object key) throws DataStoreException {
+        if (key instanceof String) {
+            return (String) key;
+        } else if (key instanceof DocumentId) {
+            return ((DocumentId) key).getId();
+        } else if (key instanceof IKey) {
+            return ((IKey) key).stringKey();
+        }
+        throw new DataStoreException(String.format("Key type not supported. [type=%s]",
+                key.getClass().getCanonicalName()));
+    }
+
+    private static String termsQuery(String field, List<String> values) {
+        StringBuilder builder = new StringBuilder(field).append(":(");
+        for (int ii = 0; ii < values.size(); ii++) {
+            if (ii > 0) {
+                builder.append(" OR ");
+            }
+            builder.append(ClientUtils.escapeQueryChars(values.get(ii)));
+        }
+        return builder.append(")").toString();
+    }
+
+    /**
+     * Find the ids (of the specified) that exist in the collection. Uses real-time get, so
+     * documents written but not yet committed are found.
+     */
+    private static Set<String> findIds(SolrClient client, List<String> ids) throws Exception {
+        ModifiableSolrParams params = new ModifiableSolrParams();
+        params.set(CommonParams.FL, SolrConstants.FIELD_SOLR_ID);
+        SolrDocumentList documents = client.getById(ids, params);
+        Set<String> found = new HashSet<>();
+        if (documents != null) {
+            for (SolrDocument document : documents) {
+                found.add(String.valueOf(document.getFieldValue(SolrConstants.FIELD_SOLR_ID)));
+            }
+        }
+        return found;
+    }
+
 
     @Override
     public <E extends IEntity<?>> E updateEntity(@NonNull E entity,
@@ -254,7 +563,9 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
     public <E extends IEntity<?>> E upsertEntity(@NonNull E entity,
                                                  @NonNull Class<? extends E> type,
                                                  Context context) throws DataStoreException {
-        return upsertEntity(entity, type, context);
+        checkState();
+        // Solr adds replace existing documents (by id).
+        return createEntity(entity, null, type, context);
     }
 
     @SuppressWarnings("unchecked")
@@ -309,12 +620,13 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
                     }
                 }
             }
-            UpdateResponse ur = client.deleteById(k);
+            int commitWithin = commitWithin();
+            UpdateResponse ur = (commitWithin > 0 ? client.deleteById(k, commitWithin) : client.deleteById(k));
             if (ur.getStatus() != 0) {
                 throw new DataStoreException(String.format("Delete failed [status=%d]. [type=%s][id=%s]",
                         ur.getStatus(), type.getCanonicalName(), k));
             }
-            client.commit();
+            committed(cname, client);
             return true;
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
@@ -444,7 +756,6 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
                 }
             }
         }
-        ur.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
         return ur;
     }
 
@@ -669,7 +980,7 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
             }
             SolrClient client = connection.connect(cname);
             EntityQueryBuilder.LuceneQuery q = (EntityQueryBuilder.LuceneQuery) query;
-            return new SolrCursor<>(type, this, client, q, maxResults, currentPage, fetchChildren);
+            return new SolrCursor<>(type, this, client, q, currentPage, maxResults, fetchChildren);
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
             throw new DataStoreException(ex);
@@ -21,6 +21,7 @@ import io.zyient.base.common.config.ConfigReader;
 import io.zyient.base.common.model.services.EConfigFileType;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.core.model.StringKey;
+import io.zyient.core.persistence.BulkResult;
 import io.zyient.core.persistence.DataStoreManager;
 import io.zyient.core.persistence.env.DemoDataStoreEnv;
 import io.zyient.core.persistence.impl.mongo.model.TestMongoEntity;
@@ -29,8 +30,11 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -97,6 +101,51 @@ class MongoDbDataStoreTest {
     void deleteEntity() {
     }
 
+    @Test
+    void bulkWrites() {
+        try {
+            DataStoreManager manager = env.getDataStoreManager();
+            assertNotNull(manager);
+            MongoDbDataStore dataStore = manager.getDataStore(__MONGO_DB_NAME, MongoDbDataStore.class);
+            assertNotNull(dataStore);
+            List<TestMongoEntity> entities = new ArrayList<>();
+            for (int ii = 0; ii < 32; ii++) {
+                entities.add(new TestMongoEntity());
+            }
+            List<Object> keys = new ArrayList<>();
+            dataStore.beingTransaction();
+            try {
+                BulkResult<TestMongoEntity> result = dataStore.createAll(entities, TestMongoEntity.class, null);
+                assertFalse(result.hasErrors());
+                for (TestMongoEntity te : result.values()) {
+                    keys.add(te.entityKey());
+                }
+                dataStore.commit();
+            } catch (Exception ex) {
+                dataStore.rollback(false);
+                throw ex;
+            }
+            for (Object key : keys) {
+                assertNotNull(dataStore.find(key, TestMongoEntity.class, null));
+            }
+            keys.add(new StringKey(UUID.randomUUID().toString()));
+            dataStore.beingTransaction();
+            try {
+                BulkResult<Object> result = dataStore.deleteAll(keys, TestMongoEntity.class, null);
+                assertFalse(result.hasErrors());
+                assertEquals(entities.size(), result.values().size());
+                assertEquals(BulkResult.EStatus.NotFound, result.get(keys.size() - 1).status());
+                dataStore.commit();
+            } catch (Exception ex) {
+                dataStore.rollback(false);
+                throw ex;
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
     @Test
     void findEntity() {
         try {
@@ -0,0 +1,212 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence.impl.rdbms;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.base.common.model.services.EConfigFileType;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.model.IntegerKey;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.BulkResult;
+import io.zyient.core.persistence.Cursor;
+import io.zyient.core.persistence.DataStoreManager;
+import io.zyient.core.persistence.env.DemoDataStoreEnv;
+import io.zyient.core.persistence.impl.rdbms.model.CustomersEntity;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdbmsDataStoreBulkTest {
+    private static final String __CONFIG_FILE = "src/test/resources/rdbms/test-h2-env.xml";
+    private static final String __DATASTORE = "test-rdbms";
+    private static XMLConfiguration xmlConfiguration = null;
+    private static DemoDataStoreEnv env = new DemoDataStoreEnv();
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        xmlConfiguration = ConfigReader.read(__CONFIG_FILE, EConfigFileType.File);
+        Preconditions.checkState(xmlConfiguration != null);
+        env.create(xmlConfiguration);
+        env.connectionManager().save();
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        env.close();
+    }
+
+    @Test
+    void createAll() {
+        try {
+            RdbmsDataStore dataStore = getDataStore();
+            List<CustomersEntity> customers = createCustomers(55, dataStore);
+            dataStore.beingTransaction();
+            try {
+                BulkResult<CustomersEntity> result = dataStore.createAll(customers, CustomersEntity.class, null);
+                assertEquals(customers.size(), result.size());
+                assertFalse(result.hasErrors());
+                dataStore.commit();
+            } catch (Exception ex) {
+                dataStore.rollback(false);
+                throw ex;
+            }
+            for (CustomersEntity ce : customers) {
+                CustomersEntity fe = dataStore.find(ce.entityKey(), CustomersEntity.class, null);
+                assertNotNull(fe);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void updateAndDeleteAll() {
+        try {
+            RdbmsDataStore dataStore = getDataStore();
+            List<CustomersEntity> customers = createCustomers(25, dataStore);
+            dataStore.beingTransaction();
+            try {
+                BulkResult<CustomersEntity> result = dataStore.createAll(customers, CustomersEntity.class, null);
+                assertFalse(result.hasErrors());
+                dataStore.commit();
+            } catch (Exception ex) {
+                dataStore.rollback(false);
+                throw ex;
+            }
+            dataStore.beingTransaction();
+            try {
+                List<CustomersEntity> updates = new ArrayList<>(customers.size());
+                for (CustomersEntity ce : customers) {
+                    CustomersEntity fe = dataStore.find(ce.entityKey(), CustomersEntity.class, null);
+                    assertNotNull(fe);
+                    fe.setCreditLimit(BigDecimal.valueOf(0));
+                    updates.add(fe);
+                }
+                BulkResult<CustomersEntity> result = dataStore.updateAll(updates, CustomersEntity.class, null);
+                assertFalse(result.hasErrors());
+                dataStore.commit();
+            } catch (Exception ex) {
+                dataStore.rollback(false);
+                throw ex;
+            }
+            for (CustomersEntity ce : customers) {
+                CustomersEntity fe = dataStore.find(ce.entityKey(), CustomersEntity.class, null);
+                assertNotNull(fe);
+                assertEquals(0.0, fe.getCreditLimit().doubleValue());
+            }
+            List<Object> keys = new ArrayList<>();
+            for (CustomersEntity ce : customers) {
+                keys.add(ce.entityKey());
+            }
+            keys.add(new IntegerKey(Integer.MAX_VALUE));
+            dataStore.beingTransaction();
+            try {
+                BulkResult<Object> result = dataStore.deleteAll(keys, CustomersEntity.class, null);
+                assertFalse(result.hasErrors());
+                assertEquals(customers.size(), result.values().size());
+                assertEquals(BulkResult.EStatus.NotFound, result.get(keys.size() - 1).status());
+                dataStore.commit();
+            } catch (Exception ex) {
+                dataStore.rollback(false);
+                throw ex;
+            }
+            for (CustomersEntity ce : customers) {
+                CustomersEntity fe = dataStore.find(ce.entityKey(), CustomersEntity.class, null);
+                assertNull(fe);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void searchPrefetchRejected() {
+        try {
+            RdbmsDataStore dataStore = getDataStore();
+            List<CustomersEntity> customers = createCustomers(40, dataStore);
+            dataStore.beingTransaction();
+            try {
+                BulkResult<CustomersEntity> result = dataStore.createAll(customers, CustomersEntity.class, null);
+                assertFalse(result.hasErrors());
+                dataStore.commit();
+            } catch (Exception ex) {
+                dataStore.rollback(false);
+                throw ex;
+            }
+            AbstractDataStore.Q query = new AbstractDataStore.Q()
+                    .where("city = :city AND state = :state")
+                    .addAll(Map.of("city", "Bangalore", "state", "KA"));
+            int pages = 0;
+            Set<String> keys = new HashSet<>();
+            try (Cursor<IntegerKey, CustomersEntity> cursor = dataStore.search(query,
+                    7,
+                    IntegerKey.class,
+                    CustomersEntity.class,
+                    null)) {
+                // The cursor reads through the caller's session, pages cannot be read on another thread.
+                assertThrows(IllegalArgumentException.class, () -> cursor.prefetch(true));
+                assertFalse(cursor.prefetch());
+                while (true) {
+                    List<CustomersEntity> r = cursor.nextPage();
+                    if (r == null || r.isEmpty()) {
+                        break;
+                    }
+                    assertTrue(r.size() <= 7);
+                    for (CustomersEntity c : r) {
+                        assertTrue(keys.add(c.getId().stringKey()));
+                    }
+                    pages++;
+                }
+            }
+            assertTrue(pages > 1);
+            for (CustomersEntity ce : customers) {
+                assertTrue(keys.contains(ce.getId().stringKey()));
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    private RdbmsDataStore getDataStore() throws Exception {
+        DataStoreManager manager = env.getDataStoreManager();
+        assertNotNull(manager);
+        RdbmsDataStore dataStore = manager.getDataStore(__DATASTORE, RdbmsDataStore.class);
+        assertNotNull(dataStore);
+        return dataStore;
+    }
+
+    private List<CustomersEntity> createCustomers(int size, RdbmsDataStore dataStore) throws Exception {
+        List<CustomersEntity> customers = new ArrayList<>(size);
+        for (int ii = 0; ii < size; ii++) {
+            long sequence = dataStore.nextSequence(CustomersEntity.class.getSimpleName());
+            assertTrue(sequence >= 0);
+            customers.add(new CustomersEntity((int) sequence));
+        }
+        return customers;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence.impl.rdbms;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.base.common.model.services.EConfigFileType;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.BulkResult;
+import io.zyient.core.persistence.DataStoreManager;
+import io.zyient.core.persistence.env.DemoDataStoreEnv;
+import io.zyient.core.persistence.impl.rdbms.model.CustomersEntity;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdbmsDataStoreCacheTest {
+    private static final String __CONFIG_FILE = "src/test/resources/rdbms/test-h2-env.xml";
+    private static final String __DATASTORE = "test-rdbms";
+    private static XMLConfiguration xmlConfiguration = null;
+    private static DemoDataStoreEnv env = new DemoDataStoreEnv();
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        xmlConfiguration = ConfigReader.read(__CONFIG_FILE, EConfigFileType.File);
+        Preconditions.checkState(xmlConfiguration != null);
+        env.create(xmlConfiguration);
+        env.connectionManager().save();
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        env.close();
+    }
+
+    @Test
+    void readThrough() {
+        try {
+            RdbmsDataStore dataStore = getDataStore();
+            assertNotNull(dataStore.cache());
+            List<CustomersEntity> customers = createCustomers(10, dataStore);
+            double hits = dataStore.metrics().cacheHitCounter().count();
+            for (CustomersEntity ce : customers) {
+                CustomersEntity fe = dataStore.find(ce.entityKey(), CustomersEntity.class, null);
+                assertNotNull(fe);
+                fe = dataStore.find(ce.entityKey(), CustomersEntity.class, null);
+                assertNotNull(fe);
+                assertEquals(ce.getCustomerName(), fe.getCustomerName());
+            }
+            assertTrue(dataStore.metrics().cacheHitCounter().count() - hits >= customers.size());
+            // Cached copies are never shared with the caller.
+            CustomersEntity first = dataStore.find(customers.get(0).entityKey(), CustomersEntity.class, null);
+            first.setCity("Mumbai");
+            CustomersEntity second = dataStore.find(customers.get(0).entityKey(), CustomersEntity.class, null);
+            assertEquals("Bangalore", second.getCity());
+            // Refresh bypasses the cached copy.
+            double misses = dataStore.metrics().cacheMissCounter().count();
+            second = dataStore.find(customers.get(0).entityKey(),
+                    CustomersEntity.class,
+                    AbstractDataStore.withRefresh(null));
+            assertNotNull(second);
+            assertEquals(misses + 1, dataStore.metrics().cacheMissCounter().count());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void concurrentWrites() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            RdbmsDataStore dataStore = getDataStore();
+            List<CustomersEntity> customers = createCustomers(8, dataStore);
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int ii = 0; ii < 3; ii++) {
+                readers.add(executor.submit(() -> {
+                    int reads = 0;
+                    while (running.get()) {
+                        for (CustomersEntity ce : customers) {
+                            CustomersEntity fe = dataStore.find(ce.entityKey(), CustomersEntity.class, null);
+                            assertNotNull(fe);
+                            reads++;
+                        }
+                    }
+                    return reads;
+                }));
+            }
+            int updates = 50;
+            for (int ii = 1; ii <= updates; ii++) {
+                dataStore.beingTransaction();
+                try {
+                    for (CustomersEntity ce : customers) {
+                        CustomersEntity fe = dataStore.find(ce.entityKey(), CustomersEntity.class, null);
+                        fe.setCreditLimit(BigDecimal.valueOf(ii));
+                        dataStore.update(fe, CustomersEntity.class, null);
+                    }
+                    dataStore.commit();
+                } catch (Exception ex) {
+                    dataStore.rollback(false);
+                    throw ex;
+                }
+            }
+            running.set(false);
+            for (Future<Integer> reader : readers) {
+                assertTrue(reader.get(30, TimeUnit.SECONDS) > 0);
+            }
+            for (CustomersEntity ce : customers) {
+                CustomersEntity fe = dataStore.find(ce.entityKey(), CustomersEntity.class, null);
+                assertNotNull(fe);
+                assertEquals(updates, fe.getCreditLimit().intValue());
+            }
+            dataStore.beingTransaction();
+            try {
+                List<Object> keys = new ArrayList<>();
+                for (CustomersEntity ce : customers) {
+                    keys.add(ce.entityKey());
+                }
+                BulkResult<Object> result = dataStore.deleteAll(keys, CustomersEntity.class, null);
+                assertFalse(result.hasErrors());
+                dataStore.commit();
+            } catch (Exception ex) {
+                dataStore.rollback(false);
+                throw ex;
+            }
+            for (CustomersEntity ce : customers) {
+                assertNull(dataStore.find(ce.entityKey(), CustomersEntity.class, null));
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private RdbmsDataStore getDataStore() throws Exception {
+        DataStoreManager manager = env.getDataStoreManager();
+        assertNotNull(manager);
+        RdbmsDataStore dataStore = manager.getDataStore(__DATASTORE, RdbmsDataStore.class);
+        assertNotNull(dataStore);
+        return dataStore;
+    }
+
+    private List<CustomersEntity> createCustomers(int size, RdbmsDataStore dataStore) throws Exception {
+        List<CustomersEntity> customers = new ArrayList<>(size);
+        for (int ii = 0; ii < size; ii++) {
+            long sequence = dataStore.nextSequence(CustomersEntity.class.getSimpleName());
+            assertTrue(sequence >= 0);
+            customers.add(new CustomersEntity((int) sequence));
+        }
+        dataStore.beingTransaction();
+        try {
+            BulkResult<CustomersEntity> result = dataStore.createAll(customers, CustomersEntity.class, null);
+            assertFalse(result.hasErrors());
+            dataStore.commit();
+        } catch (Exception ex) {
+            dataStore.rollback(false);
+            throw ex;
+        }
+        return customers;
+    }
+}
@@ -22,6 +22,7 @@ import io.zyient.base.common.model.entity.EEntityState;
 import io.zyient.base.common.model.services.EConfigFileType;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.core.model.LongKey;
+import io.zyient.core.persistence.BulkResult;
 import io.zyient.core.persistence.DataStoreManager;
 import io.zyient.core.persistence.env.DemoDataStoreEnv;
 import org.apache.commons.configuration2.XMLConfiguration;
@@ -132,6 +133,38 @@ class SolrDataStoreEntityTest {
         }
     }
 
+    @Test
+    void bulkWrites() {
+        try {
+            DataStoreManager manager = env.getDataStoreManager();
+            assertNotNull(manager);
+            SolrDataStore dataStore = manager.getDataStore(__SOLR_DB_NAME, SolrDataStore.class);
+            assertNotNull(dataStore);
+            List<TestPOJO> entities = new ArrayList<>();
+            for (int ii = 0; ii < 32; ii++) {
+                TestPOJO tp = new TestPOJO(startValue++);
+                tp.getState().setState(EEntityState.New);
+                entities.add(tp);
+            }
+            BulkResult<TestPOJO> result = dataStore.createAll(entities, TestPOJO.class, null);
+            assertFalse(result.hasErrors());
+            List<Object> keys = new ArrayList<>();
+            for (TestPOJO tp : entities) {
+                assertNotNull(dataStore.find(tp.entityKey(), TestPOJO.class, null));
+                keys.add(tp.entityKey());
+            }
+            BulkResult<Object> deleted = dataStore.deleteAll(keys, TestPOJO.class, null);
+            assertFalse(deleted.hasErrors());
+            assertEquals(keys.size(), deleted.values().size());
+            for (Object key : keys) {
+                assertNull(dataStore.find(key, TestPOJO.class, null));
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
     @Test
     void doSearch() {
     }